@@ -0,0 +1,131 @@
+package com.edutech.academic.catalog;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * VERSIONES DEL CATÁLOGO PARA LOS GET CONDICIONALES:
+ * CADA COLECCIÓN (CURSOS, CATEGORÍAS) TIENE UN CONTADOR QUE SE INCREMENTA CON CADA
+ * ESCRITURA, Y LA FECHA DE ESA ÚLTIMA ESCRITURA. CON ELLOS SE ARMAN EL ETag Y EL
+ * Last-Modified DE LOS LISTADOS Y DE CADA ELEMENTO, DE MODO QUE UN If-None-Match
+ * VIGENTE SE RESPONDE CON 304 SIN CONSULTAR LA BASE NI SERIALIZAR NADA.
+ * UN ELEMENTO USA LA VERSIÓN DE SU COLECCIÓN: CUALQUIER ESCRITURA INVALIDA TODOS LOS
+ * ETag DE ESA COLECCIÓN, LO QUE ES CORRECTO PORQUE EL CATÁLOGO CAMBIA POCAS VECES AL DÍA.
+ * EL ETag LLEVA UN IDENTIFICADOR DE ESTA EJECUCIÓN PARA QUE UN CONTADOR REINICIADO NO
+ * REPITA UN ETag ANTERIOR. EL MISMO ETag SIRVE PARA LA VERSIÓN JSON Y LA CBOR (SEGÚN EL
+ * Accept), ASÍ QUE LAS RESPUESTAS LLEVAN Vary: Accept PARA QUE UNA CACHÉ NO DEVUELVA UNA
+ * REPRESENTACIÓN A QUIEN PIDIÓ LA OTRA. AL IGUAL QUE EL BUSCADOR Y LA CACHÉ DE DETALLES,
+ * SUPONE QUE LAS ESCRITURAS DEL CATÁLOGO PASAN POR ESTE MICROSERVICIO.
+ */
+@Component
+public class CatalogVersions implements MeterBinder {
+
+    public enum Collection {
+        COURSES("courses"),
+        CATEGORIES("course-categories");
+
+        private final String tag;
+
+        Collection(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    // lastModified en milisegundos, siempre un segundo entero (la resolución de HTTP)
+    private record Version(long number, long lastModified) {
+    }
+
+    private static final class State {
+        private final AtomicReference<Version> version;
+        private final LongAdder notModified = new LongAdder();
+        private final LongAdder full = new LongAdder();
+
+        private State(long now) {
+            this.version = new AtomicReference<>(new Version(0, now));
+        }
+
+        private double notModifiedRatio() {
+            long hits = notModified.sum();
+            long total = hits + full.sum();
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    private final String epoch = Integer.toHexString(ThreadLocalRandom.current().nextInt());
+    private final Map<Collection, State> states = new EnumMap<>(Collection.class);
+
+    public CatalogVersions() {
+        long now = seconds(System.currentTimeMillis());
+        for (Collection collection : Collection.values()) {
+            states.put(collection, new State(now));
+        }
+    }
+
+    // Se llama después de que la escritura quedó guardada
+    public void bump(Collection collection) {
+        long now = seconds(System.currentTimeMillis());
+        // Dos escrituras en el mismo segundo deben dar fechas distintas para If-Modified-Since
+        states.get(collection).version.updateAndGet(
+            current -> new Version(current.number() + 1, Math.max(now, current.lastModified() + 1000)));
+    }
+
+    public boolean notModified(WebRequest request, Collection collection) {
+        return notModified(request, collection, null);
+    }
+
+    /*
+     * Compara los encabezados condicionales de la petición con la versión actual. Si no hubo
+     * cambios, deja la respuesta en 304 y el controlador debe devolver null; si los hubo, deja
+     * puestos el ETag y el Last-Modified para la respuesta completa.
+     * La versión se lee antes que los datos: si una escritura ocurre entremedio, el cliente
+     * recibe datos nuevos con un ETag viejo y solo vuelve a descargarlos en la siguiente consulta.
+     */
+    public boolean notModified(WebRequest request, Collection collection, Object id) {
+        State state = states.get(collection);
+        Version version = state.version.get();
+        String etag = "\"" + collection.tag + "-" + epoch + "-" + version.number()
+            + (id == null ? "" : "-" + id) + "\"";
+
+        // También en el 304: la caché decide con él qué copia revalidó
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+        }
+        boolean notModified = request.checkNotModified(etag, version.lastModified());
+        (notModified ? state.notModified : state.full).increment();
+        return notModified;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        states.forEach((collection, state) -> {
+            FunctionCounter.builder("catalog.conditional.requests", state.notModified, LongAdder::sum)
+                .tag("collection", collection.tag).tag("result", "not-modified").register(registry);
+            FunctionCounter.builder("catalog.conditional.requests", state.full, LongAdder::sum)
+                .tag("collection", collection.tag).tag("result", "full").register(registry);
+            Gauge.builder("catalog.conditional.not-modified.ratio", state, State::notModifiedRatio)
+                .tag("collection", collection.tag).register(registry);
+            Gauge.builder("catalog.version", state, s -> s.version.get().number())
+                .tag("collection", collection.tag).register(registry);
+        });
+    }
+
+    private static long seconds(long millis) {
+        return millis - millis % 1000;
+    }
+}
@@ -2,11 +2,24 @@ package com.edutech.academic.client;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.edutech.common.dto.UserChangeFeedDTO;
 import com.edutech.common.dto.UserDTO;
 
+import java.util.Collection;
+import java.util.List;
+
 @FeignClient(name = "ms-user", url = "http://localhost:9001/api/users")
 public interface UserClient {
     @GetMapping("/{id}")
     UserDTO findById(@PathVariable("id") Integer id);
+
+    @GetMapping("/changes")
+    UserChangeFeedDTO changes(@RequestParam("after") long after, @RequestParam("waitMs") long waitMs);
+
+    @PostMapping("/lookup")
+    List<UserDTO> findAllById(@RequestBody Collection<Integer> ids);
 }
@@ -1,12 +1,14 @@
 package com.edutech.academic.controller;
 
 import com.edutech.common.dto.CourseCategoryDTO;
+import com.edutech.academic.catalog.CatalogVersions;
 import com.edutech.academic.service.CourseCategoryService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,14 +18,22 @@ import java.util.List;
 public class CourseCategoryController {
 
     private final CourseCategoryService categService;
+    private final CatalogVersions catalogVersions;
 
+    // Con un If-None-Match vigente se responde 304 sin consultar la base
     @GetMapping
-    public ResponseEntity<List<CourseCategoryDTO>> getAll() {
+    public ResponseEntity<List<CourseCategoryDTO>> getAll(WebRequest request) {
+        if (catalogVersions.notModified(request, CatalogVersions.Collection.CATEGORIES)) {
+            return null;
+        }
         return ResponseEntity.ok(categService.findAll());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CourseCategoryDTO> getById(@PathVariable Integer id) {
+    public ResponseEntity<CourseCategoryDTO> getById(@PathVariable Integer id, WebRequest request) {
+        if (catalogVersions.notModified(request, CatalogVersions.Collection.CATEGORIES, id)) {
+            return null;
+        }
         return ResponseEntity.ok(categService.findById(id));
     }
 
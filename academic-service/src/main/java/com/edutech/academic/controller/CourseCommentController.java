@@ -0,0 +1,50 @@
+package com.edutech.academic.controller;
+
+import com.edutech.common.dto.CourseCommentDTO;
+import com.edutech.academic.service.CourseCommentService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/course-comments")
+@RequiredArgsConstructor
+public class CourseCommentController {
+
+    private final CourseCommentService commentService;
+
+    @GetMapping
+    public ResponseEntity<List<CourseCommentDTO>> getAll() {
+        return ResponseEntity.ok(commentService.findAll());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CourseCommentDTO> getById(@PathVariable Integer id) {
+        return ResponseEntity.ok(commentService.findById(id));
+    }
+
+    @GetMapping("/course/{courseId}")
+    public ResponseEntity<List<CourseCommentDTO>> getByCourseId(@PathVariable Integer courseId) {
+        return ResponseEntity.ok(commentService.findByCourseId(courseId));
+    }
+
+    @PostMapping
+    public ResponseEntity<CourseCommentDTO> create(@RequestBody @Valid CourseCommentDTO dto) {
+        return ResponseEntity.ok(commentService.create(dto));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<CourseCommentDTO> update(@PathVariable Integer id, @RequestBody @Valid CourseCommentDTO dto) {
+        return ResponseEntity.ok(commentService.update(id, dto));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Integer id) {
+        commentService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,13 +1,22 @@
 package com.edutech.academic.controller;
 
 import com.edutech.common.dto.CourseDTO;
+import com.edutech.common.dto.CourseDetailDTO;
+import com.edutech.common.dto.CoursePriceDTO;
+import com.edutech.common.dto.CourseRatingDTO;
+import com.edutech.common.dto.RatingReconciliationDTO;
+import com.edutech.academic.catalog.CatalogVersions;
+import com.edutech.academic.service.CourseDetailService;
+import com.edutech.academic.service.CourseRatingReconciler;
 import com.edutech.academic.service.CourseService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.Collection;
 import java.util.List;
 
 @RestController
@@ -16,17 +25,56 @@ import java.util.List;
 public class CourseController {
 
     private final CourseService courseService;
+    private final CourseRatingReconciler ratingReconciler;
+    private final CourseDetailService detailService;
+    private final CatalogVersions catalogVersions;
 
+    // Con un If-None-Match vigente se responde 304 sin consultar la base
     @GetMapping
-    public ResponseEntity<List<CourseDTO>> getAll() {
+    public ResponseEntity<List<CourseDTO>> getAll(WebRequest request) {
+        if (catalogVersions.notModified(request, CatalogVersions.Collection.COURSES)) {
+            return null;
+        }
         return ResponseEntity.ok(courseService.findAll());
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<CourseDTO>> search(@RequestParam("q") String query,
+                                                  @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(courseService.search(query, limit));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<CourseDTO> getById(@PathVariable Integer id) {
+    public ResponseEntity<CourseDTO> getById(@PathVariable Integer id, WebRequest request) {
+        if (catalogVersions.notModified(request, CatalogVersions.Collection.COURSES, id)) {
+            return null;
+        }
         return ResponseEntity.ok(courseService.findById(id));
     }
 
+    // Precios de varios cursos en una sola llamada (cotizaciones de pagos)
+    @PostMapping("/prices")
+    public ResponseEntity<List<CoursePriceDTO>> getPrices(@RequestBody Collection<Integer> ids) {
+        return ResponseEntity.ok(courseService.findPrices(ids));
+    }
+
+    // Curso con sus contenidos, quizzes y preguntas en una sola llamada
+    @GetMapping("/{id}/full")
+    public ResponseEntity<CourseDetailDTO> getFull(@PathVariable Integer id) {
+        return ResponseEntity.ok(detailService.findFull(id));
+    }
+
+    @GetMapping("/{id}/rating")
+    public ResponseEntity<CourseRatingDTO> getRating(@PathVariable Integer id) {
+        return ResponseEntity.ok(courseService.findRating(id));
+    }
+
+    // Recalcula el resumen de calificaciones de todos los cursos e informa cuántos estaban desfasados
+    @PostMapping("/ratings/reconcile")
+    public ResponseEntity<RatingReconciliationDTO> reconcileRatings() {
+        return ResponseEntity.ok(ratingReconciler.reconcile());
+    }
+
     @PostMapping
     public ResponseEntity<CourseDTO> create(@RequestBody @Valid CourseDTO dto) {
         return ResponseEntity.ok(courseService.create(dto));
@@ -0,0 +1,78 @@
+package com.edutech.academic.controller;
+
+import com.edutech.common.config.InternalCallToken;
+import com.edutech.common.dto.CourseQuizDTO;
+import com.edutech.common.dto.CourseQuizQuestionDTO;
+import com.edutech.common.dto.QuizAnswerKeyDTO;
+import com.edutech.academic.service.CourseQuizQuestionService;
+import com.edutech.academic.service.CourseQuizService;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Ruta que usa el CourseQuizClient del microservicio de calificaciones
+@RestController
+@RequestMapping("/api/quizzes")
+@RequiredArgsConstructor
+public class CourseQuizController {
+
+    private final CourseQuizService quizService;
+    private final CourseQuizQuestionService questionService;
+    private final InternalCallToken internalCalls;
+
+    @GetMapping
+    public ResponseEntity<List<CourseQuizDTO>> getAll() {
+        return ResponseEntity.ok(quizService.findAll());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CourseQuizDTO> getById(@PathVariable Integer id) {
+        return ResponseEntity.ok(quizService.findById(id));
+    }
+
+    @GetMapping("/course/{courseId}")
+    public ResponseEntity<List<CourseQuizDTO>> getByCourseId(@PathVariable Integer courseId) {
+        return ResponseEntity.ok(quizService.findByCourseId(courseId));
+    }
+
+    @GetMapping("/{id}/questions")
+    public ResponseEntity<List<CourseQuizQuestionDTO>> getQuestions(@PathVariable Integer id) {
+        return ResponseEntity.ok(questionService.findByQuizId(id));
+    }
+
+    @PostMapping("/{id}/questions")
+    public ResponseEntity<CourseQuizQuestionDTO> createQuestion(@PathVariable Integer id, @RequestBody CourseQuizQuestionDTO dto) {
+        return ResponseEntity.ok(questionService.create(id, dto));
+    }
+
+    // Pauta que usa calificaciones para la corrección automática; solo con la clave interna
+    @GetMapping("/{id}/answer-key")
+    public ResponseEntity<QuizAnswerKeyDTO> getAnswerKey(
+            @PathVariable Integer id,
+            @RequestHeader(name = InternalCallToken.HEADER, required = false) String token) {
+        if (!internalCalls.accepts(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(questionService.answerKey(id));
+    }
+
+    @PostMapping
+    public ResponseEntity<CourseQuizDTO> create(@RequestBody CourseQuizDTO dto) {
+        return ResponseEntity.ok(quizService.create(dto));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<CourseQuizDTO> update(@PathVariable Integer id, @RequestBody CourseQuizDTO dto) {
+        return ResponseEntity.ok(quizService.update(id, dto));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Integer id) {
+        quizService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -44,4 +44,7 @@ public class Course {
     @Column(name = "status", nullable = false, length = 50)
     private String status;
 
+    @Embedded
+    private CourseRating rating = new CourseRating();
+
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.edutech.academic.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/*
+ * RESUMEN DE CALIFICACIONES DEL CURSO:
+ * CANTIDAD, SUMA Y CUÁNTOS COMENTARIOS HAY DE CADA NOTA (0 A 5), GUARDADOS EN LA MISMA
+ * FILA DEL CURSO PARA QUE EL CATÁLOGO MUESTRE EL PROMEDIO SIN CONSULTAR LOS COMENTARIOS.
+ * LAS COLUMNAS NO SE ESCRIBEN AL GUARDAR EL CURSO: SOLO LAS MODIFICAN LAS CONSULTAS DE
+ * CourseRepository, QUE SUMAN O RESTAN EN LA BASE Y NO PIERDEN CAMBIOS CONCURRENTES.
+ */
+@Getter
+@Setter
+@Embeddable
+public class CourseRating {
+
+    public static final int MAX_STARS = 5;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_count", nullable = false, insertable = false, updatable = false)
+    private int count;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_sum", nullable = false, insertable = false, updatable = false)
+    private int sum;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_0", nullable = false, insertable = false, updatable = false)
+    private int stars0;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_1", nullable = false, insertable = false, updatable = false)
+    private int stars1;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_2", nullable = false, insertable = false, updatable = false)
+    private int stars2;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_3", nullable = false, insertable = false, updatable = false)
+    private int stars3;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_4", nullable = false, insertable = false, updatable = false)
+    private int stars4;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_5", nullable = false, insertable = false, updatable = false)
+    private int stars5;
+
+    // Cantidad de comentarios con cada nota; la posición es la nota
+    public List<Integer> histogram() {
+        return List.of(stars0, stars1, stars2, stars3, stars4, stars5);
+    }
+
+    // Promedio con dos decimales; null si no hay comentarios
+    public BigDecimal average() {
+        return count == 0 ? null : BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -1,11 +1,23 @@
 package com.edutech.academic.mapper;
 
 import com.edutech.common.dto.CourseDTO;
+import com.edutech.common.dto.CourseRatingDTO;
 import com.edutech.academic.entity.Course;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface CourseMapper {
+    @Mapping(target = "ratingCount", source = "rating.count")
+    @Mapping(target = "ratingAverage", expression = "java(entity.getRating().average())")
     CourseDTO toDTO(Course entity);
+
+    // El resumen de calificaciones no se recibe del cliente: lo mantienen los comentarios
+    @Mapping(target = "rating", ignore = true)
     Course toEntity(CourseDTO dto);
+
+    default CourseRatingDTO toRatingDTO(Course entity) {
+        return new CourseRatingDTO(entity.getId(), entity.getRating().getCount(),
+            entity.getRating().average(), entity.getRating().histogram());
+    }
 }
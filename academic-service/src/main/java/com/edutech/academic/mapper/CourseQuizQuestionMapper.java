@@ -8,4 +8,12 @@ import org.mapstruct.Mapper;
 public interface CourseQuizQuestionMapper {
     CourseQuizQuestionDTO toDTO(CourseQuizQuestion entity);
     CourseQuizQuestion toEntity(CourseQuizQuestionDTO dto);
+
+    // Para lo que ven los estudiantes: sin la opción ni la respuesta correctas
+    default CourseQuizQuestionDTO toPublicDTO(CourseQuizQuestion entity) {
+        CourseQuizQuestionDTO dto = toDTO(entity);
+        dto.setCorrectOption(null);
+        dto.setCorrectAnswer(null);
+        return dto;
+    }
 }
@@ -1,11 +1,38 @@
 package com.edutech.academic.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.edutech.academic.entity.CourseComment;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CourseCommentRepository extends JpaRepository<CourseComment, Integer> {
+    List<CourseComment> findByCourseIdOrderByCreatedAtDesc(Integer courseId);
+
+    // Bloquea el comentario hasta el fin de la transacción (su nota anterior ajusta el resumen del curso)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from CourseComment c where c.id = :id")
+    Optional<CourseComment> lockById(Integer id);
+
+    // Cantidad de comentarios por curso y nota
+    interface RatingCount {
+        Integer getCourseId();
+        Integer getStars();
+        long getTotal();
+    }
 
+    @Query("""
+        select c.courseId as courseId, c.rating as stars, count(c) as total
+        from CourseComment c
+        where c.courseId in :courseIds
+        group by c.courseId, c.rating
+        """)
+    List<RatingCount> countRatings(Collection<Integer> courseIds);
 }
@@ -5,7 +5,9 @@ import org.springframework.stereotype.Repository;
 
 import com.edutech.academic.entity.CourseContent;
 
+import java.util.List;
+
 @Repository
 public interface CourseContentRepository extends JpaRepository<CourseContent, Integer> {
-
+    List<CourseContent> findByCourseIdOrderByOrderIndexAsc(Integer courseId);
 }
@@ -0,0 +1,15 @@
+package com.edutech.academic.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.edutech.academic.entity.CourseQuizQuestion;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CourseQuizQuestionRepository extends JpaRepository<CourseQuizQuestion, Integer> {
+    List<CourseQuizQuestion> findByQuizIdOrderByOrderIndexAsc(Integer quizId);
+    List<CourseQuizQuestion> findByQuizIdInOrderByQuizIdAscOrderIndexAsc(Collection<Integer> quizIds);
+}
@@ -5,7 +5,10 @@ import org.springframework.stereotype.Repository;
 
 import com.edutech.academic.entity.CourseQuiz;
 
+import java.util.List;
+
 @Repository
 public interface CourseQuizRepository extends JpaRepository<CourseQuiz, Integer> {
-
+    List<CourseQuiz> findByCourseId(Integer courseId);
+    List<CourseQuiz> findByCourseIdOrderByIdAsc(Integer courseId);
 }
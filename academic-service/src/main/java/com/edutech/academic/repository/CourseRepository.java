@@ -1,11 +1,58 @@
 package com.edutech.academic.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.edutech.academic.entity.Course;
+import com.edutech.common.dto.CoursePriceDTO;
+
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Integer> {
+    List<Course> findByCategoryId(Integer categoryId);
+
+    @Query("select c.id from Course c order by c.id")
+    List<Integer> findAllIds();
+
+    // Solo ID y precio, sin cargar las entidades
+    @Query("select new com.edutech.common.dto.CoursePriceDTO(c.id, c.price) from Course c where c.id in :ids")
+    List<CoursePriceDTO> findPrices(Collection<Integer> ids);
+
+    // Bloquea los cursos hasta el fin de la transacción (conciliación de calificaciones)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Course c where c.id in :ids")
+    List<Course> lockByIdIn(Collection<Integer> ids);
+
+    // Suma (delta = 1) o resta (delta = -1) un comentario con la nota indicada
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        update Course c set
+            c.rating.count = c.rating.count + :delta,
+            c.rating.sum = c.rating.sum + :delta * :stars,
+            c.rating.stars0 = c.rating.stars0 + case when :stars = 0 then :delta else 0 end,
+            c.rating.stars1 = c.rating.stars1 + case when :stars = 1 then :delta else 0 end,
+            c.rating.stars2 = c.rating.stars2 + case when :stars = 2 then :delta else 0 end,
+            c.rating.stars3 = c.rating.stars3 + case when :stars = 3 then :delta else 0 end,
+            c.rating.stars4 = c.rating.stars4 + case when :stars = 4 then :delta else 0 end,
+            c.rating.stars5 = c.rating.stars5 + case when :stars = 5 then :delta else 0 end
+        where c.id = :courseId
+        """)
+    int adjustRating(Integer courseId, int stars, int delta);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        update Course c set
+            c.rating.count = :s0 + :s1 + :s2 + :s3 + :s4 + :s5,
+            c.rating.sum = :s1 + 2 * :s2 + 3 * :s3 + 4 * :s4 + 5 * :s5,
+            c.rating.stars0 = :s0, c.rating.stars1 = :s1, c.rating.stars2 = :s2,
+            c.rating.stars3 = :s3, c.rating.stars4 = :s4, c.rating.stars5 = :s5
+        where c.id = :courseId
+        """)
+    int setRating(Integer courseId, int s0, int s1, int s2, int s3, int s4, int s5);
 }
@@ -0,0 +1,244 @@
+package com.edutech.academic.search;
+
+import com.edutech.academic.entity.Course;
+import com.edutech.academic.entity.CourseCategory;
+import com.edutech.academic.repository.CourseCategoryRepository;
+import com.edutech.academic.repository.CourseRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/*
+ * BUSCADOR DEL CATÁLOGO DE CURSOS:
+ * ÍNDICE INVERTIDO EN MEMORIA (TÉRMINO -> CURSOS QUE LO CONTIENEN) SOBRE EL TÍTULO, LA
+ * DESCRIPCIÓN Y EL NOMBRE DE LA CATEGORÍA DE CADA CURSO. UN TÉRMINO DEL TÍTULO PESA MÁS
+ * QUE UNO DE LA CATEGORÍA, Y ESTE MÁS QUE UNO DE LA DESCRIPCIÓN.
+ * EL RESULTADO TIENE LOS CURSOS QUE CONTIENEN TODOS LOS TÉRMINOS BUSCADOS, ORDENADOS
+ * CON BM25. CADA TÉRMINO BUSCADO TAMBIÉN ENCUENTRA LOS TÉRMINOS QUE EMPIEZAN CON ÉL
+ * ("progra" -> "programacion"), CON MENOS PUNTAJE QUE LA COINCIDENCIA EXACTA.
+ * SE CARGA DESDE LA BASE AL INICIAR Y LO ACTUALIZAN CourseService Y CourseCategoryService.
+ * COSTO: UNA BÚSQUEDA RECORRE TODOS LOS CURSOS QUE CONTIENEN CADA TÉRMINO (O ALGUNO DE SUS
+ * max-prefix-EXPANSIONS TÉRMINOS POR PREFIJO); EL LÍMITE ACOTA LOS TÉRMINOS, NO LOS CURSOS.
+ * CourseSearchBenchmark (MÓDULO benchmarks) LO MIDE CON 100.000 CURSOS: UN TÉRMINO O PREFIJO
+ * CORTO PRESENTE EN BUENA PARTE DEL CATÁLOGO TOMA DEL ORDEN DE MILISEGUNDOS, UNO POCO
+ * FRECUENTE MICROSEGUNDOS. MÁS ALLÁ DE ESE TAMAÑO CONVIENE UN MOTOR DE BÚSQUEDA APARTE.
+ */
+@Component
+public class CourseSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseSearchIndex.class);
+
+    // Parámetros habituales de BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float CATEGORY_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    // Puntaje de un término que solo coincide por prefijo, respecto de la coincidencia exacta
+    private static final double PREFIX_FACTOR = 0.5;
+
+    private record Document(Map<String, Float> terms, float length) {
+    }
+
+    private final CourseRepository courseRepo;
+    private final CourseCategoryRepository categoryRepo;
+    private final int maxPrefixExpansions;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private final TreeMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+    private double totalLength;
+    private volatile boolean loaded;
+
+    public CourseSearchIndex(
+            CourseRepository courseRepo,
+            CourseCategoryRepository categoryRepo,
+            @Value("${edutech.course-search.max-prefix-expansions:64}") int maxPrefixExpansions) {
+        this.courseRepo = courseRepo;
+        this.categoryRepo = categoryRepo;
+        this.maxPrefixExpansions = maxPrefixExpansions;
+    }
+
+    // IDs de los cursos que coinciden con la búsqueda, de mayor a menor puntaje
+    public List<Integer> search(String query, int limit) {
+        List<String> queryTerms = List.copyOf(new LinkedHashSet<>(TextAnalyzer.terms(query)));
+        if (queryTerms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            List<Map<Integer, Double>> matches = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Map<Integer, Double> scores = scores(term);
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+                matches.add(scores);
+            }
+
+            // Se recorre la lista más corta y se descartan los cursos que no tienen todos los términos
+            matches.sort(Comparator.comparingInt(Map::size));
+            PriorityQueue<Map.Entry<Integer, Double>> best = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Integer, Double> candidate : matches.get(0).entrySet()) {
+                double score = candidate.getValue();
+                for (int i = 1; i < matches.size() && score >= 0; i++) {
+                    Double s = matches.get(i).get(candidate.getKey());
+                    score = s == null ? -1 : score + s;
+                }
+                if (score >= 0) {
+                    best.add(Map.entry(candidate.getKey(), score));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+
+            List<Integer> ids = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                ids.add(best.poll().getKey());
+            }
+            return ids.reversed();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Course course, String categoryName) {
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, course.getTitle(), TITLE_WEIGHT);
+        addTerms(terms, categoryName, CATEGORY_WEIGHT);
+        addTerms(terms, course.getDescription(), DESCRIPTION_WEIGHT);
+        float length = (float) terms.values().stream().mapToDouble(Float::doubleValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(course.getId());
+            documents.put(course.getId(), new Document(terms, length));
+            totalLength += length;
+            terms.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(course.getId(), tf));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer courseId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(courseId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        Thread.ofVirtual().name("course-search-load").start(() -> {
+            try {
+                ensureLoaded();
+            } catch (RuntimeException e) {
+                log.warn("No se pudo cargar el buscador de cursos; se reintentará en la primera búsqueda: {}", e.getMessage());
+            }
+        });
+    }
+
+    /*
+     * LA CARGA SE HACE CON EL LOCK DE ESCRITURA TOMADO: LOS CAMBIOS QUE LLEGAN MIENTRAS
+     * TANTO ESPERAN Y SE APLICAN DESPUÉS, Y COMO INDEXAR UN CURSO REEMPLAZA LO QUE HABÍA,
+     * APLICAR UNO QUE YA ESTABA EN LA BASE NO CAMBIA NADA.
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            long start = System.nanoTime();
+            Map<Integer, String> categories = categoryRepo.findAll().stream()
+                .collect(Collectors.toMap(CourseCategory::getId, CourseCategory::getName));
+            List<Course> courses = courseRepo.findAll();
+            for (Course course : courses) {
+                index(course, categories.get(course.getCategoryId()));
+            }
+            loaded = true;
+            log.info("Buscador de cursos cargado: {} cursos, {} términos ({} ms)",
+                documents.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Puntaje BM25 de cada curso para el término buscado y los que empiezan con él
+    private Map<Integer, Double> scores(String term) {
+        Map<Integer, Double> scores = new HashMap<>();
+        double avgLength = totalLength / Math.max(1, documents.size());
+
+        Map<String, Map<Integer, Float>> candidates = term.length() < 2
+            ? exact(term)
+            : postings.subMap(term, true, term + Character.MAX_VALUE, false);
+        int expansions = 0;
+        for (Map.Entry<String, Map<Integer, Float>> entry : candidates.entrySet()) {
+            if (expansions++ >= maxPrefixExpansions) {
+                break;
+            }
+            Map<Integer, Float> docs = entry.getValue();
+            double factor = entry.getKey().equals(term) ? 1 : PREFIX_FACTOR;
+            double idf = Math.log(1 + (documents.size() - docs.size() + 0.5) / (docs.size() + 0.5));
+            for (Map.Entry<Integer, Float> posting : docs.entrySet()) {
+                double tf = posting.getValue();
+                double norm = K1 * (1 - B + B * documents.get(posting.getKey()).length() / avgLength);
+                double score = factor * idf * tf * (K1 + 1) / (tf + norm);
+                // Si varios términos del curso empiezan igual cuenta el mejor, no la suma
+                scores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private Map<String, Map<Integer, Float>> exact(String term) {
+        Map<Integer, Float> docs = postings.get(term);
+        return docs == null ? Map.of() : Map.of(term, docs);
+    }
+
+    private void removeDocument(Integer courseId) {
+        Document previous = documents.remove(courseId);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= previous.length();
+        for (String term : previous.terms().keySet()) {
+            Map<Integer, Float> docs = postings.get(term);
+            docs.remove(courseId);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Float> terms, String text, float weight) {
+        for (String term : TextAnalyzer.terms(text)) {
+            terms.merge(term, weight, Float::sum);
+        }
+    }
+}
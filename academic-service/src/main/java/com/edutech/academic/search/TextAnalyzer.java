@@ -0,0 +1,48 @@
+package com.edutech.academic.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Convierte un texto en español en los términos que se indexan y se buscan:
+ * minúsculas, sin tildes ni diéresis ("Programación" y "programacion" son el mismo
+ * término; la ñ queda como n), separado en letras y dígitos y sin las palabras más
+ * frecuentes, que no ayudan a distinguir un curso de otro.
+ */
+public final class TextAnalyzer {
+
+    private static final Set<String> STOPWORDS = Set.of(
+        "a", "al", "con", "de", "del", "e", "el", "en", "es", "la", "las", "lo", "los",
+        "o", "para", "por", "que", "se", "su", "sus", "u", "un", "una", "unas", "unos", "y");
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i <= folded.length(); i++) {
+            char c = i < folded.length() ? folded.charAt(i) : ' ';
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                term.append(Character.toLowerCase(c));
+            } else if (!term.isEmpty()) {
+                String t = term.toString();
+                if (!STOPWORDS.contains(t)) {
+                    terms.add(t);
+                }
+                term.setLength(0);
+            }
+        }
+        return terms;
+    }
+}
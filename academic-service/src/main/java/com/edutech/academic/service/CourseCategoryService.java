@@ -1,9 +1,12 @@
 package com.edutech.academic.service;
 
 import com.edutech.common.dto.CourseCategoryDTO;
+import com.edutech.academic.catalog.CatalogVersions;
 import com.edutech.academic.entity.CourseCategory;
 import com.edutech.academic.mapper.CourseCategoryMapper;
 import com.edutech.academic.repository.CourseCategoryRepository;
+import com.edutech.academic.repository.CourseRepository;
+import com.edutech.academic.search.CourseSearchIndex;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -18,6 +21,9 @@ public class CourseCategoryService {
 
     private final CourseCategoryRepository categRepo;
     private final CourseCategoryMapper categMapper;
+    private final CourseRepository courseRepo;
+    private final CourseSearchIndex searchIndex;
+    private final CatalogVersions catalogVersions;
 
     public List<CourseCategoryDTO> findAll() {
         return categRepo.findAll().stream().map(categMapper::toDTO).toList();
@@ -33,16 +39,23 @@ public class CourseCategoryService {
 
     public CourseCategoryDTO update(Integer id, CourseCategoryDTO dto) {
         orThrow(categRepo.findById(id), "Rol");
-        return saveDTO(dto, id);
+        CourseCategoryDTO saved = saveDTO(dto, id);
+
+        // El nombre de la categoría también se busca: se reindexan sus cursos
+        courseRepo.findByCategoryId(id).forEach(course -> searchIndex.index(course, saved.getName()));
+        return saved;
     }
 
     public void delete(Integer id) {
         categRepo.delete(orThrow(categRepo.findById(id), "Rol"));
+        catalogVersions.bump(CatalogVersions.Collection.CATEGORIES);
     }
 
     private CourseCategoryDTO saveDTO(CourseCategoryDTO dto, Integer id) {
         CourseCategory entity = categMapper.toEntity(dto);
         if (id != null) entity.setId(id);
-        return categMapper.toDTO(categRepo.save(entity));
+        CourseCategory saved = categRepo.save(entity);
+        catalogVersions.bump(CatalogVersions.Collection.CATEGORIES);
+        return categMapper.toDTO(saved);
     }
 }
@@ -0,0 +1,124 @@
+package com.edutech.academic.service;
+
+import com.edutech.common.client.UserLookup;
+import com.edutech.common.dto.CourseCommentDTO;
+import com.edutech.common.exception.ValidationException;
+import com.edutech.academic.catalog.CatalogVersions;
+import com.edutech.academic.entity.CourseComment;
+import com.edutech.academic.entity.CourseRating;
+import com.edutech.academic.mapper.CourseCommentMapper;
+import com.edutech.academic.repository.CourseCommentRepository;
+import com.edutech.academic.repository.CourseRepository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.edutech.common.exception.ExceptionUtils.orThrow;
+import static com.edutech.common.exception.ExceptionUtils.orThrowAll;
+
+/*
+ * COMENTARIOS DE LOS CURSOS:
+ * CADA ALTA, MODIFICACIÓN O BAJA ACTUALIZA EN LA MISMA TRANSACCIÓN EL RESUMEN DE
+ * CALIFICACIONES DEL CURSO (CourseRating), SUMANDO O RESTANDO EN LA BASE. LAS
+ * VALIDACIONES CONTRA IDENTIDAD SE HACEN ANTES, FUERA DE LA TRANSACCIÓN, Y EL DETALLE
+ * EN CACHÉ DEL CURSO SE INVALIDA DESPUÉS DE CONFIRMARLA. COMO EL PROMEDIO DE
+ * CALIFICACIONES ES PARTE DEL CURSO, TAMBIÉN CAMBIA LA VERSIÓN DEL LISTADO DE CURSOS.
+ * LA MODIFICACIÓN Y LA BAJA BLOQUEAN LA FILA DEL COMENTARIO ANTES DE LEER SU NOTA: SIN EL
+ * BLOQUEO, DOS CAMBIOS SIMULTÁNEOS RESTARÍAN LA MISMA NOTA ANTERIOR DOS VECES.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseCommentService {
+
+    private final CourseCommentRepository commentRepo;
+    private final CourseCommentMapper commentMapper;
+    private final CourseRepository courseRepo;
+    private final UserLookup userClient;
+    private final TransactionTemplate transactionTemplate;
+    private final CourseDetailService detailService;
+    private final CatalogVersions catalogVersions;
+
+    public List<CourseCommentDTO> findAll() {
+        return commentRepo.findAll().stream().map(commentMapper::toDTO).toList();
+    }
+
+    public CourseCommentDTO findById(Integer id) {
+        return commentMapper.toDTO(orThrow(commentRepo.findById(id), "Comentario"));
+    }
+
+    public List<CourseCommentDTO> findByCourseId(Integer courseId) {
+        orThrow(courseRepo.findById(courseId), "Curso");
+        return commentRepo.findByCourseIdOrderByCreatedAtDesc(courseId).stream().map(commentMapper::toDTO).toList();
+    }
+
+    public CourseCommentDTO create(CourseCommentDTO dto) {
+        checkRating(dto);
+        orThrowAll(
+            () -> orThrow(courseRepo.findById(dto.getCourseId()), "Curso"),
+            () -> orThrow(userClient.findById(dto.getUserId()), "Usuario"));
+
+        CourseCommentDTO created = transactionTemplate.execute(status -> {
+            CourseComment saved = save(dto, null);
+            courseRepo.adjustRating(saved.getCourseId(), saved.getRating(), 1);
+            return commentMapper.toDTO(saved);
+        });
+        detailService.invalidate(created.getCourseId());
+        catalogVersions.bump(CatalogVersions.Collection.COURSES);
+        return created;
+    }
+
+    public CourseCommentDTO update(Integer id, CourseCommentDTO dto) {
+        checkRating(dto);
+        orThrowAll(
+            () -> orThrow(courseRepo.findById(dto.getCourseId()), "Curso"),
+            () -> orThrow(userClient.findById(dto.getUserId()), "Usuario"));
+
+        Update update = transactionTemplate.execute(status -> {
+            CourseComment previous = orThrow(commentRepo.lockById(id), "Comentario");
+            // Se copian antes de guardar: la entidad cargada es la misma que se modifica
+            Integer previousCourse = previous.getCourseId();
+            Integer previousRating = previous.getRating();
+
+            CourseComment saved = save(dto, id);
+            if (!previousCourse.equals(saved.getCourseId()) || !previousRating.equals(saved.getRating())) {
+                courseRepo.adjustRating(previousCourse, previousRating, -1);
+                courseRepo.adjustRating(saved.getCourseId(), saved.getRating(), 1);
+            }
+            return new Update(previousCourse, commentMapper.toDTO(saved));
+        });
+        detailService.invalidate(update.previousCourseId());
+        detailService.invalidate(update.saved().getCourseId());
+        catalogVersions.bump(CatalogVersions.Collection.COURSES);
+        return update.saved();
+    }
+
+    public void delete(Integer id) {
+        Integer courseId = transactionTemplate.execute(status -> {
+            CourseComment comment = orThrow(commentRepo.lockById(id), "Comentario");
+            commentRepo.delete(comment);
+            courseRepo.adjustRating(comment.getCourseId(), comment.getRating(), -1);
+            return comment.getCourseId();
+        });
+        detailService.invalidate(courseId);
+        catalogVersions.bump(CatalogVersions.Collection.COURSES);
+    }
+
+    private record Update(Integer previousCourseId, CourseCommentDTO saved) {
+    }
+
+    // El resumen del curso tiene un contador por cada nota posible
+    private static void checkRating(CourseCommentDTO dto) {
+        if (dto.getRating() == null || dto.getRating() < 0 || dto.getRating() > CourseRating.MAX_STARS) {
+            throw new ValidationException("La calificación debe estar entre 0 y " + CourseRating.MAX_STARS + ".");
+        }
+    }
+
+    private CourseComment save(CourseCommentDTO dto, Integer id) {
+        CourseComment entity = commentMapper.toEntity(dto);
+        entity.setId(id);
+        return commentRepo.save(entity);
+    }
+}
@@ -0,0 +1,110 @@
+package com.edutech.academic.service;
+
+import com.edutech.common.cache.ExpiringCache;
+import com.edutech.common.dto.CourseDetailDTO;
+import com.edutech.common.dto.CourseQuizDetailDTO;
+import com.edutech.common.dto.CourseQuizQuestionDTO;
+import com.edutech.academic.entity.CourseQuiz;
+import com.edutech.academic.entity.CourseQuizQuestion;
+import com.edutech.academic.mapper.CourseContentMapper;
+import com.edutech.academic.mapper.CourseMapper;
+import com.edutech.academic.mapper.CourseQuizMapper;
+import com.edutech.academic.mapper.CourseQuizQuestionMapper;
+import com.edutech.academic.repository.CourseContentRepository;
+import com.edutech.academic.repository.CourseQuizQuestionRepository;
+import com.edutech.academic.repository.CourseQuizRepository;
+import com.edutech.academic.repository.CourseRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static com.edutech.common.exception.ExceptionUtils.orThrow;
+
+/*
+ * DETALLE COMPLETO DEL CURSO:
+ * EL CURSO, SUS CONTENIDOS, SUS QUIZZES Y LAS PREGUNTAS DE TODOS ELLOS SE LEEN CON
+ * CUATRO CONSULTAS SIN IMPORTAR CUÁNTOS QUIZZES TENGA (LAS PREGUNTAS, CON UN SOLO
+ * "quiz_id IN (...)"), Y EL RESULTADO SE GUARDA EN UNA CACHÉ LOCAL.
+ * CADA CURSO TIENE UN NÚMERO DE VERSIÓN QUE AUMENTA CON CUALQUIER ESCRITURA DEL CURSO O
+ * DE SUS HIJOS (CONTENIDOS, QUIZZES, PREGUNTAS Y COMENTARIOS); LOS SERVICIOS QUE ESCRIBEN
+ * LLAMAN A invalidate, QUE ADEMÁS DESCARTA LA ENTRADA DE LA CACHÉ.
+ */
+@Service
+public class CourseDetailService {
+
+    private final CourseRepository courseRepo;
+    private final CourseContentRepository contentRepo;
+    private final CourseQuizRepository quizRepo;
+    private final CourseQuizQuestionRepository questionRepo;
+    private final CourseMapper courseMapper;
+    private final CourseContentMapper contentMapper;
+    private final CourseQuizMapper quizMapper;
+    private final CourseQuizQuestionMapper questionMapper;
+
+    private final ExpiringCache<Integer, CourseDetailDTO> cache;
+    private final Map<Integer, Long> versions = new ConcurrentHashMap<>();
+
+    public CourseDetailService(
+            CourseRepository courseRepo,
+            CourseContentRepository contentRepo,
+            CourseQuizRepository quizRepo,
+            CourseQuizQuestionRepository questionRepo,
+            CourseMapper courseMapper,
+            CourseContentMapper contentMapper,
+            CourseQuizMapper quizMapper,
+            CourseQuizQuestionMapper questionMapper,
+            @Value("${edutech.course-detail.cache.max-size:1000}") int cacheMaxSize,
+            @Value("${edutech.course-detail.cache.ttl:10m}") Duration ttl,
+            @Value("${edutech.course-detail.cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.courseRepo = courseRepo;
+        this.contentRepo = contentRepo;
+        this.quizRepo = quizRepo;
+        this.questionRepo = questionRepo;
+        this.courseMapper = courseMapper;
+        this.contentMapper = contentMapper;
+        this.quizMapper = quizMapper;
+        this.questionMapper = questionMapper;
+        this.cache = new ExpiringCache<>(cacheMaxSize, ttl, negativeTtl);
+    }
+
+    public CourseDetailDTO findFull(Integer id) {
+        return orThrow(cache.get(id, this::load), "Curso");
+    }
+
+    public void invalidate(Integer courseId) {
+        if (courseId == null) {
+            return;
+        }
+        versions.merge(courseId, 1L, Long::sum);
+        cache.invalidate(courseId);
+    }
+
+    private Optional<CourseDetailDTO> load(Integer id) {
+        long version = versions.getOrDefault(id, 0L);
+        return courseRepo.findById(id).map(course -> {
+            List<CourseQuiz> quizzes = quizRepo.findByCourseIdOrderByIdAsc(id);
+            // La página del curso la ven los estudiantes: no se incluyen las respuestas correctas
+            Map<Integer, List<CourseQuizQuestionDTO>> questions = quizzes.isEmpty()
+                ? Map.of()
+                : questionRepo.findByQuizIdInOrderByQuizIdAscOrderIndexAsc(quizzes.stream().map(CourseQuiz::getId).toList())
+                    .stream()
+                    .collect(Collectors.groupingBy(CourseQuizQuestion::getQuizId,
+                        Collectors.mapping(questionMapper::toPublicDTO, Collectors.toList())));
+
+            return new CourseDetailDTO(
+                courseMapper.toDTO(course),
+                contentRepo.findByCourseIdOrderByOrderIndexAsc(id).stream().map(contentMapper::toDTO).toList(),
+                quizzes.stream()
+                    .map(quiz -> new CourseQuizDetailDTO(quizMapper.toDTO(quiz), questions.getOrDefault(quiz.getId(), List.of())))
+                    .toList(),
+                version);
+        });
+    }
+}
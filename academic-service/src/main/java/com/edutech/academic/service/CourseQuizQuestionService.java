@@ -0,0 +1,57 @@
+package com.edutech.academic.service;
+
+import com.edutech.common.dto.CourseQuizQuestionDTO;
+import com.edutech.common.dto.QuizAnswerKeyDTO;
+import com.edutech.academic.entity.CourseQuiz;
+import com.edutech.academic.entity.CourseQuizQuestion;
+import com.edutech.academic.mapper.CourseQuizQuestionMapper;
+import com.edutech.academic.repository.CourseQuizQuestionRepository;
+import com.edutech.academic.repository.CourseQuizRepository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+import static com.edutech.common.exception.ExceptionUtils.orThrow;
+
+@Service
+@RequiredArgsConstructor
+public class CourseQuizQuestionService {
+
+    private final CourseQuizQuestionRepository questionRepo;
+    private final CourseQuizQuestionMapper questionMapper;
+    private final CourseQuizRepository quizRepo;
+    private final CourseDetailService detailService;
+
+    // Lista pública: sin respuestas correctas (la pauta solo la recibe calificaciones)
+    public List<CourseQuizQuestionDTO> findByQuizId(Integer quizId) {
+        orThrow(quizRepo.findById(quizId), "Quiz");
+        return questionRepo.findByQuizIdOrderByOrderIndexAsc(quizId).stream().map(questionMapper::toPublicDTO).toList();
+    }
+
+    public CourseQuizQuestionDTO create(Integer quizId, CourseQuizQuestionDTO dto) {
+        CourseQuiz quiz = orThrow(quizRepo.findById(quizId), "Quiz");
+        CourseQuizQuestion entity = questionMapper.toEntity(dto);
+        entity.setId(null);
+        entity.setQuizId(quizId);
+        CourseQuizQuestion saved = questionRepo.save(entity);
+        detailService.invalidate(quiz.getCourseId());
+        return questionMapper.toDTO(saved);
+    }
+
+    /*
+     * PAUTA DE RESPUESTAS:
+     * LA OPCIÓN CORRECTA DE CADA PREGUNTA EN ORDEN, PARA QUE CALIFICACIONES CORRIJA
+     * LAS RESPUESTAS SIN TENER QUE PEDIR LAS PREGUNTAS COMPLETAS.
+     */
+    public QuizAnswerKeyDTO answerKey(Integer quizId) {
+        orThrow(quizRepo.findById(quizId), "Quiz");
+        List<String> options = questionRepo.findByQuizIdOrderByOrderIndexAsc(quizId).stream()
+            .map(q -> q.getCorrectOption() == null || q.getCorrectOption().isBlank()
+                ? null
+                : q.getCorrectOption().trim().toUpperCase())
+            .toList();
+        return new QuizAnswerKeyDTO(quizId, options);
+    }
+}
@@ -0,0 +1,66 @@
+package com.edutech.academic.service;
+
+import com.edutech.common.dto.CourseQuizDTO;
+import com.edutech.academic.entity.CourseQuiz;
+import com.edutech.academic.mapper.CourseQuizMapper;
+import com.edutech.academic.repository.CourseQuizRepository;
+import com.edutech.academic.repository.CourseRepository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+import static com.edutech.common.exception.ExceptionUtils.orThrow;
+
+@Service
+@RequiredArgsConstructor
+public class CourseQuizService {
+
+    private final CourseQuizRepository quizRepo;
+    private final CourseQuizMapper quizMapper;
+    private final CourseRepository courseRepo;
+    private final CourseDetailService detailService;
+
+    public List<CourseQuizDTO> findAll() {
+        return quizRepo.findAll().stream().map(quizMapper::toDTO).toList();
+    }
+
+    public CourseQuizDTO findById(Integer id) {
+        return quizMapper.toDTO(orThrow(quizRepo.findById(id), "Quiz"));
+    }
+
+    public List<CourseQuizDTO> findByCourseId(Integer courseId) {
+        return quizRepo.findByCourseId(courseId).stream().map(quizMapper::toDTO).toList();
+    }
+
+    public CourseQuizDTO create(CourseQuizDTO dto) {
+        // El curso está en este mismo servicio, no hace falta consultar a otro microservicio
+        orThrow(courseRepo.findById(dto.getCourseId()), "Curso");
+        return saveDTO(dto, null);
+    }
+
+    public CourseQuizDTO update(Integer id, CourseQuizDTO dto) {
+        // Si el quiz cambia de curso también cambia el detalle del curso anterior
+        Integer previousCourse = orThrow(quizRepo.findById(id), "Quiz").getCourseId();
+        CourseQuizDTO saved = saveDTO(dto, id);
+        if (!previousCourse.equals(saved.getCourseId())) {
+            detailService.invalidate(previousCourse);
+        }
+        return saved;
+    }
+
+    public void delete(Integer id) {
+        CourseQuiz quiz = orThrow(quizRepo.findById(id), "Quiz");
+        quizRepo.delete(quiz);
+        detailService.invalidate(quiz.getCourseId());
+    }
+
+    private CourseQuizDTO saveDTO(CourseQuizDTO dto, Integer id) {
+        CourseQuiz entity = quizMapper.toEntity(dto);
+        if (id != null) entity.setId(id);
+        CourseQuiz saved = quizRepo.save(entity);
+        detailService.invalidate(saved.getCourseId());
+        return quizMapper.toDTO(saved);
+    }
+}
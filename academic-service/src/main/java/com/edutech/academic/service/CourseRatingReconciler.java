@@ -0,0 +1,172 @@
+package com.edutech.academic.service;
+
+import com.edutech.common.dto.RatingReconciliationDTO;
+import com.edutech.academic.catalog.CatalogVersions;
+import com.edutech.academic.entity.Course;
+import com.edutech.academic.entity.CourseRating;
+import com.edutech.academic.repository.CourseCommentRepository;
+import com.edutech.academic.repository.CourseRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * CONCILIACIÓN DE CALIFICACIONES:
+ * RECALCULA DESDE course_comment EL RESUMEN DE CALIFICACIONES DE CADA CURSO Y CORRIGE
+ * LOS QUE NO COINCIDEN (POR EJEMPLO, COMENTARIOS CARGADOS DIRECTAMENTE EN LA BASE).
+ * LOS CURSOS SE PROCESAN EN BLOQUES, VARIOS A LA VEZ; CADA BLOQUE BLOQUEA SUS CURSOS
+ * ANTES DE CONTAR LOS COMENTARIOS, ASÍ UN COMENTARIO QUE SE GUARDA MIENTRAS TANTO
+ * ESPERA Y SE SUMA DESPUÉS SOBRE EL VALOR CORREGIDO.
+ */
+@Service
+public class CourseRatingReconciler implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseRatingReconciler.class);
+
+    private final CourseRepository courseRepo;
+    private final CourseCommentRepository commentRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final CourseDetailService detailService;
+    private final CatalogVersions catalogVersions;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Duration interval;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("course-rating-reconciler").factory());
+
+    public CourseRatingReconciler(
+            CourseRepository courseRepo,
+            CourseCommentRepository commentRepo,
+            TransactionTemplate transactionTemplate,
+            CourseDetailService detailService,
+            CatalogVersions catalogVersions,
+            @Value("${edutech.course-rating.reconcile.chunk-size:500}") int chunkSize,
+            @Value("${edutech.course-rating.reconcile.parallelism:4}") int parallelism,
+            @Value("${edutech.course-rating.reconcile.interval:24h}") Duration interval) {
+        if (chunkSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("El tamaño de bloque y el paralelismo deben ser mayores a cero");
+        }
+        this.courseRepo = courseRepo;
+        this.commentRepo = commentRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.detailService = detailService;
+        this.catalogVersions = catalogVersions;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.interval = interval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!interval.isZero()) {
+            timer.scheduleWithFixedDelay(this::reconcileQuietly, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public RatingReconciliationDTO reconcile() {
+        long start = System.nanoTime();
+        List<Integer> ids = courseRepo.findAllIds();
+
+        List<Future<Integer>> chunks = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().factory())) {
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                chunks.add(executor.submit(() -> {
+                    List<Integer> fixed = transactionTemplate.execute(status -> reconcileChunk(chunk));
+                    fixed.forEach(detailService::invalidate);
+                    return fixed.size();
+                }));
+            }
+        }
+
+        int drifted = 0;
+        for (Future<Integer> chunk : chunks) {
+            try {
+                drifted += chunk.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Se interrumpió la conciliación de calificaciones", e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+            }
+        }
+
+        if (drifted > 0) {
+            catalogVersions.bump(CatalogVersions.Collection.COURSES);
+            log.warn("Conciliación de calificaciones: {} de {} cursos tenían un resumen distinto a sus comentarios",
+                drifted, ids.size());
+        }
+        return new RatingReconciliationDTO(ids.size(), drifted, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    // Devuelve los cursos corregidos
+    private List<Integer> reconcileChunk(List<Integer> ids) {
+        List<Course> courses = courseRepo.lockByIdIn(ids);
+
+        Map<Integer, int[]> expected = new HashMap<>();
+        for (CourseCommentRepository.RatingCount row : commentRepo.countRatings(ids)) {
+            int stars = row.getStars();
+            if (stars >= 0 && stars <= CourseRating.MAX_STARS) {
+                expected.computeIfAbsent(row.getCourseId(), id -> new int[CourseRating.MAX_STARS + 1])[stars] =
+                    Math.toIntExact(row.getTotal());
+            }
+        }
+
+        List<Integer> drifted = new ArrayList<>();
+        for (Course course : courses) {
+            int[] histogram = expected.getOrDefault(course.getId(), new int[CourseRating.MAX_STARS + 1]);
+            if (!matches(course.getRating(), histogram)) {
+                courseRepo.setRating(course.getId(),
+                    histogram[0], histogram[1], histogram[2], histogram[3], histogram[4], histogram[5]);
+                drifted.add(course.getId());
+            }
+        }
+        return drifted;
+    }
+
+    private static boolean matches(CourseRating rating, int[] histogram) {
+        List<Integer> stored = rating.histogram();
+        int count = 0;
+        int sum = 0;
+        for (int stars = 0; stars < histogram.length; stars++) {
+            if (stored.get(stars) != histogram[stars]) {
+                return false;
+            }
+            count += histogram[stars];
+            sum += stars * histogram[stars];
+        }
+        return rating.getCount() == count && rating.getSum() == sum;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo conciliar las calificaciones de los cursos: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        timer.shutdown();
+    }
+}
@@ -1,18 +1,31 @@
 package com.edutech.academic.service;
 
+import com.edutech.common.client.UserLookup;
 import com.edutech.common.dto.CourseDTO;
-import com.edutech.academic.client.UserClient;
+import com.edutech.common.dto.CoursePriceDTO;
+import com.edutech.common.dto.CourseRatingDTO;
+import com.edutech.common.exception.ValidationException;
+import com.edutech.academic.catalog.CatalogVersions;
 import com.edutech.academic.entity.Course;
+import com.edutech.academic.entity.CourseCategory;
+import com.edutech.academic.entity.CourseRating;
 import com.edutech.academic.mapper.CourseMapper;
+import com.edutech.academic.repository.CourseCategoryRepository;
 import com.edutech.academic.repository.CourseRepository;
+import com.edutech.academic.search.CourseSearchIndex;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.edutech.common.exception.ExceptionUtils.orThrow;
-import static com.edutech.common.exception.ExceptionUtils.orThrowFeign;
+import static com.edutech.common.exception.ExceptionUtils.orThrowAll;
 
 @Service
 @RequiredArgsConstructor
@@ -20,7 +33,17 @@ public class CourseService {
 
     private final CourseRepository courseRepo;
     private final CourseMapper courseMapper;
-    private final UserClient userClient;
+    private final UserLookup userClient;
+    private final CourseCategoryRepository categoryRepo;
+    private final CourseSearchIndex searchIndex;
+    private final CourseDetailService detailService;
+    private final CatalogVersions catalogVersions;
+
+    @Value("${edutech.course-search.max-results:100}")
+    private int searchMaxResults;
+
+    @Value("${edutech.course-prices.max-ids:10000}")
+    private int pricesMaxIds;
 
     public List<CourseDTO> findAll() {
         return courseRepo.findAll().stream().map(courseMapper::toDTO).toList();
@@ -30,6 +53,32 @@ public class CourseService {
         return courseMapper.toDTO(orThrow(courseRepo.findById(id), "Rol"));
     }
 
+    // Precios de varios cursos en una consulta; los ID inexistentes se omiten
+    public List<CoursePriceDTO> findPrices(Collection<Integer> ids) {
+        if (ids.size() > pricesMaxIds) {
+            throw new ValidationException("No se pueden consultar más de " + pricesMaxIds + " precios a la vez.");
+        }
+        return ids.isEmpty() ? List.of() : courseRepo.findPrices(ids);
+    }
+
+    public CourseRatingDTO findRating(Integer id) {
+        return courseMapper.toRatingDTO(orThrow(courseRepo.findById(id), "Curso"));
+    }
+
+    // Cursos que contienen todos los términos buscados, del más al menos relevante
+    public List<CourseDTO> search(String query, int limit) {
+        if (limit < 1 || limit > searchMaxResults) {
+            throw new ValidationException("La cantidad de resultados debe estar entre 1 y " + searchMaxResults + ".");
+        }
+        List<Integer> ids = searchIndex.search(query, limit);
+        Map<Integer, Course> courses = courseRepo.findAllById(ids).stream()
+            .collect(Collectors.toMap(Course::getId, Function.identity()));
+        return ids.stream()
+            .filter(courses::containsKey)
+            .map(id -> courseMapper.toDTO(courses.get(id)))
+            .toList();
+    }
+
     /*
      * CREAR UN NUEVO CURSO:
      * AHORA SE USARÁ LA COMUNICACIÓN CON EL MICROSERVICIO DE IDENTIDAD PARA VALIDAR
@@ -40,28 +89,37 @@ public class CourseService {
 
     public CourseDTO create(CourseDTO dto) {
 
-        // Nos comunicaremos con el microservicio de Identidad para validar que el coordinador exista
-        orThrowFeign(dto.getManagerId(), userClient::findById, "Coordinador");
-
-        // Nos comunicaremos con el microservicio de Identidad para validar que el instructor exista
-        orThrowFeign(dto.getInstructorId(), userClient::findById, "Instructor");
+        // Nos comunicaremos con el microservicio de Identidad para validar que el coordinador
+        // y el instructor existan; ambas consultas se hacen en paralelo
+        orThrowAll(
+            () -> orThrow(userClient.findById(dto.getManagerId()), "Coordinador"),
+            () -> orThrow(userClient.findById(dto.getInstructorId()), "Instructor"));
 
         // Crear nuevo curso
-        return saveDTO(dto, null);
+        return saveDTO(dto, null, new CourseRating());
     }
 
     public CourseDTO update(Integer id, CourseDTO dto) {
-        orThrow(courseRepo.findById(id), "Rol");
-        return saveDTO(dto, id);
+        // Las columnas de calificaciones no se escriben; se conserva el valor leído para la respuesta
+        CourseRating rating = orThrow(courseRepo.findById(id), "Rol").getRating();
+        return saveDTO(dto, id, rating);
     }
 
     public void delete(Integer id) {
         courseRepo.delete(orThrow(courseRepo.findById(id), "Rol"));
+        searchIndex.remove(id);
+        detailService.invalidate(id);
+        catalogVersions.bump(CatalogVersions.Collection.COURSES);
     }
 
-    private CourseDTO saveDTO(CourseDTO dto, Integer id) {
+    private CourseDTO saveDTO(CourseDTO dto, Integer id, CourseRating rating) {
         Course entity = courseMapper.toEntity(dto);
         if (id != null) entity.setId(id);
-        return courseMapper.toDTO(courseRepo.save(entity));
+        entity.setRating(rating);
+        Course saved = courseRepo.save(entity);
+        searchIndex.index(saved, categoryRepo.findById(saved.getCategoryId()).map(CourseCategory::getName).orElse(null));
+        detailService.invalidate(saved.getId());
+        catalogVersions.bump(CatalogVersions.Collection.COURSES);
+        return courseMapper.toDTO(saved);
     }
 }
@@ -0,0 +1,160 @@
+package com.edutech.benchmarks;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compara el rendimiento de Tomcat con hilos de plataforma y con hilos virtuales
+ * ({@code spring.threads.virtual.enabled}) bajo la misma carga.
+ *
+ * Levanta un servidor embebido cuyo endpoint bloquea el hilo el mismo tiempo que
+ * tarda una petición típica de los microservicios (consulta JDBC + llamada Feign) y
+ * lo somete a un número fijo de clientes concurrentes, primero con el modo apagado y
+ * después encendido. Reporta peticiones por segundo y latencias p50/p99.
+ *
+ * <pre>
+ * mvn -pl benchmarks -am install -DskipTests
+ * mvn -pl benchmarks exec:java -Dbench.clients=1000 -Dbench.blockMs=30 -Dbench.seconds=20
+ * </pre>
+ */
+public class VirtualThreadModeBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("bench.clients", 1000);
+    private static final long BLOCK_MS = Long.getLong("bench.blockMs", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("bench.warmupSeconds", 5);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 20);
+
+    @SpringBootApplication
+    @RestController
+    public static class BlockingApp {
+
+        // Simula el tiempo que una petición pasa esperando a MySQL y a otro microservicio
+        @GetMapping("/work")
+        public String work() throws InterruptedException {
+            Thread.sleep(BLOCK_MS);
+            return "ok";
+        }
+    }
+
+    record Result(String mode, long requests, long errors, double seconds, long[] latenciesMicros) {
+
+        double throughput() {
+            return requests / seconds;
+        }
+
+        double percentileMs(double p) {
+            if (latenciesMicros.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * latenciesMicros.length) - 1;
+            return latenciesMicros[Math.max(0, index)] / 1000.0;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("Clientes concurrentes: %d, bloqueo por petición: %d ms, duración: %d s%n",
+            CLIENTS, BLOCK_MS, SECONDS);
+
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.println();
+        System.out.printf("%-20s %12s %10s %10s %10s%n", "Modo", "peticiones/s", "p50 (ms)", "p99 (ms)", "errores");
+        for (Result r : List.of(platform, virtual)) {
+            System.out.printf("%-20s %12.0f %10.1f %10.1f %10d%n",
+                r.mode(), r.throughput(), r.percentileMs(0.50), r.percentileMs(0.99), r.errors());
+        }
+    }
+
+    static Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "hilos virtuales" : "hilos de plataforma";
+        SpringApplication app = new SpringApplication(BlockingApp.class);
+        app.setDefaultProperties(Map.of(
+            "server.port", "0",
+            "spring.threads.virtual.enabled", String.valueOf(virtualThreads),
+            "spring.main.banner-mode", "off",
+            "logging.level.root", "WARN"));
+
+        try (ConfigurableApplicationContext context = app.run()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/work");
+
+            load(mode, uri, WARMUP_SECONDS);
+            System.out.printf("Midiendo con %s...%n", mode);
+            return load(mode, uri, SECONDS);
+        }
+    }
+
+    private static Result load(String mode, URI uri, int seconds) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+        long end = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        long[][] perClient = new long[CLIENTS][];
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                int slot = i;
+                clients.execute(() -> {
+                    LongList latencies = new LongList();
+                    while (System.nanoTime() < end) {
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                            latencies.add((System.nanoTime() - t0) / 1000);
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    perClient[slot] = latencies.toArray();
+                });
+            }
+        }
+        // Al cerrar el executor todos los clientes terminaron y sus resultados son visibles
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        long[] all = Arrays.stream(perClient).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(mode, all.length, errors.get(), elapsed, all);
+    }
+
+    // Lista de longs sin boxing, para no medir la presión del GC del propio generador de carga
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.edutech.benchmarks;
+
+import com.edutech.benchmarks.jmh.Fixtures;
+import com.edutech.common.config.BinaryContentNegotiation;
+import com.edutech.common.dto.CourseQuizDTO;
+import com.edutech.common.dto.UserDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compara JSON y CBOR de extremo a extremo para las respuestas entre microservicios:
+ * tamaño del cuerpo, peticiones por segundo y latencias p50/p99.
+ *
+ * Levanta un servidor embebido con los mismos conversores que los microservicios
+ * (el CBOR de {@link BinaryContentNegotiation} después del JSON) y lo consulta con un
+ * número fijo de clientes concurrentes, que piden cada formato con {@code Accept} y
+ * deserializan la respuesta, como lo hace el decodificador de Feign. Se miden un quiz
+ * ({@code GET /api/quizzes/{id}}) y una respuesta de {@code POST /api/users/lookup}.
+ *
+ * <pre>
+ * mvn -pl benchmarks -am install -DskipTests
+ * mvn -pl benchmarks exec:java -Dexec.mainClass=com.edutech.benchmarks.WireFormatLatencyBenchmark \
+ *     -Dbench.clients=64 -Dbench.lookupSize=100 -Dbench.seconds=15
+ * </pre>
+ */
+public class WireFormatLatencyBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("bench.clients", 64);
+    private static final int LOOKUP_SIZE = Integer.getInteger("bench.lookupSize", 100);
+    private static final int WARMUP_SECONDS = Integer.getInteger("bench.warmupSeconds", 5);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 15);
+
+    /*
+     * Sin @Configuration ni @Component: así el escaneo de VirtualThreadModeBenchmark,
+     * que está en el mismo paquete, no registra estas rutas ni el conversor CBOR.
+     */
+    @EnableAutoConfiguration
+    public static class WireApp {
+
+        @Bean
+        public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+            return BinaryContentNegotiation.converter(builder);
+        }
+
+        @Bean
+        public RouterFunction<ServerResponse> routes() {
+            CourseQuizDTO quiz = Fixtures.courseQuizDTO();
+            List<UserDTO> users = Fixtures.userLookup(LOOKUP_SIZE);
+            return RouterFunctions.route()
+                .GET("/quiz", request -> ServerResponse.ok().body(quiz))
+                .GET("/users", request -> ServerResponse.ok().body(users))
+                .build();
+        }
+    }
+
+    record Scenario(String name, String path, MediaType format, ObjectReader reader) {
+    }
+
+    record Result(Scenario scenario, long requests, long errors, long bytes, double seconds, long[] latenciesMicros) {
+
+        double throughput() {
+            return requests / seconds;
+        }
+
+        double percentileMs(double p) {
+            if (latenciesMicros.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * latenciesMicros.length) - 1;
+            return latenciesMicros[Math.max(0, index)] / 1000.0;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("Clientes concurrentes: %d, usuarios por lookup: %d, duración: %d s%n",
+            CLIENTS, LOOKUP_SIZE, SECONDS);
+
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cbor = BinaryContentNegotiation.converter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+        TypeReference<List<UserDTO>> userList = new TypeReference<>() { };
+        List<Scenario> scenarios = List.of(
+            new Scenario("quiz JSON", "/quiz", MediaType.APPLICATION_JSON, json.readerFor(CourseQuizDTO.class)),
+            new Scenario("quiz CBOR", "/quiz", MediaType.APPLICATION_CBOR, cbor.readerFor(CourseQuizDTO.class)),
+            new Scenario("lookup JSON", "/users", MediaType.APPLICATION_JSON, json.readerFor(userList)),
+            new Scenario("lookup CBOR", "/users", MediaType.APPLICATION_CBOR, cbor.readerFor(userList)));
+
+        SpringApplication app = new SpringApplication(WireApp.class);
+        app.setDefaultProperties(Map.of(
+            "server.port", "0",
+            "spring.main.banner-mode", "off",
+            "logging.level.root", "WARN"));
+
+        List<Result> results;
+        try (ConfigurableApplicationContext context = app.run()) {
+            String base = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            for (Scenario scenario : scenarios) {
+                load(scenario, base, WARMUP_SECONDS);
+            }
+            results = scenarios.stream().map(scenario -> {
+                System.out.printf("Midiendo %s...%n", scenario.name());
+                return load(scenario, base, SECONDS);
+            }).toList();
+        }
+
+        System.out.println();
+        System.out.printf("%-14s %10s %12s %10s %10s %10s%n",
+            "Escenario", "bytes", "peticiones/s", "p50 (ms)", "p99 (ms)", "errores");
+        for (Result r : results) {
+            System.out.printf("%-14s %10d %12.0f %10.2f %10.2f %10d%n", r.scenario().name(),
+                r.requests() == 0 ? 0 : r.bytes() / r.requests(), r.throughput(),
+                r.percentileMs(0.50), r.percentileMs(0.99), r.errors());
+        }
+    }
+
+    private static Result load(Scenario scenario, String base, int seconds) {
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + scenario.path()))
+            .timeout(Duration.ofSeconds(30))
+            .header(HttpHeaders.ACCEPT, scenario.format().toString())
+            .GET()
+            .build();
+
+        long end = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        long[][] perClient = new long[CLIENTS][];
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                int slot = i;
+                clients.execute(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < end) {
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            boolean sameFormat = response.headers().firstValue(HttpHeaders.CONTENT_TYPE)
+                                .map(type -> MediaType.parseMediaType(type).isCompatibleWith(scenario.format()))
+                                .orElse(false);
+                            if (response.statusCode() != 200 || !sameFormat) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                            scenario.reader().readValue(response.body());
+                            bytes.addAndGet(response.body().length);
+                            if (count == latencies.length) {
+                                latencies = Arrays.copyOf(latencies, count * 2);
+                            }
+                            latencies[count++] = (System.nanoTime() - t0) / 1000;
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    perClient[slot] = Arrays.copyOf(latencies, count);
+                });
+            }
+        }
+        // Al cerrar el executor todos los clientes terminaron y sus resultados son visibles
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        long[] all = Arrays.stream(perClient).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(scenario, all.length, errors.get(), bytes.get(), elapsed, all);
+    }
+}
@@ -0,0 +1,141 @@
+package com.edutech.benchmarks.jmh;
+
+import com.edutech.academic.entity.Course;
+import com.edutech.academic.entity.CourseCategory;
+import com.edutech.academic.repository.CourseCategoryRepository;
+import com.edutech.academic.repository.CourseRepository;
+import com.edutech.academic.search.CourseSearchIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsquedas en el catálogo ({@code CourseSearchIndex}) con 10.000 y 100.000 cursos.
+ *
+ * Los textos se arman con un vocabulario inventado de 20.000 palabras en que unas pocas
+ * se repiten mucho (como en un catálogo real), así que hay términos que están en una
+ * buena parte de los cursos y prefijos cortos que abarcan cientos de términos: los casos
+ * caros del índice, junto al de un término poco frecuente como referencia.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CourseSearchBenchmark {
+
+    private static final String[] SYLLABLES = {
+        "pro", "gra", "ma", "cion", "da", "tos", "re", "des", "se", "gu", "ri", "dad", "ar", "qui", "tec", "tu",
+        "di", "no", "web", "ja", "va", "py", "ton", "ba", "ses", "al", "go", "rit", "mos", "ges", "tion", "yec",
+        "to", "mar", "ke", "ting", "con", "ta", "bi", "li", "fi", "nan", "zas", "co", "ci", "na", "fo" };
+
+    private static final int VOCABULARY = 20_000;
+    private static final int CATEGORIES = 40;
+    private static final int LIMIT = 20;
+
+    @Param({ "10000", "100000" })
+    public int courses;
+
+    private CourseSearchIndex index;
+    private String frequentTerm;
+    private String secondFrequentTerm;
+    private String rareTerm;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] vocabulary = new String[VOCABULARY];
+        for (int i = 0; i < vocabulary.length; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int j = 2 + random.nextInt(3); j > 0; j--) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            vocabulary[i] = word.toString();
+        }
+        frequentTerm = vocabulary[0];
+        secondFrequentTerm = vocabulary[1];
+        rareTerm = vocabulary[5_000];
+
+        List<CourseCategory> categories = new ArrayList<>();
+        for (int i = 1; i <= CATEGORIES; i++) {
+            CourseCategory category = new CourseCategory();
+            category.setId(i);
+            category.setName(vocabulary[i] + " " + vocabulary[i + CATEGORIES]);
+            categories.add(category);
+        }
+        List<Course> catalog = new ArrayList<>(courses);
+        for (int i = 1; i <= courses; i++) {
+            Course course = new Course();
+            course.setId(i);
+            course.setCategoryId(1 + random.nextInt(CATEGORIES));
+            course.setTitle(text(random, vocabulary, 5));
+            course.setDescription(text(random, vocabulary, 40));
+            catalog.add(course);
+        }
+
+        index = new CourseSearchIndex(repository(CourseRepository.class, catalog),
+            repository(CourseCategoryRepository.class, categories), 64);
+        // La primera búsqueda carga el índice desde los "repositorios"
+        if (index.search(rareTerm, LIMIT).isEmpty()) {
+            throw new IllegalStateException("El término poco frecuente no aparece en el catálogo");
+        }
+    }
+
+    @Benchmark
+    public List<Integer> frequentTerm() {
+        return index.search(frequentTerm, LIMIT);
+    }
+
+    @Benchmark
+    public List<Integer> twoFrequentTerms() {
+        return index.search(frequentTerm + " " + secondFrequentTerm, LIMIT);
+    }
+
+    // "pro" abarca todos los términos que empiezan así, hasta max-prefix-expansions
+    @Benchmark
+    public List<Integer> shortPrefix() {
+        return index.search("pro", LIMIT);
+    }
+
+    @Benchmark
+    public List<Integer> rareTerm() {
+        return index.search(rareTerm, LIMIT);
+    }
+
+    // Cada palabra sale del vocabulario con probabilidad decreciente (aproximadamente Zipf)
+    private static String text(Random random, String[] vocabulary, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            int rank = (int) Math.pow(vocabulary.length, random.nextDouble()) - 1;
+            text.append(vocabulary[Math.min(rank, vocabulary.length - 1)]).append(' ');
+        }
+        return text.toString();
+    }
+
+    // Repositorio de solo lectura: findAll devuelve los datos generados
+    @SuppressWarnings("unchecked")
+    private static <R> R repository(Class<R> type, List<?> rows) {
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            if (method.getName().equals("findAll") && method.getParameterCount() == 0) {
+                return rows;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+}
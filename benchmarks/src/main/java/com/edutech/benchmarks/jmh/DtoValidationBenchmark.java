@@ -0,0 +1,109 @@
+package com.edutech.benchmarks.jmh;
+
+import com.edutech.common.dto.CourseDTO;
+import com.edutech.common.dto.PaymentDTO;
+import com.edutech.common.dto.QuizResponseDTO;
+import com.edutech.common.dto.StudentMarkDTO;
+import com.edutech.common.dto.UserDTO;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de la validación Jakarta Bean Validation (@Valid) de los DTOs de common,
+ * tanto para objetos válidos como para objetos con errores (que además construyen
+ * los mensajes de cada restricción).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoValidationBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+
+    private final CourseDTO validCourse = Fixtures.courseDTO();
+    private final PaymentDTO validPayment = Fixtures.paymentDTO();
+    private final QuizResponseDTO validQuizResponse = Fixtures.quizResponseDTO();
+    private final StudentMarkDTO validStudentMark = Fixtures.studentMarkDTO();
+    private final UserDTO validUser = Fixtures.userDTO();
+
+    private CourseDTO invalidCourse;
+    private PaymentDTO invalidPayment;
+
+    @Setup
+    public void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+
+        invalidCourse = Fixtures.courseDTO();
+        invalidCourse.setTitle("");
+        invalidCourse.setPrice(BigDecimal.ZERO);
+        invalidCourse.setStatus(null);
+
+        invalidPayment = Fixtures.paymentDTO();
+        invalidPayment.setAmount(new BigDecimal("0.00"));
+        invalidPayment.setPaymentMethod("");
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CourseDTO>> validCourse() {
+        return validator.validate(validCourse);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CourseDTO>> invalidCourse() {
+        return validator.validate(invalidCourse);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PaymentDTO>> validPayment() {
+        return validator.validate(validPayment);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PaymentDTO>> invalidPayment() {
+        return validator.validate(invalidPayment);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<QuizResponseDTO>> validQuizResponse() {
+        return validator.validate(validQuizResponse);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<StudentMarkDTO>> validStudentMark() {
+        return validator.validate(validStudentMark);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserDTO>> validUser() {
+        return validator.validate(validUser);
+    }
+}
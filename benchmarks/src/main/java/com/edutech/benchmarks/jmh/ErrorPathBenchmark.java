@@ -0,0 +1,67 @@
+package com.edutech.benchmarks.jmh;
+
+import com.edutech.common.exception.ExceptionUtils;
+import com.edutech.common.exception.GlobalExceptionHandler;
+import com.edutech.common.exception.ResourceNotFoundException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del camino de error: construir la excepción (incluida la captura de la pila),
+ * lanzarla desde {@code ExceptionUtils.orThrow} y armar la respuesta de error en
+ * {@code GlobalExceptionHandler}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorPathBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final ResourceNotFoundException exception = new ResourceNotFoundException("Curso no encontrado");
+    private final Optional<Object> empty = Optional.empty();
+
+    @Benchmark
+    public ResourceNotFoundException newResourceNotFoundException() {
+        return new ResourceNotFoundException("Curso no encontrado");
+    }
+
+    @Benchmark
+    public Object orThrowNotFound() {
+        try {
+            return ExceptionUtils.orThrow(empty, "Curso");
+        } catch (ResourceNotFoundException e) {
+            return e;
+        }
+    }
+
+    // handleNotFound delega en buildErrorResponse, que es privado
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> buildErrorResponse() {
+        return handler.handleNotFound(exception);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> fullErrorPath() {
+        try {
+            return ResponseEntity.ok(Map.of("curso", ExceptionUtils.orThrow(empty, "Curso")));
+        } catch (ResourceNotFoundException e) {
+            return handler.handleNotFound(e);
+        }
+    }
+}
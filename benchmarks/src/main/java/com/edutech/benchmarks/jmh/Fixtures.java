@@ -0,0 +1,196 @@
+package com.edutech.benchmarks.jmh;
+
+import com.edutech.academic.entity.Course;
+import com.edutech.common.dto.CourseDTO;
+import com.edutech.common.dto.CourseQuizDTO;
+import com.edutech.common.dto.PaymentDTO;
+import com.edutech.common.dto.QuizResponseDTO;
+import com.edutech.common.dto.StudentMarkDTO;
+import com.edutech.common.dto.SupportTicketDTO;
+import com.edutech.common.dto.UserDTO;
+import com.edutech.marks.entity.QuizResponse;
+import com.edutech.marks.entity.StudentMark;
+import com.edutech.payment.entity.DiscountCoupon;
+import com.edutech.payment.entity.Payment;
+import com.edutech.support.entity.SupportTicket;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Objetos de ejemplo con valores realistas para los benchmarks.
+ */
+public final class Fixtures {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    private Fixtures() {
+    }
+
+    static Course course() {
+        Course c = new Course();
+        c.setId(42);
+        c.setTitle("Programación en Java: de cero a microservicios");
+        c.setDescription("Curso práctico de Java moderno, Spring Boot y arquitectura de microservicios. ".repeat(8));
+        c.setCategoryId(3);
+        c.setManagerId(10);
+        c.setInstructorId(11);
+        c.setPublishDate(LocalDate.of(2025, 3, 1));
+        c.setPrice(new BigDecimal("49990.000"));
+        c.setImage("https://cdn.edutech.cl/cursos/42/portada.png");
+        c.setStatus("PUBLICADO");
+        return c;
+    }
+
+    public static CourseDTO courseDTO() {
+        CourseDTO d = new CourseDTO();
+        d.setId(42);
+        d.setTitle("Programación en Java: de cero a microservicios");
+        d.setDescription("Curso práctico de Java moderno, Spring Boot y arquitectura de microservicios.");
+        d.setCategoryId(3);
+        d.setManagerId(10);
+        d.setInstructorId(11);
+        d.setPublishDate(LocalDate.of(2025, 3, 1));
+        d.setPrice(new BigDecimal("49990.000"));
+        d.setImage("https://cdn.edutech.cl/cursos/42/portada.png");
+        d.setStatus("PUBLICADO");
+        return d;
+    }
+
+    static QuizResponse quizResponse() {
+        QuizResponse r = new QuizResponse();
+        r.setId(1001);
+        r.setQuizId(7);
+        r.setStudentId(500);
+        r.setSelectedOption("C");
+        r.setResponseContent("La respuesta correcta es la C porque el recolector de basura es generacional.");
+        r.setSubmittedAt(NOW);
+        return r;
+    }
+
+    static QuizResponseDTO quizResponseDTO() {
+        QuizResponseDTO d = new QuizResponseDTO();
+        d.setId(1001);
+        d.setQuizId(7);
+        d.setStudentId(500);
+        d.setSelectedOption("C");
+        d.setSubmittedAt(NOW);
+        return d;
+    }
+
+    static StudentMark studentMark() {
+        StudentMark m = new StudentMark();
+        m.setId(77);
+        m.setQuizId(7);
+        m.setStudentId(500);
+        m.setMark(new BigDecimal("85.50"));
+        m.setComments("Buen trabajo");
+        m.setGradedAt(NOW);
+        return m;
+    }
+
+    static StudentMarkDTO studentMarkDTO() {
+        StudentMarkDTO d = new StudentMarkDTO();
+        d.setId(77);
+        d.setQuizId(7);
+        d.setStudentId(500);
+        d.setMark(new BigDecimal("85.50"));
+        d.setGradedAt(NOW);
+        return d;
+    }
+
+    static Payment payment() {
+        Payment p = new Payment();
+        p.setId(9001);
+        p.setUserId(500);
+        p.setAmount(new BigDecimal("44991.00"));
+        p.setPaymentMethod("TARJETA_CREDITO");
+        p.setStatus("APROBADO");
+        return p;
+    }
+
+    static PaymentDTO paymentDTO() {
+        PaymentDTO d = new PaymentDTO();
+        d.setId(9001);
+        d.setUserId(500);
+        d.setAmount(new BigDecimal("44991.00"));
+        d.setPaymentDate(NOW);
+        d.setPaymentMethod("TARJETA_CREDITO");
+        d.setPaymentInstitution("Banco de Chile");
+        d.setTransactionId("TX-2025-000000123");
+        d.setStatus("APROBADO");
+        return d;
+    }
+
+    static DiscountCoupon coupon() {
+        DiscountCoupon c = new DiscountCoupon();
+        c.setId(5);
+        c.setCode("VERANO2025");
+        c.setDescription("Descuento de verano");
+        c.setDiscountPercentage(new BigDecimal("10.00"));
+        c.setValidFrom(LocalDate.of(2025, 1, 1));
+        c.setValidUntil(LocalDate.of(2025, 3, 31));
+        c.setIsActive(true);
+        return c;
+    }
+
+    static SupportTicket supportTicket() {
+        SupportTicket t = new SupportTicket();
+        t.setId(300);
+        t.setUserId(500);
+        t.setSubject("No puedo acceder al curso");
+        t.setDescription("Después de pagar el curso sigue apareciendo como bloqueado en mi panel.");
+        t.setStatus("ABIERTO");
+        t.setCreatedAt(NOW);
+        return t;
+    }
+
+    static SupportTicketDTO supportTicketDTO() {
+        SupportTicketDTO d = new SupportTicketDTO();
+        d.setId(300);
+        d.setUserId(500);
+        d.setSubject("No puedo acceder al curso");
+        d.setDescription("Después de pagar el curso sigue apareciendo como bloqueado en mi panel.");
+        d.setStatus("ABIERTO");
+        d.setCreatedAt(NOW);
+        return d;
+    }
+
+    public static CourseQuizDTO courseQuizDTO() {
+        CourseQuizDTO d = new CourseQuizDTO();
+        d.setId(7);
+        d.setCourseId(42);
+        d.setTitle("Quiz 2: colecciones y genéricos");
+        d.setDescription("Preguntas de alternativas sobre List, Map, Set y el uso de tipos genéricos en Java.");
+        d.setQuizType("ALTERNATIVAS");
+        d.setCreatedAt(NOW);
+        return d;
+    }
+
+    // Respuesta de POST /api/users/lookup para una ventana de validaciones agrupadas
+    public static List<UserDTO> userLookup(int size) {
+        return IntStream.range(0, size).mapToObj(i -> {
+            UserDTO d = userDTO();
+            d.setId(500 + i);
+            d.setEmail("estudiante" + i + "@edutech.cl");
+            return d;
+        }).toList();
+    }
+
+    public static UserDTO userDTO() {
+        UserDTO d = new UserDTO();
+        d.setId(500);
+        d.setFirstName("Camila");
+        d.setLastName("Rojas");
+        d.setEmail("camila.rojas@edutech.cl");
+        d.setPasswordHash("$2a$10$abcdefghijklmnopqrstuv");
+        d.setRoleId(2);
+        d.setIsActive(true);
+        d.setCreatedAt(NOW);
+        d.setUpdatedAt(NOW);
+        return d;
+    }
+}
@@ -0,0 +1,125 @@
+package com.edutech.benchmarks.jmh;
+
+import com.edutech.academic.entity.Course;
+import com.edutech.academic.mapper.CourseMapper;
+import com.edutech.academic.mapper.CourseMapperImpl;
+import com.edutech.common.dto.CourseDTO;
+import com.edutech.common.dto.DiscountCouponDTO;
+import com.edutech.common.dto.PaymentDTO;
+import com.edutech.common.dto.QuizResponseDTO;
+import com.edutech.common.dto.StudentMarkDTO;
+import com.edutech.common.dto.SupportTicketDTO;
+import com.edutech.marks.entity.QuizResponse;
+import com.edutech.marks.entity.StudentMark;
+import com.edutech.marks.mapper.QuizResponseMapper;
+import com.edutech.marks.mapper.QuizResponseMapperImpl;
+import com.edutech.marks.mapper.StudentMarkMapper;
+import com.edutech.marks.mapper.StudentMarkMapperImpl;
+import com.edutech.payment.entity.DiscountCoupon;
+import com.edutech.payment.entity.Payment;
+import com.edutech.payment.mapper.DiscountCouponMapper;
+import com.edutech.payment.mapper.DiscountCouponMapperImpl;
+import com.edutech.payment.mapper.PaymentMapper;
+import com.edutech.payment.mapper.PaymentMapperImpl;
+import com.edutech.support.entity.SupportTicket;
+import com.edutech.support.mapper.SupportTicketMapper;
+import com.edutech.support.mapper.SupportTicketMapperImpl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de los mappers MapStruct entre entidades y DTOs, que se ejecutan en cada
+ * petición de lectura y escritura de los microservicios.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private final CourseMapper courseMapper = new CourseMapperImpl();
+    private final QuizResponseMapper quizResponseMapper = new QuizResponseMapperImpl();
+    private final StudentMarkMapper studentMarkMapper = new StudentMarkMapperImpl();
+    private final PaymentMapper paymentMapper = new PaymentMapperImpl();
+    private final DiscountCouponMapper couponMapper = new DiscountCouponMapperImpl();
+    private final SupportTicketMapper supportTicketMapper = new SupportTicketMapperImpl();
+
+    private final Course course = Fixtures.course();
+    private final CourseDTO courseDTO = Fixtures.courseDTO();
+    private final QuizResponse quizResponse = Fixtures.quizResponse();
+    private final QuizResponseDTO quizResponseDTO = Fixtures.quizResponseDTO();
+    private final StudentMark studentMark = Fixtures.studentMark();
+    private final StudentMarkDTO studentMarkDTO = Fixtures.studentMarkDTO();
+    private final Payment payment = Fixtures.payment();
+    private final PaymentDTO paymentDTO = Fixtures.paymentDTO();
+    private final DiscountCoupon coupon = Fixtures.coupon();
+    private final SupportTicket supportTicket = Fixtures.supportTicket();
+    private final SupportTicketDTO supportTicketDTO = Fixtures.supportTicketDTO();
+
+    @Benchmark
+    public CourseDTO courseToDTO() {
+        return courseMapper.toDTO(course);
+    }
+
+    @Benchmark
+    public Course courseToEntity() {
+        return courseMapper.toEntity(courseDTO);
+    }
+
+    @Benchmark
+    public QuizResponseDTO quizResponseToDTO() {
+        return quizResponseMapper.toDTO(quizResponse);
+    }
+
+    @Benchmark
+    public QuizResponse quizResponseToEntity() {
+        return quizResponseMapper.toEntity(quizResponseDTO);
+    }
+
+    @Benchmark
+    public StudentMarkDTO studentMarkToDTO() {
+        return studentMarkMapper.toDTO(studentMark);
+    }
+
+    @Benchmark
+    public StudentMark studentMarkToEntity() {
+        return studentMarkMapper.toEntity(studentMarkDTO);
+    }
+
+    @Benchmark
+    public PaymentDTO paymentToDTO() {
+        return paymentMapper.toDTO(payment);
+    }
+
+    @Benchmark
+    public Payment paymentToEntity() {
+        return paymentMapper.toEntity(paymentDTO);
+    }
+
+    @Benchmark
+    public DiscountCouponDTO couponToDTO() {
+        return couponMapper.toDTO(coupon);
+    }
+
+    @Benchmark
+    public SupportTicketDTO supportTicketToDTO() {
+        return supportTicketMapper.toDTO(supportTicket);
+    }
+
+    @Benchmark
+    public SupportTicket supportTicketToEntity() {
+        return supportTicketMapper.toEntity(supportTicketDTO);
+    }
+}
@@ -0,0 +1,72 @@
+package com.edutech.benchmarks.jmh;
+
+import com.edutech.payment.quote.PriceMath;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totales de una cotización ({@code PriceMath}) con BigDecimal frente al cálculo en punto
+ * fijo sobre {@code long}, para carros de distinto tamaño con hasta miles de asientos por
+ * curso. Al iniciar se comprueba que ambos dan exactamente el mismo resultado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriceQuoteBenchmark {
+
+    @Param({ "10", "1000", "10000" })
+    public int lines;
+
+    // 12,50 %
+    private final BigDecimal discountPercentage = new BigDecimal("12.50");
+    private final long discountBasisPoints = 1250;
+
+    private BigDecimal[] prices;
+    private long[] pricesMilli;
+    private long[] seats;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        prices = new BigDecimal[lines];
+        pricesMilli = new long[lines];
+        seats = new long[lines];
+        for (int i = 0; i < lines; i++) {
+            pricesMilli[i] = random.nextLong(1_000, 1_000_000);
+            prices[i] = BigDecimal.valueOf(pricesMilli[i], PriceMath.PRICE_SCALE);
+            seats[i] = random.nextLong(1, 5_001);
+        }
+        PriceMath.Totals exact = bigDecimal();
+        PriceMath.Totals fixed = fixedPoint();
+        if (!exact.equals(fixed)) {
+            throw new IllegalStateException("Los cálculos no coinciden: " + exact + " / " + fixed);
+        }
+    }
+
+    @Benchmark
+    public PriceMath.Totals bigDecimal() {
+        return PriceMath.exact(prices, seats, discountPercentage);
+    }
+
+    @Benchmark
+    public PriceMath.Totals fixedPoint() {
+        return PriceMath.fixedPoint(pricesMilli, seats, discountBasisPoints);
+    }
+}
@@ -0,0 +1,122 @@
+package com.edutech.benchmarks.jmh;
+
+import com.edutech.common.config.BinaryContentNegotiation;
+import com.edutech.common.dto.CourseDTO;
+import com.edutech.common.dto.CourseQuizDTO;
+import com.edutech.common.dto.UserDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de serializar y deserializar los DTOs que viajan entre microservicios en JSON
+ * y en CBOR ({@link BinaryContentNegotiation}), con la misma configuración de Jackson
+ * que usan los conversores de Spring. El tamaño de cada cuerpo se imprime al iniciar.
+ * La latencia de extremo a extremo se mide con {@code WireFormatLatencyBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    private static final int LOOKUP_SIZE = 100;
+
+    @Param({ "json", "cbor" })
+    public String format;
+
+    private final UserDTO user = Fixtures.userDTO();
+    private final CourseQuizDTO quiz = Fixtures.courseQuizDTO();
+    private final CourseDTO course = Fixtures.courseDTO();
+    private final List<UserDTO> lookup = Fixtures.userLookup(LOOKUP_SIZE);
+
+    private ObjectWriter writer;
+    private ObjectReader userReader;
+    private ObjectReader quizReader;
+    private ObjectReader courseReader;
+    private ObjectReader lookupReader;
+
+    private byte[] userBytes;
+    private byte[] quizBytes;
+    private byte[] courseBytes;
+    private byte[] lookupBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = "cbor".equals(format)
+            ? BinaryContentNegotiation.converter(Jackson2ObjectMapperBuilder.json()).getObjectMapper()
+            : Jackson2ObjectMapperBuilder.json().build();
+        writer = mapper.writer();
+        userReader = mapper.readerFor(UserDTO.class);
+        quizReader = mapper.readerFor(CourseQuizDTO.class);
+        courseReader = mapper.readerFor(CourseDTO.class);
+        lookupReader = mapper.readerFor(new TypeReference<List<UserDTO>>() { });
+
+        userBytes = writer.writeValueAsBytes(user);
+        quizBytes = writer.writeValueAsBytes(quiz);
+        courseBytes = writer.writeValueAsBytes(course);
+        lookupBytes = writer.writeValueAsBytes(lookup);
+        System.out.printf("%n%s: UserDTO %d B, CourseQuizDTO %d B, CourseDTO %d B, %d UserDTO %d B%n",
+            format, userBytes.length, quizBytes.length, courseBytes.length, LOOKUP_SIZE, lookupBytes.length);
+    }
+
+    @Benchmark
+    public byte[] writeUser() throws IOException {
+        return writer.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public UserDTO readUser() throws IOException {
+        return userReader.readValue(userBytes);
+    }
+
+    @Benchmark
+    public byte[] writeQuiz() throws IOException {
+        return writer.writeValueAsBytes(quiz);
+    }
+
+    @Benchmark
+    public CourseQuizDTO readQuiz() throws IOException {
+        return quizReader.readValue(quizBytes);
+    }
+
+    @Benchmark
+    public byte[] writeCourse() throws IOException {
+        return writer.writeValueAsBytes(course);
+    }
+
+    @Benchmark
+    public CourseDTO readCourse() throws IOException {
+        return courseReader.readValue(courseBytes);
+    }
+
+    @Benchmark
+    public byte[] writeUserLookup() throws IOException {
+        return writer.writeValueAsBytes(lookup);
+    }
+
+    @Benchmark
+    public List<UserDTO> readUserLookup() throws IOException {
+        return lookupReader.readValue(lookupBytes);
+    }
+}
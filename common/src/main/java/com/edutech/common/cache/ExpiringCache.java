@@ -0,0 +1,213 @@
+package com.edutech.common.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Caché local acotada con expiración por entrada.
+ *
+ * Guarda también los resultados vacíos (búsquedas sin resultado) con su propio tiempo
+ * de vida, para no repetir consultas remotas por claves que no existen. Cuando se
+ * supera el tamaño máximo se descartan las entradas vencidas y, si no alcanza, las que
+ * vencen antes (las cargadas hace más tiempo), hasta dejar la caché al 90 % del máximo:
+ * el recorrido completo se paga una vez cada muchas cargas y no en cada una.
+ */
+public class ExpiringCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    /*
+     * SE INCREMENTA EN CADA INVALIDACIÓN PARA DESCARTAR CARGAS QUE EMPEZARON ANTES.
+     * LA COMPARACIÓN Y LA ESCRITURA DE UNA CARGA SE HACEN DENTRO DE compute, Y invalidate
+     * INCREMENTA DENTRO DE compute SOBRE LA MISMA CLAVE: UNA INVALIDACIÓN QUEDA O ANTES DE LA
+     * COMPARACIÓN (LA CARGA SE DESCARTA) O DESPUÉS DE LA ESCRITURA (LA BORRA). invalidateAll
+     * INCREMENTA ANTES DE VACIAR EL MAPA, ASÍ QUE UNA ESCRITURA QUE VIO LA GENERACIÓN ANTERIOR
+     * TERMINA ANTES DE QUE clear LLEGUE A SU CLAVE.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    // Una sola limpieza a la vez; las cargas que llegan mientras tanto no esperan
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ExpiringCache(int maxSize, Duration ttl, Duration negativeTtl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+    }
+
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        long now = System.nanoTime();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt() - now > 0) {
+            hits.increment();
+            return Optional.ofNullable(entry.value());
+        }
+
+        misses.increment();
+        long startGeneration = generation.get();
+        Optional<V> loaded = loader.apply(key);
+
+        // Si hubo una invalidación mientras se cargaba, el valor podría estar desactualizado
+        long ttl = loaded.isPresent() ? ttlNanos : negativeTtlNanos;
+        if (store(key, loaded.orElse(null), System.nanoTime() + ttl, startGeneration) && entries.size() > maxSize) {
+            evict();
+        }
+        return loaded;
+    }
+
+    /*
+     * Como get, para varias claves: las que no están (o vencieron) se cargan juntas con una
+     * sola llamada al loader, que devuelve las que encontró. Las claves ausentes del resultado
+     * se guardan como vacías con el tiempo de vida negativo y no aparecen en el mapa devuelto.
+     */
+    public Map<K, V> getAll(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        long now = System.nanoTime();
+        Map<K, V> result = new HashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - now > 0) {
+                hits.increment();
+                if (entry.value() != null) {
+                    result.put(key, entry.value());
+                }
+            } else {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        misses.add(missing.size());
+        long startGeneration = generation.get();
+        Map<K, V> loaded = loader.apply(missing);
+        long loadedAt = System.nanoTime();
+        boolean stored = false;
+        for (K key : missing) {
+            V value = loaded.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+            stored |= store(key, value, loadedAt + (value != null ? ttlNanos : negativeTtlNanos), startGeneration);
+        }
+        if (stored && entries.size() > maxSize) {
+            evict();
+        }
+        return result;
+    }
+
+    // Guarda lo cargado solo si no hubo invalidaciones desde startGeneration; si las hubo deja lo que haya
+    private boolean store(K key, V value, long expiresAt, long startGeneration) {
+        boolean[] stored = new boolean[1];
+        entries.compute(key, (k, current) -> {
+            if (generation.get() != startGeneration) {
+                return current;
+            }
+            stored[0] = true;
+            return new Entry<>(value, expiresAt);
+        });
+        return stored[0];
+    }
+
+    public void invalidate(K key) {
+        entries.compute(key, (k, current) -> {
+            generation.incrementAndGet();
+            return null;
+        });
+        invalidations.increment();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+        invalidations.increment();
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            int target = maxSize - maxSize / 10;
+            int excess = entries.size() - target;
+            if (excess <= 0) {
+                return;
+            }
+
+            // Vencidas fuera; del resto, las "excess" que vencen antes (montículo con la que vence más tarde arriba)
+            PriorityQueue<Map.Entry<K, Entry<V>>> oldest = new PriorityQueue<>(excess,
+                Comparator.comparingLong((Map.Entry<K, Entry<V>> e) -> e.getValue().expiresAt() - now).reversed());
+            for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+                if (e.getValue().expiresAt() - now <= 0) {
+                    remove(e);
+                } else {
+                    oldest.add(e);
+                    if (oldest.size() > excess) {
+                        oldest.poll();
+                    }
+                }
+            }
+
+            for (Map.Entry<K, Entry<V>> e : oldest) {
+                if (entries.size() <= target) {
+                    break;
+                }
+                remove(e);
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    // Solo si la entrada no fue reemplazada por una carga más nueva mientras tanto
+    private void remove(Map.Entry<K, Entry<V>> e) {
+        if (entries.remove(e.getKey(), e.getValue())) {
+            evictions.increment();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public long invalidations() {
+        return invalidations.sum();
+    }
+}
@@ -0,0 +1,55 @@
+package com.edutech.common.client;
+
+import com.edutech.common.dto.UserDTO;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cliente de usuarios que agrupa las búsquedas por ID concurrentes en una sola
+ * llamada a {@code POST /api/users/lookup} del microservicio de identidad.
+ */
+public class BatchingUserClient implements UserLookup, AutoCloseable {
+
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(5);
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final Function<Collection<Integer>, List<UserDTO>> bulkLookup;
+    private final RequestBatcher<Integer, UserDTO> batcher;
+
+    public BatchingUserClient(Function<Collection<Integer>, List<UserDTO>> bulkLookup) {
+        this(bulkLookup, DEFAULT_WINDOW, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public BatchingUserClient(Function<Collection<Integer>, List<UserDTO>> bulkLookup,
+                              Duration window, int maxBatchSize) {
+        this.bulkLookup = bulkLookup;
+        this.batcher = new RequestBatcher<>(ids -> findAllById(ids), window, maxBatchSize);
+    }
+
+    @Override
+    public Optional<UserDTO> findById(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(batcher.load(id));
+    }
+
+    public Map<Integer, UserDTO> findAllById(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return bulkLookup.apply(ids).stream()
+            .collect(Collectors.toMap(UserDTO::getId, Function.identity(), (a, b) -> a));
+    }
+
+    @Override
+    public void close() {
+        batcher.close();
+    }
+}
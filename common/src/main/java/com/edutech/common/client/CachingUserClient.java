@@ -0,0 +1,68 @@
+package com.edutech.common.client;
+
+import com.edutech.common.cache.ExpiringCache;
+import com.edutech.common.dto.UserChangeEventDTO;
+import com.edutech.common.dto.UserDTO;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Caché local de usuarios delante de otro {@link UserLookup}.
+ *
+ * Las entradas se invalidan al recibir los eventos de cambio publicados por el
+ * microservicio de identidad (ver {@link UserChangeSubscriber}); el tiempo de vida
+ * solo acota el desfase si se pierde algún evento.
+ */
+public class CachingUserClient implements UserLookup, MeterBinder, AutoCloseable {
+
+    private final UserLookup delegate;
+    private final ExpiringCache<Integer, UserDTO> cache;
+
+    public CachingUserClient(UserLookup delegate, int maxSize, Duration ttl, Duration negativeTtl) {
+        this.delegate = delegate;
+        this.cache = new ExpiringCache<>(maxSize, ttl, negativeTtl);
+    }
+
+    @Override
+    public Optional<UserDTO> findById(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return cache.get(id, delegate::findById);
+    }
+
+    public void onChange(UserChangeEventDTO event) {
+        cache.invalidate(event.getUserId());
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", cache, ExpiringCache::hits)
+            .tag("cache", "users").tag("result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", cache, ExpiringCache::misses)
+            .tag("cache", "users").tag("result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", cache, ExpiringCache::evictions)
+            .tag("cache", "users").register(registry);
+        FunctionCounter.builder("cache.invalidations", cache, ExpiringCache::invalidations)
+            .tag("cache", "users").register(registry);
+        Gauge.builder("cache.size", cache, ExpiringCache::size)
+            .tag("cache", "users").register(registry);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.edutech.common.client;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Agrupa las consultas individuales que llegan de forma concurrente dentro de una
+ * ventana corta de tiempo y las resuelve con una única llamada masiva.
+ *
+ * Las claves repetidas dentro de la misma ventana comparten el mismo resultado. Si
+ * la llamada masiva no devuelve una clave, su resultado es {@code null}.
+ */
+public class RequestBatcher<K, V> implements AutoCloseable {
+
+    private final Function<Set<K>, Map<K, V>> bulkLoader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("request-batcher").factory());
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<V>> pending = new HashMap<>();
+
+    public RequestBatcher(Function<Set<K>, Map<K, V>> bulkLoader, Duration window, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("El tamaño máximo del lote debe ser mayor a cero");
+        }
+        this.bulkLoader = bulkLoader;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public V load(K key) {
+        try {
+            return submit(key).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public CompletableFuture<V> submit(K key) {
+        CompletableFuture<V> future;
+        Map<K, CompletableFuture<V>> full = null;
+
+        synchronized (lock) {
+            future = pending.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new HashMap<>();
+            } else if (pending.size() == 1) {
+                // Primera clave de la ventana: se programa el envío del lote actual
+                Map<K, CompletableFuture<V>> batch = pending;
+                timer.schedule(() -> flush(batch), windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    private void flush(Map<K, CompletableFuture<V>> batch) {
+        synchronized (lock) {
+            // El lote pudo haberse enviado antes por alcanzar el tamaño máximo
+            if (pending != batch) {
+                return;
+            }
+            pending = new HashMap<>();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        dispatcher.execute(() -> {
+            try {
+                Map<K, V> results = bulkLoader.apply(batch.keySet());
+                batch.forEach((key, future) -> future.complete(results.get(key)));
+            } catch (RuntimeException e) {
+                batch.values().forEach(future -> future.completeExceptionally(e));
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        timer.shutdown();
+        dispatcher.shutdown();
+    }
+}
@@ -0,0 +1,104 @@
+package com.edutech.common.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Envuelve cada cliente Feign del contexto para que las llamadas GET idénticas
+ * (mismo método y mismos argumentos) que coinciden en el tiempo compartan una sola
+ * petición HTTP. Las llamadas que no son GET pasan directo al cliente.
+ *
+ * Publica por cliente las métricas {@code feign.singleflight.calls} y
+ * {@code feign.singleflight.deduplicated}.
+ */
+public class SingleFlightFeignPostProcessor implements BeanPostProcessor, BeanFactoryAware, SmartInitializingSingleton {
+
+    private record CallKey(Method method, List<Object> args) {
+    }
+
+    private final Map<String, SingleFlight<CallKey, Object>> flights = new ConcurrentHashMap<>();
+    private BeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        for (Class<?> type : bean.getClass().getInterfaces()) {
+            if (type.isAnnotationPresent(FeignClient.class)) {
+                return wrap(type, bean);
+            }
+        }
+        return bean;
+    }
+
+    private Object wrap(Class<?> type, Object client) {
+        SingleFlight<CallKey, Object> flight = flights.computeIfAbsent(type.getSimpleName(), k -> new SingleFlight<>());
+
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (!isGet(method)) {
+                return invoke(client, method, args);
+            }
+            CallKey key = new CallKey(method, args == null ? List.of() : Arrays.asList(args));
+            return flight.execute(key, () -> invoke(client, method, args));
+        };
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static boolean isGet(Method method) {
+        if (method.getDeclaringClass() == Object.class || method.isDefault()) {
+            return false;
+        }
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        return mapping != null && Arrays.asList(mapping.method()).contains(RequestMethod.GET);
+    }
+
+    private static Object invoke(Object client, Method method, Object[] args) {
+        try {
+            return method.invoke(client, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Los clientes Feign ya están creados en este punto, así que todos tienen sus métricas
+    @Override
+    public void afterSingletonsInstantiated() {
+        beanFactory.getBeanProvider(MeterRegistry.class).ifAvailable(registry ->
+            flights.forEach((client, flight) -> {
+                FunctionCounter.builder("feign.singleflight.calls", flight, SingleFlight::calls)
+                    .tag("client", client).register(registry);
+                FunctionCounter.builder("feign.singleflight.deduplicated", flight, SingleFlight::deduplicated)
+                    .tag("client", client).register(registry);
+            }));
+    }
+}
@@ -0,0 +1,97 @@
+package com.edutech.common.client;
+
+import com.edutech.common.dto.UserChangeEventDTO;
+import com.edutech.common.dto.UserChangeFeedDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Sigue el feed de cambios de usuarios de identidad ({@code GET /api/users/changes})
+ * mediante long polling e invalida la caché local con cada evento recibido.
+ */
+public class UserChangeSubscriber implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(UserChangeSubscriber.class);
+
+    @FunctionalInterface
+    public interface ChangeFeed {
+        UserChangeFeedDTO changes(long after, long waitMs);
+    }
+
+    private final ChangeFeed feed;
+    private final CachingUserClient cache;
+    private final Duration wait;
+    private final Duration retryDelay;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    private String feedId;
+    private long lastSequence;
+
+    public UserChangeSubscriber(ChangeFeed feed, CachingUserClient cache, Duration wait, Duration retryDelay) {
+        this.feed = feed;
+        this.cache = cache;
+        this.wait = wait;
+        this.retryDelay = retryDelay;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofVirtual().name("user-change-subscriber").start(this::run);
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                apply(feed.changes(lastSequence, wait.toMillis()));
+            } catch (RuntimeException e) {
+                log.debug("No se pudo leer el feed de cambios de usuarios: {}", e.getMessage());
+                // Sin feed no se puede saber qué cambió: se vacía la caché por precaución
+                cache.invalidateAll();
+                feedId = null;
+                sleep(retryDelay);
+            }
+        }
+    }
+
+    void apply(UserChangeFeedDTO response) {
+        if (response == null) {
+            return;
+        }
+        boolean restarted = feedId != null && !Objects.equals(feedId, response.getFeedId());
+        if (response.isReset() || restarted) {
+            cache.invalidateAll();
+        } else if (response.getEvents() != null) {
+            for (UserChangeEventDTO event : response.getEvents()) {
+                cache.onChange(event);
+            }
+        }
+        feedId = response.getFeedId();
+        lastSequence = response.getLastSequence();
+    }
+
+    private void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.edutech.common.client;
+
+import com.edutech.common.dto.UserDTO;
+
+import java.util.Optional;
+
+/**
+ * Búsqueda de usuarios del microservicio de identidad usada por los demás
+ * microservicios para validar que un usuario existe.
+ */
+public interface UserLookup {
+
+    Optional<UserDTO> findById(Integer id);
+}
@@ -0,0 +1,45 @@
+package com.edutech.common.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import feign.RequestInterceptor;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Codificación binaria (CBOR) para el tráfico entre microservicios.
+ *
+ * Los clientes Feign piden {@code application/cbor} con {@code Accept} y aceptan JSON
+ * como alternativa, por si el otro microservicio aún no lo soporta. Los controladores
+ * responden CBOR solo a quien lo pide: el conversor queda después del de JSON, así que
+ * los clientes externos (sin {@code Accept} o aceptando cualquier tipo) siguen recibiendo JSON.
+ * Los cuerpos de las peticiones Feign se siguen enviando en JSON.
+ */
+public final class BinaryContentNegotiation {
+
+    public static final String ACCEPT = MediaType.APPLICATION_CBOR_VALUE + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.5";
+
+    private BinaryContentNegotiation() {
+    }
+
+    /*
+     * Conversor CBOR con la misma configuración de Jackson que el de JSON (fechas, módulos).
+     * Declarado como bean, Spring Boot lo pone en el lugar del conversor CBOR por defecto,
+     * que está después del de JSON; lo usan tanto los controladores como el decodificador de Feign.
+     */
+    public static MappingJackson2CborHttpMessageConverter converter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    // Pide CBOR en las llamadas Feign que no declaran su propio Accept (produces)
+    public static RequestInterceptor acceptCbor() {
+        return template -> {
+            if (!template.headers().containsKey(HttpHeaders.ACCEPT)) {
+                template.header(HttpHeaders.ACCEPT, ACCEPT);
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.edutech.common.config;
+
+import feign.RequestInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Clave compartida para las rutas que solo deben llamar otros microservicios (por ejemplo,
+ * la pauta de respuestas de un quiz).
+ *
+ * Quien llama la envía en {@link #HEADER} con el interceptor de Feign de {@link #sender};
+ * quien atiende la compara con {@link #accepts}. Sin clave configurada no se acepta
+ * ninguna llamada. La comparación toma el mismo tiempo sin importar dónde difieran.
+ */
+public final class InternalCallToken {
+
+    public static final String HEADER = "X-Edutech-Internal-Token";
+
+    private final byte[] expected;
+
+    public InternalCallToken(String token) {
+        this.expected = token == null ? new byte[0] : token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public boolean accepts(String received) {
+        return expected.length > 0 && received != null
+            && MessageDigest.isEqual(expected, received.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Agrega la clave a todas las llamadas Feign del microservicio
+    public static RequestInterceptor sender(String token) {
+        return template -> template.header(HEADER, token);
+    }
+}
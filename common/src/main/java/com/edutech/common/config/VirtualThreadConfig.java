@@ -0,0 +1,31 @@
+package com.edutech.common.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/*
+ * MODO DE HILOS VIRTUALES:
+ * CON spring.threads.virtual.enabled=true SPRING BOOT ATIENDE LAS PETICIONES DE TOMCAT Y
+ * LAS TAREAS @Scheduled EN HILOS VIRTUALES. LOS CLIENTES FEIGN SE EJECUTAN EN EL HILO QUE
+ * LOS LLAMA, POR LO QUE TAMBIÉN QUEDAN EN HILOS VIRTUALES. EN ESE MODO SE ACTIVA ADEMÁS EL
+ * MONITOR DE HILOS VIRTUALES FIJADOS A SU PORTADOR.
+ * ES LA MISMA PARA TODOS LOS MICROSERVICIOS: CADA APLICACIÓN LA IMPORTA CON @Import.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            ObjectProvider<MeterRegistry> registry,
+            @Value("${edutech.virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold, registry.getIfAvailable());
+    }
+}
@@ -0,0 +1,102 @@
+package com.edutech.common.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Detecta hilos virtuales que quedan fijados a su hilo portador (por ejemplo, por un
+ * bloque {@code synchronized} alrededor de una operación bloqueante) escuchando el
+ * evento JFR {@code jdk.VirtualThreadPinned}.
+ *
+ * Cada evento se cuenta en las métricas {@code jvm.threads.virtual.pinned}; el primer
+ * evento de cada punto del código se registra en el log con su pila.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Duration threshold;
+    private final Counter pinnedCount;
+    private final Timer pinnedTime;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry registry) {
+        this.threshold = threshold;
+        this.pinnedCount = registry == null ? null : Counter.builder("jvm.threads.virtual.pinned")
+            .description("Hilos virtuales fijados a su portador más tiempo que el umbral")
+            .register(registry);
+        this.pinnedTime = registry == null ? null : Timer.builder("jvm.threads.virtual.pinned.duration")
+            .register(registry);
+    }
+
+    @Override
+    public synchronized void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Monitor de hilos virtuales fijados activo (umbral {} ms)", threshold.toMillis());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        if (pinnedCount != null) {
+            pinnedCount.increment();
+            pinnedTime.record(event.getDuration());
+        }
+
+        String stack = describe(event.getStackTrace());
+        String site = stack.lines().findFirst().orElse("?");
+        if (reportedSites.add(site)) {
+            log.warn("Hilo virtual fijado a su portador durante {} ms en:\n{}", event.getDuration().toMillis(), stack);
+        } else {
+            log.debug("Hilo virtual fijado a su portador durante {} ms en {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "(sin pila)";
+        }
+        return stackTrace.getFrames().stream()
+            .limit(LOGGED_FRAMES)
+            .map(VirtualThreadPinningMonitor::describe)
+            .collect(Collectors.joining("\n"));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return "    at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+            + "(línea " + frame.getLineNumber() + ")";
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+}
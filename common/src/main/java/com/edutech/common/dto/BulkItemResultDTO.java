@@ -0,0 +1,35 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de un elemento de una operación masiva, en la misma posición que
+ * ocupaba en la lista recibida.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResultDTO {
+
+    // Posición del elemento en la lista enviada
+    private int index;
+
+    // Código HTTP que habría tenido el elemento si se hubiera enviado solo
+    private int status;
+
+    // ID asignado al elemento creado; null si no se creó
+    private Integer id;
+
+    // Motivo del rechazo; null si se creó
+    private String message;
+
+    public static BulkItemResultDTO created(int index, Integer id) {
+        return new BulkItemResultDTO(index, 201, id, null);
+    }
+
+    public static BulkItemResultDTO rejected(int index, int status, String message) {
+        return new BulkItemResultDTO(index, status, null, message);
+    }
+}
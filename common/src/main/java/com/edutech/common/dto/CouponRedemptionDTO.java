@@ -0,0 +1,28 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Resultado de canjear un cupón para un usuario.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponRedemptionDTO {
+
+    private String code;
+
+    private Integer userId;
+
+    private BigDecimal discountPercentage;
+
+    // Usos que le quedan al cupón; null si no tiene máximo
+    private Long remainingUses;
+
+    private Instant redeemedAt;
+}
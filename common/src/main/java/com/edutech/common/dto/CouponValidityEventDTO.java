@@ -0,0 +1,24 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Momento en que un cupón activo empieza a valer o deja de valer según sus fechas de vigencia.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponValidityEventDTO {
+
+    public enum Type { ACTIVATES, EXPIRES }
+
+    private Instant at;
+
+    private Type type;
+
+    private DiscountCouponDTO coupon;
+}
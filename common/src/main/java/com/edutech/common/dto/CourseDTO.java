@@ -41,4 +41,9 @@ public class CourseDTO {
     @NotBlank(message = "El estado del curso es obligatorio.")
     @Size(max = 50, message = "El estado no puede exceder los 50 caracteres.")
     private String status;
+
+    // Solo lectura: los calcula el servicio a partir de los comentarios del curso
+    private Integer ratingCount;
+
+    private BigDecimal ratingAverage;
 }
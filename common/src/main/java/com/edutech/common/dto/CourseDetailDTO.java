@@ -0,0 +1,26 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Curso completo para su página: datos del curso, contenidos en orden y quizzes con
+ * sus preguntas (sin las respuestas correctas).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseDetailDTO {
+
+    private CourseDTO course;
+
+    private List<CourseContentDTO> contents;
+
+    private List<CourseQuizDetailDTO> quizzes;
+
+    // Aumenta cada vez que cambia el curso o algo que depende de él
+    private long version;
+}
@@ -0,0 +1,20 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Precio de lista de un curso (tres decimales, como la columna), para cotizar en pagos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoursePriceDTO {
+
+    private Integer courseId;
+
+    private BigDecimal price;
+}
@@ -0,0 +1,20 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Quiz de un curso con sus preguntas en orden.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseQuizDetailDTO {
+
+    private CourseQuizDTO quiz;
+
+    private List<CourseQuizQuestionDTO> questions;
+}
@@ -0,0 +1,27 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Resumen de las calificaciones que dejaron los comentarios de un curso.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseRatingDTO {
+
+    private Integer courseId;
+
+    private int count;
+
+    // Promedio con dos decimales; null si no hay comentarios
+    private BigDecimal average;
+
+    // Cantidad de comentarios con cada nota: la posición 0 corresponde a la nota 0 y la 5 a la nota 5
+    private List<Integer> histogram;
+}
@@ -2,6 +2,7 @@ package com.edutech.common.dto;
 
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -38,4 +39,15 @@ public class DiscountCouponDTO {
     @NotNull(message = "Debe indicar si el cupón está activo o no.")
     private Boolean isActive;
 
+    // Sin valor, el cupón no tiene límite de usos
+    @Min(value = 1, message = "El máximo de usos debe ser mayor a cero.")
+    private Integer maxUses;
+
+    @Min(value = 1, message = "El máximo de usos por usuario debe ser mayor a cero.")
+    private Integer maxUsesPerUser;
+
+    // Solo lectura: canjes ya guardados en la base. En GET /code/{code} de un cupón activo viene del
+    // índice en memoria y queda fijo hasta la siguiente modificación del cupón o reconstrucción (1 h)
+    private Integer timesRedeemed;
+
 }
@@ -0,0 +1,25 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de reconstruir el libro de notas desde la base.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradebookRebuildDTO {
+
+    private long marks;
+
+    private int students;
+
+    private int quizzes;
+
+    // Estudiantes y quizzes cuyo resumen incremental no coincidía con el reconstruido
+    private int mismatches;
+
+    private long elapsedMs;
+}
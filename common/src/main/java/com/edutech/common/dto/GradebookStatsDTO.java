@@ -0,0 +1,32 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Resumen de las notas de un estudiante o de un quiz. Sin notas, {@code count} es 0
+ * y el resto de los campos es null.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradebookStatsDTO {
+
+    private long count;
+
+    private BigDecimal sum;
+
+    private BigDecimal min;
+
+    private BigDecimal max;
+
+    // Promedio con dos decimales
+    private BigDecimal mean;
+
+    public static GradebookStatsDTO empty() {
+        return new GradebookStatsDTO(0, null, null, null, null);
+    }
+}
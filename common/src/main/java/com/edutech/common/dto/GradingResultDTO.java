@@ -0,0 +1,28 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resumen de una corrección automática de un quiz.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradingResultDTO {
+
+    private Integer quizId;
+
+    // Estudiantes con al menos una respuesta (se corrige la última de cada uno)
+    private int graded;
+
+    private int created;
+
+    private int updated;
+
+    // Notas que ya tenían el valor calculado
+    private int unchanged;
+
+    private long elapsedMs;
+}
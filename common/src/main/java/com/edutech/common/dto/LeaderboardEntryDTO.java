@@ -0,0 +1,26 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Posición de un estudiante en el ranking de un quiz.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDTO {
+
+    // Posición desde 1; a igual nota va primero quien fue calificado antes
+    private int rank;
+
+    private Integer studentId;
+
+    private BigDecimal mark;
+
+    private Instant gradedAt;
+}
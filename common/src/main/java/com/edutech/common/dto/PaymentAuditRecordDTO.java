@@ -0,0 +1,38 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Registro del diario de auditoría de pagos. {@code hash} es el SHA-256 del registro (en
+ * hexadecimal), que incluye el hash del anterior; userId y amount vienen en null en los
+ * cambios de estado de la cola de ingreso, que no los conocen.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentAuditRecordDTO {
+
+    private long sequence;
+
+    private Instant at;
+
+    // CREATED, UPDATED, STATUS_CHANGED o DELETED
+    private String type;
+
+    private Integer paymentId;
+
+    private Integer userId;
+
+    private BigDecimal amount;
+
+    private String fromStatus;
+
+    private String toStatus;
+
+    private String hash;
+}
@@ -0,0 +1,29 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de recorrer el diario de auditoría de pagos comprobando CRC, secuencia y
+ * cadena de hashes. Si {@code valid} es false, {@code firstInvalidSequence} y {@code error}
+ * indican el primer registro que no cuadra. {@code headHash} es el hash del último
+ * registro válido: guardado fuera del servicio, permite detectar cambios posteriores.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentAuditVerificationDTO {
+
+    private long records;
+
+    private int segments;
+
+    private boolean valid;
+
+    private Long firstInvalidSequence;
+
+    private String error;
+
+    private String headHash;
+}
@@ -0,0 +1,28 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Cantidad y monto total de los pagos de un grupo. Las dimensiones por las que no se
+ * agrupó ({@code day}, {@code paymentMethod} o {@code status}) vienen en null.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentSummaryDTO {
+
+    private LocalDate day;
+
+    private String paymentMethod;
+
+    private String status;
+
+    private long count;
+
+    private BigDecimal total;
+}
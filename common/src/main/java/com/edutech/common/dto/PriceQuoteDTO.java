@@ -0,0 +1,45 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Cotización de un carro. Las líneas van con el precio exacto (tres decimales); los
+ * totales con dos, redondeados HALF_EVEN, y siempre subtotal - discount = total.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceQuoteDTO {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+
+        private Integer courseId;
+
+        private int seats;
+
+        private BigDecimal unitPrice;
+
+        private BigDecimal lineTotal;
+    }
+
+    private List<Line> lines;
+
+    private BigDecimal subtotal;
+
+    // null si no se usó cupón
+    private String couponCode;
+
+    private BigDecimal discountPercentage;
+
+    private BigDecimal discount;
+
+    private BigDecimal total;
+}
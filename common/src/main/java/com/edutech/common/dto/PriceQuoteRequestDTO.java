@@ -0,0 +1,38 @@
+package com.edutech.common.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Carro a cotizar: cursos con su cantidad de asientos y, opcionalmente, un cupón.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceQuoteRequestDTO {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotNull(message = "Debe especificar el ID del curso.")
+        private Integer courseId;
+
+        @Min(value = 1, message = "La cantidad de asientos debe ser mayor a cero.")
+        private int seats;
+    }
+
+    @Valid
+    @NotEmpty(message = "El carro debe tener al menos un curso.")
+    private List<Item> items;
+
+    private String couponCode;
+}
@@ -0,0 +1,22 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Pauta de respuestas de un quiz de alternativas: la opción correcta de cada
+ * pregunta, en el orden de las preguntas ({@code orderIndex}).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuizAnswerKeyDTO {
+
+    private Integer quizId;
+
+    // Una letra por pregunta; null si la pregunta no es de alternativas (no se corrige sola)
+    private List<String> correctOptions;
+}
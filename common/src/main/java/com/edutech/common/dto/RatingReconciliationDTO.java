@@ -0,0 +1,21 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de recalcular desde los comentarios el resumen de calificaciones de los cursos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingReconciliationDTO {
+
+    private int courses;
+
+    // Cursos cuyo resumen guardado no coincidía con sus comentarios; quedaron corregidos
+    private int drifted;
+
+    private long elapsedMs;
+}
@@ -0,0 +1,23 @@
+package com.edutech.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangeFeedDTO {
+
+    // Identificador de la instancia del feed; cambia cuando identidad se reinicia
+    private String feedId;
+
+    private long lastSequence;
+
+    // true si el suscriptor perdió eventos y debe vaciar toda su caché
+    private boolean reset;
+
+    private List<UserChangeEventDTO> events;
+}
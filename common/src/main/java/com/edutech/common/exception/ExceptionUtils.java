@@ -1,12 +1,33 @@
 package com.edutech.common.exception;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import feign.FeignException;
 
 public class ExceptionUtils {
 
+    // Plazo por defecto para el conjunto completo de validaciones remotas de una operación
+    public static final Duration DEFAULT_VALIDATION_TIMEOUT = Duration.ofSeconds(5);
+
+    // Un hilo virtual por validación: las tareas solo esperan respuestas remotas
+    private static final ExecutorService VALIDATION_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
     private ExceptionUtils() {
         // Constructor privado para evitar instancias
     }
@@ -34,4 +55,97 @@ public class ExceptionUtils {
             throw new ResourceNotFoundException(entity + " no encontrada");
         }
     }
+
+    public static void orThrowAll(Runnable... checks) {
+        orThrowAll(DEFAULT_VALIDATION_TIMEOUT, checks);
+    }
+
+    /*
+     * VALIDACIONES EN PARALELO:
+     * EJECUTA LAS VALIDACIONES (POR EJEMPLO orThrowFeign) AL MISMO TIEMPO EN HILOS
+     * VIRTUALES CON UN PLAZO COMPARTIDO. SI ALGUNA FALLA SE LANZA LA EXCEPCIÓN DE LA
+     * PRIMERA EN EL ORDEN RECIBIDO, IGUAL QUE SI SE HUBIERAN EJECUTADO UNA TRAS OTRA.
+     */
+    public static void orThrowAll(Duration timeout, Runnable... checks) {
+        if (checks.length == 1) {
+            checks[0].run();
+            return;
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<Future<?>> futures = new ArrayList<>(checks.length);
+        for (Runnable check : checks) {
+            futures.add(VALIDATION_EXECUTOR.submit(check));
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+        } catch (ExecutionException e) {
+            cancelAll(futures);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            cancelAll(futures);
+            throw new ValidationTimeoutException("No se pudo completar la validación en " + timeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            cancelAll(futures);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Validación interrumpida", e);
+        }
+    }
+
+    public static <K> Set<K> findMissing(Collection<K> keys, Predicate<K> exists) {
+        return findMissing(DEFAULT_VALIDATION_TIMEOUT, keys, exists);
+    }
+
+    /*
+     * EXISTENCIA DE VARIOS IDS A LA VEZ:
+     * CONSULTA CADA ID DISTINTO UNA SOLA VEZ, TODOS EN PARALELO Y CON UN PLAZO
+     * COMPARTIDO, Y DEVUELVE LOS QUE NO EXISTEN. A DIFERENCIA DE orThrowAll NO
+     * FALLA CON EL PRIMERO QUE FALTA; LOS ERRORES DE COMUNICACIÓN SÍ SE PROPAGAN.
+     */
+    public static <K> Set<K> findMissing(Duration timeout, Collection<K> keys, Predicate<K> exists) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Map<K, Future<Boolean>> futures = new LinkedHashMap<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            futures.put(key, VALIDATION_EXECUTOR.submit(() -> exists.test(key)));
+        }
+
+        Set<K> missing = new LinkedHashSet<>();
+        try {
+            for (Map.Entry<K, Future<Boolean>> entry : futures.entrySet()) {
+                if (!entry.getValue().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    missing.add(entry.getKey());
+                }
+            }
+        } catch (ExecutionException e) {
+            cancelAll(futures.values());
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            cancelAll(futures.values());
+            throw new ValidationTimeoutException("No se pudo completar la validación en " + timeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            cancelAll(futures.values());
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Validación interrumpida", e);
+        }
+        return missing;
+    }
+
+    private static void cancelAll(Collection<? extends Future<?>> futures) {
+        futures.forEach(future -> future.cancel(true));
+    }
 }
@@ -0,0 +1,11 @@
+package com.edutech.common.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class ValidationTimeoutException extends RuntimeException {
+    public ValidationTimeoutException(String message) {
+        super(message);
+    }
+}
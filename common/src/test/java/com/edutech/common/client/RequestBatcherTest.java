@@ -0,0 +1,146 @@
+package com.edutech.common.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestBatcherTest {
+
+    // Lotes que recibió la llamada masiva, en orden
+    private final ConcurrentLinkedQueue<Set<Integer>> batches = new ConcurrentLinkedQueue<>();
+
+    @Test
+    void keysWithinTheWindowShareOneBulkCall() throws Exception {
+        try (RequestBatcher<Integer, String> batcher = batcher(this::names, Duration.ofMillis(200), 100)) {
+            CompletableFuture<String> first = batcher.submit(1);
+            CompletableFuture<String> second = batcher.submit(2);
+            CompletableFuture<String> repeated = batcher.submit(1);
+
+            assertSame(first, repeated);
+            assertEquals("usuario-1", first.get(5, TimeUnit.SECONDS));
+            assertEquals("usuario-2", second.get(5, TimeUnit.SECONDS));
+            assertEquals(List.of(Set.of(1, 2)), List.copyOf(batches));
+        }
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaitingForTheWindow() throws Exception {
+        try (RequestBatcher<Integer, String> batcher = batcher(this::names, Duration.ofHours(1), 3)) {
+            List<CompletableFuture<String>> full = List.of(batcher.submit(1), batcher.submit(2), batcher.submit(3));
+            for (CompletableFuture<String> future : full) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(List.of(Set.of(1, 2, 3)), List.copyOf(batches));
+
+            // La clave siguiente abre un lote nuevo que espera su propia ventana
+            CompletableFuture<String> next = batcher.submit(4);
+            Thread.sleep(100);
+            assertFalse(next.isDone());
+            assertEquals(1, batches.size());
+        }
+    }
+
+    @Test
+    void keyMissingFromTheBulkResultResolvesToNull() {
+        try (RequestBatcher<Integer, String> batcher = batcher(keys -> Map.of(), Duration.ofMillis(10), 100)) {
+            assertNull(batcher.load(7));
+        }
+    }
+
+    @Test
+    void bulkFailureReachesOnlyTheCallersOfThatBatch() throws Exception {
+        IllegalStateException failure = new IllegalStateException("El servicio de usuarios no responde");
+        Function<Set<Integer>, Map<Integer, String>> loader = keys -> {
+            if (keys.contains(13)) {
+                throw failure;
+            }
+            return names(keys);
+        };
+        try (RequestBatcher<Integer, String> batcher = batcher(loader, Duration.ofMillis(50), 100)) {
+            CompletableFuture<String> first = batcher.submit(13);
+            CompletableFuture<String> second = batcher.submit(14);
+
+            // Cada llamador del lote recibe la misma excepción
+            assertSame(failure, assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS)).getCause());
+            assertSame(failure, assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS)).getCause());
+            // load la devuelve sin envolver
+            assertSame(failure, assertThrows(IllegalStateException.class, () -> batcher.load(13)));
+
+            // El lote siguiente no arrastra el error
+            assertEquals("usuario-14", batcher.load(14));
+        }
+    }
+
+    @Test
+    void concurrentCallersGetTheirOwnValueInBoundedBatches() throws Exception {
+        int threads = 8;
+        int keysPerThread = 200;
+        AtomicInteger wrong = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try (RequestBatcher<Integer, String> batcher = batcher(this::names, Duration.ofMillis(2), 50)) {
+            List<Thread> callers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int base = t * keysPerThread;
+                callers.add(Thread.ofPlatform().start(() -> {
+                    await(start);
+                    for (int i = 0; i < keysPerThread; i++) {
+                        // La mitad de las claves se repite entre hilos
+                        int key = i % 2 == 0 ? i : base + i;
+                        if (!("usuario-" + key).equals(batcher.load(key))) {
+                            wrong.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            start.countDown();
+            for (Thread caller : callers) {
+                caller.join(TimeUnit.SECONDS.toMillis(30));
+                assertFalse(caller.isAlive());
+            }
+        }
+        assertEquals(0, wrong.get());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 50));
+        assertTrue(batches.size() < threads * keysPerThread, "Las llamadas concurrentes deberían compartir lotes");
+    }
+
+    private RequestBatcher<Integer, String> batcher(Function<Set<Integer>, Map<Integer, String>> loader, Duration window,
+            int maxBatchSize) {
+        return new RequestBatcher<>(keys -> {
+            batches.add(Set.copyOf(keys));
+            return loader.apply(keys);
+        }, window, maxBatchSize);
+    }
+
+    private Map<Integer, String> names(Set<Integer> keys) {
+        Map<Integer, String> names = new HashMap<>();
+        keys.forEach(key -> names.put(key, "usuario-" + key));
+        return names;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
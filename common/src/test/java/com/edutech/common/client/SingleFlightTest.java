@@ -0,0 +1,130 @@
+package com.edutech.common.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flight = new SingleFlight<>();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void concurrentCallsWithTheSameKeyShareOneExecution() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> call = () -> {
+            executions.incrementAndGet();
+            await(release);
+            return "curso-7";
+        };
+
+        List<CompletableFuture<String>> results = callConcurrently(5, "/courses/7", call);
+        awaitUntil(() -> flight.deduplicated() == 4, "4 llamadas esperando a la primera");
+        release.countDown();
+
+        for (CompletableFuture<String> result : results) {
+            assertEquals("curso-7", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(5, flight.calls());
+    }
+
+    @Test
+    void differentKeysDoNotWaitForEachOther() {
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<String>> blocked = callConcurrently(1, "/courses/7", () -> {
+            await(release);
+            return "curso-7";
+        });
+        awaitUntil(() -> flight.calls() == 1, "la primera llamada en curso");
+
+        assertEquals("curso-8", flight.execute("/courses/8", () -> "curso-8"));
+        assertEquals(0, flight.deduplicated());
+        release.countDown();
+        assertEquals("curso-7", blocked.get(0).join());
+    }
+
+    @Test
+    void failureReachesEveryWaiterAndIsNotKept() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("El servicio académico no responde");
+        Supplier<String> failing = () -> {
+            executions.incrementAndGet();
+            await(release);
+            throw failure;
+        };
+
+        List<CompletableFuture<String>> results = callConcurrently(3, "/courses/7", failing);
+        awaitUntil(() -> flight.deduplicated() == 2, "2 llamadas esperando a la primera");
+        release.countDown();
+
+        for (CompletableFuture<String> result : results) {
+            ExecutionException error = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, error.getCause());
+        }
+        assertEquals(1, executions.get());
+
+        // La llamada fallida ya no está en curso: la siguiente sale de nuevo
+        assertEquals("curso-7", flight.execute("/courses/7", () -> {
+            executions.incrementAndGet();
+            return "curso-7";
+        }));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void finishedCallIsNotReused() {
+        Supplier<String> call = () -> "curso-" + executions.incrementAndGet();
+
+        assertEquals("curso-1", flight.execute("/courses/7", call));
+        assertEquals("curso-2", flight.execute("/courses/7", call));
+        assertEquals(0, flight.deduplicated());
+    }
+
+    // Cada llamada en su propio hilo; el resultado o la excepción quedan en el futuro
+    private List<CompletableFuture<String>> callConcurrently(int callers, String key, Supplier<String> call) {
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            CompletableFuture<String> result = new CompletableFuture<>();
+            Thread.ofPlatform().daemon().start(() -> {
+                try {
+                    result.complete(flight.execute(key, call));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, String what) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, () -> "No se llegó a " + what);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package com.edutech.identity;
 
+import com.edutech.common.config.VirtualThreadConfig;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
 
 @EnableDiscoveryClient
 @EnableFeignClients(basePackages = "com.edutech.identity.client")
 @SpringBootApplication
+@Import(VirtualThreadConfig.class)
 public class ComEdutechIdentityApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,18 @@
+package com.edutech.identity.config;
+
+import com.edutech.common.config.BinaryContentNegotiation;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class ContentNegotiationConfig {
+
+    // Los demás microservicios piden los usuarios en CBOR; los clientes externos siguen recibiendo JSON
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return BinaryContentNegotiation.converter(builder);
+    }
+}
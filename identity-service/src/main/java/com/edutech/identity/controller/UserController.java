@@ -1,12 +1,15 @@
 package com.edutech.identity.controller;
 
+import com.edutech.common.dto.UserChangeFeedDTO;
 import com.edutech.common.dto.UserDTO;
+import com.edutech.identity.event.UserChangeFeed;
 import com.edutech.identity.service.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/users")
@@ -14,17 +17,33 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserChangeFeed changeFeed;
+
+    // Espera máxima de una consulta al feed de cambios
+    private static final long MAX_WAIT_MS = 30_000;
 
     @GetMapping
     public ResponseEntity<List<UserDTO>> getAll() {
         return ResponseEntity.ok(userService.findAll());
     }
 
+    @GetMapping("/changes")
+    public ResponseEntity<UserChangeFeedDTO> changes(@RequestParam(defaultValue = "0") long after,
+                                                     @RequestParam(defaultValue = "0") long waitMs)
+            throws InterruptedException {
+        return ResponseEntity.ok(changeFeed.readAfter(after, Math.min(waitMs, MAX_WAIT_MS)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserDTO> getById(@PathVariable Integer id) {
         return ResponseEntity.ok(userService.findById(id));
     }
 
+    @PostMapping("/lookup")
+    public ResponseEntity<List<UserDTO>> lookup(@RequestBody Set<Integer> ids) {
+        return ResponseEntity.ok(userService.findAllById(ids));
+    }
+
     @PostMapping
     public ResponseEntity<UserDTO> create(@RequestBody UserDTO dto) {
         return ResponseEntity.ok(userService.create(dto));
@@ -0,0 +1,77 @@
+package com.edutech.identity.event;
+
+import com.edutech.common.dto.UserChangeEventDTO;
+import com.edutech.common.dto.UserChangeFeedDTO;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Feed de cambios de usuarios que siguen los demás microservicios para invalidar sus
+ * cachés locales.
+ *
+ * Guarda los últimos eventos en un buffer circular con número de secuencia creciente.
+ * Un suscriptor que pide eventos posteriores a una secuencia que ya salió del buffer
+ * recibe {@code reset = true} y debe vaciar su caché completa.
+ */
+@Component
+public class UserChangeFeed {
+
+    static final int CAPACITY = 4096;
+
+    private final String feedId = UUID.randomUUID().toString();
+    private final UserChangeEventDTO[] buffer = new UserChangeEventDTO[CAPACITY];
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private long lastSequence;
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        lock.lock();
+        try {
+            lastSequence++;
+            buffer[(int) (lastSequence % CAPACITY)] =
+                new UserChangeEventDTO(lastSequence, event.userId(), event.type(), Instant.now());
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devuelve los eventos posteriores a {@code after}. Si todavía no hay ninguno espera
+     * hasta {@code waitMs} milisegundos a que llegue alguno (long polling).
+     */
+    public UserChangeFeedDTO readAfter(long after, long waitMs) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(waitMs);
+            while (after == lastSequence && remaining > 0) {
+                remaining = changed.awaitNanos(remaining);
+            }
+
+            long oldest = Math.max(1, lastSequence - CAPACITY + 1);
+            if (after > lastSequence || after + 1 < oldest) {
+                return new UserChangeFeedDTO(feedId, lastSequence, true, List.of());
+            }
+
+            List<UserChangeEventDTO> events = new ArrayList<>((int) (lastSequence - after));
+            for (long seq = after + 1; seq <= lastSequence; seq++) {
+                events.add(buffer[(int) (seq % CAPACITY)]);
+            }
+            return new UserChangeFeedDTO(feedId, lastSequence, false, events);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.edutech.identity.event;
+
+/**
+ * Evento interno que publica {@code UserService} cada vez que se crea, modifica o
+ * elimina un usuario.
+ */
+public record UserChangedEvent(Integer userId, String type) {
+}
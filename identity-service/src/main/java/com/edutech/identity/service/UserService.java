@@ -1,22 +1,33 @@
 package com.edutech.identity.service;
 
 import com.edutech.common.dto.UserDTO;
+import com.edutech.identity.event.UserChangedEvent;
 import com.edutech.identity.entity.User;
 import com.edutech.identity.mapper.UserMapper;
 import com.edutech.identity.repository.UserRepository;
+import com.edutech.common.exception.ValidationException;
+import static com.edutech.common.dto.UserChangeEventDTO.CREATED;
+import static com.edutech.common.dto.UserChangeEventDTO.DELETED;
+import static com.edutech.common.dto.UserChangeEventDTO.UPDATED;
 import static com.edutech.common.exception.ExceptionUtils.orThrow;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    // Límite de IDs por consulta masiva, para no generar un IN (...) demasiado grande
+    public static final int MAX_LOOKUP_SIZE = 1000;
+
     private final UserRepository userRepo;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher events;
 
 
     public List<UserDTO> findAll() {
@@ -27,17 +38,36 @@ public class UserService {
         return userMapper.toDTO(orThrow(userRepo.findById(id), "Usuario"));
     }
 
+    /*
+     * BÚSQUEDA MASIVA:
+     * LA USAN LOS DEMÁS MICROSERVICIOS PARA VALIDAR VARIOS USUARIOS CON UNA SOLA
+     * LLAMADA. SOLO SE DEVUELVEN LOS USUARIOS QUE EXISTEN; LOS IDS QUE NO APARECEN
+     * EN LA RESPUESTA SE CONSIDERAN NO ENCONTRADOS.
+     */
+    public List<UserDTO> findAllById(Collection<Integer> ids) {
+        if (ids.size() > MAX_LOOKUP_SIZE) {
+            throw new ValidationException("No se pueden consultar más de " + MAX_LOOKUP_SIZE + " usuarios a la vez");
+        }
+        return userRepo.findAllById(ids).stream().map(userMapper::toDTO).toList();
+    }
+
     public UserDTO create(UserDTO dto) {
-        return saveDTO(dto, null);
+        UserDTO created = saveDTO(dto, null);
+        // Los demás microservicios pueden tener este ID guardado como "no encontrado"
+        events.publishEvent(new UserChangedEvent(created.getId(), CREATED));
+        return created;
     }
 
     public UserDTO update(Integer id, UserDTO dto) {
         orThrow(userRepo.findById(id), "Usuario");
-        return saveDTO(dto, id);
+        UserDTO updated = saveDTO(dto, id);
+        events.publishEvent(new UserChangedEvent(id, UPDATED));
+        return updated;
     }
 
     public void delete(Integer id) {
         userRepo.delete(orThrow(userRepo.findById(id), "Usuario"));
+        events.publishEvent(new UserChangedEvent(id, DELETED));
     }
 
     private UserDTO saveDTO(UserDTO dto, Integer id) {
@@ -0,0 +1,87 @@
+package com.edutech.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Cliente HTTP de la prueba. Cada llamada se registra con el nombre lógico del
+ * endpoint (por ejemplo {@code GET /api/courses/{id}}) para agrupar sus latencias.
+ */
+final class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final ObjectMapper json = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final LoadRecorder recorder;
+
+    ApiClient(LoadRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    Response get(String endpoint, String url) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT).GET().build());
+    }
+
+    // GET condicional: con el ETag de la respuesta anterior el servidor puede contestar 304 sin cuerpo
+    Response get(String endpoint, String url, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return get(endpoint, url);
+        }
+        return send(endpoint, HttpRequest.newBuilder(URI.create(url))
+            .timeout(TIMEOUT)
+            .header("If-None-Match", ifNoneMatch)
+            .GET()
+            .build());
+    }
+
+    Response post(String endpoint, String url, Object body) {
+        try {
+            return send(endpoint, HttpRequest.newBuilder(URI.create(url))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)))
+                .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("No se pudo serializar el cuerpo de " + endpoint, e);
+        }
+    }
+
+    private Response send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            int status = response.statusCode();
+            JsonNode body = response.body().length == 0 ? null : json.readTree(response.body());
+            recorder.record(endpoint, System.nanoTime() - start, status);
+            return new Response(status, body, response.headers().firstValue("ETag").orElse(null));
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, 0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recorder.record(endpoint, System.nanoTime() - start, 0);
+        }
+        return new Response(0, null, null);
+    }
+
+    record Response(int status, JsonNode body, String etag) {
+
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
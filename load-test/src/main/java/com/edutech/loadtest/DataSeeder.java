@@ -0,0 +1,205 @@
+package com.edutech.loadtest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Carga los datos de prueba a través de las mismas APIs que usa la aplicación:
+ * roles, usuarios, categorías, cursos, quizzes con sus preguntas, y un comentario y
+ * una nota inicial por estudiante.
+ */
+final class DataSeeder {
+
+    // Peticiones simultáneas durante la carga inicial
+    private static final int SEED_CONCURRENCY = 32;
+
+    // Preguntas de alternativas por quiz; las respuestas de Workload traen una letra por pregunta
+    static final int QUESTIONS_PER_QUIZ = 5;
+
+    private final ApiClient api;
+    private final EmbeddedCluster cluster;
+    private final LoadOptions options;
+
+    DataSeeder(ApiClient api, EmbeddedCluster cluster, LoadOptions options) {
+        this.api = api;
+        this.cluster = cluster;
+        this.options = options;
+    }
+
+    record SeedData(List<Integer> studentIds, List<Integer> courseIds, List<Integer> quizIds) {
+
+        int randomStudent() {
+            return studentIds.get(ThreadLocalRandom.current().nextInt(studentIds.size()));
+        }
+
+        int randomCourse() {
+            return courseIds.get(ThreadLocalRandom.current().nextInt(courseIds.size()));
+        }
+
+        int randomQuiz() {
+            return quizIds.get(ThreadLocalRandom.current().nextInt(quizIds.size()));
+        }
+    }
+
+    SeedData seed() throws InterruptedException {
+        long start = System.nanoTime();
+
+        int studentRole = create(cluster.identityUrl + "/api/roles",
+            Map.of("name", "ESTUDIANTE", "description", "Estudiante de la plataforma"));
+        int instructorRole = create(cluster.identityUrl + "/api/roles",
+            Map.of("name", "INSTRUCTOR", "description", "Instructor y coordinador de cursos"));
+        int managerId = create(cluster.identityUrl + "/api/users", user(0, "coordinador", instructorRole));
+        int instructorId = create(cluster.identityUrl + "/api/users", user(0, "instructor", instructorRole));
+
+        List<Integer> students = parallel(options.students(),
+            i -> create(cluster.identityUrl + "/api/users", user(i, "estudiante", studentRole)));
+
+        List<Integer> categories = parallel(4, i -> create(cluster.academicUrl + "/api/course-categories",
+            Map.of("name", "Categoría " + i, "description", "Cursos de la categoría " + i)));
+
+        List<Integer> courses = parallel(options.courses(), i -> create(cluster.academicUrl + "/api/courses", Map.of(
+            "title", "Curso " + i,
+            "description", "Contenidos del curso " + i + " para la prueba de carga",
+            "categoryId", categories.get(i % categories.size()),
+            "managerId", managerId,
+            "instructorId", instructorId,
+            "publishDate", LocalDate.now(),
+            "price", new BigDecimal("19990"),
+            "image", "https://cdn.edutech.cl/cursos/" + i + ".png",
+            "status", "PUBLICADO")));
+
+        List<Integer> quizzes = parallel(options.courses() * options.quizzesPerCourse(),
+            i -> create(cluster.academicUrl + "/api/quizzes", Map.of(
+                "courseId", courses.get(i % courses.size()),
+                "title", "Quiz " + i,
+                "description", "Evaluación " + i,
+                "quizType", "ALTERNATIVAS",
+                "createdAt", Instant.now())));
+
+        parallel(quizzes.size() * QUESTIONS_PER_QUIZ, i -> create(
+            cluster.academicUrl + "/api/quizzes/" + quizzes.get(i / QUESTIONS_PER_QUIZ) + "/questions",
+            question(i % QUESTIONS_PER_QUIZ + 1)));
+
+        SeedData data = new SeedData(students, courses, quizzes);
+        parallel(students.size(), i -> create(cluster.academicUrl + "/api/course-comments",
+            comment(students.get(i), data.randomCourse())));
+
+        // Calificaciones valida contra identidad y académico a través de Eureka
+        awaitDiscovery(data);
+        parallel(students.size(), i -> create(cluster.marksUrl + "/api/marks", mark(students.get(i), data.randomQuiz())));
+
+        System.out.printf("Datos de prueba: %d estudiantes, %d cursos, %d quizzes (%d ms)%n",
+            students.size(), courses.size(), quizzes.size(), (System.nanoTime() - start) / 1_000_000);
+        return data;
+    }
+
+    // Reintenta hasta que calificaciones encuentra a identidad y académico en el registro
+    private void awaitDiscovery(SeedData data) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (true) {
+            ApiClient.Response response = api.post("seed", cluster.marksUrl + "/api/marks",
+                mark(data.randomStudent(), data.randomQuiz()));
+            if (response.ok()) {
+                return;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException(
+                    "Calificaciones no pudo comunicarse con identidad y académico (HTTP " + response.status() + ")");
+            }
+            Thread.sleep(500);
+        }
+    }
+
+    private static Map<String, Object> user(int n, String kind, int roleId) {
+        Instant now = Instant.now();
+        return Map.of(
+            "firstName", kind,
+            "lastName", "número " + n,
+            "email", kind + n + "@edutech.cl",
+            "passwordHash", "$2a$10$cargadepruebacargadeprueba",
+            "roleId", roleId,
+            "isActive", true,
+            "createdAt", now,
+            "updatedAt", now);
+    }
+
+    private static Map<String, Object> comment(int userId, int courseId) {
+        return Map.of(
+            "id", 0,
+            "courseId", courseId,
+            "userId", userId,
+            "commentText", "Comentario de prueba de carga",
+            "rating", ThreadLocalRandom.current().nextInt(1, 6),
+            "createdAt", Instant.now());
+    }
+
+    private static Map<String, Object> question(int orderIndex) {
+        return Map.of(
+            "questionText", "Pregunta " + orderIndex,
+            "optionA", "Alternativa A",
+            "optionB", "Alternativa B",
+            "optionC", "Alternativa C",
+            "optionD", "Alternativa D",
+            "correctOption", String.valueOf("ABCD".charAt(ThreadLocalRandom.current().nextInt(4))),
+            "orderIndex", orderIndex,
+            "createdAt", Instant.now());
+    }
+
+    // El DTO exige un id; el servicio lo ignora y la base asigna uno nuevo
+    private static Map<String, Object> mark(int studentId, int quizId) {
+        return Map.of(
+            "id", 0,
+            "quizId", quizId,
+            "studentId", studentId,
+            "mark", BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(1000, 10001), 2),
+            "gradedAt", Instant.now());
+    }
+
+    private int create(String url, Map<String, Object> body) {
+        ApiClient.Response response = api.post("seed", url, body);
+        if (!response.ok()) {
+            throw new IllegalStateException("POST " + url + " falló con HTTP " + response.status());
+        }
+        return response.body().get("id").asInt();
+    }
+
+    // Ejecuta count creaciones en hilos virtuales, como máximo SEED_CONCURRENCY a la vez, y devuelve los ids en orden
+    private static List<Integer> parallel(int count, IntFunction<Integer> task) throws InterruptedException {
+        Semaphore permits = new Semaphore(SEED_CONCURRENCY);
+        List<Future<Integer>> futures = new ArrayList<>(count);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int n = i;
+                permits.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        return task.apply(n);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<Integer> ids = new ArrayList<>(count);
+        for (Future<Integer> future : futures) {
+            try {
+                ids.add(future.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falló la carga de datos de prueba", e.getCause());
+            }
+        }
+        return ids;
+    }
+}
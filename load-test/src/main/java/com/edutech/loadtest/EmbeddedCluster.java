@@ -0,0 +1,64 @@
+package com.edutech.loadtest;
+
+import com.edutech.academic.ComEdutechAcademicApplication;
+import com.edutech.eureka.ComEdutechEurekaServerApplication;
+import com.edutech.identity.ComEdutechIdentityApplication;
+import com.edutech.marks.ComEdutechMarksApplication;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Eureka, identidad, académico y calificaciones levantados en este mismo proceso,
+ * cada uno en su propio contexto de Spring y su propio Tomcat, sobre la base H2
+ * en memoria definida en {@code loadtest.yml}.
+ */
+final class EmbeddedCluster implements AutoCloseable {
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    final String identityUrl;
+    final String academicUrl;
+    final String marksUrl;
+
+    private EmbeddedCluster() {
+        start(ComEdutechEurekaServerApplication.class, "loadtest-eureka");
+        identityUrl = baseUrl(start(ComEdutechIdentityApplication.class, "loadtest,loadtest-identity", EurekaClientTransportConfig.class));
+        academicUrl = baseUrl(start(ComEdutechAcademicApplication.class, "loadtest,loadtest-academic", EurekaClientTransportConfig.class));
+        marksUrl = baseUrl(start(ComEdutechMarksApplication.class, "loadtest,loadtest-marks", EurekaClientTransportConfig.class));
+    }
+
+    static EmbeddedCluster start() {
+        return new EmbeddedCluster();
+    }
+
+    private ConfigurableApplicationContext start(Class<?> application, String configNames, Class<?>... extraSources) {
+        long start = System.nanoTime();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(application)
+            .sources(extraSources)
+            .main(application)
+            .properties("spring.config.name=" + configNames)
+            .run();
+        contexts.add(context);
+        System.out.printf("%s iniciado en %d ms%n",
+            context.getEnvironment().getProperty("spring.application.name"),
+            (System.nanoTime() - start) / 1_000_000);
+        return context;
+    }
+
+    private static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    // Se detienen en orden inverso: Eureka es lo último en bajar
+    @Override
+    public void close() {
+        List<ConfigurableApplicationContext> reversed = new ArrayList<>(contexts);
+        Collections.reverse(reversed);
+        reversed.forEach(ConfigurableApplicationContext::close);
+    }
+}
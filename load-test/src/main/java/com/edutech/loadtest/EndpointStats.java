@@ -0,0 +1,62 @@
+package com.edutech.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencias y códigos de respuesta de un endpoint durante la medición.
+ *
+ * Se guardan todas las latencias (no un histograma) para que los percentiles sean
+ * exactos; con las duraciones de prueba habituales son pocos megabytes.
+ */
+final class EndpointStats {
+
+    private final String endpoint;
+    private long[] latenciesMicros = new long[1024];
+    private int size;
+    private long errors;
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    // status 0 indica que no hubo respuesta (tiempo agotado o conexión rechazada)
+    synchronized void record(long latencyMicros, int status) {
+        if (size == latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, size * 2);
+        }
+        latenciesMicros[size++] = latencyMicros;
+        statuses.merge(status, 1L, Long::sum);
+        if (status == 0 || status >= 400) {
+            errors++;
+        }
+    }
+
+    synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(latenciesMicros, size);
+        Arrays.sort(sorted);
+        return new Summary(endpoint, size, errors, seconds, sorted, new TreeMap<>(statuses));
+    }
+
+    record Summary(String endpoint, long requests, long errors, double seconds,
+                   long[] sortedLatenciesMicros, Map<Integer, Long> statuses) {
+
+        double throughput() {
+            return requests / seconds;
+        }
+
+        double errorRate() {
+            return requests == 0 ? 0 : 100.0 * errors / requests;
+        }
+
+        double percentileMs(double p) {
+            if (sortedLatenciesMicros.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sortedLatenciesMicros.length) - 1;
+            return sortedLatenciesMicros[Math.max(0, index)] / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.edutech.loadtest;
+
+import com.netflix.discovery.shared.transport.jersey.TransportClientFactories;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.netflix.eureka.RestTemplateTimeoutProperties;
+import org.springframework.cloud.netflix.eureka.http.DefaultEurekaClientHttpRequestFactorySupplier;
+import org.springframework.cloud.netflix.eureka.http.RestTemplateDiscoveryClientOptionalArgs;
+import org.springframework.cloud.netflix.eureka.http.RestTemplateTransportClientFactories;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Transporte del cliente Eureka de los microservicios.
+ *
+ * Al compartir el classpath con el servidor Eureka, Jersey queda disponible y los
+ * clientes lo eligen en lugar de RestTemplate, que es lo que usan cuando cada
+ * servicio corre solo. Estos beans devuelven el comportamiento de producción.
+ */
+@Configuration(proxyBeanMethods = false)
+class EurekaClientTransportConfig {
+
+    @Bean
+    RestTemplateDiscoveryClientOptionalArgs restTemplateDiscoveryClientOptionalArgs() {
+        return new RestTemplateDiscoveryClientOptionalArgs(
+            new DefaultEurekaClientHttpRequestFactorySupplier(new RestTemplateTimeoutProperties()),
+            RestTemplateBuilder::new);
+    }
+
+    @Bean
+    TransportClientFactories<?> restTemplateTransportClientFactories(RestTemplateDiscoveryClientOptionalArgs optionalArgs) {
+        return new RestTemplateTransportClientFactories(optionalArgs);
+    }
+}
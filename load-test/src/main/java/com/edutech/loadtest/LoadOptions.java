@@ -0,0 +1,43 @@
+package com.edutech.loadtest;
+
+/**
+ * Parámetros de la prueba de carga, leídos de propiedades del sistema ({@code -Dload.*}).
+ *
+ * Los valores por defecto reproducen, a escala, una mañana de examen: un grupo de
+ * usuarios recorre el catálogo y consulta notas de forma continua, y cada cierto
+ * tiempo llega una ráfaga de estudiantes que empiezan el mismo quiz a la vez.
+ * Con {@code kioskBatchSize} mayor a cero, además un kiosco sube en cada ráfaga las
+ * respuestas de un curso completo en una sola llamada.
+ */
+record LoadOptions(
+        int warmupSeconds,
+        int seconds,
+        int students,
+        int courses,
+        int quizzesPerCourse,
+        int browsers,
+        int markReaders,
+        long thinkMs,
+        int burstEverySeconds,
+        int burstSize,
+        int answersPerStudent,
+        long answerThinkMs,
+        int kioskBatchSize) {
+
+    static LoadOptions fromSystemProperties() {
+        return new LoadOptions(
+            Integer.getInteger("load.warmupSeconds", 10),
+            Integer.getInteger("load.seconds", 60),
+            Integer.getInteger("load.students", 500),
+            Integer.getInteger("load.courses", 40),
+            Integer.getInteger("load.quizzesPerCourse", 3),
+            Integer.getInteger("load.browsers", 50),
+            Integer.getInteger("load.markReaders", 20),
+            Long.getLong("load.thinkMs", 100),
+            Integer.getInteger("load.burstEverySeconds", 15),
+            Integer.getInteger("load.burstSize", 300),
+            Integer.getInteger("load.answersPerStudent", 5),
+            Long.getLong("load.answerThinkMs", 200),
+            Integer.getInteger("load.kioskBatchSize", 200));
+    }
+}
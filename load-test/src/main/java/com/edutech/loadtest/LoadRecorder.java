@@ -0,0 +1,43 @@
+package com.edutech.loadtest;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Acumula los resultados por endpoint. Solo registra entre {@link #start()} y
+ * {@link #stop()}, de modo que el calentamiento no cuenta en el reporte.
+ */
+final class LoadRecorder {
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean measuring;
+    private volatile long startedAt;
+    private volatile long stoppedAt;
+
+    void start() {
+        stats.clear();
+        startedAt = System.nanoTime();
+        measuring = true;
+    }
+
+    void stop() {
+        measuring = false;
+        stoppedAt = System.nanoTime();
+    }
+
+    void record(String endpoint, long latencyNanos, int status) {
+        if (measuring) {
+            stats.computeIfAbsent(endpoint, EndpointStats::new).record(latencyNanos / 1000, status);
+        }
+    }
+
+    List<EndpointStats.Summary> summaries() {
+        double seconds = (stoppedAt - startedAt) / 1e9;
+        return stats.values().stream()
+            .map(s -> s.summarize(seconds))
+            .sorted(Comparator.comparing(EndpointStats.Summary::endpoint))
+            .toList();
+    }
+}
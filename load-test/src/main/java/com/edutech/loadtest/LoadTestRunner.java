@@ -0,0 +1,73 @@
+package com.edutech.loadtest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Prueba de carga de extremo a extremo sin MySQL.
+ *
+ * Levanta Eureka, identidad, académico y calificaciones en este proceso sobre una base
+ * H2 en memoria, carga datos de prueba y aplica la mezcla de {@link Workload}. Al
+ * terminar reporta por endpoint: peticiones, peticiones por segundo, latencias
+ * p50/p95/p99 y porcentaje de errores.
+ *
+ * <pre>
+ * mvn -pl load-test -am install -DskipTests
+ * mvn -pl load-test exec:java -Dload.seconds=120 -Dload.burstSize=400
+ * EDUTECH_VIRTUAL_THREADS=true mvn -pl load-test exec:java
+ * </pre>
+ *
+ * Usa los puertos 8761, 9001, 9002 y 8083, por lo que no debe haber otros servicios
+ * de EduTech corriendo en la misma máquina.
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.fromSystemProperties();
+        LoadRecorder recorder = new LoadRecorder();
+        ApiClient api = new ApiClient(recorder);
+
+        try (EmbeddedCluster cluster = EmbeddedCluster.start()) {
+            DataSeeder.SeedData data = new DataSeeder(api, cluster, options).seed();
+
+            System.out.printf("Calentamiento %d s, medición %d s: %d navegando, %d consultando notas, ráfagas de %d estudiantes cada %d s%n",
+                options.warmupSeconds(), options.seconds(), options.browsers(), options.markReaders(),
+                options.burstSize(), options.burstEverySeconds());
+            new Workload(api, cluster, data, options).run(recorder);
+
+            print(recorder.summaries());
+        }
+        // Los hilos de Eureka y de los clientes HTTP no son daemon
+        System.exit(0);
+    }
+
+    private static void print(List<EndpointStats.Summary> summaries) {
+        System.out.println();
+        System.out.printf("%-44s %9s %9s %9s %9s %9s %9s%n",
+            "Endpoint", "pet.", "pet./s", "p50 (ms)", "p95 (ms)", "p99 (ms)", "errores");
+
+        long requests = 0;
+        long errors = 0;
+        for (EndpointStats.Summary s : summaries) {
+            System.out.printf("%-44s %9d %9.1f %9.1f %9.1f %9.1f %8.2f%%%n",
+                s.endpoint(), s.requests(), s.throughput(),
+                s.percentileMs(0.50), s.percentileMs(0.95), s.percentileMs(0.99), s.errorRate());
+            requests += s.requests();
+            errors += s.errors();
+        }
+        if (!summaries.isEmpty()) {
+            double seconds = summaries.get(0).seconds();
+            System.out.printf("%-44s %9d %9.1f %39.2f%%%n",
+                "Total", requests, requests / seconds, requests == 0 ? 0 : 100.0 * errors / requests);
+        }
+
+        // Detalle de códigos HTTP de los endpoints con errores (0 = sin respuesta)
+        for (EndpointStats.Summary s : summaries) {
+            if (s.errors() > 0) {
+                System.out.printf("  %s -> %s%n", s.endpoint(), s.statuses().entrySet().stream()
+                    .map(e -> e.getKey() + "=" + e.getValue())
+                    .collect(Collectors.joining(", ")));
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.edutech.loadtest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mezcla de tráfico de un día de examen:
+ * <ul>
+ *   <li>usuarios que recorren el catálogo (listado, búsqueda, detalle de curso, sus quizzes y el curso completo);
+ *       el listado se consulta como lo hace la aplicación móvil, con {@code If-None-Match},</li>
+ *   <li>estudiantes que consultan sus notas, su resumen, sus respuestas y el ranking de un quiz,</li>
+ *   <li>ráfagas periódicas de estudiantes que responden el mismo quiz a la vez
+ *       ({@code POST /api/quiz-responses}),</li>
+ *   <li>kioscos sin conexión que suben las respuestas de un curso de una vez
+ *       ({@code POST /api/quiz-responses/bulk}),</li>
+ *   <li>un instructor que pide la corrección completa de un quiz
+ *       ({@code POST /api/marks/quiz/{quizId}/grade}).</li>
+ * </ul>
+ * Cada usuario simulado es un hilo virtual que espera {@code thinkMs} entre peticiones.
+ */
+final class Workload {
+
+    private static final String OPTIONS = "ABCD";
+
+    private final ApiClient api;
+    private final EmbeddedCluster cluster;
+    private final DataSeeder.SeedData data;
+    private final LoadOptions options;
+    private volatile long endsAt;
+
+    Workload(ApiClient api, EmbeddedCluster cluster, DataSeeder.SeedData data, LoadOptions options) {
+        this.api = api;
+        this.cluster = cluster;
+        this.data = data;
+        this.options = options;
+    }
+
+    void run(LoadRecorder recorder) throws InterruptedException {
+        long warmupEndsAt = System.currentTimeMillis() + options.warmupSeconds() * 1000L;
+        endsAt = warmupEndsAt + options.seconds() * 1000L;
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.browsers(); i++) {
+                users.submit(this::browseCatalog);
+            }
+            for (int i = 0; i < options.markReaders(); i++) {
+                users.submit(this::lookupMarks);
+            }
+            users.submit(() -> examBursts(users));
+            if (options.kioskBatchSize() > 0) {
+                users.submit(this::kioskUploads);
+            }
+            users.submit(this::gradeQuizzes);
+
+            Thread.sleep(Math.max(0, warmupEndsAt - System.currentTimeMillis()));
+            recorder.start();
+            Thread.sleep(Math.max(0, endsAt - System.currentTimeMillis()));
+            recorder.stop();
+        }
+    }
+
+    private boolean running() {
+        return System.currentTimeMillis() < endsAt;
+    }
+
+    private void browseCatalog() {
+        String catalogEtag = null;
+        while (running()) {
+            int courseId = data.randomCourse();
+            ApiClient.Response catalog = api.get("GET /api/courses", cluster.academicUrl + "/api/courses", catalogEtag);
+            if (catalog.etag() != null) {
+                catalogEtag = catalog.etag();
+            }
+            think(options.thinkMs());
+            api.get("GET /api/courses/search", cluster.academicUrl + "/api/courses/search?q=conten%20" + courseId);
+            think(options.thinkMs());
+            api.get("GET /api/courses/{id}", cluster.academicUrl + "/api/courses/" + courseId);
+            think(options.thinkMs());
+            api.get("GET /api/quizzes/course/{courseId}", cluster.academicUrl + "/api/quizzes/course/" + courseId);
+            think(options.thinkMs());
+            api.get("GET /api/courses/{id}/full", cluster.academicUrl + "/api/courses/" + courseId + "/full");
+            think(options.thinkMs());
+        }
+    }
+
+    private void lookupMarks() {
+        while (running()) {
+            int studentId = data.randomStudent();
+            api.get("GET /api/marks/student/{studentId}", cluster.marksUrl + "/api/marks/student/" + studentId);
+            think(options.thinkMs());
+            api.get("GET /api/quiz-responses/student/{studentId}", cluster.marksUrl + "/api/quiz-responses/student/" + studentId);
+            think(options.thinkMs());
+            api.get("GET /api/marks/student/{studentId}/summary", cluster.marksUrl + "/api/marks/student/" + studentId + "/summary");
+            think(options.thinkMs());
+            int quizId = data.randomQuiz();
+            api.get("GET /api/marks/quiz/{quizId}/top", cluster.marksUrl + "/api/marks/quiz/" + quizId + "/top?n=10");
+            think(options.thinkMs());
+        }
+    }
+
+    // Cada burstEverySeconds, burstSize estudiantes empiezan el mismo quiz en el mismo instante
+    private void examBursts(ExecutorService users) {
+        while (running()) {
+            int quizId = data.randomQuiz();
+            for (int i = 0; i < options.burstSize(); i++) {
+                int studentId = data.randomStudent();
+                users.submit(() -> answerQuiz(quizId, studentId));
+            }
+            think(options.burstEverySeconds() * 1000L);
+        }
+    }
+
+    private void answerQuiz(int quizId, int studentId) {
+        for (int i = 0; i < options.answersPerStudent() && running(); i++) {
+            api.post("POST /api/quiz-responses", cluster.marksUrl + "/api/quiz-responses", answer(quizId, studentId));
+            think(options.answerThinkMs());
+        }
+    }
+
+    private void kioskUploads() {
+        while (running()) {
+            int quizId = data.randomQuiz();
+            List<Map<String, Object>> answers = new ArrayList<>(options.kioskBatchSize());
+            for (int i = 0; i < options.kioskBatchSize(); i++) {
+                answers.add(answer(quizId, data.randomStudent()));
+            }
+            api.post("POST /api/quiz-responses/bulk", cluster.marksUrl + "/api/quiz-responses/bulk", answers);
+            think(options.burstEverySeconds() * 1000L);
+        }
+    }
+
+    private void gradeQuizzes() {
+        while (running()) {
+            think(options.burstEverySeconds() * 1000L);
+            int quizId = data.randomQuiz();
+            api.post("POST /api/marks/quiz/{quizId}/grade", cluster.marksUrl + "/api/marks/quiz/" + quizId + "/grade", Map.of());
+        }
+    }
+
+    // Una letra al azar por pregunta, en el orden de las preguntas
+    private static Map<String, Object> answer(int quizId, int studentId) {
+        StringBuilder letters = new StringBuilder(DataSeeder.QUESTIONS_PER_QUIZ);
+        for (int i = 0; i < DataSeeder.QUESTIONS_PER_QUIZ; i++) {
+            letters.append(OPTIONS.charAt(ThreadLocalRandom.current().nextInt(OPTIONS.length())));
+        }
+        return Map.of(
+            "quizId", quizId,
+            "studentId", studentId,
+            "responseContent", letters.toString(),
+            "submittedAt", Instant.now());
+    }
+
+    private static void think(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
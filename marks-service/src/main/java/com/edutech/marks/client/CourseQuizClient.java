@@ -1,6 +1,7 @@
 package com.edutech.marks.client;
 
 import com.edutech.common.dto.CourseQuizDTO;
+import com.edutech.common.dto.QuizAnswerKeyDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -9,4 +10,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 public interface CourseQuizClient {
     @GetMapping("/{id}")
     CourseQuizDTO findById(@PathVariable Integer id);
+
+    @GetMapping("/{id}/answer-key")
+    QuizAnswerKeyDTO answerKey(@PathVariable Integer id);
 } 
\ No newline at end of file
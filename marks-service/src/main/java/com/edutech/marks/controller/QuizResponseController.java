@@ -1,5 +1,6 @@
 package com.edutech.marks.controller;
 
+import com.edutech.common.dto.BulkItemResultDTO;
 import com.edutech.common.dto.QuizResponseDTO;
 import com.edutech.marks.service.QuizResponseService;
 import lombok.RequiredArgsConstructor;
@@ -40,6 +41,12 @@ public class QuizResponseController {
         return ResponseEntity.ok(quizResponseService.create(dto));
     }
 
+    // Un resultado por respuesta, en el mismo orden; las rechazadas no impiden guardar las demás
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> createAll(@RequestBody List<QuizResponseDTO> dtos) {
+        return ResponseEntity.ok(quizResponseService.createAll(dtos));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<QuizResponseDTO> update(@PathVariable Integer id, @RequestBody QuizResponseDTO dto) {
         return ResponseEntity.ok(quizResponseService.update(id, dto));
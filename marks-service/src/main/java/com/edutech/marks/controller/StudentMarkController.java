@@ -1,6 +1,13 @@
 package com.edutech.marks.controller;
 
+import com.edutech.common.dto.GradebookRebuildDTO;
+import com.edutech.common.dto.GradebookStatsDTO;
+import com.edutech.common.dto.GradingResultDTO;
+import com.edutech.common.dto.LeaderboardEntryDTO;
 import com.edutech.common.dto.StudentMarkDTO;
+import com.edutech.marks.service.GradebookService;
+import com.edutech.marks.service.LeaderboardService;
+import com.edutech.marks.service.QuizGradingService;
 import com.edutech.marks.service.StudentMarkService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +22,9 @@ import java.util.List;
 public class StudentMarkController {
 
     private final StudentMarkService studentMarkService;
+    private final QuizGradingService gradingService;
+    private final GradebookService gradebookService;
+    private final LeaderboardService leaderboardService;
 
     @GetMapping
     public ResponseEntity<List<StudentMarkDTO>> findAll() {
@@ -31,11 +41,44 @@ public class StudentMarkController {
         return ResponseEntity.ok(studentMarkService.findByStudentId(studentId));
     }
 
+    @GetMapping("/student/{studentId}/summary")
+    public ResponseEntity<GradebookStatsDTO> studentSummary(@PathVariable Integer studentId) {
+        return ResponseEntity.ok(gradebookService.findByStudentId(studentId));
+    }
+
+    @GetMapping("/quiz/{quizId}/summary")
+    public ResponseEntity<GradebookStatsDTO> quizSummary(@PathVariable Integer quizId) {
+        return ResponseEntity.ok(gradebookService.findByQuizId(quizId));
+    }
+
+    @GetMapping("/quiz/{quizId}/top")
+    public ResponseEntity<List<LeaderboardEntryDTO>> top(@PathVariable Integer quizId,
+                                                         @RequestParam(defaultValue = "10") int n) {
+        return ResponseEntity.ok(leaderboardService.top(quizId, n));
+    }
+
+    @GetMapping("/quiz/{quizId}/rank/{studentId}")
+    public ResponseEntity<LeaderboardEntryDTO> rank(@PathVariable Integer quizId, @PathVariable Integer studentId) {
+        return ResponseEntity.ok(leaderboardService.rank(quizId, studentId));
+    }
+
+    // Reconstruye el libro de notas desde la base e informa las diferencias encontradas
+    @PostMapping("/gradebook/rebuild")
+    public ResponseEntity<GradebookRebuildDTO> rebuildGradebook() {
+        return ResponseEntity.ok(gradebookService.rebuild());
+    }
+
     @PostMapping
     public ResponseEntity<StudentMarkDTO> create(@Valid @RequestBody StudentMarkDTO dto) {
         return ResponseEntity.ok(studentMarkService.create(dto));
     }
 
+    // Corrige automáticamente todas las respuestas del quiz con su pauta
+    @PostMapping("/quiz/{quizId}/grade")
+    public ResponseEntity<GradingResultDTO> gradeQuiz(@PathVariable Integer quizId) {
+        return ResponseEntity.ok(gradingService.gradeQuiz(quizId));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<StudentMarkDTO> update(@PathVariable Integer id, @Valid @RequestBody StudentMarkDTO dto) {
         return ResponseEntity.ok(studentMarkService.update(id, dto));
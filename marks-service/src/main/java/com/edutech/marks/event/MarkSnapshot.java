@@ -0,0 +1,16 @@
+package com.edutech.marks.event;
+
+import com.edutech.marks.entity.StudentMark;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Copia inmutable de una nota tal como quedó guardada.
+ */
+public record MarkSnapshot(Integer id, Integer quizId, Integer studentId, BigDecimal mark, Instant gradedAt) {
+
+    public static MarkSnapshot of(StudentMark mark) {
+        return new MarkSnapshot(mark.getId(), mark.getQuizId(), mark.getStudentId(), mark.getMark(), mark.getGradedAt());
+    }
+}
@@ -0,0 +1,10 @@
+package com.edutech.marks.event;
+
+import java.util.Collection;
+
+/**
+ * Evento interno que publica {@code QuizResponseService} cuando se guardan respuestas
+ * nuevas o modificadas de un quiz.
+ */
+public record QuizResponsesSubmittedEvent(Integer quizId, Collection<Integer> studentIds) {
+}
@@ -0,0 +1,40 @@
+package com.edutech.marks.event;
+
+import com.edutech.marks.entity.StudentMark;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evento interno que se publica después de guardar o eliminar notas, para mantener
+ * al día las vistas en memoria. {@code saved} trae el estado final de cada nota
+ * creada o modificada y {@code deleted} el último estado de las que dejaron de estar
+ * en su quiz o estudiante: las eliminadas y las que se movieron a otro.
+ * {@code replaced} trae el estado anterior de las notas modificadas que siguieron en
+ * el mismo quiz y estudiante, para que quien lleve totales pueda restar el valor viejo.
+ */
+public record StudentMarksChangedEvent(List<MarkSnapshot> saved, List<MarkSnapshot> deleted,
+                                       List<MarkSnapshot> replaced) {
+
+    public static StudentMarksChangedEvent saved(Collection<StudentMark> marks) {
+        return saved(marks, List.of());
+    }
+
+    // replaced: estado anterior de las notas de marks que ya existían
+    public static StudentMarksChangedEvent saved(Collection<StudentMark> marks, List<MarkSnapshot> replaced) {
+        return new StudentMarksChangedEvent(marks.stream().map(MarkSnapshot::of).toList(), List.of(), replaced);
+    }
+
+    // Si la modificación cambió el quiz o el estudiante, la nota sale de su grupo anterior
+    public static StudentMarksChangedEvent updated(MarkSnapshot previous, StudentMark current) {
+        MarkSnapshot saved = MarkSnapshot.of(current);
+        boolean moved = !previous.quizId().equals(saved.quizId()) || !previous.studentId().equals(saved.studentId());
+        return moved
+            ? new StudentMarksChangedEvent(List.of(saved), List.of(previous), List.of())
+            : new StudentMarksChangedEvent(List.of(saved), List.of(), List.of(previous));
+    }
+
+    public static StudentMarksChangedEvent deleted(MarkSnapshot mark) {
+        return new StudentMarksChangedEvent(List.of(), List.of(mark), List.of());
+    }
+}
@@ -0,0 +1,66 @@
+package com.edutech.marks.gradebook;
+
+import com.edutech.common.dto.GradebookStatsDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.TreeMap;
+
+/**
+ * Cantidad, suma, mínimo y máximo de un grupo de notas, actualizables nota a nota.
+ *
+ * Para que eliminar la nota mínima o máxima no obligue a recorrer el grupo se guarda
+ * cuántas veces aparece cada valor; como las notas van de 0 a 100 con dos decimales,
+ * hay pocos valores distintos aunque el grupo sea grande.
+ */
+public class MarkStats {
+
+    private final TreeMap<BigDecimal, Integer> values = new TreeMap<>();
+    private long count;
+    private BigDecimal sum = BigDecimal.ZERO;
+
+    public synchronized void add(BigDecimal mark) {
+        BigDecimal value = normalize(mark);
+        values.merge(value, 1, Integer::sum);
+        count++;
+        sum = sum.add(value);
+    }
+
+    public synchronized void remove(BigDecimal mark) {
+        BigDecimal value = normalize(mark);
+        Integer n = values.get(value);
+        if (n == null) {
+            return;
+        }
+        if (n == 1) {
+            values.remove(value);
+        } else {
+            values.put(value, n - 1);
+        }
+        count--;
+        sum = sum.subtract(value);
+    }
+
+    public synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    public synchronized GradebookStatsDTO summary() {
+        if (count == 0) {
+            return GradebookStatsDTO.empty();
+        }
+        BigDecimal mean = sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+        return new GradebookStatsDTO(count, sum, values.firstKey(), values.lastKey(), mean);
+    }
+
+    public synchronized boolean sameAs(MarkStats other) {
+        synchronized (other) {
+            return count == other.count && sum.compareTo(other.sum) == 0 && values.equals(other.values);
+        }
+    }
+
+    // Misma escala que la columna student_mark.mark, para que 85.5 y 85.50 sean el mismo valor
+    private static BigDecimal normalize(BigDecimal mark) {
+        return mark.setScale(2, RoundingMode.HALF_UP);
+    }
+}
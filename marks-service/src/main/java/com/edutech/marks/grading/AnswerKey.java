@@ -0,0 +1,78 @@
+package com.edutech.marks.grading;
+
+import com.edutech.common.dto.QuizAnswerKeyDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Pauta de un quiz compilada para corregir rápido: una letra por pregunta en un
+ * arreglo de caracteres ({@code 0} si la pregunta no es de alternativas).
+ *
+ * Las respuestas de un estudiante se leen de {@code responseContent}, una letra por
+ * pregunta en el mismo orden (se ignoran espacios, comas y punto y coma; cualquier
+ * otro carácter, como "-", cuenta como pregunta sin responder). Si no hay contenido se
+ * usa {@code selectedOption}, que corresponde a un quiz de una sola pregunta.
+ */
+public final class AnswerKey {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final char[] options;
+    private final int gradable;
+
+    private AnswerKey(char[] options, int gradable) {
+        this.options = options;
+        this.gradable = gradable;
+    }
+
+    public static AnswerKey compile(QuizAnswerKeyDTO dto) {
+        List<String> correct = dto.getCorrectOptions() == null ? List.of() : dto.getCorrectOptions();
+        char[] options = new char[correct.size()];
+        int gradable = 0;
+        for (int i = 0; i < options.length; i++) {
+            String option = correct.get(i);
+            if (option != null && !option.isBlank()) {
+                options[i] = Character.toUpperCase(option.trim().charAt(0));
+                gradable++;
+            }
+        }
+        return new AnswerKey(options, gradable);
+    }
+
+    public boolean isGradable() {
+        return gradable > 0;
+    }
+
+    public int gradableQuestions() {
+        return gradable;
+    }
+
+    public int correctAnswers(String responseContent, String selectedOption) {
+        String answers = responseContent != null && !responseContent.isBlank() ? responseContent : selectedOption;
+        if (answers == null) {
+            return 0;
+        }
+
+        int correct = 0;
+        int question = 0;
+        for (int i = 0; i < answers.length() && question < options.length; i++) {
+            char c = answers.charAt(i);
+            if (Character.isWhitespace(c) || c == ',' || c == ';') {
+                continue;
+            }
+            if (options[question] != 0 && Character.toUpperCase(c) == options[question]) {
+                correct++;
+            }
+            question++;
+        }
+        return correct;
+    }
+
+    // Nota de 0 a 100 con dos decimales, como la columna student_mark.mark
+    public BigDecimal mark(int correctAnswers) {
+        return HUNDRED.multiply(BigDecimal.valueOf(correctAnswers))
+            .divide(BigDecimal.valueOf(gradable), 2, RoundingMode.HALF_UP);
+    }
+}
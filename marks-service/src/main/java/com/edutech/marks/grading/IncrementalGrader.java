@@ -0,0 +1,134 @@
+package com.edutech.marks.grading;
+
+import com.edutech.marks.event.QuizResponsesSubmittedEvent;
+import com.edutech.marks.service.QuizGradingService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * CORRECCIÓN INCREMENTAL:
+ * CADA RESPUESTA GUARDADA DEJA PENDIENTE AL ESTUDIANTE EN SU QUIZ. CADA CIERTO TIEMPO
+ * SE CORRIGEN JUNTOS TODOS LOS PENDIENTES DE CADA QUIZ, ASÍ UNA RÁFAGA DE RESPUESTAS
+ * (UN CURSO COMPLETO RINDIENDO A LA VEZ) TERMINA EN POCAS ESCRITURAS EN LOTE EN VEZ
+ * DE UNA CORRECCIÓN POR RESPUESTA. LA RESPUESTA AL ESTUDIANTE NO ESPERA LA CORRECCIÓN.
+ * SI LA CORRECCIÓN DE UN QUIZ FALLA, SUS ESTUDIANTES VUELVEN A QUEDAR PENDIENTES PARA LA
+ * SIGUIENTE VUELTA; TRAS max-attempts FALLAS SEGUIDAS SE DESCARTAN CON UN ERROR EN EL LOG
+ * Y QUEDAN PARA LA CORRECCIÓN A PEDIDO (POST DEL QUIZ COMPLETO).
+ */
+@Component
+@ConditionalOnProperty(name = "edutech.grading.incremental.enabled", havingValue = "true", matchIfMissing = true)
+public class IncrementalGrader implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(IncrementalGrader.class);
+
+    private final QuizGradingService gradingService;
+    private final int maxBatchSize;
+    private final int maxAttempts;
+
+    // Estudiantes pendientes por quiz; los conjuntos solo se modifican dentro de compute
+    private final ConcurrentHashMap<Integer, Set<Integer>> pending = new ConcurrentHashMap<>();
+
+    // Vueltas seguidas en que falló la corrección de cada quiz; solo lo usa el hilo del timer
+    private final Map<Integer, Integer> failures = new HashMap<>();
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("incremental-grader").factory());
+
+    public IncrementalGrader(
+            QuizGradingService gradingService,
+            @Value("${edutech.grading.incremental.window:2s}") Duration window,
+            @Value("${edutech.grading.incremental.max-batch-size:1000}") int maxBatchSize,
+            @Value("${edutech.grading.incremental.max-attempts:5}") int maxAttempts) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("El tamaño máximo del lote debe ser mayor a cero");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("La cantidad de intentos debe ser mayor a cero");
+        }
+        this.gradingService = gradingService;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAttempts = maxAttempts;
+        timer.scheduleWithFixedDelay(this::drain, window.toMillis(), window.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener
+    public void onSubmitted(QuizResponsesSubmittedEvent event) {
+        if (event.quizId() == null || event.studentIds().isEmpty()) {
+            return;
+        }
+        enqueue(event.quizId(), event.studentIds());
+    }
+
+    private void enqueue(Integer quizId, Collection<Integer> studentIds) {
+        pending.compute(quizId, (id, students) -> {
+            Set<Integer> set = students != null ? students : new HashSet<>();
+            set.addAll(studentIds);
+            return set;
+        });
+    }
+
+    void drain() {
+        for (Integer quizId : List.copyOf(pending.keySet())) {
+            Set<Integer> students = pending.remove(quizId);
+            if (students == null) {
+                continue;
+            }
+            List<Integer> ids = new ArrayList<>(students);
+            List<Integer> failed = new ArrayList<>();
+            String error = null;
+            for (int from = 0; from < ids.size(); from += maxBatchSize) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + maxBatchSize, ids.size()));
+                try {
+                    gradingService.gradeStudents(quizId, chunk).ifPresent(result ->
+                        log.debug("Quiz {} corregido: {} notas nuevas, {} actualizadas",
+                            quizId, result.getCreated(), result.getUpdated()));
+                } catch (RuntimeException e) {
+                    // Una falla en un bloque no detiene al resto del quiz ni a los otros quizzes
+                    failed.addAll(chunk);
+                    error = e.getMessage();
+                }
+            }
+            retryOrDrop(quizId, failed, error);
+        }
+    }
+
+    private void retryOrDrop(Integer quizId, List<Integer> failed, String error) {
+        if (failed.isEmpty()) {
+            failures.remove(quizId);
+            return;
+        }
+        int attempt = failures.merge(quizId, 1, Integer::sum);
+        if (attempt < maxAttempts) {
+            enqueue(quizId, failed);
+            log.warn("No se pudo corregir el quiz {} para {} estudiantes (intento {} de {}); se reintentará: {}",
+                quizId, failed.size(), attempt, maxAttempts, error);
+        } else {
+            failures.remove(quizId);
+            log.error("Se descartan {} estudiantes pendientes del quiz {} tras {} intentos fallidos; "
+                + "quedan para la corrección a pedido: {}", failed.size(), quizId, attempt, error);
+        }
+    }
+
+    @Override
+    public void close() {
+        timer.shutdown();
+    }
+}
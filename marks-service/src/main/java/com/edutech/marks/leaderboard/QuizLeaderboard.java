@@ -0,0 +1,98 @@
+package com.edutech.marks.leaderboard;
+
+import com.edutech.marks.event.MarkSnapshot;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * Ranking de las notas de un quiz: de mayor a menor nota y, a igual nota, primero
+ * quien fue calificado antes. Hay una posición por estudiante, con la última nota
+ * guardada, igual que {@code StudentMarkRepository.findByQuizIdAndStudentId}.
+ *
+ * Todas las operaciones se hacen con {@link #lock()} tomado.
+ */
+public class QuizLeaderboard {
+
+    public record Entry(Integer studentId, Integer markId, BigDecimal mark, Instant gradedAt) {
+
+        static Entry of(MarkSnapshot mark) {
+            return new Entry(mark.studentId(), mark.id(), mark.mark(), mark.gradedAt());
+        }
+    }
+
+    public record Position(int rank, Entry entry) {
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator
+        .comparing(Entry::mark, Comparator.reverseOrder())
+        .thenComparing(Entry::gradedAt)
+        .thenComparing(Entry::studentId);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final RankedSet<Entry> ranking = new RankedSet<>(ORDER);
+    private final Map<Integer, Entry> byStudent = new HashMap<>();
+    private volatile long lastAccess = System.nanoTime();
+    private volatile boolean loaded;
+
+    public ReentrantLock lock() {
+        return lock;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void load(List<MarkSnapshot> marks) {
+        marks.forEach(this::save);
+        loaded = true;
+    }
+
+    public void save(MarkSnapshot mark) {
+        Entry previous = byStudent.put(mark.studentId(), Entry.of(mark));
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        ranking.add(byStudent.get(mark.studentId()));
+    }
+
+    // Solo se quita si la posición del estudiante corresponde a esa nota
+    public void delete(MarkSnapshot mark) {
+        Entry current = byStudent.get(mark.studentId());
+        if (current != null && current.markId().equals(mark.id())) {
+            byStudent.remove(mark.studentId());
+            ranking.remove(current);
+        }
+    }
+
+    public List<Position> top(int n) {
+        List<Entry> entries = ranking.first(n);
+        return IntStream.range(0, entries.size())
+            .mapToObj(i -> new Position(i + 1, entries.get(i)))
+            .toList();
+    }
+
+    public Optional<Position> rank(Integer studentId) {
+        Entry entry = byStudent.get(studentId);
+        return entry == null ? Optional.empty() : Optional.of(new Position(ranking.rank(entry) + 1, entry));
+    }
+
+    public int size() {
+        return ranking.size();
+    }
+
+    public void touch() {
+        lastAccess = System.nanoTime();
+    }
+
+    public long lastAccess() {
+        return lastAccess;
+    }
+}
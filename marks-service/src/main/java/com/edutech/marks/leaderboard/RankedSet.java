@@ -0,0 +1,191 @@
+package com.edutech.marks.leaderboard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Conjunto ordenado que además responde la posición de un elemento y el elemento de
+ * una posición en tiempo logarítmico (árbol de estadísticos de orden).
+ *
+ * Es un treap: árbol binario de búsqueda por el comparador y montículo por una
+ * prioridad aleatoria, lo que lo mantiene balanceado en promedio. Cada nodo guarda el
+ * tamaño de su subárbol para poder contar los elementos menores sin recorrerlos.
+ * No es seguro para uso concurrente.
+ */
+public class RankedSet<E> {
+
+    private static final class Node<E> {
+        final E value;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        int size = 1;
+        Node<E> left;
+        Node<E> right;
+
+        Node(E value) {
+            this.value = value;
+        }
+    }
+
+    private final Comparator<? super E> comparator;
+    private Node<E> root;
+
+    public RankedSet(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean contains(E value) {
+        Node<E> node = root;
+        while (node != null) {
+            int c = comparator.compare(value, node.value);
+            if (c == 0) {
+                return true;
+            }
+            node = c < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    public boolean add(E value) {
+        if (contains(value)) {
+            return false;
+        }
+        Node<E>[] parts = split(root, value);
+        root = merge(merge(parts[0], new Node<>(value)), parts[1]);
+        return true;
+    }
+
+    public boolean remove(E value) {
+        if (!contains(value)) {
+            return false;
+        }
+        root = remove(root, value);
+        return true;
+    }
+
+    // Cantidad de elementos menores que value (su posición desde 0 si está en el conjunto)
+    public int rank(E value) {
+        int rank = 0;
+        Node<E> node = root;
+        while (node != null) {
+            int c = comparator.compare(value, node.value);
+            if (c <= 0) {
+                if (c == 0) {
+                    return rank + size(node.left);
+                }
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    // Elemento en la posición index (desde 0)
+    public E get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    // Los primeros n elementos en orden
+    public List<E> first(int n) {
+        List<E> result = new ArrayList<>(Math.min(n, size()));
+        Deque<Node<E>> stack = new ArrayDeque<>();
+        Node<E> node = root;
+        while (result.size() < n && (node != null || !stack.isEmpty())) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            result.add(node.value);
+            node = node.right;
+        }
+        return result;
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    // Divide en los elementos menores que key y los mayores o iguales
+    @SuppressWarnings("unchecked")
+    private Node<E>[] split(Node<E> node, E key) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (comparator.compare(node.value, key) < 0) {
+            Node<E>[] parts = split(node.right, key);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+        Node<E>[] parts = split(node.left, key);
+        node.left = parts[1];
+        update(node);
+        parts[1] = node;
+        return parts;
+    }
+
+    // Une dos árboles cuando todos los elementos de a son menores que los de b
+    private Node<E> merge(Node<E> a, Node<E> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private Node<E> remove(Node<E> node, E value) {
+        int c = comparator.compare(value, node.value);
+        if (c == 0) {
+            return merge(node.left, node.right);
+        }
+        if (c < 0) {
+            node.left = remove(node.left, value);
+        } else {
+            node.right = remove(node.right, value);
+        }
+        update(node);
+        return node;
+    }
+
+    private static <E> void update(Node<E> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static <E> int size(Node<E> node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,15 @@
+package com.edutech.marks.repository;
+
+import com.edutech.marks.entity.QuizResponse;
+
+import java.util.List;
+
+/**
+ * Inserción masiva de respuestas. Se agrega a {@link QuizResponseRepository} como
+ * fragmento; la implementación es {@link QuizResponseBatchRepositoryImpl}.
+ */
+public interface QuizResponseBatchRepository {
+
+    // Inserta todas las respuestas en lotes JDBC y les asigna el ID generado por la base
+    void insertAll(List<QuizResponse> responses);
+}
@@ -0,0 +1,83 @@
+package com.edutech.marks.repository;
+
+import com.edutech.marks.entity.QuizResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/*
+ * INSERCIÓN EN LOTES:
+ * LA ENTIDAD USA GenerationType.IDENTITY, CON LO QUE HIBERNATE INSERTA FILA POR FILA
+ * PARA CONOCER CADA ID. AQUÍ SE USA JDBC DIRECTAMENTE: UN SOLO PreparedStatement CON
+ * addBatch/executeBatch Y LOS IDS SE LEEN DE getGeneratedKeys. CON
+ * rewriteBatchedStatements=true EL CONECTOR DE MYSQL ENVÍA CADA LOTE COMO UN ÚNICO
+ * INSERT DE VARIAS FILAS. SI UN LOTE FALLA NO QUEDA NINGUNA RESPUESTA INSERTADA.
+ */
+public class QuizResponseBatchRepositoryImpl implements QuizResponseBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO quiz_response "
+        + "(quiz_id, student_id, selected_option, response_content, assignment_url, submitted_at) "
+        + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public QuizResponseBatchRepositoryImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${edutech.quiz-responses.bulk.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public void insertAll(List<QuizResponse> responses) {
+        if (responses.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < responses.size(); from += batchSize) {
+                    List<QuizResponse> chunk = responses.subList(from, Math.min(from + batchSize, responses.size()));
+                    for (QuizResponse r : chunk) {
+                        ps.setInt(1, r.getQuizId());
+                        ps.setInt(2, r.getStudentId());
+                        ps.setObject(3, r.getSelectedOption(), Types.VARCHAR);
+                        ps.setObject(4, r.getResponseContent(), Types.VARCHAR);
+                        ps.setObject(5, r.getAssignmentUrl(), Types.VARCHAR);
+                        ps.setTimestamp(6, Timestamp.from(r.getSubmittedAt()), utc());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+
+                    // Las claves generadas llegan en el mismo orden en que se agregaron las filas
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (QuizResponse r : chunk) {
+                            if (!keys.next()) {
+                                throw new IllegalStateException("La base no devolvió el ID de todas las respuestas insertadas");
+                            }
+                            r.setId(keys.getInt(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    // Hibernate guarda los Instant en UTC: submitted_at se escribe igual, sin importar la zona de la JVM
+    private static Calendar utc() {
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+}
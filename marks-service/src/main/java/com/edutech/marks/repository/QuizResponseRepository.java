@@ -4,13 +4,15 @@ import com.edutech.marks.entity.QuizResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface QuizResponseRepository extends JpaRepository<QuizResponse, Integer> {
+public interface QuizResponseRepository extends JpaRepository<QuizResponse, Integer>, QuizResponseBatchRepository {
     List<QuizResponse> findByQuizId(Integer quizId);
     List<QuizResponse> findByStudentId(Integer studentId);
+    List<QuizResponse> findByQuizIdAndStudentIdIn(Integer quizId, Collection<Integer> studentIds);
     List<QuizResponse> findByQuizIdAndStudentId(Integer quizId, Integer studentId);
     Optional<QuizResponse> findFirstByQuizIdAndStudentIdOrderBySubmittedAtDesc(Integer quizId, Integer studentId);
     boolean existsByQuizIdAndStudentId(Integer quizId, Integer studentId);
@@ -0,0 +1,30 @@
+package com.edutech.marks.repository;
+
+import com.edutech.marks.entity.StudentMark;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Lectura y escritura masiva de notas por JDBC. Se agrega a
+ * {@link StudentMarkRepository} como fragmento; la implementación es
+ * {@link StudentMarkBatchRepositoryImpl}.
+ */
+public interface StudentMarkBatchRepository {
+
+    // Inserta las notas en lotes JDBC y les asigna el ID generado por la base
+    void insertAll(List<StudentMark> marks);
+
+    // Actualiza nota, comentarios y fecha de corrección de notas existentes, en lotes JDBC
+    void updateAll(List<StudentMark> marks);
+
+    // Recorre todas las notas sin cargarlas a la vez ni dejarlas en el contexto de persistencia
+    void forEachMark(Consumer<StudentMark> action);
+
+    // Recorre todas las notas de los estudiantes indicados
+    void forEachMarkOfStudents(Collection<Integer> studentIds, Consumer<StudentMark> action);
+
+    // Recorre todas las notas de los quizzes indicados
+    void forEachMarkOfQuizzes(Collection<Integer> quizIds, Consumer<StudentMark> action);
+}
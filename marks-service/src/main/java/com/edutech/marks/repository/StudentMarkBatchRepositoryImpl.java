@@ -0,0 +1,164 @@
+package com.edutech.marks.repository;
+
+import com.edutech.marks.entity.StudentMark;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.function.Consumer;
+
+/*
+ * ESCRITURA EN LOTES:
+ * IGUAL QUE QuizResponseBatchRepositoryImpl, USA JDBC DIRECTAMENTE PORQUE CON
+ * GenerationType.IDENTITY HIBERNATE NO AGRUPA LOS INSERT. LAS ACTUALIZACIONES TAMBIÉN
+ * SE ENVÍAN EN LOTES PARA NO CARGAR LAS ENTIDADES EN EL CONTEXTO DE PERSISTENCIA.
+ * EL RECORRIDO DE TODA LA TABLA USA UN CURSOR DE SOLO AVANCE (fetchSize = Integer.MIN_VALUE,
+ * COMO EN LA EXPORTACIÓN DE PAGOS): EL DRIVER DE MYSQL ENTREGA LAS FILAS DE A UNA EN LUGAR
+ * DE CARGAR EL RESULTADO COMPLETO EN MEMORIA.
+ */
+public class StudentMarkBatchRepositoryImpl implements StudentMarkBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO student_mark "
+        + "(quiz_id, student_id, mark, comments, graded_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_ALL_SQL = "SELECT id, quiz_id, student_id, mark, comments, graded_at "
+        + "FROM student_mark";
+
+    private static final String SELECT_OF_STUDENTS_SQL = SELECT_ALL_SQL + " WHERE student_id IN ";
+
+    private static final String SELECT_OF_QUIZZES_SQL = SELECT_ALL_SQL + " WHERE quiz_id IN ";
+
+    private static final String UPDATE_SQL = "UPDATE student_mark "
+        + "SET mark = ?, comments = ?, graded_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingTemplate;
+    private final int batchSize;
+
+    public StudentMarkBatchRepositoryImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${edutech.grading.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public void insertAll(List<StudentMark> marks) {
+        if (marks.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < marks.size(); from += batchSize) {
+                    List<StudentMark> chunk = marks.subList(from, Math.min(from + batchSize, marks.size()));
+                    for (StudentMark m : chunk) {
+                        ps.setInt(1, m.getQuizId());
+                        ps.setInt(2, m.getStudentId());
+                        ps.setBigDecimal(3, m.getMark());
+                        ps.setObject(4, m.getComments(), Types.VARCHAR);
+                        ps.setTimestamp(5, Timestamp.from(m.getGradedAt()), utc());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+
+                    // Las claves generadas llegan en el mismo orden en que se agregaron las filas
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (StudentMark m : chunk) {
+                            if (!keys.next()) {
+                                throw new IllegalStateException("La base no devolvió el ID de todas las notas insertadas");
+                            }
+                            m.setId(keys.getInt(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    @Transactional
+    public void updateAll(List<StudentMark> marks) {
+        if (marks.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(UPDATE_SQL)) {
+                for (int from = 0; from < marks.size(); from += batchSize) {
+                    for (StudentMark m : marks.subList(from, Math.min(from + batchSize, marks.size()))) {
+                        ps.setBigDecimal(1, m.getMark());
+                        ps.setObject(2, m.getComments(), Types.VARCHAR);
+                        ps.setTimestamp(3, Timestamp.from(m.getGradedAt()), utc());
+                        ps.setInt(4, m.getId());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void forEachMark(Consumer<StudentMark> action) {
+        streamingTemplate.query(SELECT_ALL_SQL, rowHandler(action));
+    }
+
+    @Override
+    public void forEachMarkOfStudents(Collection<Integer> studentIds, Consumer<StudentMark> action) {
+        forEachMarkIn(SELECT_OF_STUDENTS_SQL, studentIds, action);
+    }
+
+    @Override
+    public void forEachMarkOfQuizzes(Collection<Integer> quizIds, Consumer<StudentMark> action) {
+        forEachMarkIn(SELECT_OF_QUIZZES_SQL, quizIds, action);
+    }
+
+    // Una consulta por cada bloque de IDs, para no armar listas IN de largo arbitrario
+    private void forEachMarkIn(String sql, Collection<Integer> ids, Consumer<StudentMark> action) {
+        List<Integer> all = List.copyOf(ids);
+        for (int from = 0; from < all.size(); from += batchSize) {
+            List<Integer> chunk = all.subList(from, Math.min(from + batchSize, all.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query(sql + "(" + placeholders + ")", ps -> {
+                for (int i = 0; i < chunk.size(); i++) {
+                    ps.setInt(i + 1, chunk.get(i));
+                }
+            }, rowHandler(action));
+        }
+    }
+
+    private static RowCallbackHandler rowHandler(Consumer<StudentMark> action) {
+        return rs -> {
+            StudentMark m = new StudentMark();
+            m.setId(rs.getInt("id"));
+            m.setQuizId(rs.getInt("quiz_id"));
+            m.setStudentId(rs.getInt("student_id"));
+            m.setMark(rs.getBigDecimal("mark"));
+            m.setComments(rs.getString("comments"));
+            m.setGradedAt(rs.getTimestamp("graded_at", utc()).toInstant());
+            action.accept(m);
+        };
+    }
+
+    // graded_at está en UTC (así lo escribe Hibernate) al escribir y al leer; un Calendar nuevo por uso
+    private static Calendar utc() {
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+}
@@ -4,13 +4,15 @@ import com.edutech.marks.entity.StudentMark;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface StudentMarkRepository extends JpaRepository<StudentMark, Integer> {
+public interface StudentMarkRepository extends JpaRepository<StudentMark, Integer>, StudentMarkBatchRepository {
     List<StudentMark> findByQuizId(Integer quizId);
     List<StudentMark> findByStudentId(Integer studentId);
+    List<StudentMark> findByQuizIdAndStudentIdIn(Integer quizId, Collection<Integer> studentIds);
     Optional<StudentMark> findByQuizIdAndStudentId(Integer quizId, Integer studentId);
     boolean existsByQuizIdAndStudentId(Integer quizId, Integer studentId);
 } 
\ No newline at end of file
@@ -0,0 +1,284 @@
+package com.edutech.marks.service;
+
+import com.edutech.common.dto.GradebookRebuildDTO;
+import com.edutech.common.dto.GradebookStatsDTO;
+import com.edutech.marks.event.MarkSnapshot;
+import com.edutech.marks.event.StudentMarksChangedEvent;
+import com.edutech.marks.gradebook.MarkStats;
+import com.edutech.marks.repository.StudentMarkRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * LIBRO DE NOTAS:
+ * RESUMEN (CANTIDAD, SUMA, MÍNIMO, MÁXIMO Y PROMEDIO) DE LAS NOTAS DE CADA ESTUDIANTE Y
+ * DE CADA QUIZ, GUARDADO EN MEMORIA Y ACTUALIZADO CON CADA NOTA CREADA, MODIFICADA O
+ * ELIMINADA (StudentMarksChangedEvent), ASÍ LA CONSULTA NO RECORRE LAS NOTAS.
+ * NO SE GUARDA CADA NOTA: EL EVENTO SE APLICA COMO DIFERENCIA SOBRE LOS GRUPOS QUE TOCA
+ * (SE RESTAN LOS VALORES ANTERIORES, deleted Y replaced, Y SE SUMAN LOS NUEVOS, saved), ASÍ
+ * LA MEMORIA CRECE CON LOS ESTUDIANTES Y QUIZZES Y NO CON LAS NOTAS.
+ * LA RECONSTRUCCIÓN RECORRE LA TABLA CON UN CURSOR Y ANOTA LOS GRUPOS QUE CAMBIAN MIENTRAS
+ * TANTO. COMO NO SE SABE SI EL RECORRIDO ALCANZÓ A VER ESOS CAMBIOS, ESOS GRUPOS SE VUELVEN
+ * A LEER HASTA QUE UNA LECTURA TERMINA SIN CAMBIOS NUEVOS; RECIÉN AHÍ SE REEMPLAZA EL
+ * RESUMEN Y SE CUENTAN LAS DIFERENCIAS CON EL QUE HABÍA.
+ * LAS DIFERENCIAS NO SE PUEDEN DESCARTAR DEL TODO SIN EL ESTADO DE CADA NOTA (POR EJEMPLO,
+ * DOS MODIFICACIONES SIMULTÁNEAS DE LA MISMA NOTA RESTAN DOS VECES EL MISMO VALOR
+ * ANTERIOR); LA VERIFICACIÓN PERIÓDICA LAS CORRIGE.
+ */
+@Service
+public class GradebookService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(GradebookService.class);
+
+    // Relecturas de los grupos que cambian durante una reconstrucción antes de darla por terminada
+    private static final int MAX_REREADS = 5;
+
+    private final StudentMarkRepository markRepo;
+    private final Duration verifyInterval;
+
+    // Las modificaciones se hacen con este lock; las consultas solo leen los mapas
+    private final Object lock = new Object();
+    private final Object rebuildLock = new Object();
+
+    private volatile Map<Integer, MarkStats> byStudent = new ConcurrentHashMap<>();
+    private volatile Map<Integer, MarkStats> byQuiz = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    // Grupos que cambiaron durante una reconstrucción; null si no hay una en curso
+    private Set<Integer> touchedStudents;
+    private Set<Integer> touchedQuizzes;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("gradebook-verifier").factory());
+
+    public GradebookService(
+            StudentMarkRepository markRepo,
+            @Value("${edutech.gradebook.verify-interval:6h}") Duration verifyInterval) {
+        this.markRepo = markRepo;
+        this.verifyInterval = verifyInterval;
+    }
+
+    public GradebookStatsDTO findByStudentId(Integer studentId) {
+        return summary(ensureLoaded().byStudent.get(studentId));
+    }
+
+    public GradebookStatsDTO findByQuizId(Integer quizId) {
+        return summary(ensureLoaded().byQuiz.get(quizId));
+    }
+
+    @EventListener
+    public void onMarksChanged(StudentMarksChangedEvent event) {
+        synchronized (lock) {
+            apply(event, byStudent, byQuiz);
+            if (touchedStudents != null) {
+                touch(event.saved());
+                touch(event.deleted());
+            }
+        }
+    }
+
+    // Carga inicial en segundo plano y, si está configurada, verificación periódica
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        Thread.ofVirtual().name("gradebook-load").start(() -> {
+            try {
+                ensureLoaded();
+            } catch (RuntimeException e) {
+                log.warn("No se pudo cargar el libro de notas; se reintentará en la primera consulta: {}", e.getMessage());
+            }
+        });
+        if (!verifyInterval.isZero()) {
+            timer.scheduleWithFixedDelay(this::verify, verifyInterval.toMillis(), verifyInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public GradebookRebuildDTO rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            synchronized (lock) {
+                touchedStudents = new HashSet<>();
+                touchedQuizzes = new HashSet<>();
+            }
+
+            Map<Integer, MarkStats> freshStudents = new ConcurrentHashMap<>();
+            Map<Integer, MarkStats> freshQuizzes = new ConcurrentHashMap<>();
+            AtomicLong scanned = new AtomicLong();
+            int mismatches;
+            try {
+                markRepo.forEachMark(m -> {
+                    add(freshStudents, m.getStudentId(), m.getMark());
+                    add(freshQuizzes, m.getQuizId(), m.getMark());
+                    scanned.incrementAndGet();
+                });
+
+                for (int reread = 0; ; reread++) {
+                    Set<Integer> students;
+                    Set<Integer> quizzes;
+                    synchronized (lock) {
+                        if (reread == MAX_REREADS || (touchedStudents.isEmpty() && touchedQuizzes.isEmpty())) {
+                            mismatches = replace(freshStudents, freshQuizzes);
+                            break;
+                        }
+                        students = touchedStudents;
+                        quizzes = touchedQuizzes;
+                        touchedStudents = new HashSet<>();
+                        touchedQuizzes = new HashSet<>();
+                    }
+                    reread(students, quizzes, freshStudents, freshQuizzes);
+                }
+            } finally {
+                synchronized (lock) {
+                    touchedStudents = null;
+                    touchedQuizzes = null;
+                }
+            }
+
+            if (mismatches > 0) {
+                log.warn("El libro de notas tenía {} resúmenes distintos a los de la base; quedó corregido", mismatches);
+            }
+            return new GradebookRebuildDTO(scanned.get(), freshStudents.size(), freshQuizzes.size(), mismatches,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    // Vuelve a leer de la base los grupos que cambiaron durante el recorrido
+    private void reread(Set<Integer> students, Set<Integer> quizzes,
+                        Map<Integer, MarkStats> freshStudents, Map<Integer, MarkStats> freshQuizzes) {
+        students.forEach(freshStudents::remove);
+        quizzes.forEach(freshQuizzes::remove);
+        markRepo.forEachMarkOfStudents(students, m -> add(freshStudents, m.getStudentId(), m.getMark()));
+        markRepo.forEachMarkOfQuizzes(quizzes, m -> add(freshQuizzes, m.getQuizId(), m.getMark()));
+    }
+
+    // Con el lock tomado: publica el resumen reconstruido y devuelve cuántos grupos difieren del anterior
+    private int replace(Map<Integer, MarkStats> freshStudents, Map<Integer, MarkStats> freshQuizzes) {
+        if (!touchedStudents.isEmpty() || !touchedQuizzes.isEmpty()) {
+            // Los grupos siguieron cambiando: se conserva su resumen incremental, si ya había uno
+            if (loaded) {
+                keepCurrent(byStudent, freshStudents, touchedStudents);
+                keepCurrent(byQuiz, freshQuizzes, touchedQuizzes);
+            } else {
+                log.warn("{} grupos del libro de notas siguieron cambiando durante la carga; "
+                    + "la próxima verificación los corrige", touchedStudents.size() + touchedQuizzes.size());
+            }
+        }
+        int mismatches = loaded
+            ? differences(byStudent, freshStudents) + differences(byQuiz, freshQuizzes)
+            : 0;
+        byStudent = freshStudents;
+        byQuiz = freshQuizzes;
+        loaded = true;
+        return mismatches;
+    }
+
+    private void verify() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo verificar el libro de notas: {}", e.getMessage());
+        }
+    }
+
+    private GradebookService ensureLoaded() {
+        if (!loaded) {
+            synchronized (rebuildLock) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+        return this;
+    }
+
+    private static void apply(StudentMarksChangedEvent event,
+                              Map<Integer, MarkStats> byStudent, Map<Integer, MarkStats> byQuiz) {
+        for (MarkSnapshot mark : event.deleted()) {
+            subtract(mark, byStudent, byQuiz);
+        }
+        for (MarkSnapshot mark : event.replaced()) {
+            subtract(mark, byStudent, byQuiz);
+        }
+        for (MarkSnapshot mark : event.saved()) {
+            add(byStudent, mark.studentId(), mark.mark());
+            add(byQuiz, mark.quizId(), mark.mark());
+        }
+    }
+
+    private void touch(List<MarkSnapshot> marks) {
+        for (MarkSnapshot mark : marks) {
+            touchedStudents.add(mark.studentId());
+            touchedQuizzes.add(mark.quizId());
+        }
+    }
+
+    private static void add(Map<Integer, MarkStats> stats, Integer key, BigDecimal mark) {
+        stats.computeIfAbsent(key, id -> new MarkStats()).add(mark);
+    }
+
+    private static void subtract(MarkSnapshot mark, Map<Integer, MarkStats> byStudent, Map<Integer, MarkStats> byQuiz) {
+        remove(byStudent, mark.studentId(), mark);
+        remove(byQuiz, mark.quizId(), mark);
+    }
+
+    private static void remove(Map<Integer, MarkStats> stats, Integer key, MarkSnapshot mark) {
+        MarkStats group = stats.get(key);
+        if (group != null) {
+            group.remove(mark.mark());
+            if (group.isEmpty()) {
+                stats.remove(key);
+            }
+        }
+    }
+
+    private static void keepCurrent(Map<Integer, MarkStats> current, Map<Integer, MarkStats> rebuilt, Set<Integer> keys) {
+        for (Integer key : keys) {
+            MarkStats stats = current.get(key);
+            if (stats == null) {
+                rebuilt.remove(key);
+            } else {
+                rebuilt.put(key, stats);
+            }
+        }
+    }
+
+    private static int differences(Map<Integer, MarkStats> current, Map<Integer, MarkStats> rebuilt) {
+        Set<Integer> keys = new HashSet<>(current.keySet());
+        keys.addAll(rebuilt.keySet());
+        int differences = 0;
+        for (Integer key : keys) {
+            MarkStats a = current.get(key);
+            MarkStats b = rebuilt.get(key);
+            if (a == null || b == null || !a.sameAs(b)) {
+                differences++;
+            }
+        }
+        return differences;
+    }
+
+    private static GradebookStatsDTO summary(MarkStats stats) {
+        return stats == null ? GradebookStatsDTO.empty() : stats.summary();
+    }
+
+    @Override
+    public void close() {
+        timer.shutdown();
+    }
+}
@@ -0,0 +1,172 @@
+package com.edutech.marks.service;
+
+import com.edutech.common.dto.LeaderboardEntryDTO;
+import com.edutech.common.exception.ValidationException;
+import com.edutech.marks.event.MarkSnapshot;
+import com.edutech.marks.event.StudentMarksChangedEvent;
+import com.edutech.marks.leaderboard.QuizLeaderboard;
+import com.edutech.marks.repository.StudentMarkRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.lang.ref.SoftReference;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import static com.edutech.common.exception.ExceptionUtils.orThrow2;
+
+/*
+ * RANKING POR QUIZ:
+ * CADA QUIZ CONSULTADO TIENE SU RANKING EN MEMORIA (QuizLeaderboard), CARGADO DESDE LA
+ * BASE LA PRIMERA VEZ Y ACTUALIZADO CON CADA NOTA GUARDADA (StudentMarksChangedEvent).
+ * LOS CAMBIOS DE QUIZZES SIN RANKING CARGADO SE IGNORAN: YA ESTÁN EN LA BASE.
+ * LA CARGA SE HACE CON EL LOCK DEL RANKING TOMADO ANTES DE PUBLICARLO, ASÍ LOS CAMBIOS
+ * QUE LLEGAN MIENTRAS TANTO ESPERAN Y SE APLICAN DESPUÉS SOBRE LO LEÍDO.
+ * LOS RANKINGS SE GUARDAN CON SoftReference: SI FALTA MEMORIA EL RECOLECTOR LIBERA LOS
+ * MENOS USADOS. ADEMÁS SE DESCARTAN LOS QUE NO SE CONSULTAN DURANTE "idle-ttl".
+ */
+@Service
+public class LeaderboardService implements AutoCloseable {
+
+    private final StudentMarkRepository markRepo;
+    private final int maxTop;
+    private final long idleTtlNanos;
+
+    private final Map<Integer, SoftReference<QuizLeaderboard>> boards = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("leaderboard-evictor").factory());
+
+    public LeaderboardService(
+            StudentMarkRepository markRepo,
+            @Value("${edutech.leaderboard.max-top:100}") int maxTop,
+            @Value("${edutech.leaderboard.idle-ttl:30m}") Duration idleTtl) {
+        this.markRepo = markRepo;
+        this.maxTop = maxTop;
+        this.idleTtlNanos = idleTtl.toNanos();
+        long sweepMillis = Math.max(1000, idleTtl.toMillis() / 2);
+        timer.scheduleWithFixedDelay(this::evictIdle, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public List<LeaderboardEntryDTO> top(Integer quizId, int n) {
+        if (n < 1 || n > maxTop) {
+            throw new ValidationException("El tamaño del ranking debe estar entre 1 y " + maxTop + ".");
+        }
+        QuizLeaderboard board = board(quizId);
+        try {
+            return board.top(n).stream().map(LeaderboardService::toDTO).toList();
+        } finally {
+            board.lock().unlock();
+        }
+    }
+
+    public LeaderboardEntryDTO rank(Integer quizId, Integer studentId) {
+        QuizLeaderboard board = board(quizId);
+        try {
+            return toDTO(orThrow2(board.rank(studentId), "Calificación"));
+        } finally {
+            board.lock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onMarksChanged(StudentMarksChangedEvent event) {
+        // Primero las salidas, por si una nota se movió de un quiz a otro
+        applyByQuiz(event.deleted(), QuizLeaderboard::delete);
+        applyByQuiz(event.saved(), QuizLeaderboard::save);
+    }
+
+    private void applyByQuiz(List<MarkSnapshot> marks, BiConsumer<QuizLeaderboard, MarkSnapshot> action) {
+        if (marks.isEmpty()) {
+            return;
+        }
+        marks.stream()
+            .collect(Collectors.groupingBy(MarkSnapshot::quizId))
+            .forEach((quizId, quizMarks) -> {
+                QuizLeaderboard board = loaded(quizId);
+                if (board == null) {
+                    return;
+                }
+                board.lock().lock();
+                try {
+                    // Si la carga falló el ranking ya no está publicado y no hay que actualizarlo
+                    if (board.isLoaded()) {
+                        quizMarks.forEach(mark -> action.accept(board, mark));
+                    }
+                } finally {
+                    board.lock().unlock();
+                }
+            });
+    }
+
+    // Devuelve el ranking del quiz cargado y con su lock tomado; quien llama debe liberarlo
+    private QuizLeaderboard board(Integer quizId) {
+        while (true) {
+            SoftReference<QuizLeaderboard> published = boards.get(quizId);
+            QuizLeaderboard board = published == null ? null : published.get();
+            if (board != null) {
+                board.lock().lock();
+                if (board.isLoaded()) {
+                    board.touch();
+                    return board;
+                }
+                // La carga que lo publicó falló: se intenta de nuevo
+                board.lock().unlock();
+                boards.remove(quizId, published);
+                continue;
+            }
+
+            QuizLeaderboard created = new QuizLeaderboard();
+            created.lock().lock();
+            SoftReference<QuizLeaderboard> ref = new SoftReference<>(created);
+            SoftReference<QuizLeaderboard> current = boards.compute(quizId,
+                (id, existing) -> existing != null && existing.get() != null ? existing : ref);
+            if (current != ref) {
+                created.lock().unlock();
+                continue;
+            }
+
+            try {
+                created.load(markRepo.findByQuizId(quizId).stream().map(MarkSnapshot::of).toList());
+            } catch (RuntimeException e) {
+                boards.remove(quizId, ref);
+                created.lock().unlock();
+                throw e;
+            }
+            created.touch();
+            return created;
+        }
+    }
+
+    private QuizLeaderboard loaded(Integer quizId) {
+        SoftReference<QuizLeaderboard> ref = boards.get(quizId);
+        return ref == null ? null : ref.get();
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        boards.entrySet().removeIf(e -> {
+            QuizLeaderboard board = e.getValue().get();
+            return board == null || (board.isLoaded() && now - board.lastAccess() > idleTtlNanos);
+        });
+    }
+
+    private static LeaderboardEntryDTO toDTO(QuizLeaderboard.Position position) {
+        QuizLeaderboard.Entry entry = position.entry();
+        return new LeaderboardEntryDTO(position.rank(), entry.studentId(), entry.mark(), entry.gradedAt());
+    }
+
+    @Override
+    public void close() {
+        timer.shutdown();
+    }
+}
@@ -0,0 +1,199 @@
+package com.edutech.marks.service;
+
+import com.edutech.common.cache.ExpiringCache;
+import com.edutech.common.dto.GradingResultDTO;
+import com.edutech.common.exception.ValidationException;
+import com.edutech.marks.client.CourseQuizClient;
+import com.edutech.marks.entity.QuizResponse;
+import com.edutech.marks.entity.StudentMark;
+import com.edutech.marks.event.MarkSnapshot;
+import com.edutech.marks.event.StudentMarksChangedEvent;
+import com.edutech.marks.grading.AnswerKey;
+import com.edutech.marks.repository.QuizResponseRepository;
+import com.edutech.marks.repository.StudentMarkRepository;
+
+import feign.FeignException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.edutech.common.exception.ExceptionUtils.orThrow;
+
+/*
+ * CORRECCIÓN AUTOMÁTICA DE QUIZZES DE ALTERNATIVAS:
+ * LA PAUTA SE PIDE UNA SOLA VEZ A ACADÉMICO Y SE GUARDA COMPILADA EN UNA CACHÉ LOCAL.
+ * DE CADA ESTUDIANTE SE CORRIGE SOLO SU ÚLTIMA RESPUESTA; LAS RESPUESTAS SE CORRIGEN
+ * EN BLOQUES EN PARALELO Y LAS NOTAS SE ESCRIBEN EN LOTES JDBC DENTRO DE UNA SOLA
+ * TRANSACCIÓN. SOLO SE ESCRIBEN LAS NOTAS NUEVAS O LAS QUE CAMBIARON.
+ * LAS CORRECCIONES DE UN MISMO QUIZ SE SERIALIZAN PARA NO INSERTAR LA MISMA NOTA DOS VECES,
+ * CON UN ARREGLO FIJO DE LOCKS (EL QUIZ ELIGE UNO POR SU ID): LA MEMORIA NO CRECE CON LOS
+ * QUIZZES CORREGIDOS, A CAMBIO DE QUE DOS QUIZZES QUE CAEN EN EL MISMO LOCK ESPEREN UNO AL OTRO.
+ */
+@Service
+public class QuizGradingService {
+
+    private static final Comparator<QuizResponse> SUBMISSION_ORDER = Comparator
+        .comparing(QuizResponse::getSubmittedAt)
+        .thenComparing(QuizResponse::getId);
+
+    private final QuizResponseRepository responseRepo;
+    private final StudentMarkRepository markRepo;
+    private final CourseQuizClient quizClient;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher events;
+    private final ExpiringCache<Integer, AnswerKey> answerKeys;
+    private final int chunkSize;
+
+    private static final int QUIZ_LOCK_STRIPES = 64;
+
+    private final ReentrantLock[] quizLocks = new ReentrantLock[QUIZ_LOCK_STRIPES];
+
+    public QuizGradingService(
+            QuizResponseRepository responseRepo,
+            StudentMarkRepository markRepo,
+            CourseQuizClient quizClient,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher events,
+            @Value("${edutech.grading.answer-key.max-size:1000}") int answerKeyMaxSize,
+            @Value("${edutech.grading.answer-key.ttl:10m}") Duration answerKeyTtl,
+            @Value("${edutech.grading.chunk-size:500}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("El tamaño de bloque de corrección debe ser mayor a cero");
+        }
+        this.responseRepo = responseRepo;
+        this.markRepo = markRepo;
+        this.quizClient = quizClient;
+        this.transactionTemplate = transactionTemplate;
+        this.events = events;
+        this.answerKeys = new ExpiringCache<>(answerKeyMaxSize, answerKeyTtl, Duration.ofSeconds(30));
+        this.chunkSize = chunkSize;
+        for (int i = 0; i < quizLocks.length; i++) {
+            quizLocks[i] = new ReentrantLock();
+        }
+    }
+
+    // Corrige todas las respuestas del quiz con la pauta vigente en académico
+    public GradingResultDTO gradeQuiz(Integer quizId) {
+        long start = System.nanoTime();
+
+        // La pauta pudo cambiar desde la última corrección: se vuelve a pedir
+        answerKeys.invalidate(quizId);
+        AnswerKey key = orThrow(answerKey(quizId), "Quiz");
+        if (!key.isGradable()) {
+            throw new ValidationException("El quiz no tiene preguntas de alternativas para corregir.");
+        }
+
+        return withQuizLock(quizId, () -> grade(quizId, key,
+            responseRepo.findByQuizId(quizId), markRepo.findByQuizId(quizId), start));
+    }
+
+    // Corrige solo a los estudiantes indicados; si el quiz no se puede corregir devuelve vacío
+    public Optional<GradingResultDTO> gradeStudents(Integer quizId, Collection<Integer> studentIds) {
+        long start = System.nanoTime();
+
+        Optional<AnswerKey> key = answerKey(quizId).filter(AnswerKey::isGradable);
+        if (key.isEmpty() || studentIds.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(withQuizLock(quizId, () -> grade(quizId, key.get(),
+            responseRepo.findByQuizIdAndStudentIdIn(quizId, studentIds),
+            markRepo.findByQuizIdAndStudentIdIn(quizId, studentIds), start)));
+    }
+
+    private GradingResultDTO grade(Integer quizId, AnswerKey key, List<QuizResponse> responses,
+                                   List<StudentMark> existing, long start) {
+        List<QuizResponse> latest = List.copyOf(responses.stream()
+            .collect(Collectors.toMap(QuizResponse::getStudentId, r -> r,
+                BinaryOperator.maxBy(SUBMISSION_ORDER)))
+            .values());
+        Map<Integer, StudentMark> marksByStudent = existing.stream()
+            .collect(Collectors.toMap(StudentMark::getStudentId, m -> m, (a, b) -> a));
+
+        Instant gradedAt = Instant.now();
+        List<StudentMark> graded = IntStream.range(0, (latest.size() + chunkSize - 1) / chunkSize)
+            .parallel()
+            .mapToObj(i -> latest.subList(i * chunkSize, Math.min((i + 1) * chunkSize, latest.size())))
+            .flatMap(chunk -> chunk.stream().map(r -> gradeResponse(key, r, gradedAt)))
+            .toList();
+
+        List<StudentMark> inserts = new ArrayList<>();
+        List<StudentMark> updates = new ArrayList<>();
+        List<MarkSnapshot> replaced = new ArrayList<>();
+        int unchanged = 0;
+        for (StudentMark mark : graded) {
+            StudentMark current = marksByStudent.get(mark.getStudentId());
+            if (current == null) {
+                inserts.add(mark);
+            } else if (current.getMark().compareTo(mark.getMark()) != 0) {
+                mark.setId(current.getId());
+                updates.add(mark);
+                replaced.add(MarkSnapshot.of(current));
+            } else {
+                unchanged++;
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            markRepo.insertAll(inserts);
+            markRepo.updateAll(updates);
+        });
+
+        List<StudentMark> written = new ArrayList<>(inserts);
+        written.addAll(updates);
+        if (!written.isEmpty()) {
+            events.publishEvent(StudentMarksChangedEvent.saved(written, replaced));
+        }
+
+        return new GradingResultDTO(quizId, graded.size(), inserts.size(), updates.size(), unchanged,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static StudentMark gradeResponse(AnswerKey key, QuizResponse response, Instant gradedAt) {
+        int correct = key.correctAnswers(response.getResponseContent(), response.getSelectedOption());
+
+        StudentMark mark = new StudentMark();
+        mark.setQuizId(response.getQuizId());
+        mark.setStudentId(response.getStudentId());
+        mark.setMark(key.mark(correct));
+        mark.setComments("Corrección automática: " + correct + " de " + key.gradableQuestions() + " correctas");
+        mark.setGradedAt(gradedAt);
+        return mark;
+    }
+
+    private Optional<AnswerKey> answerKey(Integer quizId) {
+        return answerKeys.get(quizId, id -> {
+            try {
+                return Optional.of(AnswerKey.compile(quizClient.answerKey(id)));
+            } catch (FeignException.NotFound e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    private <T> T withQuizLock(Integer quizId, Supplier<T> task) {
+        ReentrantLock lock = quizLocks[Math.floorMod(quizId.hashCode(), quizLocks.length)];
+        lock.lock();
+        try {
+            return task.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,19 +1,34 @@
 package com.edutech.marks.service;
 
+import com.edutech.common.client.UserLookup;
+import com.edutech.common.dto.BulkItemResultDTO;
 import com.edutech.common.dto.QuizResponseDTO;
+import com.edutech.common.exception.ValidationException;
 import com.edutech.marks.entity.QuizResponse;
 import com.edutech.marks.mapper.QuizResponseMapper;
 import com.edutech.marks.repository.QuizResponseRepository;
 import com.edutech.marks.client.CourseQuizClient;
-import com.edutech.marks.client.UserClient;
+import com.edutech.marks.event.QuizResponsesSubmittedEvent;
 
+import feign.FeignException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.edutech.common.exception.ExceptionUtils.findMissing;
 import static com.edutech.common.exception.ExceptionUtils.orThrow;
+import static com.edutech.common.exception.ExceptionUtils.orThrowAll;
 import static com.edutech.common.exception.ExceptionUtils.orThrowFeign;
 
 @Service
@@ -23,7 +38,12 @@ public class QuizResponseService {
     private final QuizResponseRepository responseRepo;
     private final QuizResponseMapper responseMapper;
     private final CourseQuizClient quizClient;
-    private final UserClient userClient;
+    private final UserLookup userClient;
+    private final Validator validator;
+    private final ApplicationEventPublisher events;
+
+    @Value("${edutech.quiz-responses.bulk.max-items:5000}")
+    private int bulkMaxItems;
 
     public List<QuizResponseDTO> findAll() {
         return responseRepo.findAll().stream().map(responseMapper::toDTO).toList();
@@ -46,15 +66,71 @@ public class QuizResponseService {
     }
 
     public QuizResponseDTO create(QuizResponseDTO dto) {
-        // Validar que el quiz existe
-        orThrowFeign(dto.getQuizId(), quizClient::findById, "Quiz");
-
-        // Validar que el estudiante existe
-        orThrowFeign(dto.getStudentId(), userClient::findById, "Estudiante");
+        // Validar que el quiz y el estudiante existen (ambas consultas en paralelo)
+        orThrowAll(
+            () -> orThrowFeign(dto.getQuizId(), quizClient::findById, "Quiz"),
+            () -> orThrow(userClient.findById(dto.getStudentId()), "Estudiante"));
 
         return saveDTO(dto, null);
     }
 
+    /*
+     * CARGA MASIVA DE RESPUESTAS (POR EJEMPLO, LOS KIOSCOS SIN CONEXIÓN QUE SUBEN LAS
+     * RESPUESTAS DE TODO UN CURSO):
+     * CADA QUIZ Y CADA ESTUDIANTE DISTINTO SE VALIDA UNA SOLA VEZ, EN PARALELO, Y LAS
+     * RESPUESTAS VÁLIDAS SE INSERTAN EN LOTES JDBC. LAS INVÁLIDAS NO DETIENEN AL
+     * RESTO: CADA ELEMENTO TIENE SU PROPIO RESULTADO, EN EL MISMO ORDEN RECIBIDO.
+     * LA TRANSACCIÓN CUBRE SOLO LA INSERCIÓN, NO LAS CONSULTAS A OTROS SERVICIOS.
+     */
+    public List<BulkItemResultDTO> createAll(List<QuizResponseDTO> dtos) {
+        if (dtos.size() > bulkMaxItems) {
+            throw new ValidationException("No se pueden enviar más de " + bulkMaxItems + " respuestas a la vez.");
+        }
+
+        BulkItemResultDTO[] results = new BulkItemResultDTO[dtos.size()];
+        for (int i = 0; i < dtos.size(); i++) {
+            String violations = violations(dtos.get(i));
+            if (violations != null) {
+                results[i] = BulkItemResultDTO.rejected(i, 400, violations);
+            }
+        }
+
+        Set<Integer> missingQuizzes = findMissing(pendingIds(dtos, results, QuizResponseDTO::getQuizId), this::quizExists);
+        Set<Integer> missingStudents = findMissing(pendingIds(dtos, results, QuizResponseDTO::getStudentId),
+            id -> userClient.findById(id).isPresent());
+
+        List<Integer> indexes = new ArrayList<>();
+        List<QuizResponse> entities = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            QuizResponseDTO dto = dtos.get(i);
+            if (missingQuizzes.contains(dto.getQuizId())) {
+                results[i] = BulkItemResultDTO.rejected(i, 404, "Quiz no encontrado");
+            } else if (missingStudents.contains(dto.getStudentId())) {
+                results[i] = BulkItemResultDTO.rejected(i, 404, "Estudiante no encontrado");
+            } else {
+                QuizResponse entity = responseMapper.toEntity(dto);
+                entity.setId(null);
+                indexes.add(i);
+                entities.add(entity);
+            }
+        }
+
+        responseRepo.insertAll(entities);
+        for (int j = 0; j < entities.size(); j++) {
+            results[indexes.get(j)] = BulkItemResultDTO.created(indexes.get(j), entities.get(j).getId());
+        }
+
+        // Un evento por quiz con todos sus estudiantes, para la corrección incremental
+        entities.stream()
+            .collect(Collectors.groupingBy(QuizResponse::getQuizId,
+                Collectors.mapping(QuizResponse::getStudentId, Collectors.toSet())))
+            .forEach((quizId, studentIds) -> events.publishEvent(new QuizResponsesSubmittedEvent(quizId, studentIds)));
+        return Arrays.asList(results);
+    }
+
     public QuizResponseDTO update(Integer id, QuizResponseDTO dto) {
         orThrow(responseRepo.findById(id), "Respuesta");
         return saveDTO(dto, id);
@@ -64,11 +140,47 @@ public class QuizResponseService {
         responseRepo.delete(orThrow(responseRepo.findById(id), "Respuesta"));
     }
 
+    // El ID lo asigna la base, por eso no se considera su @NotNull
+    private String violations(QuizResponseDTO dto) {
+        if (dto == null) {
+            return "La respuesta no puede ser nula.";
+        }
+        return validator.validate(dto).stream()
+            .filter(v -> !v.getPropertyPath().toString().equals("id"))
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .reduce((a, b) -> a + "; " + b)
+            .orElse(null);
+    }
+
+    // IDs distintos de los elementos que todavía no tienen resultado
+    private static Set<Integer> pendingIds(List<QuizResponseDTO> dtos, BulkItemResultDTO[] results,
+                                           Function<QuizResponseDTO, Integer> id) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            if (results[i] == null) {
+                ids.add(id.apply(dtos.get(i)));
+            }
+        }
+        return ids;
+    }
+
+    private boolean quizExists(Integer quizId) {
+        try {
+            quizClient.findById(quizId);
+            return true;
+        } catch (FeignException.NotFound e) {
+            return false;
+        }
+    }
+
     private QuizResponseDTO saveDTO(QuizResponseDTO dto, Integer id) {
         QuizResponse entity = responseMapper.toEntity(dto);
         if (id != null) {
             entity.setId(id);
         }
-        return responseMapper.toDTO(responseRepo.save(entity));
+        QuizResponse saved = responseRepo.save(entity);
+        events.publishEvent(new QuizResponsesSubmittedEvent(saved.getQuizId(), Set.of(saved.getStudentId())));
+        return responseMapper.toDTO(saved);
     }
 } 
\ No newline at end of file
@@ -1,19 +1,23 @@
 package com.edutech.marks.service;
 
+import com.edutech.common.client.UserLookup;
 import com.edutech.common.dto.StudentMarkDTO;
 import com.edutech.marks.entity.StudentMark;
 import com.edutech.marks.mapper.StudentMarkMapper;
 import com.edutech.marks.repository.StudentMarkRepository;
 import com.edutech.marks.client.CourseQuizClient;
-import com.edutech.marks.client.UserClient;
+import com.edutech.marks.event.MarkSnapshot;
+import com.edutech.marks.event.StudentMarksChangedEvent;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static com.edutech.common.exception.ExceptionUtils.orThrow;
+import static com.edutech.common.exception.ExceptionUtils.orThrowAll;
 import static com.edutech.common.exception.ExceptionUtils.orThrowFeign;
 
 @Service
@@ -23,7 +27,8 @@ public class StudentMarkService {
     private final StudentMarkRepository markRepo;
     private final StudentMarkMapper markMapper;
     private final CourseQuizClient quizClient;
-    private final UserClient userClient;
+    private final UserLookup userClient;
+    private final ApplicationEventPublisher events;
 
     public List<StudentMarkDTO> findAll() {
         return markRepo.findAll().stream().map(markMapper::toDTO).toList();
@@ -40,29 +45,40 @@ public class StudentMarkService {
     }
 
     public StudentMarkDTO create(StudentMarkDTO dto) {
-        // Validar que el quiz existe
-        orThrowFeign(dto.getQuizId(), quizClient::findById, "Quiz");
-
-        // Validar que el estudiante existe
-        orThrowFeign(dto.getStudentId(), userClient::findById, "Estudiante");
+        // Validar que el quiz y el estudiante existen (ambas consultas en paralelo)
+        orThrowAll(
+            () -> orThrowFeign(dto.getQuizId(), quizClient::findById, "Quiz"),
+            () -> orThrow(userClient.findById(dto.getStudentId()), "Estudiante"));
 
         return saveDTO(dto, null);
     }
 
     public StudentMarkDTO update(Integer id, StudentMarkDTO dto) {
-        orThrow(markRepo.findById(id), "Calificación");
-        return saveDTO(dto, id);
+        // Copia previa al guardado: la entidad cargada puede ser la misma que se modifica
+        MarkSnapshot previous = MarkSnapshot.of(orThrow(markRepo.findById(id), "Calificación"));
+        StudentMark saved = save(dto, id);
+        events.publishEvent(StudentMarksChangedEvent.updated(previous, saved));
+        return markMapper.toDTO(saved);
     }
 
     public void delete(Integer id) {
-        markRepo.delete(orThrow(markRepo.findById(id), "Calificación"));
+        StudentMark mark = orThrow(markRepo.findById(id), "Calificación");
+        MarkSnapshot deleted = MarkSnapshot.of(mark);
+        markRepo.delete(mark);
+        events.publishEvent(StudentMarksChangedEvent.deleted(deleted));
     }
 
     private StudentMarkDTO saveDTO(StudentMarkDTO dto, Integer id) {
+        StudentMark saved = save(dto, id);
+        events.publishEvent(StudentMarksChangedEvent.saved(List.of(saved)));
+        return markMapper.toDTO(saved);
+    }
+
+    private StudentMark save(StudentMarkDTO dto, Integer id) {
         StudentMark entity = markMapper.toEntity(dto);
         if (id != null) {
             entity.setId(id);
         }
-        return markMapper.toDTO(markRepo.save(entity));
+        return markRepo.save(entity);
     }
 } 
\ No newline at end of file
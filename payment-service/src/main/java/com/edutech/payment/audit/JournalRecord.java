@@ -0,0 +1,166 @@
+package com.edutech.payment.audit;
+
+import com.edutech.common.dto.PaymentAuditRecordDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato fijo de un registro del diario de auditoría ({@link #SIZE} bytes, big-endian).
+ *
+ * <pre>
+ *   0  magic          int
+ *   4  secuencia      long   (1, 2, 3... sin huecos entre segmentos)
+ *  12  instante       long   (milisegundos desde la época)
+ *  20  tipo           byte   (ordinal de PaymentAuditEvent.Type + 1; 0 = vacío)
+ *  21  presentes      byte   (bit 0: userId, bit 1: amount)
+ *  22  reservado      2 bytes en cero
+ *  24  paymentId      int
+ *  28  userId         int
+ *  32  amount         long   (centavos)
+ *  40  estado anterior 50 bytes UTF-8, rellenado con ceros
+ *  90  estado nuevo    50 bytes UTF-8, rellenado con ceros
+ * 140  reservado      12 bytes en cero
+ * 152  hash anterior  32 bytes (SHA-256 del registro previo; ceros en el primero)
+ * 188  CRC32C         int    (de los bytes 0 a 187)
+ * </pre>
+ *
+ * El hash de un registro es el SHA-256 de sus bytes 0 a 187, que incluyen el hash del
+ * anterior: cambiar un registro rompe la cadena desde el siguiente. El CRC detecta las
+ * escrituras incompletas de una caída.
+ */
+final class JournalRecord {
+
+    static final int SIZE = 192;
+    static final int HASH_BYTES = 32;
+    static final byte[] GENESIS_HASH = new byte[HASH_BYTES];
+
+    private static final int MAGIC = 0x50415931;
+    private static final int STATUS_BYTES = 50;
+    private static final int HAS_USER = 1;
+    private static final int HAS_AMOUNT = 2;
+
+    private static final int SEQUENCE = 4;
+    private static final int AT = 12;
+    private static final int TYPE = 20;
+    private static final int PRESENT = 21;
+    private static final int PAYMENT_ID = 24;
+    private static final int USER_ID = 28;
+    private static final int AMOUNT = 32;
+    private static final int FROM_STATUS = 40;
+    private static final int TO_STATUS = FROM_STATUS + STATUS_BYTES;
+    private static final int PREVIOUS_HASH = 152;
+    private static final int CRC = SIZE - 4;
+
+    private static final PaymentAuditEvent.Type[] TYPES = PaymentAuditEvent.Type.values();
+
+    private JournalRecord() {
+    }
+
+    static void encode(byte[] record, long sequence, PaymentAuditEvent event, byte[] previousHash) {
+        Arrays.fill(record, (byte) 0);
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        buffer.putInt(0, MAGIC);
+        buffer.putLong(SEQUENCE, sequence);
+        buffer.putLong(AT, event.at().toEpochMilli());
+        buffer.put(TYPE, (byte) (event.type().ordinal() + 1));
+        int present = 0;
+        buffer.putInt(PAYMENT_ID, event.paymentId());
+        if (event.userId() != null) {
+            buffer.putInt(USER_ID, event.userId());
+            present |= HAS_USER;
+        }
+        if (event.amount() != null) {
+            buffer.putLong(AMOUNT, event.amount().setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact());
+            present |= HAS_AMOUNT;
+        }
+        buffer.put(PRESENT, (byte) present);
+        putStatus(record, FROM_STATUS, event.fromStatus());
+        putStatus(record, TO_STATUS, event.toStatus());
+        System.arraycopy(previousHash, 0, record, PREVIOUS_HASH, HASH_BYTES);
+        buffer.putInt(CRC, crc(record));
+    }
+
+    // Registro íntegro con la secuencia esperada
+    static boolean valid(byte[] record, long expectedSequence) {
+        return intact(record) && ByteBuffer.wrap(record).getLong(SEQUENCE) == expectedSequence;
+    }
+
+    // Registro escrito completo (CRC correcto), esté donde esté
+    static boolean intact(byte[] record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        return buffer.getInt(0) == MAGIC && buffer.getInt(CRC) == crc(record);
+    }
+
+    static long sequence(byte[] record) {
+        return ByteBuffer.wrap(record).getLong(SEQUENCE);
+    }
+
+    static int paymentId(byte[] record) {
+        return ByteBuffer.wrap(record).getInt(PAYMENT_ID);
+    }
+
+    static boolean chainsTo(byte[] record, byte[] previousHash) {
+        return Arrays.equals(record, PREVIOUS_HASH, PREVIOUS_HASH + HASH_BYTES, previousHash, 0, HASH_BYTES);
+    }
+
+    static byte[] hash(byte[] record) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(record, 0, CRC);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    static PaymentAuditRecordDTO decode(byte[] record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        int present = buffer.get(PRESENT);
+        return new PaymentAuditRecordDTO(
+            buffer.getLong(SEQUENCE),
+            Instant.ofEpochMilli(buffer.getLong(AT)),
+            TYPES[buffer.get(TYPE) - 1].name(),
+            buffer.getInt(PAYMENT_ID),
+            (present & HAS_USER) != 0 ? buffer.getInt(USER_ID) : null,
+            (present & HAS_AMOUNT) != 0 ? BigDecimal.valueOf(buffer.getLong(AMOUNT), 2) : null,
+            getStatus(record, FROM_STATUS),
+            getStatus(record, TO_STATUS),
+            HexFormat.of().formatHex(hash(record)));
+    }
+
+    // El estado se corta en el último carácter completo que cabe en STATUS_BYTES; null queda vacío
+    private static void putStatus(byte[] record, int offset, String status) {
+        if (status == null) {
+            return;
+        }
+        byte[] bytes = status.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, STATUS_BYTES);
+        while (length < bytes.length && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        System.arraycopy(bytes, 0, record, offset, length);
+    }
+
+    private static String getStatus(byte[] record, int offset) {
+        int length = 0;
+        while (length < STATUS_BYTES && record[offset + length] != 0) {
+            length++;
+        }
+        return length == 0 ? null : new String(record, offset, length, StandardCharsets.UTF_8);
+    }
+
+    private static int crc(byte[] record) {
+        CRC32C crc = new CRC32C();
+        crc.update(record, 0, CRC);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,206 @@
+package com.edutech.payment.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Un archivo del diario de auditoría, mapeado en memoria completo.
+ *
+ * El archivo se crea con su tamaño final ({@code capacity} registros en cero) y se llena en
+ * orden; su nombre es la secuencia del primer registro. Solo el hilo escritor del diario
+ * llama a {@link #append} y {@link #force}; los lectores ven los registros hasta
+ * {@link #committed()}, que avanza después de cada fsync.
+ */
+final class JournalSegment implements AutoCloseable {
+
+    private static final String SUFFIX = ".journal";
+    private static final int PREALLOCATE_CHUNK = 1 << 20;
+
+    private final Path path;
+    private final long firstSequence;
+    private final int capacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    // Registros escritos en el mapeo y los ya bajados a disco; solo los modifica el escritor
+    private int written;
+    private int forced;
+    private volatile int committed;
+    private int intactAfterEnd;
+
+    private JournalSegment(Path path, long firstSequence, FileChannel channel, boolean writable) throws IOException {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.channel = channel;
+        this.capacity = (int) (channel.size() / JournalRecord.SIZE);
+        this.buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+            0, (long) capacity * JournalRecord.SIZE);
+    }
+
+    static JournalSegment create(Path directory, long firstSequence, int capacity) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            preallocate(channel, (long) capacity * JournalRecord.SIZE);
+            return new JournalSegment(path, firstSequence, channel, true);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    /*
+     * ESCRIBE LOS CEROS DE VERDAD EN LUGAR DE EXTENDER EL ARCHIVO CON EL MAPEO: UN ARCHIVO
+     * DISPERSO NO TIENE BLOQUES RESERVADOS, Y CON EL DISCO LLENO LA ESCRITURA EN EL MAPEO NO
+     * DEVUELVE UN IOException SINO UN InternalError O UN SIGBUS. ASÍ EL DISCO LLENO SE VE
+     * AQUÍ, AL ROTAR, COMO UN ERROR NORMAL.
+     */
+    private static void preallocate(FileChannel channel, long size) throws IOException {
+        ByteBuffer zeros = ByteBuffer.allocate(PREALLOCATE_CHUNK);
+        long position = 0;
+        while (position < size) {
+            zeros.clear().limit((int) Math.min(PREALLOCATE_CHUNK, size - position));
+            while (zeros.hasRemaining()) {
+                position += channel.write(zeros, position);
+            }
+        }
+        channel.force(true);
+    }
+
+    static JournalSegment open(Path path, boolean writable) throws IOException {
+        FileChannel channel = writable
+            ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+            : FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new JournalSegment(path, firstSequence(path), channel, writable);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(SUFFIX) && name.length() == 20 + SUFFIX.length();
+    }
+
+    static long firstSequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    /*
+     * Recorre los registros válidos desde el inicio y se detiene en el primero vacío o
+     * dañado. Con truncate (el último segmento) mira qué hay después:
+     * - NINGÚN REGISTRO ÍNTEGRO: ES LA COLA QUE CORTÓ UNA CAÍDA. SE PONE EN CERO PARA QUE UN
+     *   REGISTRO NUNCA CONFIRMADO NO APAREZCA AL AGREGAR LOS SIGUIENTES.
+     * - ALGÚN REGISTRO ÍNTEGRO: EL REGISTRO SE DAÑÓ O SE MODIFICÓ DESPUÉS DE CONFIRMARSE. NO SE
+     *   TOCA NADA (BORRARLO ESCONDERÍA LA ALTERACIÓN) Y intactAfterEnd() DICE CUÁNTOS HAY.
+     * Devuelve cuántos espacios de la cola se pusieron en cero.
+     */
+    int load(Consumer<byte[]> visitor, boolean truncate) {
+        byte[] record = new byte[JournalRecord.SIZE];
+        int count = 0;
+        while (count < capacity) {
+            read(count, record);
+            if (!JournalRecord.valid(record, firstSequence + count)) {
+                break;
+            }
+            visitor.accept(record);
+            count++;
+        }
+        written = count;
+        forced = count;
+        committed = count;
+        if (!truncate) {
+            return 0;
+        }
+        intactAfterEnd = countIntactAfterEnd(record);
+        return intactAfterEnd > 0 ? 0 : clearAfterEnd();
+    }
+
+    // Registros con CRC correcto después del primero inválido, sin importar su secuencia
+    private int countIntactAfterEnd(byte[] record) {
+        int intact = 0;
+        for (int i = written + 1; i < capacity; i++) {
+            read(i, record);
+            if (JournalRecord.intact(record)) {
+                intact++;
+            }
+        }
+        return intact;
+    }
+
+    // Registros íntegros que siguen a uno dañado (solo se calcula para el último segmento)
+    int intactAfterEnd() {
+        return intactAfterEnd;
+    }
+
+    // Pone en cero los espacios no vacíos después del último registro válido; devuelve cuántos
+    private int clearAfterEnd() {
+        byte[] empty = new byte[JournalRecord.SIZE];
+        int cleared = 0;
+        for (int i = written; i < capacity; i++) {
+            if (buffer.getInt(i * JournalRecord.SIZE) != 0) {
+                buffer.put(i * JournalRecord.SIZE, empty);
+                cleared++;
+            }
+        }
+        if (cleared > 0) {
+            buffer.force();
+        }
+        return cleared;
+    }
+
+    boolean full() {
+        return written == capacity;
+    }
+
+    void append(byte[] record) {
+        buffer.put(written * JournalRecord.SIZE, record);
+        written++;
+    }
+
+    // fsync de lo escrito desde el último force; después los lectores lo ven
+    void force() {
+        if (forced < written) {
+            buffer.force(forced * JournalRecord.SIZE, (written - forced) * JournalRecord.SIZE);
+            forced = written;
+        }
+        committed = forced;
+    }
+
+    void read(int index, byte[] record) {
+        buffer.get(index * JournalRecord.SIZE, record);
+    }
+
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    // Secuencia siguiente a la del último registro escrito
+    long nextSequence() {
+        return firstSequence + written;
+    }
+
+    int committed() {
+        return committed;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
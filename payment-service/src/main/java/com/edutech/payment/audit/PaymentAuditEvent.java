@@ -0,0 +1,38 @@
+package com.edutech.payment.audit;
+
+import com.edutech.common.dto.PaymentDTO;
+import com.edutech.payment.intake.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Cambio de un pago que se registra en {@link PaymentAuditJournal}. userId y amount van en
+ * null cuando quien hace el cambio no los conoce (los cambios de estado de la cola de ingreso).
+ */
+public record PaymentAuditEvent(Type type, Instant at, Integer paymentId, Integer userId, BigDecimal amount,
+                                String fromStatus, String toStatus) {
+
+    public enum Type {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+
+    public static PaymentAuditEvent created(PaymentDTO payment) {
+        return new PaymentAuditEvent(Type.CREATED, Instant.now(), payment.getId(), payment.getUserId(),
+            payment.getAmount(), null, payment.getStatus());
+    }
+
+    public static PaymentAuditEvent updated(String fromStatus, PaymentDTO payment) {
+        return new PaymentAuditEvent(Type.UPDATED, Instant.now(), payment.getId(), payment.getUserId(),
+            payment.getAmount(), fromStatus, payment.getStatus());
+    }
+
+    public static PaymentAuditEvent statusChanged(Integer paymentId, PaymentStatus from, PaymentStatus to) {
+        return new PaymentAuditEvent(Type.STATUS_CHANGED, Instant.now(), paymentId, null, null, from.name(), to.name());
+    }
+
+    public static PaymentAuditEvent deleted(PaymentDTO payment) {
+        return new PaymentAuditEvent(Type.DELETED, Instant.now(), payment.getId(), payment.getUserId(),
+            payment.getAmount(), payment.getStatus(), null);
+    }
+}
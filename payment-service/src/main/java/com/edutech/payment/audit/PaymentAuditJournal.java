@@ -0,0 +1,495 @@
+package com.edutech.payment.audit;
+
+import com.edutech.common.dto.PaymentAuditRecordDTO;
+import com.edutech.common.dto.PaymentAuditVerificationDTO;
+import com.edutech.common.exception.ValidationException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/*
+ * DIARIO DE AUDITORÍA DE PAGOS (SOLO SE AGREGA):
+ * CADA ALTA, MODIFICACIÓN, CAMBIO DE ESTADO Y BAJA DE UN PAGO SE ESCRIBE COMO UN REGISTRO DE
+ * TAMAÑO FIJO (JournalRecord) EN ARCHIVOS MAPEADOS EN MEMORIA, NO EN LA BASE: AUDITAR NO
+ * AGREGA UN SEGUNDO INSERT A CADA ESCRITURA DE UN PAGO.
+ * UN SOLO HILO ESCRIBE. TOMA TODO LO QUE SE ACUMULÓ MIENTRAS HACÍA EL fsync ANTERIOR (HASTA
+ * max-batch), LO COPIA AL MAPEO Y HACE UN SOLO fsync PARA EL GRUPO (GROUP COMMIT): CON
+ * CARGA, MUCHOS PAGOS COMPARTEN CADA fsync. CUANDO UN SEGMENTO SE LLENA SE BAJA A DISCO Y SE
+ * ABRE UNO NUEVO CON EL MISMO TAMAÑO.
+ * CADA REGISTRO LLEVA UN CRC Y EL HASH DEL ANTERIOR: verify() RECORRE EL DIARIO Y DETECTA
+ * REGISTROS DAÑADOS, FALTANTES O MODIFICADOS. AL INICIAR SE DESCARTA LA COLA QUE HAYA DEJADO
+ * A MEDIAS UNA CAÍDA (NUNCA SE CONFIRMÓ A NADIE). SI DESPUÉS DEL PRIMER REGISTRO INVÁLIDO HAY
+ * REGISTROS ÍNTEGROS NO ES UNA COLA CORTADA SINO UN REGISTRO DAÑADO O MODIFICADO: NO SE BORRA
+ * NADA, EL DIARIO QUEDA EN SOLO LECTURA Y verify() INFORMA EL CORTE.
+ * PARA BUSCAR POR PAGO HAY UN ÍNDICE DISPERSO EN MEMORIA: POR CADA PAGO, LOS BLOQUES DE
+ * BLOCK_RECORDS REGISTROS EN QUE APARECE. SE ARMA AL INICIAR RECORRIENDO LOS SEGMENTOS.
+ * UN REGISTRO CUYA ESCRITURA SE INFORMÓ COMO FALLIDA PUEDE QUEDAR IGUAL EN EL DIARIO SI EL
+ * SIGUIENTE fsync TIENE ÉXITO. COMO LOS DEMÁS ÍNDICES EN MEMORIA, SUPONE UNA SOLA INSTANCIA
+ * DEL MICROSERVICIO DE PAGOS.
+ * LA COLA TIENE UN LÍMITE (queue-capacity): SI EL DISCO NO DA ABASTO, LO QUE NO ENTRA FALLA AL
+ * MOMENTO EN LUGAR DE ACUMULARSE EN MEMORIA. SI EL ESCRITOR MUERE POR UN ERROR QUE NO PUEDE
+ * RECUPERAR, TODO LO PENDIENTE Y LO QUE LLEGUE DESPUÉS FALLA SIN ESPERAR wait-timeout.
+ */
+@Component
+public class PaymentAuditJournal implements MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentAuditJournal.class);
+
+    static final int BLOCK_RECORDS = 64;
+
+    private record Append(PaymentAuditEvent event, CompletableFuture<Long> done) {
+    }
+
+    // Registro dañado en medio del último segmento, encontrado al abrir
+    private record Damage(long sequence, String error) {
+    }
+
+    // Bloques en que aparece un pago, en orden y sin repetir
+    private static final class Blocks {
+        private long[] items = new long[1];
+        private int size;
+
+        void add(long block) {
+            if (size > 0 && items[size - 1] == block) {
+                return;
+            }
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = block;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(items, size);
+        }
+    }
+
+    private final Path directory;
+    private final int segmentCapacity;
+    private final int maxBatch;
+    private final Duration waitTimeout;
+    private final int maxRead;
+
+    // Segmentos por secuencia del primer registro
+    private final ConcurrentSkipListMap<Long, JournalSegment> segments = new ConcurrentSkipListMap<>();
+    private volatile long committedSequence;
+
+    // Solo los usa el hilo escritor (y el constructor antes de iniciarlo)
+    private JournalSegment active;
+    private byte[] lastHash = JournalRecord.GENESIS_HASH;
+    private final byte[] recordBuffer = new byte[JournalRecord.SIZE];
+    // Registros escritos que todavía no están en el índice: pago y secuencia
+    private final List<long[]> unindexed = new ArrayList<>();
+
+    private final ReentrantLock indexLock = new ReentrantLock();
+    private final Map<Integer, Blocks> index = new HashMap<>();
+
+    private final BlockingQueue<Append> queue;
+    private volatile boolean closed;
+    // Error que detuvo al hilo escritor o dejó el diario en solo lectura; desde entonces append falla sin encolar
+    private volatile Throwable writerFailure;
+    private volatile Damage damage;
+    private final Thread writer;
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder rotations = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public PaymentAuditJournal(
+            @Value("${edutech.payment-audit.directory:data/payment-audit}") String directory,
+            @Value("${edutech.payment-audit.segment-size:64MB}") DataSize segmentSize,
+            @Value("${edutech.payment-audit.max-batch:1000}") int maxBatch,
+            @Value("${edutech.payment-audit.wait-timeout:5s}") Duration waitTimeout,
+            @Value("${edutech.payment-audit.max-read:1000}") int maxRead,
+            @Value("${edutech.payment-audit.queue-capacity:10000}") int queueCapacity) {
+        if (segmentSize.toBytes() < (long) BLOCK_RECORDS * JournalRecord.SIZE || segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("El tamaño de segmento debe estar entre "
+                + BLOCK_RECORDS * JournalRecord.SIZE + " bytes y 2 GB");
+        }
+        if (maxBatch < 1 || maxRead < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("El lote, el máximo de lectura y la cola deben ser mayores a cero");
+        }
+        this.directory = Path.of(directory);
+        this.segmentCapacity = (int) (segmentSize.toBytes() / JournalRecord.SIZE);
+        this.maxBatch = maxBatch;
+        this.waitTimeout = waitTimeout;
+        this.maxRead = maxRead;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el diario de auditoría en " + this.directory, e);
+        }
+        if (damage != null) {
+            writerFailure = new IllegalStateException("El diario de auditoría quedó en solo lectura: " + damage.error()
+                + " (secuencia " + damage.sequence() + ")");
+        }
+        this.writer = Thread.ofPlatform().daemon().name("payment-audit-writer").start(this::writeLoop);
+    }
+
+    // Agrega un registro; el resultado (su secuencia) se completa cuando está en disco
+    public CompletableFuture<Long> append(PaymentAuditEvent event) {
+        CompletableFuture<Long> done = new CompletableFuture<>();
+        if (closed) {
+            done.completeExceptionally(new IllegalStateException("El diario de auditoría está cerrado"));
+        } else if (writerFailure != null) {
+            done.completeExceptionally(stopped());
+        } else if (!queue.offer(new Append(event, done))) {
+            rejected.increment();
+            done.completeExceptionally(new IllegalStateException("La cola del diario de auditoría está llena"));
+        } else if (writerFailure != null) {
+            // El escritor se detuvo mientras se encolaba: nadie más vaciará la cola
+            rejectPending(stopped());
+        }
+        return done;
+    }
+
+    /*
+     * Agrega un registro y espera (a lo más wait-timeout) a que su grupo esté en disco. El pago
+     * ya está guardado en la base: si el diario falla, se informa en el log y en métricas
+     * pero no se revierte el pago.
+     */
+    public void record(PaymentAuditEvent event) {
+        try {
+            append(event).get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            log.warn("No se pudo auditar el cambio {} del pago {}: {}", event.type(), event.paymentId(),
+                e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            log.warn("El diario de auditoría no confirmó a tiempo el cambio {} del pago {}", event.type(),
+                event.paymentId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Registros desde la secuencia from (inclusive), a lo más limit y nunca más de max-read
+    public List<PaymentAuditRecordDTO> read(long from, int limit) {
+        if (limit < 1) {
+            throw new ValidationException("El límite debe ser mayor a cero");
+        }
+        long last = committedSequence;
+        long first = Math.max(from, firstSequence());
+        long end = Math.min(last, first + Math.min(limit, maxRead) - 1);
+        List<PaymentAuditRecordDTO> result = new ArrayList<>();
+        byte[] record = new byte[JournalRecord.SIZE];
+        for (long sequence = first; sequence <= end; sequence++) {
+            read(sequence, record);
+            result.add(JournalRecord.decode(record));
+        }
+        return result;
+    }
+
+    // Historial de un pago, en orden; lee solo los bloques del índice en que aparece
+    public List<PaymentAuditRecordDTO> history(Integer paymentId) {
+        long[] blocks;
+        indexLock.lock();
+        try {
+            Blocks found = index.get(paymentId);
+            if (found == null) {
+                return List.of();
+            }
+            blocks = found.toArray();
+        } finally {
+            indexLock.unlock();
+        }
+        long last = committedSequence;
+        long first = firstSequence();
+        List<PaymentAuditRecordDTO> result = new ArrayList<>();
+        byte[] record = new byte[JournalRecord.SIZE];
+        for (long block : blocks) {
+            long start = Math.max(block * BLOCK_RECORDS, first);
+            long end = Math.min(block * BLOCK_RECORDS + BLOCK_RECORDS - 1, last);
+            for (long sequence = start; sequence <= end; sequence++) {
+                read(sequence, record);
+                if (JournalRecord.paymentId(record) == paymentId) {
+                    result.add(JournalRecord.decode(record));
+                }
+            }
+        }
+        return result;
+    }
+
+    /*
+     * Recorre todo el diario confirmado: cada registro debe tener el CRC correcto, la
+     * secuencia siguiente y el hash del anterior. El primer registro del segmento más antiguo
+     * que se conserva no tiene con qué compararse.
+     */
+    public PaymentAuditVerificationDTO verify() {
+        long last = committedSequence;
+        int segmentCount = segments.size();
+        byte[] record = new byte[JournalRecord.SIZE];
+        byte[] previous = null;
+        long checked = 0;
+        for (long sequence = firstSequence(); sequence <= last; sequence++) {
+            String error = null;
+            if (!readable(sequence)) {
+                error = "Falta el registro (segmento ausente o dañado)";
+            } else {
+                read(sequence, record);
+                if (!JournalRecord.valid(record, sequence)) {
+                    error = "CRC o secuencia inválidos";
+                } else if (previous != null && !JournalRecord.chainsTo(record, previous)) {
+                    error = "El hash no coincide con el del registro anterior";
+                }
+            }
+            if (error != null) {
+                return new PaymentAuditVerificationDTO(checked, segmentCount, false, sequence, error, hex(previous));
+            }
+            previous = JournalRecord.hash(record);
+            checked++;
+        }
+        // Lo que sigue al registro dañado no se publica a los lectores, pero el corte se informa
+        Damage found = damage;
+        if (found != null) {
+            return new PaymentAuditVerificationDTO(checked, segmentCount, false, found.sequence(), found.error(),
+                hex(previous));
+        }
+        return new PaymentAuditVerificationDTO(checked, segmentCount, true, null, null, hex(previous));
+    }
+
+    private long firstSequence() {
+        Map.Entry<Long, JournalSegment> first = segments.firstEntry();
+        return first == null ? 1 : first.getKey();
+    }
+
+    private boolean readable(long sequence) {
+        Map.Entry<Long, JournalSegment> entry = segments.floorEntry(sequence);
+        return entry != null && sequence - entry.getKey() < entry.getValue().committed();
+    }
+
+    private void read(long sequence, byte[] record) {
+        Map.Entry<Long, JournalSegment> entry = segments.floorEntry(sequence);
+        if (entry == null || sequence - entry.getKey() >= entry.getValue().committed()) {
+            throw new IllegalStateException("El registro " + sequence + " no está en el diario de auditoría");
+        }
+        entry.getValue().read((int) (sequence - entry.getKey()), record);
+    }
+
+    // Abre los segmentos existentes, descarta la cola incompleta del último y arma el índice
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(JournalSegment::isSegment)
+                .sorted((a, b) -> Long.compare(JournalSegment.firstSequence(a), JournalSegment.firstSequence(b)))
+                .toList();
+        }
+        for (int i = 0; i < paths.size(); i++) {
+            boolean last = i == paths.size() - 1;
+            JournalSegment segment = JournalSegment.open(paths.get(i), last);
+            JournalSegment previous = active;
+            if (previous != null && previous.nextSequence() != segment.firstSequence()) {
+                log.warn("El segmento {} no continúa al anterior: faltan registros antes de la secuencia {}",
+                    segment.path(), segment.firstSequence());
+            }
+            int cleared = segment.load(record -> indexed(JournalRecord.paymentId(record), JournalRecord.sequence(record)),
+                last);
+            if (cleared > 0) {
+                log.warn("Se descartaron {} registros incompletos al final de {}", cleared, segment.path());
+            }
+            if (last && segment.intactAfterEnd() > 0) {
+                damage = new Damage(segment.nextSequence(), "Registro dañado o modificado seguido de "
+                    + segment.intactAfterEnd() + " registros íntegros");
+                log.error("El registro {} de {} está dañado y le siguen {} registros íntegros: el diario queda en solo lectura",
+                    segment.nextSequence(), segment.path(), segment.intactAfterEnd());
+            }
+            segments.put(segment.firstSequence(), segment);
+            active = segment;
+        }
+        if (active == null) {
+            active = JournalSegment.create(directory, 1, segmentCapacity);
+            segments.put(1L, active);
+        }
+        committedSequence = active.nextSequence() - 1;
+        lastHash = lastHash();
+        log.debug("Diario de auditoría de pagos abierto: {} segmentos, último registro {}", segments.size(),
+            committedSequence);
+    }
+
+    // Hash del último registro guardado, o el inicial si el diario está vacío
+    private byte[] lastHash() {
+        long last = committedSequence;
+        if (last < firstSequence() || !readable(last)) {
+            return JournalRecord.GENESIS_HASH;
+        }
+        byte[] record = new byte[JournalRecord.SIZE];
+        read(last, record);
+        return JournalRecord.hash(record);
+    }
+
+    private void indexed(int paymentId, long sequence) {
+        indexLock.lock();
+        try {
+            index.computeIfAbsent(paymentId, id -> new Blocks()).add(sequence / BLOCK_RECORDS);
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    private void writeLoop() {
+        List<Append> batch = new ArrayList<>(maxBatch);
+        try {
+            while (true) {
+                Append first;
+                try {
+                    first = queue.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    first = null;
+                }
+                if (first == null) {
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                commit(batch);
+                batch.clear();
+            }
+        } catch (Throwable e) {
+            // Un Error (p. ej. InternalError al escribir en el mapeo) deja el segmento en un estado desconocido
+            writerFailure = e;
+            failures.increment();
+            log.error("El escritor del diario de auditoría se detuvo; los cambios de pagos dejan de auditarse", e);
+            batch.forEach(append -> append.done().completeExceptionally(e));
+            rejectPending(stopped());
+        }
+    }
+
+    private IllegalStateException stopped() {
+        return new IllegalStateException("El diario de auditoría no acepta registros", writerFailure);
+    }
+
+    // Hace fallar lo que quedó en la cola
+    private void rejectPending(IllegalStateException error) {
+        Append left;
+        while ((left = queue.poll()) != null) {
+            left.done().completeExceptionally(error);
+        }
+    }
+
+    private void commit(List<Append> batch) {
+        long[] sequences = new long[batch.size()];
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                if (active.full()) {
+                    rotate();
+                }
+                long sequence = active.nextSequence();
+                PaymentAuditEvent event = batch.get(i).event();
+                JournalRecord.encode(recordBuffer, sequence, event, lastHash);
+                active.append(recordBuffer);
+                lastHash = JournalRecord.hash(recordBuffer);
+                unindexed.add(new long[] { event.paymentId(), sequence });
+                sequences[i] = sequence;
+            }
+            force();
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            log.warn("No se pudieron escribir {} registros de auditoría: {}", batch.size(), e.getMessage());
+            batch.forEach(append -> append.done().completeExceptionally(e));
+            return;
+        }
+        appended.add(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).done().complete(sequences[i]);
+        }
+    }
+
+    // Baja a disco el segmento lleno y abre el siguiente
+    private void rotate() throws IOException {
+        force();
+        JournalSegment next = JournalSegment.create(directory, active.nextSequence(), segmentCapacity);
+        forceDirectory();
+        segments.put(next.firstSequence(), next);
+        active = next;
+        rotations.increment();
+    }
+
+    // fsync de lo escrito en el segmento activo; después se publica a los lectores y al índice
+    private void force() {
+        active.force();
+        commits.increment();
+        committedSequence = active.nextSequence() - 1;
+        for (long[] entry : unindexed) {
+            indexed((int) entry[0], entry[1]);
+        }
+        unindexed.clear();
+    }
+
+    // Para que el archivo nuevo sobreviva a una caída también hay que bajar a disco el directorio
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("No se pudo hacer fsync del directorio {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static String hex(byte[] hash) {
+        return hash == null ? null : HexFormat.of().formatHex(hash);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("payment.audit.records", appended, LongAdder::sum).register(registry);
+        // Cantidad de fsync: records / commits es el tamaño medio de cada grupo
+        FunctionCounter.builder("payment.audit.commits", commits, LongAdder::sum).register(registry);
+        FunctionCounter.builder("payment.audit.rotations", rotations, LongAdder::sum).register(registry);
+        FunctionCounter.builder("payment.audit.failures", failures, LongAdder::sum).register(registry);
+        FunctionCounter.builder("payment.audit.timeouts", timeouts, LongAdder::sum).register(registry);
+        // Registros rechazados porque la cola estaba llena
+        FunctionCounter.builder("payment.audit.rejected", rejected, LongAdder::sum).register(registry);
+        Gauge.builder("payment.audit.queue", queue, BlockingQueue::size).register(registry);
+        Gauge.builder("payment.audit.segments", segments, Map::size).register(registry);
+        Gauge.builder("payment.audit.sequence", this, journal -> journal.committedSequence).register(registry);
+    }
+
+    @Override
+    public void close() throws Exception {
+        closed = true;
+        // El escritor termina cuando vacía la cola
+        writer.join(waitTimeout.toMillis());
+        rejectPending(new IllegalStateException("El diario de auditoría está cerrado"));
+        for (JournalSegment segment : segments.values()) {
+            segment.close();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.edutech.payment.client;
+
+import com.edutech.common.dto.CoursePriceDTO;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
+import java.util.List;
+
+@FeignClient(name = "academic-service", path = "/api/courses")
+public interface CourseClient {
+    @PostMapping("/prices")
+    List<CoursePriceDTO> findPrices(@RequestBody Collection<Integer> ids);
+}
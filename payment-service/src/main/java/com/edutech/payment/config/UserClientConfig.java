@@ -0,0 +1,43 @@
+package com.edutech.payment.config;
+
+import com.edutech.common.client.BatchingUserClient;
+import com.edutech.common.client.CachingUserClient;
+import com.edutech.common.client.UserChangeSubscriber;
+import com.edutech.payment.client.UserClient;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class UserClientConfig {
+
+    /*
+     * VALIDACIÓN DE USUARIOS:
+     * CACHÉ LOCAL DELANTE DE UN CLIENTE QUE AGRUPA LAS VALIDACIONES CONCURRENTES
+     * EN UNA SOLA LLAMADA A IDENTIDAD.
+     */
+    @Bean
+    public CachingUserClient userLookup(
+            UserClient userClient,
+            @Value("${edutech.user-lookup.batch-window:5ms}") Duration window,
+            @Value("${edutech.user-lookup.max-batch-size:100}") int maxBatchSize,
+            @Value("${edutech.user-lookup.cache.max-size:10000}") int cacheMaxSize,
+            @Value("${edutech.user-lookup.cache.ttl:5m}") Duration ttl,
+            @Value("${edutech.user-lookup.cache.negative-ttl:30s}") Duration negativeTtl) {
+        BatchingUserClient batching = new BatchingUserClient(userClient::findAllById, window, maxBatchSize);
+        return new CachingUserClient(batching, cacheMaxSize, ttl, negativeTtl);
+    }
+
+    // Invalida la caché con los cambios que publica identidad
+    @Bean(initMethod = "start")
+    public UserChangeSubscriber userChangeSubscriber(
+            UserClient userClient,
+            CachingUserClient userLookup,
+            @Value("${edutech.user-lookup.changes.wait:20s}") Duration wait,
+            @Value("${edutech.user-lookup.changes.retry-delay:5s}") Duration retryDelay) {
+        return new UserChangeSubscriber(userClient::changes, userLookup, wait, retryDelay);
+    }
+}
@@ -1,11 +1,17 @@
 package com.edutech.payment.controller;
 
+import com.edutech.common.dto.CouponRedemptionDTO;
+import com.edutech.common.dto.CouponValidityEventDTO;
 import com.edutech.common.dto.DiscountCouponDTO;
+import com.edutech.payment.service.CouponRedemptionService;
 import com.edutech.payment.service.DiscountCouponService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -14,6 +20,7 @@ import java.util.List;
 public class DiscountCouponController {
 
     private final DiscountCouponService discountCouponService;
+    private final CouponRedemptionService redemptionService;
 
     @GetMapping
     public ResponseEntity<List<DiscountCouponDTO>> getAll() {
@@ -35,6 +42,19 @@ public class DiscountCouponController {
         return ResponseEntity.ok(discountCouponService.findActive());
     }
 
+    // Vigentes en un instante (por defecto ahora), p. ej. ?at=2026-12-24T12:00:00Z
+    @GetMapping("/valid")
+    public ResponseEntity<List<DiscountCouponDTO>> getValid(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at) {
+        return ResponseEntity.ok(discountCouponService.findValid(at == null ? Instant.now() : at));
+    }
+
+    // Inicios y vencimientos dentro de la ventana (duración ISO-8601, p. ej. ?within=P7D)
+    @GetMapping("/upcoming")
+    public ResponseEntity<List<CouponValidityEventDTO>> getUpcoming(@RequestParam(defaultValue = "P7D") Duration within) {
+        return ResponseEntity.ok(discountCouponService.findUpcoming(within));
+    }
+
     @PostMapping
     public ResponseEntity<DiscountCouponDTO> create(@RequestBody DiscountCouponDTO dto) {
         return ResponseEntity.ok(discountCouponService.create(dto));
@@ -60,4 +80,10 @@ public class DiscountCouponController {
     public ResponseEntity<DiscountCouponDTO> deactivate(@PathVariable Integer id) {
         return ResponseEntity.ok(discountCouponService.deactivate(id));
     }
-} 
\ No newline at end of file
+
+    // Canjea el cupón para un usuario, respetando el máximo de usos total y por usuario
+    @PostMapping("/{code}/redeem")
+    public ResponseEntity<CouponRedemptionDTO> redeem(@PathVariable String code, @RequestParam Integer userId) {
+        return ResponseEntity.ok(redemptionService.redeem(code, userId));
+    }
+}
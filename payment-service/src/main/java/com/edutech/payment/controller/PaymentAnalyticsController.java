@@ -0,0 +1,47 @@
+package com.edutech.payment.controller;
+
+import com.edutech.common.dto.PaymentSummaryDTO;
+import com.edutech.payment.service.PaymentAnalyticsService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/payments/analytics")
+@RequiredArgsConstructor
+public class PaymentAnalyticsController {
+
+    private final PaymentAnalyticsService analyticsService;
+
+    @GetMapping("/summary")
+    public ResponseEntity<List<PaymentSummaryDTO>> summary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day,paymentMethod,status") List<String> groupBy) {
+        return ResponseEntity.ok(analyticsService.summarize(from, to, groupBy));
+    }
+
+    // Se escribe directo en la respuesta (sin async): la exportación de un mes no queda sujeta al timeout de MVC
+    @GetMapping("/export")
+    public void export(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response) throws IOException {
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"payments-" + from + "-" + to + ".csv\"");
+        Writer out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), 64 * 1024);
+        analyticsService.exportCsv(from, to, out);
+    }
+}
@@ -0,0 +1,38 @@
+package com.edutech.payment.controller;
+
+import com.edutech.common.dto.PaymentAuditRecordDTO;
+import com.edutech.common.dto.PaymentAuditVerificationDTO;
+import com.edutech.payment.audit.PaymentAuditJournal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/payments/audit")
+@RequiredArgsConstructor
+public class PaymentAuditController {
+
+    private final PaymentAuditJournal auditJournal;
+
+    // Lectura secuencial del diario desde una secuencia (la primera es 1)
+    @GetMapping
+    public ResponseEntity<List<PaymentAuditRecordDTO>> read(
+            @RequestParam(defaultValue = "1") long from,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(auditJournal.read(from, limit));
+    }
+
+    // Historial de un pago, incluso si ya fue eliminado
+    @GetMapping("/payment/{paymentId}")
+    public ResponseEntity<List<PaymentAuditRecordDTO>> getHistory(@PathVariable Integer paymentId) {
+        return ResponseEntity.ok(auditJournal.history(paymentId));
+    }
+
+    // Recorre todo el diario comprobando CRC, secuencia y cadena de hashes
+    @GetMapping("/verify")
+    public ResponseEntity<PaymentAuditVerificationDTO> verify() {
+        return ResponseEntity.ok(auditJournal.verify());
+    }
+}
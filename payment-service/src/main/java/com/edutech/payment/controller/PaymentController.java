@@ -1,6 +1,7 @@
 package com.edutech.payment.controller;
 
 import com.edutech.common.dto.PaymentDTO;
+import com.edutech.payment.idempotency.PaymentIdempotencyStore;
 import com.edutech.payment.service.PaymentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -31,8 +32,27 @@ public class PaymentController {
     }
 
     @PostMapping
-    public ResponseEntity<PaymentDTO> create(@RequestBody PaymentDTO dto) {
-        return ResponseEntity.ok(paymentService.create(dto));
+    public ResponseEntity<PaymentDTO> create(
+            @RequestBody PaymentDTO dto,
+            @RequestHeader(name = PaymentIdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(paymentService.create(dto));
+        }
+        PaymentIdempotencyStore.Result result = paymentService.create(dto, idempotencyKey);
+        return ResponseEntity.ok()
+            .header(PaymentIdempotencyStore.REPLAYED_HEADER, String.valueOf(result.replayed()))
+            .body(result.payment());
+    }
+
+    // Responde 202 con el pago en PENDING; su estado final se consulta con GET /{id}
+    @PostMapping("/intake")
+    public ResponseEntity<PaymentDTO> submit(
+            @RequestBody PaymentDTO dto,
+            @RequestHeader(name = PaymentIdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        PaymentIdempotencyStore.Result result = paymentService.submit(dto, idempotencyKey);
+        return ResponseEntity.accepted()
+            .header(PaymentIdempotencyStore.REPLAYED_HEADER, String.valueOf(result.replayed()))
+            .body(result.payment());
     }
 
     @PutMapping("/{id}")
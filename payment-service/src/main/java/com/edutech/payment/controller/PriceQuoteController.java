@@ -0,0 +1,23 @@
+package com.edutech.payment.controller;
+
+import com.edutech.common.dto.PriceQuoteDTO;
+import com.edutech.common.dto.PriceQuoteRequestDTO;
+import com.edutech.payment.service.PriceQuoteService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/payments/quote")
+@RequiredArgsConstructor
+public class PriceQuoteController {
+
+    private final PriceQuoteService quoteService;
+
+    // Cotiza un carro de cursos con un cupón opcional; no registra pagos ni canjea el cupón
+    @PostMapping
+    public ResponseEntity<PriceQuoteDTO> quote(@Valid @RequestBody PriceQuoteRequestDTO request) {
+        return ResponseEntity.ok(quoteService.quote(request));
+    }
+}
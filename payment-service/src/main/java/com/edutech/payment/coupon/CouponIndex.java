@@ -0,0 +1,287 @@
+package com.edutech.payment.coupon;
+
+import com.edutech.common.dto.DiscountCouponDTO;
+import com.edutech.payment.mapper.DiscountCouponMapper;
+import com.edutech.payment.repository.DiscountCouponRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/*
+ * ÍNDICE DE CUPONES EN MEMORIA:
+ * LOS CUPONES ACTIVOS POR CÓDIGO, MÁS UN FILTRO DE BLOOM CON TODOS LOS CÓDIGOS EMITIDOS.
+ * UN CÓDIGO QUE EL FILTRO NO CONOCE SE RECHAZA SIN CONSULTAR LA BASE (LOS BOTS QUE PRUEBAN
+ * CÓDIGOS INVENTADOS DURANTE UNA PROMOCIÓN); SOLO LOS CUPONES INACTIVOS Y LOS FALSOS
+ * POSITIVOS DEL FILTRO LLEGAN A MYSQL.
+ * LOS CÓDIGOS SE COMPARAN SIN MAYÚSCULAS NI TILDES, COMO LA COLACIÓN DE LA COLUMNA.
+ * DiscountCouponService LO ACTUALIZA DESPUÉS DE CADA ESCRITURA. EL FILTRO NO OLVIDA LOS
+ * CÓDIGOS ELIMINADOS O CAMBIADOS, ASÍ QUE SE RECONSTRUYE PERIÓDICAMENTE Y CUANDO SUPERA SU
+ * CAPACIDAD; LOS CAMBIOS QUE LLEGAN DURANTE LA RECONSTRUCCIÓN SE VUELVEN A APLICAR AL FINAL.
+ */
+@Component
+public class CouponIndex implements MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponIndex.class);
+
+    private record Snapshot(Map<String, DiscountCouponDTO> active, BloomFilter issued) {
+    }
+
+    private final DiscountCouponRepository couponRepo;
+    private final DiscountCouponMapper couponMapper;
+    private final int expectedCodes;
+    private final double falsePositiveRate;
+    private final Duration rebuildInterval;
+
+    // Las modificaciones y el reemplazo del índice se hacen con este lock; las consultas solo leen
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    // Cambios recibidos durante una reconstrucción; null si no hay una en curso
+    private List<Consumer<Snapshot>> pendingReplay;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder databaseHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder notLoaded = new LongAdder();
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("coupon-index").factory());
+
+    public CouponIndex(
+            DiscountCouponRepository couponRepo,
+            DiscountCouponMapper couponMapper,
+            @Value("${edutech.coupon-index.expected-codes:100000}") int expectedCodes,
+            @Value("${edutech.coupon-index.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${edutech.coupon-index.rebuild-interval:1h}") Duration rebuildInterval) {
+        this.couponRepo = couponRepo;
+        this.couponMapper = couponMapper;
+        this.expectedCodes = expectedCodes;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    /*
+     * Busca un cupón por código. Los activos salen del índice; los códigos que el filtro no
+     * conoce no existen; el resto (cupones inactivos o falsos positivos) se busca en la base.
+     * Mientras el índice no está cargado todas las consultas van a la base.
+     */
+    public Optional<DiscountCouponDTO> find(String code, Function<String, Optional<DiscountCouponDTO>> database) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            notLoaded.increment();
+            return database.apply(code);
+        }
+
+        String key = key(code);
+        DiscountCouponDTO active = current.active().get(key);
+        if (active != null) {
+            hits.increment();
+            return Optional.of(active);
+        }
+        if (!current.issued().mightContain(key)) {
+            rejected.increment();
+            return Optional.empty();
+        }
+
+        Optional<DiscountCouponDTO> found = database.apply(code);
+        (found.isPresent() ? databaseHits : falsePositives).increment();
+        return found;
+    }
+
+    // false si el código seguro no fue emitido; true si puede existir (o si el índice no está cargado)
+    public boolean mightExist(String code) {
+        Snapshot current = snapshot;
+        return current == null || current.issued().mightContain(key(code));
+    }
+
+    // Cupón creado o modificado; previousCode es el código que tenía antes (null al crear)
+    public void put(DiscountCouponDTO coupon, String previousCode) {
+        modify(index -> {
+            if (previousCode != null) {
+                index.active().remove(key(previousCode));
+            }
+            add(index, coupon);
+        });
+    }
+
+    public void remove(String code) {
+        modify(index -> index.active().remove(key(code)));
+    }
+
+    // Carga inicial en segundo plano y reconstrucción periódica
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        Thread.ofVirtual().name("coupon-index-load").start(this::rebuildQuietly);
+        if (!rebuildInterval.isZero()) {
+            timer.scheduleWithFixedDelay(this::rebuildQuietly, rebuildInterval.toMillis(), rebuildInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.lock();
+            try {
+                pendingReplay = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                List<DiscountCouponDTO> coupons = couponRepo.findAll().stream().map(couponMapper::toDTO).toList();
+                Snapshot fresh = new Snapshot(new ConcurrentHashMap<>(),
+                    new BloomFilter(Math.max(expectedCodes, coupons.size() * 2), falsePositiveRate));
+                coupons.forEach(coupon -> add(fresh, coupon));
+
+                lock.lock();
+                try {
+                    pendingReplay.forEach(change -> change.accept(fresh));
+                    snapshot = fresh;
+                } finally {
+                    lock.unlock();
+                }
+                log.debug("Índice de cupones reconstruido: {} códigos, {} activos", coupons.size(), fresh.active().size());
+            } finally {
+                lock.lock();
+                try {
+                    pendingReplay = null;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void modify(Consumer<Snapshot> change) {
+        boolean full;
+        lock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null) {
+                // Sin índice todavía: la carga inicial leerá este cambio de la base o lo recibirá aquí
+                if (pendingReplay != null) {
+                    pendingReplay.add(change);
+                }
+                return;
+            }
+            change.accept(current);
+            if (pendingReplay != null) {
+                pendingReplay.add(change);
+            }
+            full = current.issued().items() > current.issued().capacity();
+        } finally {
+            lock.unlock();
+        }
+        if (full) {
+            timer.execute(this::rebuildQuietly);
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo reconstruir el índice de cupones: {}", e.getMessage());
+        }
+    }
+
+    private static void add(Snapshot index, DiscountCouponDTO coupon) {
+        if (coupon.getCode() == null) {
+            return;
+        }
+        String key = key(coupon.getCode());
+        index.issued().add(key);
+        if (Boolean.TRUE.equals(coupon.getIsActive())) {
+            index.active().put(key, coupon);
+        } else {
+            index.active().remove(key);
+        }
+    }
+
+    // Minúsculas y sin tildes, como compara la colación de MySQL
+    private static String key(String code) {
+        String folded = Normalizer.normalize(code, Normalizer.Form.NFD);
+        StringBuilder key = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("coupon.index.lookups", hits, LongAdder::sum)
+            .tag("result", "hit").register(registry);
+        FunctionCounter.builder("coupon.index.lookups", rejected, LongAdder::sum)
+            .tag("result", "rejected").register(registry);
+        FunctionCounter.builder("coupon.index.lookups", databaseHits, LongAdder::sum)
+            .tag("result", "database").register(registry);
+        FunctionCounter.builder("coupon.index.lookups", falsePositives, LongAdder::sum)
+            .tag("result", "false-positive").register(registry);
+        FunctionCounter.builder("coupon.index.lookups", notLoaded, LongAdder::sum)
+            .tag("result", "not-loaded").register(registry);
+        // Consultas resueltas sin la base (cupón activo o código rechazado) sobre el total
+        Gauge.builder("coupon.index.hit.ratio", this, CouponIndex::hitRatio).register(registry);
+        // Falsos positivos observados sobre los códigos inexistentes consultados
+        Gauge.builder("coupon.index.false-positive.ratio", this, CouponIndex::observedFalsePositiveRate)
+            .register(registry);
+        Gauge.builder("coupon.index.false-positive.expected", this, CouponIndex::expectedFalsePositiveRate)
+            .register(registry);
+        Gauge.builder("coupon.index.active", this, index -> index.snapshot == null ? 0 : index.snapshot.active().size())
+            .register(registry);
+    }
+
+    private double hitRatio() {
+        long local = hits.sum() + rejected.sum();
+        long total = local + databaseHits.sum() + falsePositives.sum() + notLoaded.sum();
+        return total == 0 ? 0 : (double) local / total;
+    }
+
+    private double observedFalsePositiveRate() {
+        long fp = falsePositives.sum();
+        long negatives = fp + rejected.sum();
+        return negatives == 0 ? 0 : (double) fp / negatives;
+    }
+
+    private double expectedFalsePositiveRate() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.issued().expectedFalsePositiveRate();
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+}
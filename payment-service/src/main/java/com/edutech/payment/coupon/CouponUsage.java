@@ -0,0 +1,79 @@
+package com.edutech.payment.coupon;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * USOS DE UN CUPÓN EN MEMORIA:
+ * LO QUE QUEDA DEL MÁXIMO DE USOS (StripedQuota) Y CUÁNTAS VECES LO CANJEÓ CADA USUARIO.
+ * UN CANJE PRIMERO RESERVA EL USO DEL USUARIO Y DESPUÉS EL DEL CUPO; SI NO QUEDA CUPO,
+ * DEVUELVE EL DEL USUARIO. AMBOS LÍMITES SE CUMPLEN EXACTAMENTE SIN LOCK.
+ * UN CUPÓN SIN MÁXIMO SE TRATA COMO UNO CON UN MÁXIMO INALCANZABLE, ASÍ QUE CAMBIAR EL
+ * MÁXIMO (O QUITARLO) ES SIEMPRE SUMAR O RESTAR LA DIFERENCIA AL CUPO QUE QUEDA.
+ */
+public final class CouponUsage {
+
+    public enum Outcome { REDEEMED, EXHAUSTED, USER_LIMIT }
+
+    private static final long UNLIMITED = Long.MAX_VALUE / 4;
+
+    private final StripedQuota remaining;
+    private final Map<Integer, AtomicInteger> byUser = new ConcurrentHashMap<>();
+    private final ReentrantLock resizeLock = new ReentrantLock();
+    private volatile long maxUses;
+    private volatile int maxUsesPerUser;
+
+    // redeemed: canjes ya registrados; byUser: los de cada usuario
+    public CouponUsage(Integer maxUses, Integer maxUsesPerUser, long redeemed, Map<Integer, Integer> byUser, int stripes) {
+        this.maxUses = cap(maxUses);
+        this.maxUsesPerUser = maxUsesPerUser == null ? Integer.MAX_VALUE : maxUsesPerUser;
+        this.remaining = new StripedQuota(this.maxUses - redeemed, stripes);
+        byUser.forEach((userId, count) -> this.byUser.put(userId, new AtomicInteger(count)));
+    }
+
+    public Outcome redeem(Integer userId) {
+        AtomicInteger used = byUser.computeIfAbsent(userId, id -> new AtomicInteger());
+        int count = used.get();
+        while (true) {
+            if (count >= maxUsesPerUser) {
+                return Outcome.USER_LIMIT;
+            }
+            int witness = used.compareAndExchange(count, count + 1);
+            if (witness == count) {
+                break;
+            }
+            count = witness;
+        }
+
+        if (!remaining.tryAcquire(ThreadLocalRandom.current().nextInt())) {
+            used.decrementAndGet();
+            return Outcome.EXHAUSTED;
+        }
+        return Outcome.REDEEMED;
+    }
+
+    // Aplica un nuevo máximo total y por usuario (null es sin límite)
+    public void resize(Integer maxUses, Integer maxUsesPerUser) {
+        resizeLock.lock();
+        try {
+            long cap = cap(maxUses);
+            remaining.adjust(cap - this.maxUses);
+            this.maxUses = cap;
+            this.maxUsesPerUser = maxUsesPerUser == null ? Integer.MAX_VALUE : maxUsesPerUser;
+        } finally {
+            resizeLock.unlock();
+        }
+    }
+
+    // Usos que quedan; null si el cupón no tiene máximo
+    public Long remaining() {
+        return maxUses == UNLIMITED ? null : remaining.available();
+    }
+
+    private static long cap(Integer maxUses) {
+        return maxUses == null ? UNLIMITED : maxUses;
+    }
+}
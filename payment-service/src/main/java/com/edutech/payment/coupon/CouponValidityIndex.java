@@ -0,0 +1,263 @@
+package com.edutech.payment.coupon;
+
+import com.edutech.common.dto.CouponValidityEventDTO;
+import com.edutech.common.dto.DiscountCouponDTO;
+import com.edutech.payment.mapper.DiscountCouponMapper;
+import com.edutech.payment.repository.DiscountCouponRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/*
+ * ÍNDICE DE VIGENCIA DE CUPONES EN MEMORIA:
+ * LOS CUPONES ACTIVOS COMO INTERVALOS [validFrom, validUntil + 1 DÍA) EN LA ZONA HORARIA DEL
+ * SERVIDOR, LA MISMA CON QUE EL CANJE COMPARA LAS FECHAS (LocalDate.now()). SIN FECHA, EL
+ * INTERVALO NO TIENE INICIO O NO TIENE FIN.
+ * RESPONDE "VIGENTES EN T" Y "QUÉ EMPIEZA O VENCE EN LA PRÓXIMA VENTANA" SIN CONSULTAR MYSQL.
+ * LA LISTA DE VIGENTES AHORA SE RECALCULA CON UN TEMPORIZADOR QUE SE PROGRAMA PARA EL
+ * PRÓXIMO INICIO O VENCIMIENTO, ASÍ QUE /active CAMBIA SOLO CUANDO CORRESPONDE Y SE SIRVE
+ * DE MEMORIA. DiscountCouponService LO ACTUALIZA DESPUÉS DE CADA ESCRITURA (EL ÁRBOL ES
+ * INMUTABLE Y SE RECONSTRUYE COMPLETO); LOS CAMBIOS QUE LLEGAN MIENTRAS SE CARGA DESDE LA
+ * BASE SE VUELVEN A APLICAR AL FINAL, COMO EN CouponIndex.
+ */
+@Component
+public class CouponValidityIndex implements MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponValidityIndex.class);
+
+    // Tope de espera del temporizador: protege de cambios de hora del sistema
+    private static final long MAX_TIMER_DELAY = TimeUnit.HOURS.toMillis(1);
+
+    private final DiscountCouponRepository couponRepo;
+    private final DiscountCouponMapper couponMapper;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    // Cupones activos por ID; solo se modifica con lock
+    private Map<Integer, DiscountCouponDTO> coupons;
+    // Cambios recibidos durante la carga; null si no hay una en curso
+    private List<Consumer<Map<Integer, DiscountCouponDTO>>> pendingReplay;
+    private ScheduledFuture<?> nextEvent;
+
+    private volatile ValidityIntervals intervals;
+    private volatile List<DiscountCouponDTO> validNow = List.of();
+
+    private final LongAdder rebuilds = new LongAdder();
+    private final LongAdder events = new LongAdder();
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("coupon-validity").factory());
+
+    public CouponValidityIndex(DiscountCouponRepository couponRepo, DiscountCouponMapper couponMapper) {
+        this.couponRepo = couponRepo;
+        this.couponMapper = couponMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        Thread.ofVirtual().name("coupon-validity-load").start(() -> {
+            try {
+                ensureLoaded();
+            } catch (RuntimeException e) {
+                log.warn("No se pudo cargar el índice de vigencia de cupones: {}", e.getMessage());
+            }
+        });
+    }
+
+    // Cupones activos y vigentes ahora
+    public List<DiscountCouponDTO> validNow() {
+        ensureLoaded();
+        return validNow;
+    }
+
+    // Cupones activos y vigentes en el instante at
+    public List<DiscountCouponDTO> validAt(Instant at) {
+        return ensureLoaded().at(at.toEpochMilli());
+    }
+
+    // Cupones activos que empiezan a valer o vencen entre from (excluido) y from + window, ordenados por momento
+    public List<CouponValidityEventDTO> upcoming(Instant from, Duration window) {
+        ValidityIntervals current = ensureLoaded();
+        long start = from.toEpochMilli();
+        long end = from.plus(window).toEpochMilli();
+        List<CouponValidityEventDTO> result = new ArrayList<>();
+        for (DiscountCouponDTO coupon : current.startingIn(start, end)) {
+            result.add(new CouponValidityEventDTO(Instant.ofEpochMilli(start(coupon)),
+                CouponValidityEventDTO.Type.ACTIVATES, coupon));
+        }
+        for (DiscountCouponDTO coupon : current.endingIn(start, end)) {
+            result.add(new CouponValidityEventDTO(Instant.ofEpochMilli(end(coupon)),
+                CouponValidityEventDTO.Type.EXPIRES, coupon));
+        }
+        result.sort(Comparator.comparing(CouponValidityEventDTO::getAt));
+        return result;
+    }
+
+    // Cupón creado o modificado (un cupón inactivo sale del índice)
+    public void put(DiscountCouponDTO coupon) {
+        modify(all -> {
+            if (Boolean.TRUE.equals(coupon.getIsActive())) {
+                all.put(coupon.getId(), coupon);
+            } else {
+                all.remove(coupon.getId());
+            }
+        });
+    }
+
+    public void remove(Integer couponId) {
+        modify(all -> all.remove(couponId));
+    }
+
+    // Carga los cupones activos desde la base si todavía no están; devuelve el árbol vigente
+    private ValidityIntervals ensureLoaded() {
+        ValidityIntervals current = intervals;
+        if (current != null) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            if (intervals == null) {
+                load();
+            }
+            return intervals;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void load() {
+        lock.lock();
+        try {
+            pendingReplay = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            Map<Integer, DiscountCouponDTO> loaded = new HashMap<>();
+            couponRepo.findByIsActiveTrue().stream()
+                .map(couponMapper::toDTO)
+                .forEach(coupon -> loaded.put(coupon.getId(), coupon));
+
+            lock.lock();
+            try {
+                pendingReplay.forEach(change -> change.accept(loaded));
+                coupons = loaded;
+                rebuild();
+            } finally {
+                lock.unlock();
+            }
+            log.debug("Índice de vigencia de cupones cargado: {} cupones activos", loaded.size());
+        } finally {
+            lock.lock();
+            try {
+                pendingReplay = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void modify(Consumer<Map<Integer, DiscountCouponDTO>> change) {
+        lock.lock();
+        try {
+            if (coupons == null) {
+                // Sin cargar todavía: la carga leerá este cambio de la base o lo recibirá aquí
+                if (pendingReplay != null) {
+                    pendingReplay.add(change);
+                }
+                return;
+            }
+            change.accept(coupons);
+            rebuild();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Se llama con lock
+    private void rebuild() {
+        intervals = new ValidityIntervals(List.copyOf(coupons.values()), this::start, this::end);
+        rebuilds.increment();
+        refresh();
+    }
+
+    // Recalcula los vigentes y programa el próximo inicio o vencimiento; se llama con lock
+    private void refresh() {
+        long now = System.currentTimeMillis();
+        ValidityIntervals current = intervals;
+        validNow = List.copyOf(current.at(now));
+        if (nextEvent != null) {
+            nextEvent.cancel(false);
+        }
+        long next = current.nextBoundaryAfter(now);
+        if (current.size() > 0) {
+            long delay = Math.min(next == Long.MAX_VALUE ? MAX_TIMER_DELAY : next - now, MAX_TIMER_DELAY);
+            nextEvent = timer.schedule(this::onBoundary, Math.max(delay, 0), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void onBoundary() {
+        lock.lock();
+        try {
+            events.increment();
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo actualizar la vigencia de los cupones: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long start(DiscountCouponDTO coupon) {
+        return coupon.getValidFrom() == null ? Long.MIN_VALUE : startOfDay(coupon.getValidFrom());
+    }
+
+    // validUntil es el último día vigente: el intervalo termina al empezar el día siguiente
+    private long end(DiscountCouponDTO coupon) {
+        return coupon.getValidUntil() == null ? Long.MAX_VALUE : startOfDay(coupon.getValidUntil().plusDays(1));
+    }
+
+    private long startOfDay(LocalDate day) {
+        return day.atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("coupon.validity.rebuilds", rebuilds, LongAdder::sum).register(registry);
+        // Recálculos de los vigentes por un inicio o vencimiento programado
+        FunctionCounter.builder("coupon.validity.events", events, LongAdder::sum).register(registry);
+        Gauge.builder("coupon.validity.valid", this, index -> index.validNow.size()).register(registry);
+        Gauge.builder("coupon.validity.indexed", this, index -> index.intervals == null ? 0 : index.intervals.size())
+            .register(registry);
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+}
@@ -0,0 +1,104 @@
+package com.edutech.payment.coupon;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cupo de usos repartido en franjas independientes.
+ *
+ * Cada franja tiene una parte del cupo y vive en su propia línea de caché, de modo que
+ * miles de canjes simultáneos del mismo cupón no compiten por una sola variable. Un canje
+ * descuenta de la franja que le toca y, si está vacía, de las siguientes. La suma de las
+ * franjas es exactamente lo que queda: nunca se entrega un uso de más.
+ *
+ * Si se reduce el cupo en más de lo que queda (por ejemplo, bajar el máximo por debajo de
+ * los usos ya canjeados), lo que no se pudo descontar queda como déficit y se cobra antes
+ * de devolver usos en el siguiente aumento: lo disponible es siempre
+ * {@code max(0, cupo - usados)}.
+ */
+final class StripedQuota {
+
+    // 8 longs = 64 bytes: cada franja en una línea de caché distinta
+    private static final int PAD = 8;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    // Los ajustes son serializados; deficit > 0 implica que todas las franjas están en cero
+    private final ReentrantLock adjustLock = new ReentrantLock();
+    private volatile long deficit;
+
+    StripedQuota(long available, int stripes) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.slots = new AtomicLongArray(size * PAD);
+        this.mask = size - 1;
+
+        long share = Math.max(0, available) / size;
+        long rest = Math.max(0, available) % size;
+        for (int i = 0; i < size; i++) {
+            slots.set(i * PAD, share + (i < rest ? 1 : 0));
+        }
+        this.deficit = Math.max(0, -available);
+    }
+
+    // Toma un uso; false si no queda ninguno
+    boolean tryAcquire(int hint) {
+        for (int i = 0; i <= mask; i++) {
+            int slot = ((hint + i) & mask) * PAD;
+            long value = slots.get(slot);
+            while (value > 0) {
+                long witness = slots.compareAndExchange(slot, value, value - 1);
+                if (witness == value) {
+                    return true;
+                }
+                value = witness;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Cambia el cupo en delta (por ejemplo al modificar el máximo de usos). Un aumento
+     * primero cubre el déficit; una reducción descuenta de las franjas y lo que falte
+     * (porque ya se canjeó) pasa al déficit.
+     */
+    void adjust(long delta) {
+        adjustLock.lock();
+        try {
+            if (delta >= 0) {
+                long paid = Math.min(deficit, delta);
+                deficit -= paid;
+                if (delta > paid) {
+                    slots.getAndAdd(0, delta - paid);
+                }
+                return;
+            }
+            long missing = -delta;
+            for (int i = 0; i <= mask && missing > 0; i++) {
+                int slot = i * PAD;
+                long value = slots.get(slot);
+                while (value > 0 && missing > 0) {
+                    long taken = Math.min(value, missing);
+                    long witness = slots.compareAndExchange(slot, value, value - taken);
+                    if (witness == value) {
+                        missing -= taken;
+                        break;
+                    }
+                    value = witness;
+                }
+            }
+            // Las franjas solo bajan fuera de adjust: lo que no se encontró ya está canjeado
+            deficit += missing;
+        } finally {
+            adjustLock.unlock();
+        }
+    }
+
+    // Usos que quedan; con canjes en curso es un valor aproximado
+    long available() {
+        long total = 0;
+        for (int i = 0; i <= mask; i++) {
+            total += slots.get(i * PAD);
+        }
+        return Math.max(0, total - deficit);
+    }
+}
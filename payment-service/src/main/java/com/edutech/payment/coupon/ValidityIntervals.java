@@ -0,0 +1,127 @@
+package com.edutech.payment.coupon;
+
+import com.edutech.common.dto.DiscountCouponDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Árbol de intervalos inmutable con la vigencia de un conjunto de cupones.
+ *
+ * Cada cupón es un intervalo {@code [start, end)} en milisegundos. Los intervalos se
+ * ordenan por inicio y el arreglo se recorre como un árbol binario balanceado implícito
+ * (la raíz de {@code [lo, hi]} es el punto medio) en el que cada nodo guarda el mayor fin
+ * de su subárbol: "vigentes en t" descarta los subárboles que terminan antes de t o que
+ * empiezan después, en O(log n + k). Una segunda copia ordenada por fin responde qué
+ * cupones empiezan o vencen en un rango con dos búsquedas binarias.
+ */
+final class ValidityIntervals {
+
+    private final DiscountCouponDTO[] byStart;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnd;
+
+    private final DiscountCouponDTO[] byEnd;
+    private final long[] endsSorted;
+
+    ValidityIntervals(List<DiscountCouponDTO> coupons, ToLongFunction<DiscountCouponDTO> start,
+                      ToLongFunction<DiscountCouponDTO> end) {
+        int n = coupons.size();
+        this.byStart = coupons.stream().sorted(Comparator.comparingLong(start)).toArray(DiscountCouponDTO[]::new);
+        this.starts = new long[n];
+        this.ends = new long[n];
+        for (int i = 0; i < n; i++) {
+            starts[i] = start.applyAsLong(byStart[i]);
+            ends[i] = end.applyAsLong(byStart[i]);
+        }
+        this.maxEnd = new long[n];
+        buildMaxEnd(0, n - 1);
+
+        this.byEnd = coupons.stream().sorted(Comparator.comparingLong(end)).toArray(DiscountCouponDTO[]::new);
+        this.endsSorted = Arrays.stream(byEnd).mapToLong(end).toArray();
+    }
+
+    int size() {
+        return byStart.length;
+    }
+
+    // Cupones con start <= t < end, ordenados por inicio
+    List<DiscountCouponDTO> at(long t) {
+        List<DiscountCouponDTO> result = new ArrayList<>();
+        collect(0, byStart.length - 1, t, result);
+        return result;
+    }
+
+    // Cupones que empiezan en (from, to], ordenados por inicio
+    List<DiscountCouponDTO> startingIn(long from, long to) {
+        return List.of(Arrays.copyOfRange(byStart, upperBound(starts, from), upperBound(starts, to)));
+    }
+
+    // Cupones que vencen (dejan de valer) en (from, to], ordenados por fin
+    List<DiscountCouponDTO> endingIn(long from, long to) {
+        return List.of(Arrays.copyOfRange(byEnd, upperBound(endsSorted, from), upperBound(endsSorted, to)));
+    }
+
+    // Próximo instante posterior a t en que algún cupón empieza o vence; Long.MAX_VALUE si no hay
+    long nextBoundaryAfter(long t) {
+        int s = upperBound(starts, t);
+        int e = upperBound(endsSorted, t);
+        long next = Long.MAX_VALUE;
+        if (s < starts.length) {
+            next = starts[s];
+        }
+        if (e < endsSorted.length) {
+            next = Math.min(next, endsSorted[e]);
+        }
+        return next;
+    }
+
+    private long buildMaxEnd(int lo, int hi) {
+        if (lo > hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(ends[mid], Math.max(buildMaxEnd(lo, mid - 1), buildMaxEnd(mid + 1, hi)));
+        maxEnd[mid] = max;
+        return max;
+    }
+
+    private void collect(int lo, int hi, long t, List<DiscountCouponDTO> result) {
+        if (lo > hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnd[mid] <= t) {
+            // Todo el subárbol vence antes de t
+            return;
+        }
+        collect(lo, mid - 1, t, result);
+        if (starts[mid] > t) {
+            // mid y los de su derecha empiezan después de t
+            return;
+        }
+        if (ends[mid] > t) {
+            result.add(byStart[mid]);
+        }
+        collect(mid + 1, hi, t, result);
+    }
+
+    // Primer índice con valor > key
+    private static int upperBound(long[] sorted, long key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,29 @@
+package com.edutech.payment.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Entity
+@Table(name = "coupon_redemption", indexes = @Index(name = "idx_coupon_redemption_coupon_user", columnList = "coupon_id, user_id"))
+public class CouponRedemption {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Integer id;
+
+    @NotNull
+    @Column(name = "coupon_id", nullable = false)
+    private Integer couponId;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @NotNull
+    @Column(name = "redeemed_at", nullable = false)
+    private Instant redeemedAt;
+}
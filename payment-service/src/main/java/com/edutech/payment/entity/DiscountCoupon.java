@@ -40,4 +40,16 @@ public class DiscountCoupon {
     @ColumnDefault("true")
     @Column(name = "is_active", nullable = false)
     private Boolean isActive;
+
+    // Usos permitidos en total y por usuario; null es sin límite
+    @Column(name = "max_uses")
+    private Integer maxUses;
+
+    @Column(name = "max_uses_per_user")
+    private Integer maxUsesPerUser;
+
+    // No se escribe al guardar el cupón: lo suma en la base el registro de canjes (CouponRedemptionService)
+    @ColumnDefault("0")
+    @Column(name = "times_redeemed", nullable = false, insertable = false, updatable = false)
+    private int timesRedeemed;
 } 
\ No newline at end of file
@@ -7,10 +7,11 @@ import lombok.Data;
 import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 @Data
 @Entity
-@Table(name = "payment")
+@Table(name = "payment", indexes = @Index(name = "idx_payment_payment_date", columnList = "payment_date"))
 public class Payment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,4 +33,12 @@ public class Payment {
     @Size(max = 50)
     @Column(name = "status", length = 50)
     private String status;
+
+    @Column(name = "payment_date")
+    private Instant paymentDate;
+
+    // Referencia de la pasarela de pago
+    @Size(max = 200)
+    @Column(name = "transaction_id", length = 200)
+    private String transactionId;
 } 
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.edutech.payment.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/*
+ * CLAVE DE IDEMPOTENCIA DE UN PAGO CREADO Y LA RESPUESTA QUE SE ENTREGÓ.
+ * LA CLAVE LA ASIGNA EL CLIENTE, ASÍ QUE save() HARÍA UN merge (SELECT + INSERT); CON
+ * Persistable UNA CLAVE NUEVA SE INSERTA DIRECTAMENTE Y UNA REPETIDA FALLA POR LA PK.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "payment_idempotency_key", indexes = @Index(name = "idx_payment_idempotency_key_created_at", columnList = "created_at"))
+public class PaymentIdempotencyKey implements Persistable<String> {
+    @Id
+    @Size(max = 100)
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String key;
+
+    // SHA-256 del cuerpo de la solicitud original
+    @NotNull
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @NotNull
+    @Column(name = "payment_id", nullable = false)
+    private Integer paymentId;
+
+    // PaymentDTO entregado, en JSON
+    @NotNull
+    @Column(name = "response_body", nullable = false, length = 4000)
+    private String responseBody;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Transient
+    private boolean stored;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
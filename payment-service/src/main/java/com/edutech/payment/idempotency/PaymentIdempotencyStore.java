@@ -0,0 +1,280 @@
+package com.edutech.payment.idempotency;
+
+import com.edutech.common.dto.PaymentDTO;
+import com.edutech.common.exception.ValidationException;
+import com.edutech.common.exception.ValidationTimeoutException;
+import com.edutech.payment.entity.PaymentIdempotencyKey;
+import com.edutech.payment.repository.PaymentIdempotencyKeyRepository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+ * IDEMPOTENCIA DE LA CREACIÓN DE PAGOS (CABECERA Idempotency-Key):
+ * LAS CLAVES RECIENTES SE GUARDAN EN MEMORIA CON LA RESPUESTA ENTREGADA, Y EN LA TABLA
+ * payment_idempotency_key PARA QUE SOBREVIVAN A UN REINICIO O AL DESALOJO DE LA MEMORIA.
+ * UNA CLAVE NUEVA NO LEE LA BASE: EL PAGO Y LA CLAVE SE INSERTAN EN LA MISMA TRANSACCIÓN, Y
+ * SI LA CLAVE YA EXISTÍA LA PK LO DETECTA, SE DESHACE EL PAGO Y SE REPITE LA RESPUESTA GUARDADA.
+ * LO MISMO SI create FALLA (P. EJ. 429 POR LOS LÍMITES DE VELOCIDAD) Y LA CLAVE ESTÁ EN LA TABLA:
+ * UN REINTENTO LEGÍTIMO RECIBE SU RESPUESTA Y NO EL ERROR DE UN PAGO QUE NO SE IBA A CREAR.
+ * LAS SOLICITUDES SIMULTÁNEAS CON LA MISMA CLAVE ESPERAN A LA PRIMERA Y RECIBEN SU RESPUESTA.
+ * UNA CLAVE REUTILIZADA CON OTRO CUERPO SE RECHAZA. SI LA PRIMERA FALLA NO SE GUARDA NADA Y
+ * EL CLIENTE PUEDE REINTENTAR CON LA MISMA CLAVE.
+ */
+@Component
+public class PaymentIdempotencyStore implements MeterBinder, AutoCloseable {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentIdempotencyStore.class);
+    private static final int MAX_KEY_LENGTH = 100;
+
+    public record Result(PaymentDTO payment, boolean replayed) {
+    }
+
+    private record Entry(String requestHash, PaymentDTO payment, Instant expiresAt) {
+    }
+
+    private final PaymentIdempotencyKeyRepository keyRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxSize;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+
+    // Solicitud en curso o respuesta ya entregada, por clave
+    private final Map<String, CompletableFuture<Entry>> entries = new ConcurrentHashMap<>();
+    // Claves completadas en orden de llegada, para desalojar las más antiguas
+    private final ConcurrentLinkedQueue<String> completed = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder replayedFromMemory = new LongAdder();
+    private final LongAdder replayedFromDatabase = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("payment-idempotency-purge").factory());
+
+    public PaymentIdempotencyStore(
+            PaymentIdempotencyKeyRepository keyRepo,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${edutech.payment-idempotency.max-size:100000}") int maxSize,
+            @Value("${edutech.payment-idempotency.ttl:24h}") Duration ttl,
+            @Value("${edutech.payment-idempotency.wait-timeout:30s}") Duration waitTimeout) {
+        if (maxSize < 1 || ttl.isZero() || ttl.isNegative()) {
+            throw new IllegalArgumentException("El tamaño y la vigencia de las claves de idempotencia deben ser mayores a cero");
+        }
+        this.keyRepo = keyRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+    }
+
+    // Limpieza periódica de las claves vencidas, en memoria y en la base
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        long period = Math.max(ttl.toMillis() / 24, 60_000);
+        timer.scheduleWithFixedDelay(this::purgeQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Ejecuta create (que guarda el pago) una sola vez por clave. create corre dentro de la
+     * transacción en que se inserta la clave, así que el pago y la clave quedan juntos o no
+     * queda ninguno.
+     */
+    public Result execute(String key, PaymentDTO request, Supplier<PaymentDTO> create) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("La clave de idempotencia debe tener entre 1 y " + MAX_KEY_LENGTH + " caracteres");
+        }
+        String requestHash = hash(request);
+        while (true) {
+            CompletableFuture<Entry> mine = new CompletableFuture<>();
+            CompletableFuture<Entry> existing = entries.putIfAbsent(key, mine);
+            if (existing == null) {
+                return lead(key, requestHash, create, mine);
+            }
+
+            boolean inFlight = !existing.isDone();
+            Entry entry = await(existing);
+            if (entry.expiresAt().isBefore(Instant.now())) {
+                // Vencida en memoria: se vuelve a resolver (la base decide si todavía existe)
+                entries.remove(key, existing);
+                continue;
+            }
+            (inFlight ? waited : replayedFromMemory).increment();
+            return replay(entry, requestHash);
+        }
+    }
+
+    private Result lead(String key, String requestHash, Supplier<PaymentDTO> create, CompletableFuture<Entry> mine) {
+        Entry entry;
+        boolean replayed;
+        try {
+            try {
+                entry = transactionTemplate.execute(status -> {
+                    PaymentDTO payment = create.get();
+                    Instant now = Instant.now();
+                    PaymentIdempotencyKey row = new PaymentIdempotencyKey();
+                    row.setKey(key);
+                    row.setRequestHash(requestHash);
+                    row.setPaymentId(payment.getId());
+                    row.setResponseBody(write(payment));
+                    row.setCreatedAt(now);
+                    keyRepo.saveAndFlush(row);
+                    return new Entry(requestHash, payment, now.plus(ttl));
+                });
+                replayed = false;
+                created.increment();
+            } catch (RuntimeException e) {
+                /*
+                 * Clave duplicada (ya estaba en la base por un reinicio, desalojo u otra instancia) o
+                 * falla de create: el pago se deshizo. Si la clave existe se repite su respuesta.
+                 */
+                PaymentIdempotencyKey row = keyRepo.findById(key).orElseThrow(() -> e);
+                entry = new Entry(row.getRequestHash(), read(row.getResponseBody()), row.getCreatedAt().plus(ttl));
+                replayed = true;
+                replayedFromDatabase.increment();
+            }
+        } catch (RuntimeException e) {
+            // No se guarda nada: quienes esperaban reciben el mismo error y la clave queda libre
+            entries.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+
+        mine.complete(entry);
+        completed.add(key);
+        evict();
+        return replayed ? replay(entry, requestHash) : new Result(entry.payment(), false);
+    }
+
+    private Result replay(Entry entry, String requestHash) {
+        if (!entry.requestHash().equals(requestHash)) {
+            conflicts.increment();
+            throw new ValidationException("La clave de idempotencia ya se usó con una solicitud distinta");
+        }
+        return new Result(entry.payment(), true);
+    }
+
+    private Entry await(CompletableFuture<Entry> pending) {
+        try {
+            return pending.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ValidationTimeoutException("La solicitud anterior con la misma clave de idempotencia sigue en curso");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValidationTimeoutException("Se interrumpió la espera de la solicitud con la misma clave de idempotencia");
+        }
+    }
+
+    // Quita las claves completadas más antiguas mientras se supere maxSize; las en curso no se tocan
+    private void evict() {
+        while (entries.size() > maxSize) {
+            String oldest = completed.poll();
+            if (oldest == null) {
+                return;
+            }
+            entries.computeIfPresent(oldest, (k, entry) -> entry.isDone() ? null : entry);
+        }
+    }
+
+    public void purge() {
+        Instant now = Instant.now();
+        entries.values().removeIf(entry -> entry.isDone() && !entry.isCompletedExceptionally()
+            && entry.join().expiresAt().isBefore(now));
+        completed.removeIf(key -> !entries.containsKey(key));
+        int deleted = keyRepo.deleteCreatedBefore(now.minus(ttl));
+        log.debug("Claves de idempotencia vencidas eliminadas: {}", deleted);
+    }
+
+    private void purgeQuietly() {
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron eliminar las claves de idempotencia vencidas: {}", e.getMessage());
+        }
+    }
+
+    private String hash(PaymentDTO request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudo calcular el hash de la solicitud", e);
+        }
+    }
+
+    private String write(PaymentDTO payment) {
+        try {
+            return objectMapper.writeValueAsString(payment);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo guardar la respuesta del pago", e);
+        }
+    }
+
+    private PaymentDTO read(String body) {
+        try {
+            return objectMapper.readValue(body, PaymentDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo leer la respuesta guardada del pago", e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("payment.idempotency.requests", created, LongAdder::sum)
+            .tag("result", "new").register(registry);
+        FunctionCounter.builder("payment.idempotency.requests", replayedFromMemory, LongAdder::sum)
+            .tag("result", "replayed").register(registry);
+        FunctionCounter.builder("payment.idempotency.requests", replayedFromDatabase, LongAdder::sum)
+            .tag("result", "replayed-database").register(registry);
+        FunctionCounter.builder("payment.idempotency.requests", waited, LongAdder::sum)
+            .tag("result", "waited").register(registry);
+        FunctionCounter.builder("payment.idempotency.requests", conflicts, LongAdder::sum)
+            .tag("result", "conflict").register(registry);
+        Gauge.builder("payment.idempotency.keys", entries, Map::size).register(registry);
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+}
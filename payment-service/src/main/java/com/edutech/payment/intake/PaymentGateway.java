@@ -0,0 +1,27 @@
+package com.edutech.payment.intake;
+
+import com.edutech.common.dto.PaymentDTO;
+
+/**
+ * Pasarela que cobra los pagos de la cola de ingreso. La implementación se elige con
+ * {@code edutech.payment-intake.gateway}; por defecto es {@link SimulatedPaymentGateway}.
+ *
+ * Se llama desde hilos virtuales, varias veces en paralelo. El ID del pago sirve como
+ * referencia idempotente: después de un reinicio un pago que quedó en PROCESSING se vuelve
+ * a enviar y la pasarela no debe cobrarlo dos veces.
+ */
+public interface PaymentGateway {
+
+    record Result(boolean approved, String transactionId, String reason) {
+
+        public static Result approved(String transactionId) {
+            return new Result(true, transactionId, null);
+        }
+
+        public static Result declined(String reason) {
+            return new Result(false, null, reason);
+        }
+    }
+
+    Result charge(PaymentDTO payment);
+}
@@ -0,0 +1,369 @@
+package com.edutech.payment.intake;
+
+import com.edutech.common.dto.PaymentDTO;
+import com.edutech.common.exception.TooManyRequestsException;
+import com.edutech.payment.audit.PaymentAuditEvent;
+import com.edutech.payment.audit.PaymentAuditJournal;
+import com.edutech.payment.entity.Payment;
+import com.edutech.payment.idempotency.PaymentIdempotencyStore;
+import com.edutech.payment.mapper.PaymentMapper;
+import com.edutech.payment.repository.PaymentRepository;
+import com.edutech.payment.repository.PaymentStatusBatchRepository.Transition;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+ * COLA DE INGRESO DE PAGOS (WRITE-BEHIND):
+ * UN PAGO NUEVO SE GUARDA EN PENDING, SE PONE EN UNA COLA EN MEMORIA Y SE RESPONDE DE
+ * INMEDIATO CON SU ID; LA LATENCIA DEL CHECKOUT YA NO DEPENDE DE LA PASARELA. SI LA COLA
+ * ESTÁ LLENA SE RESPONDE 429 ANTES DE GUARDAR NADA.
+ * workers HILOS VIRTUALES TOMAN LOTES DE HASTA batch-size PAGOS: MARCAN EL LOTE EN
+ * PROCESSING, COBRAN CADA PAGO EN SU PROPIO HILO VIRTUAL Y ESCRIBEN LOS RESULTADOS
+ * (COMPLETED O FAILED) EN UN SOLO LOTE JDBC.
+ * UN COBRO SIN RESPUESTA (ERROR O TIEMPO AGOTADO) QUEDA EN PROCESSING: NO SE SABE SI SE
+ * COBRÓ. LA BASE ES LA FUENTE DE VERDAD: CADA recovery-interval (Y AL INICIAR) SE VUELVEN
+ * A ENCOLAR LOS PAGOS EN PENDING O PROCESSING QUE NO ESTÁN EN CURSO, ASÍ QUE UN REINICIO
+ * O UNA FALLA DE ESCRITURA NO PIERDE PAGOS; LA PASARELA RECONOCE LOS REENVÍOS POR EL ID.
+ * LOS CAMBIOS DE ESTADO QUE SÍ SE APLICARON SE AGREGAN AL DIARIO DE AUDITORÍA SIN ESPERAR
+ * SU fsync: LOS WORKERS NO SE DETIENEN POR LA AUDITORÍA.
+ * COMO LOS DEMÁS ÍNDICES EN MEMORIA, SUPONE UNA SOLA INSTANCIA DEL MICROSERVICIO DE PAGOS.
+ */
+@Component
+public class PaymentIntake implements MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentIntake.class);
+
+    private static final List<String> UNFINISHED = List.of(PaymentStatus.PENDING.name(), PaymentStatus.PROCESSING.name());
+
+    private record Job(PaymentDTO payment, PaymentStatus status) {
+    }
+
+    private final PaymentRepository paymentRepo;
+    private final PaymentMapper paymentMapper;
+    private final PaymentGateway gateway;
+    private final PaymentAuditJournal auditJournal;
+    private final int capacity;
+    private final int batchSize;
+    private final int workers;
+    private final Duration gatewayTimeout;
+    private final Duration recoveryInterval;
+
+    // slots limita la cola: se toma uno antes de guardar el pago y se devuelve al sacarlo de la cola
+    private final BlockingQueue<Job> queue = new LinkedBlockingQueue<>();
+    private final Semaphore slots;
+    // ID de los pagos en cola o en proceso, para no encolar dos veces el mismo
+    private final Set<Integer> inFlight = ConcurrentHashMap.newKeySet();
+    // Resultados que no se pudieron escribir; se reintentan en la siguiente escritura
+    private final ConcurrentLinkedQueue<Transition> unwritten = new ConcurrentLinkedQueue<>();
+    // ID de los pagos con resultado (COMPLETED o FAILED) que todavía no está confirmado en la base
+    private final Set<Integer> settling = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder unknown = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+
+    private final ExecutorService charges = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("payment-intake-recovery").factory());
+
+    public PaymentIntake(
+            PaymentRepository paymentRepo,
+            PaymentMapper paymentMapper,
+            PaymentGateway gateway,
+            PaymentAuditJournal auditJournal,
+            @Value("${edutech.payment-intake.queue-capacity:10000}") int capacity,
+            @Value("${edutech.payment-intake.batch-size:100}") int batchSize,
+            @Value("${edutech.payment-intake.workers:4}") int workers,
+            @Value("${edutech.payment-intake.gateway-timeout:10s}") Duration gatewayTimeout,
+            @Value("${edutech.payment-intake.recovery-interval:1m}") Duration recoveryInterval) {
+        if (capacity < 1 || batchSize < 1 || workers < 1 || recoveryInterval.isZero() || recoveryInterval.isNegative()) {
+            throw new IllegalArgumentException("La capacidad, el lote, los workers y el intervalo de recuperación deben ser mayores a cero");
+        }
+        this.paymentRepo = paymentRepo;
+        this.paymentMapper = paymentMapper;
+        this.gateway = gateway;
+        this.auditJournal = auditJournal;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.gatewayTimeout = gatewayTimeout;
+        this.recoveryInterval = recoveryInterval;
+        this.slots = new Semaphore(capacity);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        for (int i = 0; i < workers; i++) {
+            workerThreads.add(Thread.ofVirtual().name("payment-intake-" + i).start(this::work));
+        }
+        timer.scheduleWithFixedDelay(this::recoverQuietly, 0, recoveryInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Reserva un lugar en la cola, guarda el pago con save (que lo deja en PENDING) y lo
+     * encola. Una respuesta repetida por idempotencia no se vuelve a encolar.
+     */
+    public PaymentIdempotencyStore.Result submit(Supplier<PaymentIdempotencyStore.Result> save) {
+        if (!slots.tryAcquire()) {
+            rejected.increment();
+            throw new TooManyRequestsException("Hay demasiados pagos en espera; intente nuevamente en unos segundos");
+        }
+        PaymentIdempotencyStore.Result result;
+        try {
+            result = save.get();
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+        if (!result.replayed() && enqueue(new Job(result.payment(), PaymentStatus.PENDING))) {
+            accepted.increment();
+        } else {
+            slots.release();
+        }
+        return result;
+    }
+
+    // Vuelve a encolar los pagos sin terminar que no están en curso (reinicio, cobro sin respuesta o escritura fallida)
+    public void recover() {
+        retryUnwritten();
+        int room = slots.availablePermits();
+        if (room == 0) {
+            return;
+        }
+        // Un pago en curso al empezar la consulta pudo terminar antes de que se revise inFlight
+        Set<Integer> busy = Set.copyOf(inFlight);
+        List<Payment> unfinished = paymentRepo.findByStatusInOrderByIdAsc(UNFINISHED, PageRequest.of(0, room));
+        for (Payment payment : unfinished) {
+            if (busy.contains(payment.getId()) || inFlight.contains(payment.getId()) || !slots.tryAcquire()) {
+                continue;
+            }
+            if (enqueue(new Job(paymentMapper.toDTO(payment), PaymentStatus.valueOf(payment.getStatus())))) {
+                recovered.increment();
+            } else {
+                slots.release();
+            }
+        }
+    }
+
+    private boolean enqueue(Job job) {
+        if (!inFlight.add(job.payment().getId())) {
+            return false;
+        }
+        queue.add(job);
+        return true;
+    }
+
+    private void work() {
+        List<Job> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            slots.release(batch.size());
+            try {
+                process(batch);
+            } catch (RuntimeException e) {
+                // Los pagos siguen en PENDING o PROCESSING en la base; los retoma la recuperación
+                log.warn("No se pudo procesar un lote de {} pagos: {}", batch.size(), e.getMessage());
+            } finally {
+                batch.forEach(job -> inFlight.remove(job.payment().getId()));
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Job> batch) {
+        batches.increment();
+        List<Transition> started = batch.stream()
+            .filter(job -> job.status() == PaymentStatus.PENDING)
+            .map(job -> new Transition(job.payment().getId(), PaymentStatus.PENDING, PaymentStatus.PROCESSING, null))
+            .toList();
+        List<Transition> applied = paymentRepo.applyTransitions(started);
+        audit(applied);
+
+        /*
+         * Solo se cobran los pagos que este lote pasó a PROCESSING y los recuperados que siguen
+         * en PROCESSING. Un PENDING cuyo cambio no se aplicó ya no está en PENDING: lo modificó
+         * un PUT o lo terminó otro worker antes de que la recuperación lo volviera a encolar.
+         */
+        Set<Integer> startedIds = new HashSet<>();
+        applied.forEach(t -> startedIds.add(t.paymentId()));
+        Set<Integer> stillProcessing = stillProcessing(batch);
+        List<Job> charged = batch.stream()
+            .filter(job -> startedIds.contains(job.payment().getId()) || stillProcessing.contains(job.payment().getId()))
+            .toList();
+        skipped.add(batch.size() - charged.size());
+
+        List<Future<PaymentGateway.Result>> futures = charged.stream()
+            .map(job -> charges.submit(() -> gateway.charge(job.payment())))
+            .toList();
+
+        long deadline = System.nanoTime() + gatewayTimeout.toNanos();
+        List<Transition> finished = new ArrayList<>(charged.size());
+        for (int i = 0; i < charged.size(); i++) {
+            Integer paymentId = charged.get(i).payment().getId();
+            PaymentGateway.Result result = await(futures.get(i), deadline, paymentId);
+            if (result == null) {
+                unknown.increment();
+            } else if (result.approved()) {
+                finished.add(new Transition(paymentId, PaymentStatus.PROCESSING, PaymentStatus.COMPLETED, result.transactionId()));
+                completed.increment();
+            } else {
+                finished.add(new Transition(paymentId, PaymentStatus.PROCESSING, PaymentStatus.FAILED, null));
+                failed.increment();
+                log.debug("Pago {} rechazado: {}", paymentId, result.reason());
+            }
+        }
+        write(finished);
+    }
+
+    /*
+     * UN PROCESSING RECUPERADO SE LEYÓ ANTES DE ENCOLARLO, Y EL WORKER QUE LO TENÍA PUDO
+     * TERMINARLO ENTRE TANTO. ANTES DE VOLVER A COBRARLO SE DESCARTAN LOS QUE TIENEN UN
+     * RESULTADO SIN CONFIRMAR (settling) Y SE RELEE EL ESTADO DE LOS DEMÁS. EL WORKER AGREGA
+     * EL PAGO A settling ANTES DE SOLTARLO DE inFlight Y LO QUITA DESPUÉS DE CONFIRMAR LA
+     * ESCRITURA: SI NO ESTÁ EN settling, LA BASE YA TIENE SU RESULTADO.
+     */
+    private Set<Integer> stillProcessing(List<Job> batch) {
+        List<Integer> recoveredIds = batch.stream()
+            .filter(job -> job.status() == PaymentStatus.PROCESSING)
+            .map(job -> job.payment().getId())
+            .filter(id -> !settling.contains(id))
+            .toList();
+        if (recoveredIds.isEmpty()) {
+            return Set.of();
+        }
+        Set<Integer> processing = new HashSet<>();
+        for (Payment payment : paymentRepo.findAllById(recoveredIds)) {
+            if (PaymentStatus.PROCESSING.name().equals(payment.getStatus())) {
+                processing.add(payment.getId());
+            }
+        }
+        return processing;
+    }
+
+    // Resultado del cobro; null si la pasarela no respondió a tiempo o falló (el pago queda en PROCESSING)
+    private PaymentGateway.Result await(Future<PaymentGateway.Result> future, long deadline, Integer paymentId) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("La pasarela no respondió a tiempo el cobro del pago {}", paymentId);
+        } catch (ExecutionException e) {
+            log.warn("Falló el cobro del pago {}: {}", paymentId, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private void write(List<Transition> transitions) {
+        transitions.forEach(t -> settling.add(t.paymentId()));
+        List<Transition> all = new ArrayList<>(transitions);
+        Transition next;
+        while ((next = unwritten.poll()) != null) {
+            all.add(next);
+        }
+        try {
+            audit(paymentRepo.applyTransitions(all));
+            all.forEach(t -> settling.remove(t.paymentId()));
+        } catch (RuntimeException e) {
+            unwritten.addAll(all);
+            writeFailures.increment();
+            log.warn("No se pudieron guardar {} estados de pago; se reintentará: {}", all.size(), e.getMessage());
+        }
+    }
+
+    private void audit(List<Transition> applied) {
+        for (Transition t : applied) {
+            auditJournal.append(PaymentAuditEvent.statusChanged(t.paymentId(), t.from(), t.to()));
+        }
+    }
+
+    private void retryUnwritten() {
+        if (!unwritten.isEmpty()) {
+            write(List.of());
+        }
+    }
+
+    private void recoverQuietly() {
+        try {
+            recover();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron recuperar los pagos pendientes: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("payment.intake.submissions", accepted, LongAdder::sum)
+            .tag("result", "accepted").register(registry);
+        FunctionCounter.builder("payment.intake.submissions", rejected, LongAdder::sum)
+            .tag("result", "rejected").register(registry);
+        FunctionCounter.builder("payment.intake.recovered", recovered, LongAdder::sum).register(registry);
+        FunctionCounter.builder("payment.intake.processed", completed, LongAdder::sum)
+            .tag("result", "completed").register(registry);
+        FunctionCounter.builder("payment.intake.processed", failed, LongAdder::sum)
+            .tag("result", "failed").register(registry);
+        FunctionCounter.builder("payment.intake.processed", unknown, LongAdder::sum)
+            .tag("result", "unknown").register(registry);
+        FunctionCounter.builder("payment.intake.processed", skipped, LongAdder::sum)
+            .tag("result", "skipped").register(registry);
+        FunctionCounter.builder("payment.intake.batches", batches, LongAdder::sum).register(registry);
+        FunctionCounter.builder("payment.intake.write.failures", writeFailures, LongAdder::sum).register(registry);
+        Gauge.builder("payment.intake.queue.depth", queue, BlockingQueue::size).register(registry);
+        Gauge.builder("payment.intake.queue.capacity", this, intake -> intake.capacity).register(registry);
+        Gauge.builder("payment.intake.in-flight", inFlight, Set::size).register(registry);
+        Gauge.builder("payment.intake.unwritten", unwritten, ConcurrentLinkedQueue::size).register(registry);
+        Gauge.builder("payment.intake.settling", settling, Set::size).register(registry);
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        workerThreads.forEach(Thread::interrupt);
+        charges.shutdownNow();
+        // Lo que quedó en la cola sigue en PENDING en la base y se retoma al iniciar
+        retryUnwritten();
+    }
+}
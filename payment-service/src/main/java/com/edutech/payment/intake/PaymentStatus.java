@@ -0,0 +1,20 @@
+package com.edutech.payment.intake;
+
+/*
+ * ESTADOS DE UN PAGO RECIBIDO POR LA COLA DE INGRESO:
+ * PENDING (ACEPTADO, EN COLA) -> PROCESSING (ENVIADO AL GATEWAY) -> COMPLETED O FAILED.
+ * UN PAGO PENDING TAMBIÉN PUEDE FALLAR SIN LLEGAR AL GATEWAY. COMPLETED Y FAILED SON FINALES.
+ * LA COLUMNA payment.status SIGUE SIENDO TEXTO: LOS PAGOS CREADOS POR EL CRUD PUEDEN TENER
+ * OTROS VALORES, QUE LA COLA NO TOCA.
+ */
+public enum PaymentStatus {
+    PENDING, PROCESSING, COMPLETED, FAILED;
+
+    public boolean canTransitionTo(PaymentStatus next) {
+        return switch (this) {
+            case PENDING -> next == PROCESSING || next == FAILED;
+            case PROCESSING -> next == COMPLETED || next == FAILED;
+            case COMPLETED, FAILED -> false;
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.edutech.payment.intake;
+
+import com.edutech.common.dto.PaymentDTO;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * PASARELA LOCAL PARA DESARROLLO Y PRUEBAS DE CARGA: ESPERA latency (MÁS HASTA UN 50 %
+ * AL AZAR) Y RECHAZA UNA FRACCIÓN failure-rate DE LOS PAGOS. NO COBRA NADA.
+ */
+@Component
+@ConditionalOnProperty(name = "edutech.payment-intake.gateway", havingValue = "simulated", matchIfMissing = true)
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final Duration latency;
+    private final double failureRate;
+
+    public SimulatedPaymentGateway(
+            @Value("${edutech.payment-intake.simulated.latency:200ms}") Duration latency,
+            @Value("${edutech.payment-intake.simulated.failure-rate:0.02}") double failureRate) {
+        this.latency = latency;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public Result charge(PaymentDTO payment) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long millis = latency.toMillis();
+        try {
+            Thread.sleep(millis + (millis > 0 ? random.nextLong(millis / 2 + 1) : 0));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.declined("Cobro interrumpido");
+        }
+        if (random.nextDouble() < failureRate) {
+            return Result.declined("Rechazado por la pasarela simulada");
+        }
+        return Result.approved("SIM-" + payment.getId() + "-" + UUID.randomUUID());
+    }
+}
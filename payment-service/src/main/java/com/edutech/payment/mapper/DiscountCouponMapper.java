@@ -3,9 +3,12 @@ package com.edutech.payment.mapper;
 import com.edutech.common.dto.DiscountCouponDTO;
 import com.edutech.payment.entity.DiscountCoupon;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface DiscountCouponMapper {
     DiscountCouponDTO toDTO(DiscountCoupon entity);
+    // El contador de canjes solo lo modifica CouponRedemptionService
+    @Mapping(target = "timesRedeemed", ignore = true)
     DiscountCoupon toEntity(DiscountCouponDTO dto);
 } 
\ No newline at end of file
@@ -7,9 +7,7 @@ import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface PaymentMapper {
-    @Mapping(target = "paymentDate", ignore = true)
     @Mapping(target = "paymentInstitution", ignore = true)
-    @Mapping(target = "transactionId", ignore = true)
     PaymentDTO toDTO(Payment entity);
 
     Payment toEntity(PaymentDTO dto);
@@ -0,0 +1,80 @@
+package com.edutech.payment.quote;
+
+import com.edutech.common.cache.ExpiringCache;
+import com.edutech.common.dto.CoursePriceDTO;
+import com.edutech.common.exception.ResourceNotFoundException;
+import com.edutech.payment.client.CourseClient;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * PRECIOS DE CURSOS PARA LAS COTIZACIONES:
+ * CACHÉ LOCAL CON VIGENCIA price-ttl DELANTE DE POST /api/courses/prices DE ACADÉMICO. LOS
+ * CURSOS QUE NO ESTÁN EN LA CACHÉ SE PIDEN TODOS EN UNA SOLA LLAMADA, ASÍ QUE UN CARRO DE
+ * MILES DE CURSOS CUESTA A LO MÁS UNA IDA Y VUELTA. UN CAMBIO DE PRECIO SE VE EN LAS
+ * COTIZACIONES A LO MÁS price-ttl DESPUÉS. CADA PRECIO SE GUARDA TAMBIÉN EN MILÉSIMAS PARA
+ * EL CÁLCULO EN PUNTO FIJO DE PriceMath.
+ */
+@Component
+public class CoursePriceCache implements MeterBinder {
+
+    // Precio de un curso y el mismo valor en milésimas
+    public record CoursePrice(BigDecimal value, long milli) {
+    }
+
+    private final CourseClient courseClient;
+    private final ExpiringCache<Integer, CoursePrice> cache;
+
+    public CoursePriceCache(
+            CourseClient courseClient,
+            @Value("${edutech.price-quote.price-cache-size:50000}") int maxSize,
+            @Value("${edutech.price-quote.price-ttl:5m}") Duration ttl,
+            @Value("${edutech.price-quote.price-negative-ttl:30s}") Duration negativeTtl) {
+        this.courseClient = courseClient;
+        this.cache = new ExpiringCache<>(maxSize, ttl, negativeTtl);
+    }
+
+    // Precio de cada curso; ResourceNotFoundException si alguno no existe
+    public Map<Integer, CoursePrice> prices(Collection<Integer> courseIds) {
+        Map<Integer, CoursePrice> prices = cache.getAll(courseIds, this::load);
+        for (Integer courseId : courseIds) {
+            if (!prices.containsKey(courseId)) {
+                throw new ResourceNotFoundException("Curso " + courseId + " no encontrado");
+            }
+        }
+        return prices;
+    }
+
+    private Map<Integer, CoursePrice> load(Set<Integer> courseIds) {
+        Map<Integer, CoursePrice> loaded = new HashMap<>();
+        for (CoursePriceDTO price : courseClient.findPrices(courseIds)) {
+            loaded.put(price.getCourseId(),
+                new CoursePrice(price.getPrice(), PriceMath.toUnits(price.getPrice(), PriceMath.PRICE_SCALE)));
+        }
+        return loaded;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", cache, ExpiringCache::hits)
+            .tag("cache", "course-prices").tag("result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", cache, ExpiringCache::misses)
+            .tag("cache", "course-prices").tag("result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", cache, ExpiringCache::evictions)
+            .tag("cache", "course-prices").register(registry);
+        Gauge.builder("cache.size", cache, ExpiringCache::size)
+            .tag("cache", "course-prices").register(registry);
+    }
+}
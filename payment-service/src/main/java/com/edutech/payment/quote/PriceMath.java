@@ -0,0 +1,84 @@
+package com.edutech.payment.quote;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Cálculo de cotizaciones en punto fijo.
+ *
+ * Los precios de los cursos tienen tres decimales ({@code Course.price}), el descuento dos
+ * ({@code DiscountCoupon.discountPercentage}) y el monto a cobrar dos ({@code Payment.amount}).
+ * Las reglas son las de {@link #exact}: el subtotal es la suma exacta de precio por asientos;
+ * el total es el subtotal por {@code (100 - descuento) / 100} redondeado a dos decimales con
+ * HALF_EVEN; el subtotal mostrado es el exacto redondeado igual, y el descuento es la
+ * diferencia, de modo que subtotal - descuento = total siempre.
+ *
+ * {@link #fixedPoint} hace las mismas cuentas con {@code long} en unidades mínimas (milésimas
+ * para precios, puntos básicos para el descuento) sin crear un BigDecimal por línea, y da
+ * exactamente el mismo resultado. Si alguna operación se desborda lanza ArithmeticException
+ * y el llamador usa {@link #exact}.
+ */
+public final class PriceMath {
+
+    public static final int PRICE_SCALE = 3;
+    public static final int PERCENT_SCALE = 2;
+    public static final int AMOUNT_SCALE = 2;
+
+    // 100 % en puntos básicos
+    private static final long FULL = 100_00;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    public record Totals(BigDecimal subtotal, BigDecimal discount, BigDecimal total) {
+    }
+
+    private PriceMath() {
+    }
+
+    // Valor en unidades mínimas de la escala indicada; ArithmeticException si tiene más decimales
+    public static long toUnits(BigDecimal value, int scale) {
+        return value.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /*
+     * pricesMilli: precio de cada línea en milésimas; seats: asientos de cada línea;
+     * discountBasisPoints: descuento en centésimas de punto porcentual (12,50 % = 1250).
+     */
+    public static Totals fixedPoint(long[] pricesMilli, long[] seats, long discountBasisPoints) {
+        long subtotalMilli = 0;
+        for (int i = 0; i < pricesMilli.length; i++) {
+            subtotalMilli = Math.addExact(subtotalMilli, Math.multiplyExact(pricesMilli[i], seats[i]));
+        }
+        if (subtotalMilli < 0 || discountBasisPoints < 0 || discountBasisPoints > FULL) {
+            throw new ArithmeticException("Valores fuera del rango del cálculo en punto fijo");
+        }
+        // milésimas -> centavos
+        long subtotalCents = divideHalfEven(subtotalMilli, 10);
+        // milésimas x puntos básicos = unidades de 10^-7 -> centavos
+        long totalCents = divideHalfEven(Math.multiplyExact(subtotalMilli, FULL - discountBasisPoints), 100_000);
+        return new Totals(BigDecimal.valueOf(subtotalCents, AMOUNT_SCALE),
+            BigDecimal.valueOf(subtotalCents - totalCents, AMOUNT_SCALE),
+            BigDecimal.valueOf(totalCents, AMOUNT_SCALE));
+    }
+
+    // Referencia con BigDecimal; sirve para cualquier magnitud
+    public static Totals exact(BigDecimal[] prices, long[] seats, BigDecimal discountPercentage) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 0; i < prices.length; i++) {
+            subtotal = subtotal.add(prices[i].multiply(BigDecimal.valueOf(seats[i])));
+        }
+        BigDecimal rounded = subtotal.setScale(AMOUNT_SCALE, RoundingMode.HALF_EVEN);
+        BigDecimal total = subtotal.multiply(HUNDRED.subtract(discountPercentage)).movePointLeft(2)
+            .setScale(AMOUNT_SCALE, RoundingMode.HALF_EVEN);
+        return new Totals(rounded, rounded.subtract(total), total);
+    }
+
+    // round(n / d) con HALF_EVEN, para n >= 0 y d > 0
+    static long divideHalfEven(long n, long d) {
+        long q = n / d;
+        long twice = (n % d) * 2;
+        if (twice > d || (twice == d && (q & 1) == 1)) {
+            q++;
+        }
+        return q;
+    }
+}
@@ -0,0 +1,15 @@
+package com.edutech.payment.repository;
+
+import com.edutech.payment.entity.CouponRedemption;
+
+import java.util.List;
+
+/**
+ * Escritura masiva de canjes por JDBC. Se agrega a {@link CouponRedemptionRepository}
+ * como fragmento; la implementación es {@link CouponRedemptionBatchRepositoryImpl}.
+ */
+public interface CouponRedemptionBatchRepository {
+
+    // Inserta los canjes en lotes JDBC (no se necesitan los ID generados)
+    void insertAll(List<CouponRedemption> redemptions);
+}
@@ -0,0 +1,51 @@
+package com.edutech.payment.repository;
+
+import com.edutech.payment.entity.CouponRedemption;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/*
+ * ESCRITURA EN LOTES:
+ * CON GenerationType.IDENTITY HIBERNATE NO AGRUPA LOS INSERT, ASÍ QUE LOS CANJES QUE
+ * ACUMULA CouponRedemptionService SE ENVÍAN CON JDBC EN LOTES.
+ */
+public class CouponRedemptionBatchRepositoryImpl implements CouponRedemptionBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO coupon_redemption "
+        + "(coupon_id, user_id, redeemed_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public CouponRedemptionBatchRepositoryImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${edutech.coupon-redemption.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public void insertAll(List<CouponRedemption> redemptions) {
+        if (redemptions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, redemptions, batchSize, (ps, r) -> {
+            ps.setInt(1, r.getCouponId());
+            ps.setInt(2, r.getUserId());
+            ps.setTimestamp(3, Timestamp.from(r.getRedeemedAt()), utc());
+        });
+    }
+
+    // redeemed_at en UTC, igual que el resto de las columnas Instant que escribe Hibernate
+    private static Calendar utc() {
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+}
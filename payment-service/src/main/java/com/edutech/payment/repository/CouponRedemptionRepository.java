@@ -0,0 +1,21 @@
+package com.edutech.payment.repository;
+
+import com.edutech.payment.entity.CouponRedemption;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CouponRedemptionRepository extends JpaRepository<CouponRedemption, Integer>, CouponRedemptionBatchRepository {
+
+    // Cantidad de canjes de cada usuario en un cupón
+    interface UserCount {
+        Integer getUserId();
+        long getTotal();
+    }
+
+    @Query("select r.userId as userId, count(r) as total from CouponRedemption r where r.couponId = :couponId group by r.userId")
+    List<UserCount> countByUser(Integer couponId);
+}
@@ -2,9 +2,10 @@ package com.edutech.payment.repository;
 
 import com.edutech.payment.entity.DiscountCoupon;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,10 @@ import java.util.Optional;
 public interface DiscountCouponRepository extends JpaRepository<DiscountCoupon, Integer> {
     Optional<DiscountCoupon> findByCode(String code);
     List<DiscountCoupon> findByIsActiveTrue();
-    List<DiscountCoupon> findByIsActiveTrueAndValidFromBeforeAndValidUntilAfter(Instant now, Instant now2);
     boolean existsByCode(String code);
+
+    // Suma canjes al contador del cupón en la base, sin leer la fila
+    @Modifying
+    @Query("update DiscountCoupon c set c.timesRedeemed = c.timesRedeemed + :count where c.id = :couponId")
+    int addRedemptions(Integer couponId, int count);
 } 
\ No newline at end of file
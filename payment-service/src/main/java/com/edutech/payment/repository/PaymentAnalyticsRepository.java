@@ -0,0 +1,24 @@
+package com.edutech.payment.repository;
+
+import com.edutech.common.dto.PaymentSummaryDTO;
+import com.edutech.payment.entity.Payment;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Consultas de reportes sobre los pagos por JDBC. Se agrega a {@link PaymentRepository}
+ * como fragmento; la implementación es {@link PaymentAnalyticsRepositoryImpl}.
+ */
+public interface PaymentAnalyticsRepository {
+
+    enum Dimension { DAY, PAYMENT_METHOD, STATUS }
+
+    // Cantidad y total de los pagos con fecha en [from, to), agrupados en la base por las dimensiones indicadas
+    List<PaymentSummaryDTO> summarize(Instant from, Instant to, Set<Dimension> groupBy);
+
+    // Recorre los pagos con fecha en [from, to) ordenados por fecha, sin cargarlos todos en memoria
+    void forEachPayment(Instant from, Instant to, Consumer<Payment> action);
+}
@@ -0,0 +1,99 @@
+package com.edutech.payment.repository;
+
+import com.edutech.common.dto.PaymentSummaryDTO;
+import com.edutech.payment.entity.Payment;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.function.Consumer;
+
+/*
+ * REPORTES DE PAGOS:
+ * LOS TOTALES SE AGRUPAN EN LA BASE (GROUP BY), ASÍ QUE SOLO VIAJA UNA FILA POR GRUPO.
+ * LA EXPORTACIÓN USA UN CURSOR DE SOLO AVANCE: CON fetchSize = Integer.MIN_VALUE EL DRIVER
+ * DE MYSQL ENTREGA LAS FILAS A MEDIDA QUE LLEGAN EN LUGAR DE CARGAR TODO EL RESULTADO, Y
+ * CADA FILA SE DESCARTA DESPUÉS DE PROCESARLA (MEMORIA CONSTANTE).
+ * HIBERNATE GUARDA LOS Instant EN UTC, ASÍ QUE LAS FECHAS SE ENVÍAN Y LEEN EN UTC Y LOS
+ * DÍAS DEL REPORTE SON DÍAS UTC.
+ */
+public class PaymentAnalyticsRepositoryImpl implements PaymentAnalyticsRepository {
+
+    private static final String RANGE = " FROM payment WHERE payment_date >= ? AND payment_date < ?";
+
+    private static final String EXPORT_SQL = "SELECT id, user_id, amount, payment_method, status, payment_date"
+        + RANGE + " ORDER BY payment_date, id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingTemplate;
+
+    public PaymentAnalyticsRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    @Override
+    public List<PaymentSummaryDTO> summarize(Instant from, Instant to, Set<Dimension> groupBy) {
+        List<String> columns = new ArrayList<>();
+        if (groupBy.contains(Dimension.DAY)) {
+            columns.add("DATE(payment_date)");
+        }
+        if (groupBy.contains(Dimension.PAYMENT_METHOD)) {
+            columns.add("payment_method");
+        }
+        if (groupBy.contains(Dimension.STATUS)) {
+            columns.add("status");
+        }
+        String dimensions = String.join(", ", columns);
+        String sql = "SELECT " + (columns.isEmpty() ? "" : dimensions + ", ")
+            + "COUNT(*), COALESCE(SUM(amount), 0)" + RANGE
+            + (columns.isEmpty() ? "" : " GROUP BY " + dimensions + " ORDER BY " + dimensions);
+
+        return jdbcTemplate.query(sql, ps -> bindRange(ps, from, to), (rs, rowNum) -> {
+            int column = 1;
+            LocalDate day = groupBy.contains(Dimension.DAY) ? rs.getObject(column++, LocalDate.class) : null;
+            String method = groupBy.contains(Dimension.PAYMENT_METHOD) ? rs.getString(column++) : null;
+            String status = groupBy.contains(Dimension.STATUS) ? rs.getString(column++) : null;
+            return new PaymentSummaryDTO(day, method, status, rs.getLong(column), rs.getBigDecimal(column + 1));
+        });
+    }
+
+    @Override
+    public void forEachPayment(Instant from, Instant to, Consumer<Payment> action) {
+        streamingTemplate.query(EXPORT_SQL, ps -> bindRange(ps, from, to),
+            (RowCallbackHandler) rs -> action.accept(toPayment(rs)));
+    }
+
+    private static void bindRange(PreparedStatement ps, Instant from, Instant to) throws SQLException {
+        ps.setTimestamp(1, Timestamp.from(from), utc());
+        ps.setTimestamp(2, Timestamp.from(to), utc());
+    }
+
+    private static Payment toPayment(ResultSet rs) throws SQLException {
+        Payment payment = new Payment();
+        payment.setId(rs.getInt("id"));
+        payment.setUserId(rs.getInt("user_id"));
+        payment.setAmount(rs.getBigDecimal("amount"));
+        payment.setPaymentMethod(rs.getString("payment_method"));
+        payment.setStatus(rs.getString("status"));
+        payment.setPaymentDate(rs.getTimestamp("payment_date", utc()).toInstant());
+        return payment;
+    }
+
+    // Calendar no es seguro entre hilos: uno por uso
+    private static Calendar utc() {
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+}
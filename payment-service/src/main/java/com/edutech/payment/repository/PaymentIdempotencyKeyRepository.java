@@ -0,0 +1,20 @@
+package com.edutech.payment.repository;
+
+import com.edutech.payment.entity.PaymentIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface PaymentIdempotencyKeyRepository extends JpaRepository<PaymentIdempotencyKey, String> {
+
+    // Borra las claves vencidas sin cargarlas
+    @Modifying
+    @Transactional
+    @Query("delete from PaymentIdempotencyKey k where k.createdAt < :before")
+    int deleteCreatedBefore(Instant before);
+}
@@ -0,0 +1,24 @@
+package com.edutech.payment.repository;
+
+import com.edutech.payment.intake.PaymentStatus;
+
+import java.util.List;
+
+/**
+ * Cambios de estado masivos por JDBC. Se agrega a {@link PaymentRepository} como
+ * fragmento; la implementación es {@link PaymentStatusBatchRepositoryImpl}.
+ */
+public interface PaymentStatusBatchRepository {
+
+    record Transition(Integer paymentId, PaymentStatus from, PaymentStatus to, String transactionId) {
+
+        public Transition {
+            if (!from.canTransitionTo(to)) {
+                throw new IllegalArgumentException("Transición de pago inválida: " + from + " -> " + to);
+            }
+        }
+    }
+
+    // Aplica las transiciones en lotes JDBC, cada una solo si el pago sigue en el estado from; devuelve las aplicadas
+    List<Transition> applyTransitions(List<Transition> transitions);
+}
@@ -0,0 +1,64 @@
+package com.edutech.payment.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * LOS ESTADOS QUE PRODUCE LA COLA DE INGRESO SE ESCRIBEN EN LOTES JDBC: UN UPDATE POR PAGO,
+ * PERO UN SOLO VIAJE A LA BASE POR CADA jdbc-batch-size PAGOS. LA CONDICIÓN SOBRE EL ESTADO
+ * ANTERIOR EVITA PISAR UN CAMBIO HECHO MIENTRAS TANTO (P. EJ. UN PUT DEL CRUD).
+ */
+public class PaymentStatusBatchRepositoryImpl implements PaymentStatusBatchRepository {
+
+    private static final String UPDATE_SQL = "UPDATE payment SET status = ?, "
+        + "transaction_id = COALESCE(?, transaction_id) WHERE id = ? AND status = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public PaymentStatusBatchRepositoryImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${edutech.payment-intake.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public List<Transition> applyTransitions(List<Transition> transitions) {
+        if (transitions.isEmpty()) {
+            return List.of();
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, transitions, batchSize, (ps, t) -> {
+            ps.setString(1, t.to().name());
+            ps.setString(2, t.transactionId());
+            ps.setInt(3, t.paymentId());
+            ps.setString(4, t.from().name());
+        });
+        /*
+         * LA COLA DE INGRESO SOLO COBRA LOS PAGOS CUYA TRANSICIÓN SE APLICÓ. UN LOTE REESCRITO POR
+         * EL DRIVER (rewriteBatchedStatements) NO INFORMA FILAS POR SENTENCIA (SUCCESS_NO_INFO):
+         * SIN ESE DATO NO SE PUEDE SABER QUÉ SE APLICÓ, ASÍ QUE SE DESHACE TODO Y SE FALLA.
+         */
+        List<Transition> applied = new ArrayList<>(transitions.size());
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    throw new IllegalStateException("El driver JDBC no informa las filas de cada UPDATE del lote; "
+                        + "desactive rewriteBatchedStatements en la conexión de pagos");
+                }
+                if (count > 0) {
+                    applied.add(transitions.get(i));
+                }
+                i++;
+            }
+        }
+        return applied;
+    }
+}
@@ -0,0 +1,327 @@
+package com.edutech.payment.service;
+
+import com.edutech.common.client.UserLookup;
+import com.edutech.common.dto.CouponRedemptionDTO;
+import com.edutech.common.dto.DiscountCouponDTO;
+import com.edutech.common.exception.ValidationException;
+import com.edutech.payment.coupon.CouponIndex;
+import com.edutech.payment.coupon.CouponUsage;
+import com.edutech.payment.entity.CouponRedemption;
+import com.edutech.payment.entity.DiscountCoupon;
+import com.edutech.payment.mapper.DiscountCouponMapper;
+import com.edutech.payment.repository.CouponRedemptionRepository;
+import com.edutech.payment.repository.DiscountCouponRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import static com.edutech.common.exception.ExceptionUtils.orThrow;
+
+/*
+ * CANJE DE CUPONES:
+ * LOS LÍMITES (MÁXIMO DE USOS TOTAL Y POR USUARIO) SE CONTROLAN EN MEMORIA CON CouponUsage,
+ * QUE SE CARGA DESDE LA BASE LA PRIMERA VEZ QUE SE CANJEA CADA CUPÓN. ASÍ LOS MILES DE
+ * CANJES SIMULTÁNEOS DE UNA VENTA FLASH NO HACEN FILA EN UN SELECT ... FOR UPDATE SOBRE LA
+ * FILA DEL CUPÓN.
+ * LOS CANJES ACEPTADOS SE GUARDAN DESPUÉS (WRITE-BEHIND): CADA flush-interval SE INSERTAN
+ * EN LOTE EN coupon_redemption Y SE SUMAN AL CONTADOR DEL CUPÓN, EN UNA TRANSACCIÓN. SI LA
+ * ESCRITURA DE UN LOTE FALLA, EL RESTO SIGUE; EL LOTE SE SEPARA POR CUPÓN (UN CUPÓN CON
+ * PROBLEMAS NO ARRASTRA A LOS DEMÁS) Y SE REINTENTA CON ESPERAS QUE SE DUPLICAN. TRAS
+ * flush-max-attempts FALLAS SE DESCARTA: CADA CANJE QUEDA EN EL LOG DE ERRORES PARA
+ * CARGARLO A MANO Y SE CUENTA EN coupon.redemptions.dead-lettered. AL DETENER EL SERVICIO
+ * SE ESCRIBE LO PENDIENTE. UNA CAÍDA DEL PROCESO PIERDE A LO MÁS LOS CANJES DEL ÚLTIMO
+ * INTERVALO.
+ * COMO LOS DEMÁS ÍNDICES EN MEMORIA, SUPONE UNA SOLA INSTANCIA DEL MICROSERVICIO DE PAGOS.
+ */
+@Service
+public class CouponRedemptionService implements MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponRedemptionService.class);
+
+    // Tope de la espera entre reintentos de un lote, en intervalos de escritura
+    private static final int MAX_RETRY_DELAY_INTERVALS = 64;
+
+    // Lote que no se pudo guardar: intentos fallidos y desde cuándo se puede reintentar (nanoTime)
+    private record FailedBatch(List<CouponRedemption> redemptions, int attempts, long retryAt) {
+    }
+
+    private final DiscountCouponRepository couponRepo;
+    private final CouponRedemptionRepository redemptionRepo;
+    private final DiscountCouponMapper couponMapper;
+    private final CouponIndex couponIndex;
+    private final UserLookup userClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int stripes;
+    private final int flushBatchSize;
+    private final Duration flushInterval;
+    private final int flushMaxAttempts;
+
+    private final Map<Integer, CouponUsage> usages = new ConcurrentHashMap<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ConcurrentLinkedQueue<CouponRedemption> pending = new ConcurrentLinkedQueue<>();
+
+    // Lotes por reintentar; solo se usan con flushLock tomado
+    private final List<FailedBatch> retries = new ArrayList<>();
+
+    private final LongAdder redeemed = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder userLimited = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("coupon-redemption-writer").factory());
+
+    public CouponRedemptionService(
+            DiscountCouponRepository couponRepo,
+            CouponRedemptionRepository redemptionRepo,
+            DiscountCouponMapper couponMapper,
+            CouponIndex couponIndex,
+            UserLookup userClient,
+            TransactionTemplate transactionTemplate,
+            @Value("${edutech.coupon-redemption.stripes:16}") int stripes,
+            @Value("${edutech.coupon-redemption.flush-batch-size:5000}") int flushBatchSize,
+            @Value("${edutech.coupon-redemption.flush-interval:1s}") Duration flushInterval,
+            @Value("${edutech.coupon-redemption.flush-max-attempts:10}") int flushMaxAttempts) {
+        if (flushBatchSize < 1 || flushInterval.isZero() || flushInterval.isNegative() || flushMaxAttempts < 1) {
+            throw new IllegalArgumentException(
+                "El tamaño de lote, el intervalo de escritura y los intentos deben ser mayores a cero");
+        }
+        this.couponRepo = couponRepo;
+        this.redemptionRepo = redemptionRepo;
+        this.couponMapper = couponMapper;
+        this.couponIndex = couponIndex;
+        this.userClient = userClient;
+        this.transactionTemplate = transactionTemplate;
+        this.stripes = stripes;
+        this.flushBatchSize = flushBatchSize;
+        this.flushInterval = flushInterval;
+        this.flushMaxAttempts = flushMaxAttempts;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        timer.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(),
+            TimeUnit.MILLISECONDS);
+    }
+
+    public CouponRedemptionDTO redeem(String code, Integer userId) {
+        DiscountCouponDTO coupon = findRedeemable(code);
+        orThrow(userClient.findById(userId), "Usuario");
+
+        CouponUsage usage = usage(coupon.getId());
+        switch (usage.redeem(userId)) {
+            case EXHAUSTED -> {
+                exhausted.increment();
+                throw new ValidationException("El cupón alcanzó su máximo de usos");
+            }
+            case USER_LIMIT -> {
+                userLimited.increment();
+                throw new ValidationException("El usuario ya usó este cupón el máximo de veces permitido");
+            }
+            case REDEEMED -> redeemed.increment();
+        }
+
+        CouponRedemption redemption = new CouponRedemption();
+        redemption.setCouponId(coupon.getId());
+        redemption.setUserId(userId);
+        redemption.setRedeemedAt(Instant.now());
+        pending.add(redemption);
+        queued.increment();
+
+        return new CouponRedemptionDTO(coupon.getCode(), userId, coupon.getDiscountPercentage(), usage.remaining(),
+            redemption.getRedeemedAt());
+    }
+
+    // Cupón activo y vigente hoy (no revisa los límites de usos, que dependen del usuario)
+    public DiscountCouponDTO findRedeemable(String code) {
+        DiscountCouponDTO coupon = orThrow(
+            couponIndex.find(code, c -> couponRepo.findByCode(c).map(couponMapper::toDTO)), "Cupón");
+        if (!Boolean.TRUE.equals(coupon.getIsActive())) {
+            throw new ValidationException("El cupón no está activo");
+        }
+        LocalDate today = LocalDate.now();
+        if ((coupon.getValidFrom() != null && today.isBefore(coupon.getValidFrom()))
+                || (coupon.getValidUntil() != null && today.isAfter(coupon.getValidUntil()))) {
+            throw new ValidationException("El cupón no está vigente");
+        }
+        return coupon;
+    }
+
+    // Se llama después de guardar un cupón: aplica los nuevos límites a los usos en memoria
+    public void onCouponChanged(DiscountCouponDTO coupon) {
+        CouponUsage usage = usages.get(coupon.getId());
+        if (usage != null) {
+            usage.resize(coupon.getMaxUses(), coupon.getMaxUsesPerUser());
+        }
+    }
+
+    public void onCouponDeleted(Integer couponId) {
+        usages.remove(couponId);
+    }
+
+    private CouponUsage usage(Integer couponId) {
+        CouponUsage usage = usages.get(couponId);
+        if (usage != null) {
+            return usage;
+        }
+        loadLock.lock();
+        try {
+            usage = usages.get(couponId);
+            if (usage == null) {
+                // Todavía no hay canjes pendientes de este cupón: la base tiene todos los registrados
+                DiscountCoupon coupon = orThrow(couponRepo.findById(couponId), "Cupón");
+                Map<Integer, Integer> byUser = redemptionRepo.countByUser(couponId).stream()
+                    .collect(Collectors.toMap(CouponRedemptionRepository.UserCount::getUserId,
+                        row -> Math.toIntExact(row.getTotal())));
+                usage = new CouponUsage(coupon.getMaxUses(), coupon.getMaxUsesPerUser(), coupon.getTimesRedeemed(),
+                    byUser, stripes);
+                usages.put(couponId, usage);
+            }
+            return usage;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // Escribe en la base los canjes pendientes, en lotes de flushBatchSize por transacción
+    public void flush() {
+        flush(false);
+    }
+
+    // force: reintenta también los lotes fallidos cuya espera no terminó (al detener el servicio)
+    private void flush(boolean force) {
+        flushLock.lock();
+        try {
+            long now = System.nanoTime();
+            List<FailedBatch> failed = List.copyOf(retries);
+            retries.clear();
+            for (FailedBatch batch : failed) {
+                if (force || now - batch.retryAt() >= 0) {
+                    write(batch.redemptions(), batch.attempts());
+                } else {
+                    retries.add(batch);
+                }
+            }
+
+            while (!pending.isEmpty()) {
+                List<CouponRedemption> batch = new ArrayList<>();
+                CouponRedemption next;
+                while (batch.size() < flushBatchSize && (next = pending.poll()) != null) {
+                    batch.add(next);
+                }
+                write(batch, 0);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Guarda un lote en una transacción; si falla lo deja para reintentar o, sin intentos, lo descarta
+    private void write(List<CouponRedemption> batch, int failedAttempts) {
+        Map<Integer, Integer> byCoupon = batch.stream()
+            .collect(Collectors.toMap(CouponRedemption::getCouponId, r -> 1, Integer::sum));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                redemptionRepo.insertAll(batch);
+                byCoupon.forEach(couponRepo::addRedemptions);
+            });
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            int attempts = failedAttempts + 1;
+            if (attempts >= flushMaxAttempts) {
+                deadLetter(batch, attempts + " intentos fallidos (" + e.getMessage() + ")");
+                return;
+            }
+            long intervals = Math.min(1L << Math.min(attempts - 1, 30), MAX_RETRY_DELAY_INTERVALS);
+            long retryAt = System.nanoTime() + flushInterval.toNanos() * intervals;
+            batch.stream()
+                .collect(Collectors.groupingBy(CouponRedemption::getCouponId))
+                .values()
+                .forEach(redemptions -> retries.add(new FailedBatch(redemptions, attempts, retryAt)));
+            log.warn("No se pudieron guardar {} canjes de cupones (intento {} de {}); se reintentará: {}",
+                batch.size(), attempts, flushMaxAttempts, e.getMessage());
+            return;
+        }
+        flushed.add(batch.size());
+        queued.add(-batch.size());
+    }
+
+    // Los canjes ya se aceptaron (y cuentan en los límites en memoria): quedan en el log para cargarlos a mano
+    private void deadLetter(List<CouponRedemption> batch, String reason) {
+        deadLettered.add(batch.size());
+        queued.add(-batch.size());
+        log.error("Se descartan {} canjes de cupones tras {}; se detallan a continuación", batch.size(), reason);
+        for (CouponRedemption r : batch) {
+            log.error("Canje de cupón no guardado: cupón {}, usuario {}, fecha {}",
+                r.getCouponId(), r.getUserId(), r.getRedeemedAt());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron guardar los canjes de cupones pendientes: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("coupon.redemptions", redeemed, LongAdder::sum)
+            .tag("result", "redeemed").register(registry);
+        FunctionCounter.builder("coupon.redemptions", exhausted, LongAdder::sum)
+            .tag("result", "exhausted").register(registry);
+        FunctionCounter.builder("coupon.redemptions", userLimited, LongAdder::sum)
+            .tag("result", "user-limit").register(registry);
+        FunctionCounter.builder("coupon.redemptions.flushed", flushed, LongAdder::sum).register(registry);
+        FunctionCounter.builder("coupon.redemptions.flush.failures", flushFailures, LongAdder::sum).register(registry);
+        FunctionCounter.builder("coupon.redemptions.dead-lettered", deadLettered, LongAdder::sum).register(registry);
+        Gauge.builder("coupon.redemptions.pending", queued, LongAdder::sum).register(registry);
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        flushLock.lock();
+        try {
+            flush(true);
+            // Lo que falló en este último intento ya no tiene otra oportunidad
+            for (FailedBatch batch : retries) {
+                deadLetter(batch.redemptions(), "fallar al detener el servicio");
+            }
+            retries.clear();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron guardar los canjes de cupones pendientes: {}", e.getMessage());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+}
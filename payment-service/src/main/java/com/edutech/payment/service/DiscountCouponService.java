@@ -1,6 +1,9 @@
 package com.edutech.payment.service;
 
 import com.edutech.common.dto.DiscountCouponDTO;
+import com.edutech.common.dto.CouponValidityEventDTO;
+import com.edutech.payment.coupon.CouponIndex;
+import com.edutech.payment.coupon.CouponValidityIndex;
 import com.edutech.payment.entity.DiscountCoupon;
 import com.edutech.payment.mapper.DiscountCouponMapper;
 import com.edutech.payment.repository.DiscountCouponRepository;
@@ -8,9 +11,9 @@ import com.edutech.payment.repository.DiscountCouponRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static com.edutech.common.exception.ExceptionUtils.orThrow;
 
@@ -20,6 +23,9 @@ public class DiscountCouponService {
 
     private final DiscountCouponRepository couponRepo;
     private final DiscountCouponMapper couponMapper;
+    private final CouponIndex couponIndex;
+    private final CouponValidityIndex validityIndex;
+    private final CouponRedemptionService redemptionService;
 
     public List<DiscountCouponDTO> findAll() {
         return couponRepo.findAll().stream().map(couponMapper::toDTO).toList();
@@ -29,56 +35,74 @@ public class DiscountCouponService {
         return couponMapper.toDTO(orThrow(couponRepo.findById(id), "Cupón"));
     }
 
+    // Los cupones activos y los códigos inexistentes se resuelven en memoria (CouponIndex)
     public DiscountCouponDTO findByCode(String code) {
-        return couponMapper.toDTO(orThrow(couponRepo.findByCode(code), "Cupón"));
+        return orThrow(couponIndex.find(code, c -> couponRepo.findByCode(c).map(couponMapper::toDTO)), "Cupón");
     }
 
+    // Activos y dentro de sus fechas de vigencia, desde memoria (CouponValidityIndex)
     public List<DiscountCouponDTO> findActive() {
-        return couponRepo.findByIsActiveTrue().stream()
-            .map(couponMapper::toDTO)
-            .collect(Collectors.toList());
+        return validityIndex.validNow();
     }
 
-    public List<DiscountCouponDTO> findValid() {
-        Instant now = Instant.now();
-        return couponRepo.findByIsActiveTrueAndValidFromBeforeAndValidUntilAfter(now, now).stream()
-            .map(couponMapper::toDTO)
-            .collect(Collectors.toList());
+    public List<DiscountCouponDTO> findValid(Instant at) {
+        return validityIndex.validAt(at);
+    }
+
+    // Cupones activos que empiezan a valer o vencen dentro de window
+    public List<CouponValidityEventDTO> findUpcoming(Duration window) {
+        return validityIndex.upcoming(Instant.now(), window);
     }
 
     public DiscountCouponDTO create(DiscountCouponDTO dto) {
-        if (couponRepo.existsByCode(dto.getCode())) {
+        // Si el filtro de códigos emitidos no lo conoce, no hace falta consultar la base
+        if (couponIndex.mightExist(dto.getCode()) && couponRepo.existsByCode(dto.getCode())) {
             throw new IllegalArgumentException("Ya existe un cupón con el código: " + dto.getCode());
         }
-        return saveDTO(dto, null);
+        return saveDTO(dto, null, null);
     }
 
     public DiscountCouponDTO update(Integer id, DiscountCouponDTO dto) {
-        orThrow(couponRepo.findById(id), "Cupón");
-        return saveDTO(dto, id);
+        // Se copia antes de guardar: la entidad cargada es la misma que se modifica
+        String previousCode = orThrow(couponRepo.findById(id), "Cupón").getCode();
+        return saveDTO(dto, id, previousCode);
     }
 
     public void delete(Integer id) {
-        couponRepo.delete(orThrow(couponRepo.findById(id), "Cupón"));
+        DiscountCoupon coupon = orThrow(couponRepo.findById(id), "Cupón");
+        couponRepo.delete(coupon);
+        couponIndex.remove(coupon.getCode());
+        validityIndex.remove(id);
+        redemptionService.onCouponDeleted(id);
     }
 
     public DiscountCouponDTO activate(Integer id) {
-        DiscountCoupon coupon = orThrow(couponRepo.findById(id), "Cupón");
-        coupon.setIsActive(true);
-        return couponMapper.toDTO(couponRepo.save(coupon));
+        return setActive(id, true);
     }
 
     public DiscountCouponDTO deactivate(Integer id) {
+        return setActive(id, false);
+    }
+
+    private DiscountCouponDTO setActive(Integer id, boolean active) {
         DiscountCoupon coupon = orThrow(couponRepo.findById(id), "Cupón");
-        coupon.setIsActive(false);
-        return couponMapper.toDTO(couponRepo.save(coupon));
+        coupon.setIsActive(active);
+        DiscountCouponDTO saved = couponMapper.toDTO(couponRepo.save(coupon));
+        couponIndex.put(saved, null);
+        validityIndex.put(saved);
+        redemptionService.onCouponChanged(saved);
+        return saved;
     }
 
-    private DiscountCouponDTO saveDTO(DiscountCouponDTO dto, Integer id) {
+    private DiscountCouponDTO saveDTO(DiscountCouponDTO dto, Integer id, String previousCode) {
         DiscountCoupon entity = couponMapper.toEntity(dto);
         if (id != null) {
             entity.setId(id);
         }
-        return couponMapper.toDTO(couponRepo.save(entity));
+        DiscountCouponDTO saved = couponMapper.toDTO(couponRepo.save(entity));
+        couponIndex.put(saved, previousCode);
+        validityIndex.put(saved);
+        redemptionService.onCouponChanged(saved);
+        return saved;
     }
 } 
\ No newline at end of file
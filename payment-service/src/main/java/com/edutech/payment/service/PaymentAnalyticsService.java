@@ -0,0 +1,101 @@
+package com.edutech.payment.service;
+
+import com.edutech.common.dto.PaymentSummaryDTO;
+import com.edutech.common.exception.ValidationException;
+import com.edutech.payment.repository.PaymentAnalyticsRepository.Dimension;
+import com.edutech.payment.repository.PaymentRepository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * REPORTES DE INGRESOS:
+ * LOS RANGOS SON DE DÍAS COMPLETOS EN UTC, from Y to INCLUIDOS. NADA SE CARGA COMO
+ * List<Payment>: LOS TOTALES LOS CALCULA LA BASE Y LA EXPORTACIÓN ESCRIBE CADA PAGO EN
+ * LA RESPUESTA A MEDIDA QUE LLEGA DEL CURSOR.
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentAnalyticsService {
+
+    private static final String CSV_HEADER = "id,user_id,amount,payment_method,status,payment_date\n";
+
+    private final PaymentRepository paymentRepo;
+
+    // groupBy: "day", "paymentMethod" y/o "status"; vacío da un solo total del rango
+    public List<PaymentSummaryDTO> summarize(LocalDate from, LocalDate to, List<String> groupBy) {
+        validateRange(from, to);
+        Set<Dimension> dimensions = EnumSet.noneOf(Dimension.class);
+        for (String name : groupBy) {
+            dimensions.add(switch (name.trim()) {
+                case "day" -> Dimension.DAY;
+                case "paymentMethod" -> Dimension.PAYMENT_METHOD;
+                case "status" -> Dimension.STATUS;
+                default -> throw new ValidationException("No se puede agrupar por " + name
+                    + "; use day, paymentMethod o status");
+            });
+        }
+        return paymentRepo.summarize(start(from), start(to.plusDays(1)), dimensions);
+    }
+
+    // Escribe los pagos del rango en CSV, ordenados por fecha
+    public void exportCsv(LocalDate from, LocalDate to, Writer out) throws IOException {
+        validateRange(from, to);
+        out.write(CSV_HEADER);
+        try {
+            paymentRepo.forEachPayment(start(from), start(to.plusDays(1)), payment -> {
+                try {
+                    out.write(String.valueOf(payment.getId()));
+                    out.write(',');
+                    out.write(String.valueOf(payment.getUserId()));
+                    out.write(',');
+                    out.write(payment.getAmount().toPlainString());
+                    out.write(',');
+                    out.write(csv(payment.getPaymentMethod()));
+                    out.write(',');
+                    out.write(csv(payment.getStatus()));
+                    out.write(',');
+                    out.write(payment.getPaymentDate().toString());
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // El cliente cerró la conexión: se corta la consulta
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("La fecha inicial no puede ser posterior a la final");
+        }
+    }
+
+    private static Instant start(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    // Entre comillas si tiene comas, comillas o saltos de línea (RFC 4180)
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
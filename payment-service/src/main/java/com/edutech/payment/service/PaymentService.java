@@ -1,19 +1,28 @@
 package com.edutech.payment.service;
 
+import com.edutech.common.client.UserLookup;
 import com.edutech.common.dto.PaymentDTO;
+import com.edutech.payment.audit.PaymentAuditEvent;
+import com.edutech.payment.audit.PaymentAuditJournal;
 import com.edutech.payment.entity.Payment;
+import com.edutech.payment.idempotency.PaymentIdempotencyStore;
+import com.edutech.payment.intake.PaymentIntake;
+import com.edutech.payment.intake.PaymentStatus;
 import com.edutech.payment.mapper.PaymentMapper;
 import com.edutech.payment.repository.PaymentRepository;
-import com.edutech.payment.client.UserClient;
+import com.edutech.payment.velocity.PaymentVelocityGuard;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.edutech.common.exception.ExceptionUtils.orThrow;
-import static com.edutech.common.exception.ExceptionUtils.orThrowFeign;
 
 @Service
 @RequiredArgsConstructor
@@ -21,7 +30,11 @@ public class PaymentService {
 
     private final PaymentRepository paymentRepo;
     private final PaymentMapper paymentMapper;
-    private final UserClient userClient;
+    private final UserLookup userClient;
+    private final PaymentIdempotencyStore idempotencyStore;
+    private final PaymentIntake paymentIntake;
+    private final PaymentVelocityGuard velocityGuard;
+    private final PaymentAuditJournal auditJournal;
 
     public List<PaymentDTO> findAll() {
         return paymentRepo.findAll().stream().map(paymentMapper::toDTO).toList();
@@ -45,18 +58,82 @@ public class PaymentService {
 
     public PaymentDTO create(PaymentDTO dto) {
         // Validar que el usuario existe
-        orThrowFeign(dto.getUserId(), userClient::findById, "Usuario");
+        orThrow(userClient.findById(dto.getUserId()), "Usuario");
 
-        return saveDTO(dto, null);
+        PaymentDTO created = withinVelocity(dto, () -> saveDTO(dto, null));
+        auditJournal.record(PaymentAuditEvent.created(created));
+        return created;
+    }
+
+    // Creación con cabecera Idempotency-Key: una clave repetida devuelve el pago ya creado
+    public PaymentIdempotencyStore.Result create(PaymentDTO dto, String idempotencyKey) {
+        orThrow(userClient.findById(dto.getUserId()), "Usuario");
+
+        return audited(idempotencyStore.execute(idempotencyKey, dto, () -> withinVelocity(dto, () -> saveDTO(dto, null))));
+    }
+
+    // Ingreso asíncrono: responde con el pago en PENDING y la pasarela lo procesa después
+    public PaymentIdempotencyStore.Result submit(PaymentDTO dto, String idempotencyKey) {
+        orThrow(userClient.findById(dto.getUserId()), "Usuario");
+
+        // El alta se audita antes de encolar el pago, así que precede a sus cambios de estado en el diario
+        return paymentIntake.submit(() -> audited(idempotencyKey == null
+            ? new PaymentIdempotencyStore.Result(withinVelocity(dto, () -> savePending(dto)), false)
+            : idempotencyStore.execute(idempotencyKey, dto, () -> withinVelocity(dto, () -> savePending(dto)))));
     }
 
     public PaymentDTO update(Integer id, PaymentDTO dto) {
-        orThrow(paymentRepo.findById(id), "Pago");
-        return saveDTO(dto, id);
+        Payment existing = orThrow(paymentRepo.findById(id), "Pago");
+        if (dto.getPaymentDate() == null) {
+            // Conserva la fecha original del pago
+            dto.setPaymentDate(existing.getPaymentDate());
+        }
+        // Se lee antes de guardar: save puede copiar el nuevo estado sobre la misma entidad
+        String previousStatus = existing.getStatus();
+        PaymentDTO updated = saveDTO(dto, id);
+        auditJournal.record(PaymentAuditEvent.updated(previousStatus, updated));
+        return updated;
     }
 
     public void delete(Integer id) {
-        paymentRepo.delete(orThrow(paymentRepo.findById(id), "Pago"));
+        Payment existing = orThrow(paymentRepo.findById(id), "Pago");
+        PaymentDTO deleted = paymentMapper.toDTO(existing);
+        paymentRepo.delete(existing);
+        auditJournal.record(PaymentAuditEvent.deleted(deleted));
+    }
+
+    // Audita el alta ya confirmada en la base (fuera de la transacción de idempotencia); una respuesta repetida no
+    private PaymentIdempotencyStore.Result audited(PaymentIdempotencyStore.Result result) {
+        if (!result.replayed()) {
+            auditJournal.record(PaymentAuditEvent.created(result.payment()));
+        }
+        return result;
+    }
+
+    /*
+     * Guarda un pago nuevo si el usuario no supera sus límites de velocidad (las respuestas repetidas no cuentan).
+     * DENTRO DE LA TRANSACCIÓN DE IDEMPOTENCIA EL PAGO AÚN PUEDE DESHACERSE DESPUÉS DE save (P. EJ. LA CLAVE
+     * YA ESTABA EN LA BASE): EL PERMISO SE DEVUELVE AL TERMINAR LA TRANSACCIÓN SI NO SE CONFIRMÓ.
+     */
+    private PaymentDTO withinVelocity(PaymentDTO dto, Supplier<PaymentDTO> save) {
+        PaymentVelocityGuard.Permit permit = velocityGuard.acquire(dto.getUserId(), dto.getAmount());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        velocityGuard.release(permit);
+                    }
+                }
+            });
+            return save.get();
+        }
+        try {
+            return save.get();
+        } catch (RuntimeException e) {
+            velocityGuard.release(permit);
+            throw e;
+        }
     }
 
     private PaymentDTO saveDTO(PaymentDTO dto, Integer id) {
@@ -64,6 +141,19 @@ public class PaymentService {
         if (id != null) {
             entity.setId(id);
         }
+        if (entity.getPaymentDate() == null) {
+            entity.setPaymentDate(Instant.now());
+        }
+        return paymentMapper.toDTO(paymentRepo.save(entity));
+    }
+
+    // El estado, la fecha y la referencia de la pasarela los asigna el servicio, no el cliente
+    private PaymentDTO savePending(PaymentDTO dto) {
+        Payment entity = paymentMapper.toEntity(dto);
+        entity.setId(null);
+        entity.setStatus(PaymentStatus.PENDING.name());
+        entity.setTransactionId(null);
+        entity.setPaymentDate(Instant.now());
         return paymentMapper.toDTO(paymentRepo.save(entity));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.edutech.payment.service;
+
+import com.edutech.common.dto.PriceQuoteDTO;
+import com.edutech.common.dto.PriceQuoteRequestDTO;
+import com.edutech.common.exception.ValidationException;
+import com.edutech.payment.quote.CoursePriceCache;
+import com.edutech.payment.quote.CoursePriceCache.CoursePrice;
+import com.edutech.payment.quote.PriceMath;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * COTIZACIÓN DE CARROS DE CURSOS (P. EJ. COMPRAS INSTITUCIONALES DE MILES DE ASIENTOS):
+ * LOS PRECIOS SALEN DE CoursePriceCache (UNA SOLA LLAMADA A ACADÉMICO POR LOS QUE FALTEN) Y
+ * LOS TOTALES SE CALCULAN CON PriceMath EN PUNTO FIJO SOBRE long, CON LAS MISMAS REGLAS DE
+ * REDONDEO (HALF_EVEN) QUE EL CÁLCULO CON BigDecimal. SI UNA SUMA O PRODUCTO SE DESBORDA SE
+ * REPITE CON BigDecimal, ASÍ QUE EL RESULTADO ES SIEMPRE EL EXACTO.
+ * LA COTIZACIÓN NO CANJEA EL CUPÓN: SOLO REVISA QUE ESTÉ ACTIVO Y VIGENTE.
+ */
+@Service
+public class PriceQuoteService implements MeterBinder {
+
+    private final CoursePriceCache priceCache;
+    private final CouponRedemptionService redemptionService;
+    private final int maxItems;
+
+    private final LongAdder fixedPointQuotes = new LongAdder();
+    private final LongAdder bigDecimalQuotes = new LongAdder();
+
+    public PriceQuoteService(
+            CoursePriceCache priceCache,
+            CouponRedemptionService redemptionService,
+            @Value("${edutech.price-quote.max-items:10000}") int maxItems) {
+        this.priceCache = priceCache;
+        this.redemptionService = redemptionService;
+        this.maxItems = maxItems;
+    }
+
+    public PriceQuoteDTO quote(PriceQuoteRequestDTO request) {
+        List<PriceQuoteRequestDTO.Item> items = request.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new ValidationException("El carro debe tener al menos un curso.");
+        }
+        if (items.size() > maxItems) {
+            throw new ValidationException("No se pueden cotizar más de " + maxItems + " cursos a la vez.");
+        }
+        Set<Integer> courseIds = new LinkedHashSet<>();
+        for (PriceQuoteRequestDTO.Item item : items) {
+            if (item.getCourseId() == null) {
+                throw new ValidationException("Debe especificar el ID del curso.");
+            }
+            if (item.getSeats() < 1) {
+                throw new ValidationException("La cantidad de asientos debe ser mayor a cero.");
+            }
+            courseIds.add(item.getCourseId());
+        }
+
+        String couponCode = request.getCouponCode() == null || request.getCouponCode().isBlank()
+            ? null : request.getCouponCode().trim();
+        BigDecimal percentage = couponCode == null
+            ? BigDecimal.ZERO : redemptionService.findRedeemable(couponCode).getDiscountPercentage();
+
+        Map<Integer, CoursePrice> prices = priceCache.prices(courseIds);
+        int n = items.size();
+        CoursePrice[] linePrices = new CoursePrice[n];
+        long[] pricesMilli = new long[n];
+        long[] seats = new long[n];
+        for (int i = 0; i < n; i++) {
+            linePrices[i] = prices.get(items.get(i).getCourseId());
+            pricesMilli[i] = linePrices[i].milli();
+            seats[i] = items.get(i).getSeats();
+        }
+
+        PriceMath.Totals totals;
+        boolean fixedPoint;
+        try {
+            totals = PriceMath.fixedPoint(pricesMilli, seats, PriceMath.toUnits(percentage, PriceMath.PERCENT_SCALE));
+            fixedPoint = true;
+            fixedPointQuotes.increment();
+        } catch (ArithmeticException e) {
+            BigDecimal[] values = new BigDecimal[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = linePrices[i].value();
+            }
+            totals = PriceMath.exact(values, seats, percentage);
+            fixedPoint = false;
+            bigDecimalQuotes.increment();
+        }
+
+        List<PriceQuoteDTO.Line> lines = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            // En punto fijo ningún producto se desbordó: la línea sale de las milésimas sin multiplicar BigDecimal
+            BigDecimal lineTotal = fixedPoint
+                ? BigDecimal.valueOf(pricesMilli[i] * seats[i], PriceMath.PRICE_SCALE)
+                : linePrices[i].value().multiply(BigDecimal.valueOf(seats[i]));
+            lines.add(new PriceQuoteDTO.Line(items.get(i).getCourseId(), items.get(i).getSeats(),
+                BigDecimal.valueOf(pricesMilli[i], PriceMath.PRICE_SCALE), lineTotal));
+        }
+        return new PriceQuoteDTO(lines, totals.subtotal(), couponCode, couponCode == null ? null : percentage,
+            totals.discount(), totals.total());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("price.quote.requests", fixedPointQuotes, LongAdder::sum)
+            .tag("path", "fixed-point").register(registry);
+        FunctionCounter.builder("price.quote.requests", bigDecimalQuotes, LongAdder::sum)
+            .tag("path", "big-decimal").register(registry);
+    }
+}
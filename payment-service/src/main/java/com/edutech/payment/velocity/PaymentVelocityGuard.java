@@ -0,0 +1,224 @@
+package com.edutech.payment.velocity;
+
+import com.edutech.common.exception.TooManyRequestsException;
+import com.edutech.payment.entity.Payment;
+import com.edutech.payment.repository.PaymentRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * LÍMITES DE VELOCIDAD DE PAGOS POR USUARIO (ANTIFRAUDE):
+ * CANTIDAD Y MONTO MÁXIMOS POR MINUTO Y POR HORA, CONTADOS EN MEMORIA CON DOS VENTANAS
+ * DESLIZANTES POR USUARIO (60 CUBETAS DE 1 SEGUNDO Y 60 DE 1 MINUTO). UNA VERIFICACIÓN ES
+ * SUMAR EL PAGO Y RECORRER 120 CUBETAS: MICROSEGUNDOS Y NINGUNA CONSULTA.
+ * EL PAGO SE SUMA ANTES DE COMPARAR Y SE DESCUENTA SI SUPERA UN LÍMITE, ASÍ QUE DOS
+ * INTENTOS SIMULTÁNEOS NUNCA PASAN JUNTOS POR ENCIMA DEL LÍMITE (A LO MÁS SE RECHAZAN AMBOS).
+ * LOS USUARIOS SIN PAGOS DURANTE idle-timeout (NUNCA MENOS DE UNA HORA) SE OLVIDAN. AL
+ * INICIAR SE CARGAN LOS PAGOS DE LA ÚLTIMA HORA; MIENTRAS TANTO LOS CONTADORES PUEDEN
+ * QUEDAR CORTOS. SE CUENTAN LOS INTENTOS ACEPTADOS, TERMINEN O NO APROBADOS EN LA PASARELA.
+ * COMO LOS DEMÁS ÍNDICES EN MEMORIA, SUPONE UNA SOLA INSTANCIA DEL MICROSERVICIO DE PAGOS.
+ */
+@Component
+public class PaymentVelocityGuard implements MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentVelocityGuard.class);
+
+    private static final Duration MINUTE = Duration.ofMinutes(1);
+    private static final Duration HOUR = Duration.ofHours(1);
+    private static final int BUCKETS = 60;
+
+    // Pago aceptado; se devuelve con release si finalmente no se guarda
+    public record Permit(Integer userId, long amount, long atMillis) {
+    }
+
+    private static final class UserWindows {
+        final SlidingWindow minute = new SlidingWindow(MINUTE, BUCKETS);
+        final SlidingWindow hour = new SlidingWindow(HOUR, BUCKETS);
+        volatile long lastSeen;
+
+        void add(long atMillis, long count, long amount) {
+            minute.add(atMillis, count, amount);
+            hour.add(atMillis, count, amount);
+        }
+    }
+
+    private final PaymentRepository paymentRepo;
+    private final boolean enabled;
+    private final long maxPaymentsPerMinute;
+    private final long maxAmountPerMinute;
+    private final long maxPaymentsPerHour;
+    private final long maxAmountPerHour;
+    private final Duration idleTimeout;
+
+    private final Map<Integer, UserWindows> users = new ConcurrentHashMap<>();
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("payment-velocity-eviction").factory());
+
+    public PaymentVelocityGuard(
+            PaymentRepository paymentRepo,
+            @Value("${edutech.payment-velocity.enabled:true}") boolean enabled,
+            @Value("${edutech.payment-velocity.max-payments-per-minute:5}") long maxPaymentsPerMinute,
+            @Value("${edutech.payment-velocity.max-amount-per-minute:5000}") BigDecimal maxAmountPerMinute,
+            @Value("${edutech.payment-velocity.max-payments-per-hour:30}") long maxPaymentsPerHour,
+            @Value("${edutech.payment-velocity.max-amount-per-hour:50000}") BigDecimal maxAmountPerHour,
+            @Value("${edutech.payment-velocity.idle-timeout:1h}") Duration idleTimeout) {
+        this.paymentRepo = paymentRepo;
+        this.enabled = enabled;
+        this.maxPaymentsPerMinute = maxPaymentsPerMinute;
+        this.maxAmountPerMinute = minor(maxAmountPerMinute);
+        this.maxPaymentsPerHour = maxPaymentsPerHour;
+        this.maxAmountPerHour = minor(maxAmountPerHour);
+        // Olvidar antes de una hora perdería pagos que todavía cuentan en la ventana por hora
+        this.idleTimeout = idleTimeout.compareTo(HOUR) < 0 ? HOUR : idleTimeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofVirtual().name("payment-velocity-load").start(this::loadRecentQuietly);
+        long period = idleTimeout.toMillis() / 4;
+        timer.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Registra un intento de pago del usuario; lanza TooManyRequestsException (429) si con él
+     * se supera algún límite. Un límite 0 no se aplica.
+     */
+    public Permit acquire(Integer userId, BigDecimal amount) {
+        long now = System.currentTimeMillis();
+        long minorAmount = minor(amount);
+        if (!enabled) {
+            return new Permit(userId, minorAmount, now);
+        }
+        UserWindows windows = users.compute(userId, (id, current) -> {
+            UserWindows w = current == null ? new UserWindows() : current;
+            w.lastSeen = now;
+            return w;
+        });
+
+        windows.add(now, 1, minorAmount);
+        String exceeded = exceeded(windows, now);
+        if (exceeded != null) {
+            windows.add(now, -1, -minorAmount);
+            rejected.increment();
+            throw new TooManyRequestsException("Se superó el límite de " + exceeded + " del usuario; intente más tarde");
+        }
+        allowed.increment();
+        return new Permit(userId, minorAmount, now);
+    }
+
+    // Descuenta un intento aceptado cuyo pago no se guardó
+    public void release(Permit permit) {
+        UserWindows windows = users.get(permit.userId());
+        if (enabled && windows != null) {
+            windows.add(permit.atMillis(), -1, -permit.amount());
+        }
+    }
+
+    private String exceeded(UserWindows windows, long now) {
+        SlidingWindow.Totals minute = windows.minute.sum(now);
+        if (maxPaymentsPerMinute > 0 && minute.count() > maxPaymentsPerMinute) {
+            return "pagos por minuto";
+        }
+        if (maxAmountPerMinute > 0 && minute.amount() > maxAmountPerMinute) {
+            return "monto por minuto";
+        }
+        SlidingWindow.Totals hour = windows.hour.sum(now);
+        if (maxPaymentsPerHour > 0 && hour.count() > maxPaymentsPerHour) {
+            return "pagos por hora";
+        }
+        if (maxAmountPerHour > 0 && hour.amount() > maxAmountPerHour) {
+            return "monto por hora";
+        }
+        return null;
+    }
+
+    // Carga los pagos de la última hora con el cursor de solo avance de los reportes
+    public void loadRecent() {
+        Instant now = Instant.now();
+        LongAdder loaded = new LongAdder();
+        paymentRepo.forEachPayment(now.minus(HOUR), now, payment -> {
+            record(payment);
+            loaded.increment();
+        });
+        log.debug("Ventanas de velocidad de pagos cargadas: {} pagos, {} usuarios", loaded.sum(), users.size());
+    }
+
+    private void record(Payment payment) {
+        long at = payment.getPaymentDate().toEpochMilli();
+        UserWindows windows = users.compute(payment.getUserId(), (id, current) -> {
+            UserWindows w = current == null ? new UserWindows() : current;
+            w.lastSeen = Math.max(w.lastSeen, at);
+            return w;
+        });
+        windows.add(at, 1, minor(payment.getAmount()));
+    }
+
+    private void loadRecentQuietly() {
+        try {
+            loadRecent();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron cargar los pagos recientes para los límites de velocidad: {}", e.getMessage());
+        }
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeout.toMillis();
+        for (Integer userId : users.keySet()) {
+            users.computeIfPresent(userId, (id, windows) -> {
+                if (windows.lastSeen < cutoff) {
+                    evicted.increment();
+                    return null;
+                }
+                return windows;
+            });
+        }
+    }
+
+    // Monto en unidades mínimas (centavos), como la columna amount con dos decimales
+    private static long minor(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("payment.velocity.checks", allowed, LongAdder::sum)
+            .tag("result", "allowed").register(registry);
+        FunctionCounter.builder("payment.velocity.checks", rejected, LongAdder::sum)
+            .tag("result", "rejected").register(registry);
+        FunctionCounter.builder("payment.velocity.evictions", evicted, LongAdder::sum).register(registry);
+        Gauge.builder("payment.velocity.users", users, Map::size).register(registry);
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+}
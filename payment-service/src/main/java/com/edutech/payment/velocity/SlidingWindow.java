@@ -0,0 +1,69 @@
+package com.edutech.payment.velocity;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cantidad y monto de los pagos de una ventana deslizante, en un anillo de cubetas.
+ *
+ * La ventana se divide en {@code buckets} cubetas de igual duración; cada una recuerda a qué
+ * intervalo ({@code epoch}) pertenece, así que una cubeta de una vuelta anterior se descarta
+ * al sumar y se reemplaza al escribir. Cada cubeta es inmutable y se reemplaza con CAS:
+ * sumar o restar no necesita lock y la memoria es fija. La resolución es de una cubeta: la
+ * ventana cubre las {@code buckets - 1} cubetas completas anteriores más la actual.
+ */
+final class SlidingWindow {
+
+    record Totals(long count, long amount) {
+    }
+
+    private record Bucket(long epoch, long count, long amount) {
+    }
+
+    private final AtomicReferenceArray<Bucket> buckets;
+    private final long bucketMillis;
+
+    SlidingWindow(Duration window, int buckets) {
+        if (buckets < 1 || window.toMillis() < buckets) {
+            throw new IllegalArgumentException("Ventana o cantidad de cubetas inválida");
+        }
+        this.buckets = new AtomicReferenceArray<>(buckets);
+        this.bucketMillis = window.toMillis() / buckets;
+    }
+
+    // Suma count pagos por amount (en unidades mínimas) al instante atMillis; con valores negativos descuenta
+    void add(long atMillis, long count, long amount) {
+        long epoch = atMillis / bucketMillis;
+        int slot = (int) Math.floorMod(epoch, (long) buckets.length());
+        while (true) {
+            Bucket current = buckets.get(slot);
+            Bucket next;
+            if (current != null && current.epoch() == epoch) {
+                next = new Bucket(epoch, current.count() + count, current.amount() + amount);
+            } else if ((current == null || current.epoch() < epoch) && count > 0) {
+                next = new Bucket(epoch, count, amount);
+            } else {
+                // La cubeta ya pasó a un intervalo más nuevo (o no hay nada que descontar): el dato quedó fuera de la ventana
+                return;
+            }
+            if (buckets.compareAndSet(slot, current, next)) {
+                return;
+            }
+        }
+    }
+
+    Totals sum(long nowMillis) {
+        long now = nowMillis / bucketMillis;
+        long oldest = now - buckets.length() + 1;
+        long count = 0;
+        long amount = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.epoch() >= oldest && bucket.epoch() <= now) {
+                count += bucket.count();
+                amount += bucket.amount();
+            }
+        }
+        return new Totals(count, amount);
+    }
+}
@@ -0,0 +1,197 @@
+package com.edutech.payment.audit;
+
+import com.edutech.common.dto.PaymentAuditRecordDTO;
+import com.edutech.common.dto.PaymentAuditVerificationDTO;
+import com.edutech.payment.intake.PaymentStatus;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaymentAuditJournalTest {
+
+    // El segmento más chico que se acepta: BLOCK_RECORDS registros
+    private static final DataSize SEGMENT = DataSize.ofBytes((long) PaymentAuditJournal.BLOCK_RECORDS * JournalRecord.SIZE);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopeningKeepsRecordsIndexAndHashChain() throws Exception {
+        String head;
+        try (PaymentAuditJournal journal = open()) {
+            for (int i = 1; i <= 150; i++) {
+                append(journal, i % 3);
+            }
+            PaymentAuditVerificationDTO verification = journal.verify();
+            assertTrue(verification.isValid());
+            assertEquals(150, verification.getRecords());
+            assertEquals(3, verification.getSegments());
+            head = verification.getHeadHash();
+        }
+
+        try (PaymentAuditJournal journal = open()) {
+            PaymentAuditVerificationDTO verification = journal.verify();
+            assertTrue(verification.isValid());
+            assertEquals(150, verification.getRecords());
+            assertEquals(head, verification.getHeadHash());
+            // El índice se rearma al abrir: el pago 1 aparece en los tres segmentos
+            assertEquals(50, journal.history(1).size());
+
+            // Los registros nuevos siguen la secuencia y la cadena de hashes
+            assertEquals(151L, append(journal, 1));
+            assertTrue(journal.verify().isValid());
+            List<PaymentAuditRecordDTO> records = journal.read(149, 10);
+            assertEquals(List.of(149L, 150L, 151L), records.stream().map(PaymentAuditRecordDTO::getSequence).toList());
+        }
+    }
+
+    @Test
+    void tornTailIsTruncatedOnOpen() throws Exception {
+        try (PaymentAuditJournal journal = open()) {
+            for (int i = 1; i <= 10; i++) {
+                append(journal, i);
+            }
+        }
+        // Una caída a mitad de la escritura del registro 11: solo llegó la primera mitad
+        byte[] half = readRecord(1, 10);
+        writeRecord(1, 11, ByteBuffer.wrap(half, 0, JournalRecord.SIZE / 2));
+
+        try (PaymentAuditJournal journal = open()) {
+            PaymentAuditVerificationDTO verification = journal.verify();
+            assertTrue(verification.isValid());
+            assertEquals(10, verification.getRecords());
+
+            assertEquals(11L, append(journal, 11));
+            assertEquals(11, journal.read(1, 100).size());
+            assertEquals(List.of(11), journal.history(11).stream().map(PaymentAuditRecordDTO::getPaymentId).toList());
+            assertTrue(journal.verify().isValid());
+        }
+    }
+
+    @Test
+    void damagedRecordFollowedByIntactOnesLeavesTheJournalReadOnly() throws Exception {
+        try (PaymentAuditJournal journal = open()) {
+            for (int i = 1; i <= 10; i++) {
+                append(journal, i);
+            }
+        }
+        byte[] original = readRecord(1, 5);
+        byte[] damaged = original.clone();
+        damaged[30] ^= 1;
+        writeRecord(1, 5, ByteBuffer.wrap(damaged));
+
+        try (PaymentAuditJournal journal = open()) {
+            PaymentAuditVerificationDTO verification = journal.verify();
+            assertFalse(verification.isValid());
+            assertEquals(4, verification.getRecords());
+            assertEquals(5L, verification.getFirstInvalidSequence());
+            assertEquals(4, journal.read(1, 100).size());
+
+            ExecutionException rejected = assertThrows(ExecutionException.class, () -> append(journal, 11));
+            assertTrue(rejected.getCause() instanceof IllegalStateException);
+        }
+
+        // No se borró nada: lo que sigue al registro dañado está intacto y el corte se sigue viendo
+        for (int i = 6; i <= 10; i++) {
+            assertTrue(JournalRecord.valid(readRecord(1, i), i));
+        }
+        try (PaymentAuditJournal journal = open()) {
+            assertEquals(5L, journal.verify().getFirstInvalidSequence());
+        }
+
+        // Restaurado el registro, el diario vuelve a aceptar escrituras
+        writeRecord(1, 5, ByteBuffer.wrap(original));
+        try (PaymentAuditJournal journal = open()) {
+            assertTrue(journal.verify().isValid());
+            assertEquals(11L, append(journal, 11));
+        }
+    }
+
+    @Test
+    void verifyReportsADamagedRecordInAnOlderSegment() throws Exception {
+        int perSegment = PaymentAuditJournal.BLOCK_RECORDS;
+        try (PaymentAuditJournal journal = open()) {
+            for (int i = 1; i <= perSegment + 10; i++) {
+                append(journal, i);
+            }
+        }
+        byte[] damaged = readRecord(1, 20);
+        damaged[JournalRecord.SIZE - 1] ^= 1;
+        writeRecord(1, 20, ByteBuffer.wrap(damaged));
+
+        try (PaymentAuditJournal journal = open()) {
+            PaymentAuditVerificationDTO verification = journal.verify();
+            assertFalse(verification.isValid());
+            assertEquals(19, verification.getRecords());
+            assertEquals(20L, verification.getFirstInvalidSequence());
+            // El segmento activo no está dañado: se puede seguir agregando
+            assertEquals(perSegment + 11L, append(journal, 1));
+        }
+    }
+
+    @Test
+    void statusChangesKeepTheirFields() throws Exception {
+        try (PaymentAuditJournal journal = open()) {
+            journal.append(PaymentAuditEvent.statusChanged(42, PaymentStatus.PROCESSING, PaymentStatus.COMPLETED))
+                .get(5, TimeUnit.SECONDS);
+
+            PaymentAuditRecordDTO record = journal.read(1, 1).get(0);
+            assertEquals("STATUS_CHANGED", record.getType());
+            assertEquals(42, record.getPaymentId());
+            assertNull(record.getUserId());
+            assertNull(record.getAmount());
+            assertEquals("PROCESSING", record.getFromStatus());
+            assertEquals("COMPLETED", record.getToStatus());
+        }
+    }
+
+    private PaymentAuditJournal open() {
+        return new PaymentAuditJournal(directory.toString(), SEGMENT, 100, Duration.ofSeconds(5), 1000, 1000);
+    }
+
+    // Agrega un alta del pago y espera su fsync; devuelve la secuencia
+    private static long append(PaymentAuditJournal journal, int paymentId) throws Exception {
+        CompletableFuture<Long> done = journal.append(new PaymentAuditEvent(PaymentAuditEvent.Type.CREATED,
+            Instant.parse("2024-06-01T12:00:00Z"), paymentId, 100 + paymentId, new BigDecimal("49.90"), null, "PENDING"));
+        return done.get(5, TimeUnit.SECONDS);
+    }
+
+    private Path segment(long firstSequence) {
+        return directory.resolve(String.format("%020d.journal", firstSequence));
+    }
+
+    private byte[] readRecord(long firstSequence, long sequence) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(JournalRecord.SIZE);
+        try (FileChannel channel = FileChannel.open(segment(firstSequence), StandardOpenOption.READ)) {
+            channel.read(record, (sequence - firstSequence) * JournalRecord.SIZE);
+        }
+        return record.array();
+    }
+
+    private void writeRecord(long firstSequence, long sequence, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment(firstSequence), StandardOpenOption.WRITE)) {
+            channel.write(bytes, (sequence - firstSequence) * JournalRecord.SIZE);
+            channel.force(true);
+        }
+    }
+}
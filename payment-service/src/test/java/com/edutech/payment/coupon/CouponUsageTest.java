@@ -0,0 +1,95 @@
+package com.edutech.payment.coupon;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CouponUsageTest {
+
+    @Test
+    void loweringBelowRedeemedAndRaisingBackKeepsTheCapExact() {
+        CouponUsage usage = new CouponUsage(100, null, 90, Map.of(), 4);
+        assertEquals(10L, usage.remaining());
+
+        usage.resize(50, null);
+        assertEquals(0L, usage.remaining());
+        assertEquals(CouponUsage.Outcome.EXHAUSTED, usage.redeem(1));
+
+        usage.resize(100, null);
+        assertEquals(10L, usage.remaining());
+        assertEquals(10, redeemUntilExhausted(usage, 1000));
+    }
+
+    @Test
+    void redeemedAboveTheCapAtLoadIsChargedOnTheNextRaise() {
+        CouponUsage usage = new CouponUsage(50, null, 60, Map.of(), 4);
+        assertEquals(0L, usage.remaining());
+
+        usage.resize(70, null);
+        assertEquals(10L, usage.remaining());
+        assertEquals(10, redeemUntilExhausted(usage, 1000));
+    }
+
+    @Test
+    void concurrentRedeemAndResizeNeverExceedTheFinalCap() throws InterruptedException {
+        CouponUsage usage = new CouponUsage(1000, null, 0, Map.of(), 8);
+        AtomicInteger redeemed = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int base = t * 1_000_000;
+            threads.add(Thread.ofPlatform().start(() -> {
+                await(start);
+                for (int i = 0; i < 300; i++) {
+                    if (usage.redeem(base + i) == CouponUsage.Outcome.REDEEMED) {
+                        redeemed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        Thread resizer = Thread.ofPlatform().start(() -> {
+            await(start);
+            while (running.get()) {
+                usage.resize(200, null);
+                usage.resize(1000, null);
+            }
+        });
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        running.set(false);
+        resizer.join();
+
+        usage.resize(1000, null);
+        int total = redeemed.get() + redeemUntilExhausted(usage, 2_000_000_000);
+        assertEquals(1000, total);
+        assertEquals(0L, usage.remaining());
+    }
+
+    private static int redeemUntilExhausted(CouponUsage usage, int firstUserId) {
+        int count = 0;
+        while (usage.redeem(firstUserId + count) == CouponUsage.Outcome.REDEEMED) {
+            count++;
+        }
+        return count;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.edutech.payment.intake;
+
+import com.edutech.common.dto.PaymentAuditRecordDTO;
+import com.edutech.common.dto.PaymentDTO;
+import com.edutech.common.exception.TooManyRequestsException;
+import com.edutech.payment.audit.PaymentAuditJournal;
+import com.edutech.payment.entity.Payment;
+import com.edutech.payment.idempotency.PaymentIdempotencyStore;
+import com.edutech.payment.mapper.PaymentMapper;
+import com.edutech.payment.repository.PaymentRepository;
+import com.edutech.payment.repository.PaymentStatusBatchRepository.Transition;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.unit.DataSize;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaymentIntakeTest {
+
+    private static final Duration GATEWAY_TIMEOUT = Duration.ofMillis(300);
+
+    @TempDir
+    Path auditDirectory;
+
+    private final Payments payments = new Payments();
+    private final AtomicInteger charges = new AtomicInteger();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PaymentAuditJournal journal;
+    private PaymentIntake intake;
+
+    @BeforeEach
+    void openJournal() {
+        journal = new PaymentAuditJournal(auditDirectory.toString(), DataSize.ofKilobytes(64), 100,
+            Duration.ofSeconds(5), 1000, 1000);
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        if (intake != null) {
+            intake.close();
+        }
+        journal.close();
+    }
+
+    @Test
+    void approvedPaymentEndsCompletedAndIsAudited() {
+        start(10, payment -> PaymentGateway.Result.approved("tx-" + payment.getId()));
+
+        PaymentIdempotencyStore.Result result = intake.submit(() -> payments.saved(1));
+
+        assertEquals(PaymentStatus.PENDING.name(), result.payment().getStatus());
+        awaitStatus(1, PaymentStatus.COMPLETED);
+        assertEquals("tx-1", payments.transactionIds.get(1));
+        assertEquals(1, charges.get());
+        await(() -> journal.history(1).size() == 2, "los cambios de estado del pago 1 en el diario");
+        List<PaymentAuditRecordDTO> history = journal.history(1);
+        assertEquals(List.of("PENDING", "PROCESSING"), List.of(history.get(0).getFromStatus(), history.get(1).getFromStatus()));
+        assertEquals(List.of("PROCESSING", "COMPLETED"), List.of(history.get(0).getToStatus(), history.get(1).getToStatus()));
+    }
+
+    @Test
+    void declinedPaymentEndsFailed() {
+        start(10, payment -> PaymentGateway.Result.declined("fondos insuficientes"));
+
+        intake.submit(() -> payments.saved(1));
+
+        awaitStatus(1, PaymentStatus.FAILED);
+        assertNull(payments.transactionIds.get(1));
+    }
+
+    @Test
+    void fullQueueRejectsBeforeSaving() {
+        // Sin iniciar los workers nada sale de la cola
+        intake = intake(1, payment -> PaymentGateway.Result.approved("tx"));
+        AtomicInteger saves = new AtomicInteger();
+
+        intake.submit(() -> {
+            saves.incrementAndGet();
+            return payments.saved(1);
+        });
+        assertThrows(TooManyRequestsException.class, () -> intake.submit(() -> {
+            saves.incrementAndGet();
+            return payments.saved(2);
+        }));
+
+        assertEquals(1, saves.get());
+        assertNull(payments.statuses.get(2));
+    }
+
+    @Test
+    void replayedResultIsNotQueuedAgain() {
+        intake = intake(1, payment -> PaymentGateway.Result.approved("tx"));
+        PaymentIdempotencyStore.Result first = payments.saved(1);
+
+        PaymentIdempotencyStore.Result replayed = intake.submit(
+            () -> new PaymentIdempotencyStore.Result(first.payment(), true));
+
+        assertTrue(replayed.replayed());
+        // El lugar reservado se devolvió: entra otro pago aunque la capacidad sea 1
+        intake.submit(() -> payments.saved(2));
+    }
+
+    @Test
+    void recoveredProcessingPaymentIsChargedOnce() {
+        // Quedó en PROCESSING por un reinicio a mitad del cobro
+        payments.put(7, PaymentStatus.PROCESSING);
+
+        // Lo encola la recuperación al iniciar
+        start(10, payment -> PaymentGateway.Result.approved("tx-" + payment.getId()));
+
+        awaitStatus(7, PaymentStatus.COMPLETED);
+        awaitIdle();
+        intake.recover();
+        assertEquals(1, charges.get());
+        assertEquals("tx-7", payments.transactionIds.get(7));
+    }
+
+    @Test
+    void recoveredPaymentAlreadyCompletedIsNotCharged() {
+        // La consulta de la recuperación lo vio en PROCESSING, pero otro worker ya lo terminó
+        payments.put(7, PaymentStatus.COMPLETED);
+        start(10, payment -> PaymentGateway.Result.approved("tx"));
+        payments.staleListing = List.of(payments.entity(7, PaymentStatus.PROCESSING));
+
+        intake.recover();
+
+        awaitProcessed("skipped", 1);
+        assertEquals(0, charges.get());
+        assertEquals(PaymentStatus.COMPLETED.name(), payments.statuses.get(7));
+    }
+
+    @Test
+    void unansweredChargeStaysProcessingUntilRecovered() {
+        AtomicInteger calls = new AtomicInteger();
+        start(10, payment -> {
+            if (calls.incrementAndGet() == 1) {
+                // La primera vez la pasarela no responde a tiempo
+                sleep(GATEWAY_TIMEOUT.multipliedBy(10));
+            }
+            return PaymentGateway.Result.approved("tx-" + payment.getId());
+        });
+
+        intake.submit(() -> payments.saved(1));
+
+        awaitProcessed("unknown", 1);
+        awaitIdle();
+        assertEquals(PaymentStatus.PROCESSING.name(), payments.statuses.get(1));
+
+        intake.recover();
+
+        awaitStatus(1, PaymentStatus.COMPLETED);
+        assertEquals(2, charges.get());
+    }
+
+    @Test
+    void failedResultWriteIsRetriedWithoutChargingAgain() {
+        start(10, payment -> PaymentGateway.Result.approved("tx-" + payment.getId()));
+        // Fallan la escritura del worker y el primer reintento de la recuperación
+        payments.failingFinalWrites.set(2);
+
+        intake.submit(() -> payments.saved(1));
+
+        await(() -> payments.failingFinalWrites.get() == 1, "la primera escritura fallida");
+        awaitIdle();
+        assertEquals(PaymentStatus.PROCESSING.name(), payments.statuses.get(1));
+
+        // El pago sigue en PROCESSING: la recuperación lo encola, pero tiene un resultado sin confirmar
+        intake.recover();
+
+        awaitStatus(1, PaymentStatus.COMPLETED);
+        awaitProcessed("skipped", 1);
+        assertEquals(1, charges.get());
+        assertEquals("tx-1", payments.transactionIds.get(1));
+    }
+
+    // Inicia los workers y espera a que termine la recuperación del inicio para que no se cruce con la del test
+    private void start(int capacity, PaymentGateway gateway) {
+        intake = intake(capacity, gateway);
+        intake.onStartup();
+        await(() -> payments.listings.get() > 0, "la recuperación al iniciar");
+    }
+
+    private PaymentIntake intake(int capacity, PaymentGateway gateway) {
+        PaymentIntake created = new PaymentIntake(payments.repository(), new Mapper(), payment -> {
+            charges.incrementAndGet();
+            return gateway.charge(payment);
+        }, journal, capacity, 100, 2, GATEWAY_TIMEOUT, Duration.ofHours(1));
+        created.bindTo(registry);
+        return created;
+    }
+
+    private void awaitStatus(int paymentId, PaymentStatus status) {
+        await(() -> status.name().equals(payments.statuses.get(paymentId)), "el pago " + paymentId + " en " + status);
+    }
+
+    private void awaitProcessed(String result, long expected) {
+        await(() -> registry.get("payment.intake.processed").tag("result", result).functionCounter().count() >= expected,
+            expected + " pagos " + result);
+    }
+
+    private void awaitIdle() {
+        await(() -> registry.get("payment.intake.in-flight").gauge().value() == 0, "la cola vacía");
+    }
+
+    private static void await(BooleanSupplier condition, String what) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, () -> "No se llegó a " + what);
+            sleep(Duration.ofMillis(5));
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * Tabla de pagos en memoria. applyTransitions se comporta como la consulta real: aplica
+     * cada transición solo si el pago sigue en el estado from.
+     */
+    private static final class Payments {
+
+        private final Map<Integer, String> statuses = new ConcurrentHashMap<>();
+        private final Map<Integer, String> transactionIds = new ConcurrentHashMap<>();
+        // Escrituras de resultados (COMPLETED o FAILED) que todavía deben fallar
+        private final AtomicInteger failingFinalWrites = new AtomicInteger();
+        private final AtomicInteger listings = new AtomicInteger();
+        // Si no es null, es lo que devuelve la consulta de la recuperación (una lectura vieja)
+        private volatile List<Payment> staleListing;
+
+        PaymentIdempotencyStore.Result saved(int id) {
+            put(id, PaymentStatus.PENDING);
+            return new PaymentIdempotencyStore.Result(Mapper.dto(entity(id, PaymentStatus.PENDING)), false);
+        }
+
+        void put(int id, PaymentStatus status) {
+            statuses.put(id, status.name());
+        }
+
+        Payment entity(int id, PaymentStatus status) {
+            Payment payment = new Payment();
+            payment.setId(id);
+            payment.setUserId(100 + id);
+            payment.setAmount(new BigDecimal("49.90"));
+            payment.setPaymentMethod("tarjeta");
+            payment.setPaymentDate(Instant.parse("2024-06-01T12:00:00Z"));
+            payment.setStatus(status.name());
+            return payment;
+        }
+
+        synchronized List<Transition> applyTransitions(List<Transition> transitions) {
+            boolean settles = transitions.stream().anyMatch(t -> t.to() == PaymentStatus.COMPLETED || t.to() == PaymentStatus.FAILED);
+            if (settles && failingFinalWrites.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new IllegalStateException("La base no responde");
+            }
+            List<Transition> applied = new ArrayList<>();
+            for (Transition t : transitions) {
+                if (statuses.replace(t.paymentId(), t.from().name(), t.to().name())) {
+                    if (t.transactionId() != null) {
+                        transactionIds.put(t.paymentId(), t.transactionId());
+                    }
+                    applied.add(t);
+                }
+            }
+            return applied;
+        }
+
+        List<Payment> findUnfinished(Collection<String> wanted, int limit) {
+            List<Payment> found = staleListing;
+            if (found != null) {
+                staleListing = null;
+            } else {
+                found = statuses.entrySet().stream()
+                    .filter(e -> wanted.contains(e.getValue()))
+                    .map(e -> entity(e.getKey(), PaymentStatus.valueOf(e.getValue())))
+                    .sorted((a, b) -> a.getId().compareTo(b.getId()))
+                    .limit(limit)
+                    .toList();
+            }
+            listings.incrementAndGet();
+            return found;
+        }
+
+        List<Payment> findAllById(Iterable<Integer> ids) {
+            List<Payment> found = new ArrayList<>();
+            for (Integer id : ids) {
+                String status = statuses.get(id);
+                if (status != null) {
+                    found.add(entity(id, PaymentStatus.valueOf(status)));
+                }
+            }
+            return found;
+        }
+
+        // Solo los métodos que usa la cola de ingreso
+        @SuppressWarnings("unchecked")
+        PaymentRepository repository() {
+            return (PaymentRepository) Proxy.newProxyInstance(PaymentRepository.class.getClassLoader(),
+                new Class<?>[] { PaymentRepository.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "applyTransitions" -> applyTransitions((List<Transition>) args[0]);
+                    case "findByStatusInOrderByIdAsc" -> findUnfinished((Collection<String>) args[0],
+                        ((Pageable) args[1]).getPageSize());
+                    case "findAllById" -> findAllById((Iterable<Integer>) args[0]);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        }
+    }
+
+    private static final class Mapper implements PaymentMapper {
+
+        static PaymentDTO dto(Payment entity) {
+            PaymentDTO dto = new PaymentDTO();
+            dto.setId(entity.getId());
+            dto.setUserId(entity.getUserId());
+            dto.setAmount(entity.getAmount());
+            dto.setPaymentMethod(entity.getPaymentMethod());
+            dto.setPaymentDate(entity.getPaymentDate());
+            dto.setStatus(entity.getStatus());
+            dto.setTransactionId(entity.getTransactionId());
+            return dto;
+        }
+
+        @Override
+        public PaymentDTO toDTO(Payment entity) {
+            return dto(entity);
+        }
+
+        @Override
+        public Payment toEntity(PaymentDTO dto) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
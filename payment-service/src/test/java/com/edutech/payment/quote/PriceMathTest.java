@@ -0,0 +1,103 @@
+package com.edutech.payment.quote;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PriceMathTest {
+
+    @Test
+    void subtotalTiesAtHalfACentRoundToEven() {
+        assertTotals("1.00", "0.00", "1.00", new long[] { 1005 }, new long[] { 1 }, 0);
+        assertTotals("1.02", "0.00", "1.02", new long[] { 1015 }, new long[] { 1 }, 0);
+        assertTotals("0.02", "0.00", "0.02", new long[] { 5, 10 }, new long[] { 1, 1 }, 0);
+    }
+
+    @Test
+    void discountedTotalTiesAtHalfACentRoundToEven() {
+        // 0,010 al 50 % = 0,005 -> 0,00; 0,030 al 50 % = 0,015 -> 0,02
+        assertTotals("0.01", "0.01", "0.00", new long[] { 10 }, new long[] { 1 }, 50_00);
+        assertTotals("0.03", "0.01", "0.02", new long[] { 30 }, new long[] { 1 }, 50_00);
+    }
+
+    @Test
+    void noDiscountChargesTheSubtotal() {
+        assertTotals("370.50", "0.00", "370.50", new long[] { 120_500, 64_750 }, new long[] { 2, 2 }, 0);
+    }
+
+    @Test
+    void fullDiscountChargesNothing() {
+        assertTotals("370.50", "370.50", "0.00", new long[] { 120_500, 64_750 }, new long[] { 2, 2 }, 100_00);
+    }
+
+    @Test
+    void discountOutsideZeroToHundredIsRejected() {
+        assertThrows(ArithmeticException.class, () -> PriceMath.fixedPoint(new long[] { 1000 }, new long[] { 1 }, -1));
+        assertThrows(ArithmeticException.class,
+            () -> PriceMath.fixedPoint(new long[] { 1000 }, new long[] { 1 }, 100_01));
+    }
+
+    @Test
+    void overflowFallsBackToBigDecimal() {
+        // El producto de una línea se desborda
+        long[] hugeLine = { Long.MAX_VALUE / 2 };
+        long[] threeSeats = { 3 };
+        assertThrows(ArithmeticException.class, () -> PriceMath.fixedPoint(hugeLine, threeSeats, 0));
+        PriceMath.Totals line = PriceMath.exact(prices(hugeLine), threeSeats, BigDecimal.ZERO);
+        assertEquals(new BigDecimal("13835058055282163.71"), line.total());
+
+        // El subtotal entra en un long pero el producto por el descuento no
+        long[] price = { 1_000_000_000_000L };
+        long[] seats = { 10_000 };
+        assertThrows(ArithmeticException.class, () -> PriceMath.fixedPoint(price, seats, 12_50));
+        PriceMath.Totals totals = PriceMath.exact(prices(price), seats, new BigDecimal("12.50"));
+        assertEquals(new BigDecimal("10000000000000.00"), totals.subtotal());
+        assertEquals(new BigDecimal("1250000000000.00"), totals.discount());
+        assertEquals(new BigDecimal("8750000000000.00"), totals.total());
+    }
+
+    @Test
+    void fixedPointMatchesExactOnRandomCarts() {
+        Random random = new Random(20240611L);
+        for (int run = 0; run < 20_000; run++) {
+            int n = 1 + random.nextInt(6);
+            long[] pricesMilli = new long[n];
+            long[] seats = new long[n];
+            for (int i = 0; i < n; i++) {
+                pricesMilli[i] = random.nextInt(10) == 0 ? random.nextInt(100) : random.nextInt(100_000_000);
+                seats[i] = 1 + random.nextInt(500);
+            }
+            long discount = switch (random.nextInt(4)) {
+                case 0 -> 0;
+                case 1 -> 100_00;
+                default -> random.nextInt(100_01);
+            };
+            assertEquals(PriceMath.exact(prices(pricesMilli), seats, BigDecimal.valueOf(discount, PriceMath.PERCENT_SCALE)),
+                PriceMath.fixedPoint(pricesMilli, seats, discount), () -> "precios " + Arrays.toString(pricesMilli)
+                    + ", asientos " + Arrays.toString(seats) + ", descuento " + discount);
+        }
+    }
+
+    // Compara los dos cálculos y el resultado esperado
+    private static void assertTotals(String subtotal, String discount, String total, long[] pricesMilli, long[] seats,
+            long discountBasisPoints) {
+        PriceMath.Totals expected = new PriceMath.Totals(new BigDecimal(subtotal), new BigDecimal(discount),
+            new BigDecimal(total));
+        assertEquals(expected, PriceMath.fixedPoint(pricesMilli, seats, discountBasisPoints));
+        assertEquals(expected, PriceMath.exact(prices(pricesMilli), seats,
+            BigDecimal.valueOf(discountBasisPoints, PriceMath.PERCENT_SCALE)));
+    }
+
+    private static BigDecimal[] prices(long[] pricesMilli) {
+        BigDecimal[] prices = new BigDecimal[pricesMilli.length];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = BigDecimal.valueOf(pricesMilli[i], PriceMath.PRICE_SCALE);
+        }
+        return prices;
+    }
+}
@@ -1,11 +1,15 @@
 package com.edutech.support;
 
+import com.edutech.common.config.VirtualThreadConfig;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@Import(VirtualThreadConfig.class)
 @EnableDiscoveryClient
 @EnableFeignClients
 public class ComEdutechSupportApplication {
@@ -1,12 +1,25 @@
 package com.edutech.support.client;
 
+import com.edutech.common.dto.UserChangeFeedDTO;
 import com.edutech.common.dto.UserDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(name = "identity-service", path = "/api/users")
 public interface UserClient {
     @GetMapping("/{id}")
     UserDTO findById(@PathVariable Integer id);
-} 
\ No newline at end of file
+
+    @GetMapping("/changes")
+    UserChangeFeedDTO changes(@RequestParam("after") long after, @RequestParam("waitMs") long waitMs);
+
+    @PostMapping("/lookup")
+    List<UserDTO> findAllById(@RequestBody Collection<Integer> ids);
+}
\ No newline at end of file
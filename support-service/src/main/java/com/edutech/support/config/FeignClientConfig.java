@@ -0,0 +1,36 @@
+package com.edutech.support.config;
+
+import com.edutech.common.client.SingleFlightFeignPostProcessor;
+import com.edutech.common.config.BinaryContentNegotiation;
+
+import feign.RequestInterceptor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class FeignClientConfig {
+
+    // Las llamadas GET idénticas y simultáneas a otros microservicios comparten una sola petición
+    @Bean
+    @ConditionalOnProperty(name = "edutech.feign.single-flight.enabled", havingValue = "true", matchIfMissing = true)
+    public static SingleFlightFeignPostProcessor singleFlightFeignPostProcessor() {
+        return new SingleFlightFeignPostProcessor();
+    }
+
+    // CBOR para las respuestas entre microservicios (lo usan los controladores y el decodificador de Feign)
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return BinaryContentNegotiation.converter(builder);
+    }
+
+    // Los clientes Feign piden CBOR, con JSON como alternativa
+    @Bean
+    @ConditionalOnProperty(name = "edutech.feign.binary.enabled", havingValue = "true", matchIfMissing = true)
+    public RequestInterceptor acceptCborInterceptor() {
+        return BinaryContentNegotiation.acceptCbor();
+    }
+}
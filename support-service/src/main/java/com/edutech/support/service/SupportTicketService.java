@@ -1,10 +1,10 @@
 package com.edutech.support.service;
 
+import com.edutech.common.client.UserLookup;
 import com.edutech.common.dto.SupportTicketDTO;
 import com.edutech.support.entity.SupportTicket;
 import com.edutech.support.mapper.SupportTicketMapper;
 import com.edutech.support.repository.SupportTicketRepository;
-import com.edutech.support.client.UserClient;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -13,7 +13,6 @@ import java.time.Instant;
 import java.util.List;
 
 import static com.edutech.common.exception.ExceptionUtils.orThrow;
-import static com.edutech.common.exception.ExceptionUtils.orThrowFeign;
 
 @Service
 @RequiredArgsConstructor
@@ -21,7 +20,7 @@ public class SupportTicketService {
 
     private final SupportTicketRepository ticketRepo;
     private final SupportTicketMapper ticketMapper;
-    private final UserClient userClient;
+    private final UserLookup userClient;
 
     public List<SupportTicketDTO> findAll() {
         return ticketRepo.findAll().stream().map(ticketMapper::toDTO).toList();
@@ -45,7 +44,7 @@ public class SupportTicketService {
 
     public SupportTicketDTO create(SupportTicketDTO dto) {
         // Validar que el usuario existe
-        orThrowFeign(dto.getUserId(), userClient::findById, "Usuario");
+        orThrow(userClient.findById(dto.getUserId()), "Usuario");
         return saveDTO(dto, null);
     }
 